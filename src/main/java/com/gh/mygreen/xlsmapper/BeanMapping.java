@@ -0,0 +1,401 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.gh.mygreen.xlsmapper.annotation.XlsIsEmpty;
+import com.gh.mygreen.xlsmapper.annotation.XlsListener;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldProcessorRegstry;
+import com.gh.mygreen.xlsmapper.fieldprocessor.LoadingFieldProcessor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.SavingFieldProcessor;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReadException;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+
+
+/**
+ * シートにマッピングするクラスの、マッピング情報を解析した結果を保持するクラス。
+ * <p>フィールドやメソッドに対応するプロセッサ、処理順に並び替えた{@link FieldAdaptorProxy}、
+ *    <code>@XlsPreLoad</code>などのライフサイクル用のメソッドを保持する。
+ *    <br>インスタンスは、{@link BeanMappingCache}から取得する。
+ * </p>
+ * <p>レコードのクラスのように、1件ごとにライフサイクル用のメソッドを呼び出す場合も、
+ *    このクラスを参照することで、メソッドの検索を省略する。
+ * </p>
+ * <p>保持する情報は作成後に変更しないため、複数のスレッドから参照することができる。
+ *    <br>解析に使用した{@link AnnotationReader}は保持しない。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class BeanMapping {
+    
+    /** マッピング対象のクラス */
+    private final Class<?> beanClass;
+    
+    /** 解析に使用したプロセッサの管理クラス */
+    private final FieldProcessorRegstry processorRegistry;
+    
+    /** アノテーション{@link XlsListener}で指定されたリスナークラス */
+    private final Class<?> listenerClass;
+    
+    private final List<Method> preLoadMethods;
+    
+    private final List<Method> postLoadMethods;
+    
+    private final List<Method> preSaveMethods;
+    
+    private final List<Method> postSaveMethods;
+    
+    private final List<Method> listenerPreLoadMethods;
+    
+    private final List<Method> listenerPostLoadMethods;
+    
+    private final List<Method> listenerPreSaveMethods;
+    
+    private final List<Method> listenerPostSaveMethods;
+    
+    /** アノテーション{@link XlsIsEmpty}が付与されたメソッド */
+    private final Method isEmptyMethod;
+    
+    /** 読み込み時の処理順に並び替えたプロセッサの情報 */
+    private final List<FieldAdaptorProxy> loadingProxies;
+    
+    /** 書き込み時の処理順に並び替えたプロセッサの情報 */
+    private final List<FieldAdaptorProxy> savingProxies;
+    
+    /** 読み込み時の見出しとプロパティの索引 */
+    private final ColumnPropertyIndex loadingColumnIndex;
+    
+    /** 書き込み時の見出しとプロパティの索引 */
+    private final ColumnPropertyIndex savingColumnIndex;
+    
+    /**
+     * クラスを解析し、マッピング情報を作成する。
+     * @param beanClass マッピング対象のクラス
+     * @param annoReader アノテーションの読み込みクラス
+     * @param processorRegistry プロセッサの管理クラス
+     * @throws AnnotationReadException アノテーションの読み込みに失敗した場合。
+     * @throws IllegalArgumentException beanClass == null.
+     * @throws IllegalArgumentException annoReader == null.
+     * @throws IllegalArgumentException processorRegistry == null.
+     */
+    public BeanMapping(final Class<?> beanClass, final AnnotationReader annoReader,
+            final FieldProcessorRegstry processorRegistry) throws AnnotationReadException {
+            
+        ArgUtils.notNull(beanClass, "beanClass");
+        ArgUtils.notNull(annoReader, "annoReader");
+        ArgUtils.notNull(processorRegistry, "processorRegistry");
+        
+        this.beanClass = beanClass;
+        this.processorRegistry = processorRegistry;
+        
+        this.preLoadMethods = findMethods(beanClass, XlsPreLoad.class, annoReader);
+        this.postLoadMethods = findMethods(beanClass, XlsPostLoad.class, annoReader);
+        this.preSaveMethods = findMethods(beanClass, XlsPreSave.class, annoReader);
+        this.postSaveMethods = findMethods(beanClass, XlsPostSave.class, annoReader);
+        
+        final List<Method> isEmptyMethods = findMethods(beanClass, XlsIsEmpty.class, annoReader);
+        this.isEmptyMethod = isEmptyMethods.isEmpty() ? null : isEmptyMethods.get(0);
+        
+        final XlsListener listenerAnno = annoReader.getAnnotation(beanClass, XlsListener.class);
+        if(listenerAnno != null) {
+            this.listenerClass = listenerAnno.listenerClass();
+            this.listenerPreLoadMethods = findMethods(listenerClass, XlsPreLoad.class, annoReader);
+            this.listenerPostLoadMethods = findMethods(listenerClass, XlsPostLoad.class, annoReader);
+            this.listenerPreSaveMethods = findMethods(listenerClass, XlsPreSave.class, annoReader);
+            this.listenerPostSaveMethods = findMethods(listenerClass, XlsPostSave.class, annoReader);
+            
+        } else {
+            this.listenerClass = null;
+            this.listenerPreLoadMethods = Collections.emptyList();
+            this.listenerPostLoadMethods = Collections.emptyList();
+            this.listenerPreSaveMethods = Collections.emptyList();
+            this.listenerPostSaveMethods = Collections.emptyList();
+        }
+        
+        this.loadingProxies = createLoadingProxies(annoReader);
+        this.savingProxies = createSavingProxies(annoReader);
+        
+        final FieldAdaptor[] columnFields = Utils.getColumnFields(beanClass, null, annoReader, null);
+        this.loadingColumnIndex = new ColumnPropertyIndex(
+                Utils.getSetterColumnMethods(beanClass, null, annoReader, null), columnFields, true);
+        this.savingColumnIndex = new ColumnPropertyIndex(
+                Utils.getGetterColumnMethods(beanClass, null, annoReader, null), columnFields, false);
+        
+    }
+    
+    /**
+     * アノテーションが付与されているpublicメソッドを取得する。
+     * @param clazz 検索対象のクラス
+     * @param annoClass アノテーションのクラス
+     * @param annoReader アノテーションの読み込みクラス
+     * @return 変更不可能なリスト。
+     * @throws AnnotationReadException
+     */
+    private static List<Method> findMethods(final Class<?> clazz, final Class<? extends Annotation> annoClass,
+            final AnnotationReader annoReader) throws AnnotationReadException {
+            
+        final List<Method> list = new ArrayList<>();
+        for(Method method : clazz.getMethods()) {
+            if(annoReader.getAnnotation(clazz, method, annoClass) != null) {
+                method.setAccessible(true);
+                list.add(method);
+            }
+        }
+        
+        if(list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        return Collections.unmodifiableList(list);
+    }
+    
+    /**
+     * 読み込み時に処理するプロセッサの情報を作成する。
+     * <p>setterメソッドとフィールドを対象に、{@link HintOrderComparator}で並び替える。
+     * @param annoReader アノテーションの読み込みクラス
+     * @return 変更不可能なリスト。
+     * @throws AnnotationReadException
+     */
+    @SuppressWarnings("rawtypes")
+    private List<FieldAdaptorProxy> createLoadingProxies(final AnnotationReader annoReader) throws AnnotationReadException {
+        
+        final List<FieldAdaptorProxy> adaptorProxies = new ArrayList<>();
+        
+        // public メソッドの処理
+        for(Method method : beanClass.getMethods()) {
+            method.setAccessible(true);
+            
+            for(Annotation anno : annoReader.getAnnotations(beanClass, method)) {
+                final LoadingFieldProcessor processor = processorRegistry.getLoadingProcessor(anno);
+                if(Utils.isSetterMethod(method) && processor != null) {
+                    final FieldAdaptor adaptor = new FieldAdaptor(beanClass, method, annoReader);
+                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
+                }
+            }
+        }
+        
+        // public / private / protected / default フィールドの処理
+        for(Field field : beanClass.getDeclaredFields()) {
+            
+            field.setAccessible(true);
+            final FieldAdaptor adaptor = new FieldAdaptor(beanClass, field, annoReader);
+            
+            // メソッドを重複している場合は排除する。
+            if(adaptorProxies.contains(adaptor)) {
+                continue;
+            }
+            
+            for(Annotation anno : annoReader.getAnnotations(beanClass, field)) {
+                final LoadingFieldProcessor processor = processorRegistry.getLoadingProcessor(anno);
+                if(processor != null) {
+                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
+                }
+            }
+        }
+        
+        Collections.sort(adaptorProxies, HintOrderComparator.createForLoading());
+        
+        return Collections.unmodifiableList(adaptorProxies);
+    }
+    
+    /**
+     * 書き込み時に処理するプロセッサの情報を作成する。
+     * <p>getterメソッドとフィールドを対象に、{@link HintOrderComparator}で並び替える。
+     * @param annoReader アノテーションの読み込みクラス
+     * @return 変更不可能なリスト。
+     * @throws AnnotationReadException
+     */
+    @SuppressWarnings("rawtypes")
+    private List<FieldAdaptorProxy> createSavingProxies(final AnnotationReader annoReader) throws AnnotationReadException {
+        
+        final List<FieldAdaptorProxy> adaptorProxies = new ArrayList<>();
+        
+        // public メソッドの処理
+        for(Method method : beanClass.getMethods()) {
+            method.setAccessible(true);
+            
+            for(Annotation anno : annoReader.getAnnotations(beanClass, method)) {
+                final SavingFieldProcessor processor = processorRegistry.getSavingProcessor(anno);
+                if((Utils.isGetterMethod(method) || Utils.isBooleanGetterMethod(method)) && processor != null) {
+                    final FieldAdaptor adaptor = new FieldAdaptor(beanClass, method, annoReader);
+                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
+                }
+            }
+        }
+        
+        // public / private/ protected /default フィールドの処理
+        for(Field field : beanClass.getDeclaredFields()) {
+            
+            field.setAccessible(true);
+            final FieldAdaptor adaptor = new FieldAdaptor(beanClass, field, annoReader);
+            
+            //メソッドと重複している場合は排除する
+            if(adaptorProxies.contains(adaptor)) {
+                continue;
+            }
+            
+            for(Annotation anno : annoReader.getAnnotations(beanClass, field)) {
+                final SavingFieldProcessor processor = processorRegistry.getSavingProcessor(anno);
+                if(processor != null) {
+                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
+                }
+            }
+        }
+        
+        Collections.sort(adaptorProxies, HintOrderComparator.createForSaving());
+        
+        return Collections.unmodifiableList(adaptorProxies);
+    }
+    
+    /**
+     * 読み込み時に処理するプロセッサの情報を取得する。
+     * <p>setterメソッドとフィールドを対象に、{@link HintOrderComparator}で並び替えている。
+     * @return 変更不可能なリスト。
+     */
+    public List<FieldAdaptorProxy> getLoadingProxies() {
+        return loadingProxies;
+    }
+    
+    /**
+     * 書き込み時に処理するプロセッサの情報を取得する。
+     * <p>getterメソッドとフィールドを対象に、{@link HintOrderComparator}で並び替えている。
+     * @return 変更不可能なリスト。
+     */
+    public List<FieldAdaptorProxy> getSavingProxies() {
+        return savingProxies;
+    }
+    
+    /**
+     * 読み込み時の、アノテーション{@link com.gh.mygreen.xlsmapper.annotation.XlsColumn}の見出しとプロパティの索引を取得する。
+     * @return
+     */
+    public ColumnPropertyIndex getLoadingColumnIndex() {
+        return loadingColumnIndex;
+    }
+    
+    /**
+     * 書き込み時の、アノテーション{@link com.gh.mygreen.xlsmapper.annotation.XlsColumn}の見出しとプロパティの索引を取得する。
+     * @return
+     */
+    public ColumnPropertyIndex getSavingColumnIndex() {
+        return savingColumnIndex;
+    }
+    
+    /**
+     * マッピング対象のクラスを取得する。
+     * @return
+     */
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+    
+    /**
+     * 解析に使用したプロセッサの管理クラスを取得する。
+     * @return
+     */
+    public FieldProcessorRegstry getProcessorRegistry() {
+        return processorRegistry;
+    }
+    
+    /**
+     * アノテーション{@link XlsListener}で指定されたリスナークラスを取得する。
+     * @return リスナークラスが指定されていない場合は、nullを返す。
+     */
+    public Class<?> getListenerClass() {
+        return listenerClass;
+    }
+    
+    /**
+     * アノテーション{@link XlsListener}が付与されているかどうか。
+     * @return true:リスナークラスが指定されている。
+     */
+    public boolean hasListener() {
+        return listenerClass != null;
+    }
+    
+    /**
+     * アノテーション{@link XlsPreLoad}が付与されているメソッドを取得する。
+     * @return 変更不可能なリスト。
+     */
+    public List<Method> getPreLoadMethods() {
+        return preLoadMethods;
+    }
+    
+    /**
+     * アノテーション{@link XlsPostLoad}が付与されているメソッドを取得する。
+     * @return 変更不可能なリスト。
+     */
+    public List<Method> getPostLoadMethods() {
+        return postLoadMethods;
+    }
+    
+    /**
+     * アノテーション{@link XlsPreSave}が付与されているメソッドを取得する。
+     * @return 変更不可能なリスト。
+     */
+    public List<Method> getPreSaveMethods() {
+        return preSaveMethods;
+    }
+    
+    /**
+     * アノテーション{@link XlsPostSave}が付与されているメソッドを取得する。
+     * @return 変更不可能なリスト。
+     */
+    public List<Method> getPostSaveMethods() {
+        return postSaveMethods;
+    }
+    
+    /**
+     * リスナークラスの、アノテーション{@link XlsPreLoad}が付与されているメソッドを取得する。
+     * @return 変更不可能なリスト。
+     */
+    public List<Method> getListenerPreLoadMethods() {
+        return listenerPreLoadMethods;
+    }
+    
+    /**
+     * リスナークラスの、アノテーション{@link XlsPostLoad}が付与されているメソッドを取得する。
+     * @return 変更不可能なリスト。
+     */
+    public List<Method> getListenerPostLoadMethods() {
+        return listenerPostLoadMethods;
+    }
+    
+    /**
+     * リスナークラスの、アノテーション{@link XlsPreSave}が付与されているメソッドを取得する。
+     * @return 変更不可能なリスト。
+     */
+    public List<Method> getListenerPreSaveMethods() {
+        return listenerPreSaveMethods;
+    }
+    
+    /**
+     * リスナークラスの、アノテーション{@link XlsPostSave}が付与されているメソッドを取得する。
+     * @return 変更不可能なリスト。
+     */
+    public List<Method> getListenerPostSaveMethods() {
+        return listenerPostSaveMethods;
+    }
+    
+    /**
+     * アノテーション{@link XlsIsEmpty}が付与されているメソッドを取得する。
+     * <p>複数のメソッドに付与されている場合は、最初に見つかったメソッドを返す。
+     * @return 付与されていない場合は、nullを返す。
+     */
+    public Method getIsEmptyMethod() {
+        return isEmptyMethod;
+    }
+    
+}
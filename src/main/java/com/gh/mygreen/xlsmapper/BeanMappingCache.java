@@ -0,0 +1,151 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldProcessorRegstry;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReadException;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+
+
+/**
+ * クラスのマッピング情報{@link BeanMapping}をキャッシュするクラス。
+ * <p>同じクラスを繰り返し読み込み/書き込みする際に、リフレクションによるクラスの解析を省略するために使用する。
+ *    <br>{@link XlsMapperConfig#getBeanMappingCache()}で取得し、複数のスレッドから同時に参照することができる。
+ * </p>
+ * <p>Javaソースに直接付与したアノテーションのみを使用する場合は、クラスごとにキャッシュする。
+ *    <br>XMLでアノテーションを定義した{@link AnnotationReader}は、呼び出しごとにXMLを読み込むため、
+ *    {@link AnnotationReader}のインスタンスとクラスの組み合わせでキャッシュする。
+ *    {@link AnnotationReader}が参照されなくなると、キャッシュも破棄される。
+ *    <br>直前に使用した{@link AnnotationReader}のキャッシュは、ロックせずに参照するため、
+ *    1回の読み込み/書き込み中にセル単位で呼び出しても、スレッド間で待ち合わせは発生しない。
+ * </p>
+ * <p>キャッシュは、解析に使用した{@link FieldProcessorRegstry}のインスタンスが異なる場合は作成し直す。
+ *    <br>既存の{@link FieldProcessorRegstry}に対してプロセッサを登録し直した場合は、{@link #clear()}を呼び出す必要がある。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class BeanMappingCache {
+    
+    private final ConcurrentMap<Class<?>, BeanMapping> cache = new ConcurrentHashMap<>();
+    
+    /**
+     * XMLで定義した情報を持つ{@link AnnotationReader}ごとのキャッシュ
+     */
+    private final Map<AnnotationReader, ConcurrentMap<Class<?>, BeanMapping>> xmlReaderCache =
+            new WeakHashMap<>();
+    
+    /**
+     * 直前に参照した{@link AnnotationReader}ごとのキャッシュ
+     */
+    private volatile ReaderCache lastReaderCache;
+    
+    /**
+     * クラスのマッピング情報を取得する。
+     * <p>キャッシュに存在しない場合は、クラスを解析して作成する。
+     * @param beanClass マッピング対象のクラス
+     * @param annoReader アノテーションの読み込みクラス
+     * @param processorRegistry プロセッサの管理クラス
+     * @return クラスのマッピング情報
+     * @throws AnnotationReadException アノテーションの読み込みに失敗した場合。
+     * @throws IllegalArgumentException beanClass == null.
+     * @throws IllegalArgumentException annoReader == null.
+     * @throws IllegalArgumentException processorRegistry == null.
+     */
+    public BeanMapping get(final Class<?> beanClass, final AnnotationReader annoReader,
+            final FieldProcessorRegstry processorRegistry) throws AnnotationReadException {
+            
+        ArgUtils.notNull(beanClass, "beanClass");
+        ArgUtils.notNull(annoReader, "annoReader");
+        ArgUtils.notNull(processorRegistry, "processorRegistry");
+        
+        if(!annoReader.hasXmlInfo()) {
+            return get(cache, beanClass, annoReader, processorRegistry);
+        }
+        
+        // XMLの定義は呼び出しごとに異なるため、AnnotationReaderのインスタンス単位にキャッシュする。
+        final ReaderCache last = lastReaderCache;
+        if(last != null && last.reader.get() == annoReader) {
+            return get(last.map, beanClass, annoReader, processorRegistry);
+        }
+        
+        ConcurrentMap<Class<?>, BeanMapping> readerCache;
+        synchronized(xmlReaderCache) {
+            readerCache = xmlReaderCache.get(annoReader);
+            if(readerCache == null) {
+                readerCache = new ConcurrentHashMap<>();
+                xmlReaderCache.put(annoReader, readerCache);
+            }
+        }
+        
+        this.lastReaderCache = new ReaderCache(annoReader, readerCache);
+        
+        return get(readerCache, beanClass, annoReader, processorRegistry);
+    }
+    
+    private BeanMapping get(final ConcurrentMap<Class<?>, BeanMapping> map, final Class<?> beanClass,
+            final AnnotationReader annoReader, final FieldProcessorRegstry processorRegistry) throws AnnotationReadException {
+            
+        final BeanMapping cached = map.get(beanClass);
+        if(cached != null && cached.getProcessorRegistry() == processorRegistry) {
+            return cached;
+        }
+        
+        final BeanMapping mapping = new BeanMapping(beanClass, annoReader, processorRegistry);
+        if(cached == null) {
+            // 他のスレッドで先に作成された場合は、そちらを使用する。
+            final BeanMapping current = map.putIfAbsent(beanClass, mapping);
+            if(current != null && current.getProcessorRegistry() == processorRegistry) {
+                return current;
+            }
+            
+        } else {
+            map.replace(beanClass, cached, mapping);
+        }
+        
+        return mapping;
+    }
+    
+    /**
+     * アノテーションのみを使用する場合の、キャッシュしている件数を取得する。
+     * @return
+     */
+    public int size() {
+        return cache.size();
+    }
+    
+    /**
+     * キャッシュを全て削除する。
+     */
+    public void clear() {
+        cache.clear();
+        synchronized(xmlReaderCache) {
+            xmlReaderCache.clear();
+            lastReaderCache = null;
+        }
+    }
+    
+    /**
+     * {@link AnnotationReader}とそのキャッシュの組み合わせ。
+     * <p>{@link AnnotationReader}が参照されなくなった場合に破棄できるよう、弱参照で保持する。
+     */
+    private static final class ReaderCache {
+        
+        private final WeakReference<AnnotationReader> reader;
+        
+        private final ConcurrentMap<Class<?>, BeanMapping> map;
+        
+        private ReaderCache(final AnnotationReader reader, final ConcurrentMap<Class<?>, BeanMapping> map) {
+            this.reader = new WeakReference<>(reader);
+            this.map = map;
+        }
+        
+    }
+    
+}
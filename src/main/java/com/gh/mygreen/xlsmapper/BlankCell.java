@@ -0,0 +1,262 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.Calendar;
+import java.util.Date;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Comment;
+import org.apache.poi.ss.usermodel.Hyperlink;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+
+/**
+ * シートに存在しないセルを、読み込み時にブランクセルとして扱うための読み取り専用のセル。
+ * <p>{@link Sheet#createRow(int)}や{@link Row#createCell(int)}を呼ばないため、ワークブックを変更しない。
+ *    <br>値を変更するメソッドは、{@link UnsupportedOperationException}をスローする。
+ * </p>
+ * 
+ * @see POIUtils#getReadOnlyCell(Sheet, int, int)
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+final class BlankCell implements Cell {
+    
+    /** HSSFの場合の、標準のセルの書式のインデックス */
+    private static final short HSSF_DEFAULT_STYLE_INDEX = 0x0F;
+    
+    private final Sheet sheet;
+    
+    private final int rowIndex;
+    
+    private final int columnIndex;
+    
+    BlankCell(final Sheet sheet, final int rowIndex, final int columnIndex) {
+        this.sheet = sheet;
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+    }
+    
+    @Override
+    public int getColumnIndex() {
+        return columnIndex;
+    }
+    
+    @Override
+    public int getRowIndex() {
+        return rowIndex;
+    }
+    
+    @Override
+    public Sheet getSheet() {
+        return sheet;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>行が存在しない場合は、nullを返す。</p>
+     */
+    @Override
+    public Row getRow() {
+        return sheet.getRow(rowIndex);
+    }
+    
+    @Override
+    public int getCellType() {
+        return CELL_TYPE_BLANK;
+    }
+    
+    @Override
+    public CellType getCellTypeEnum() {
+        return CellType.BLANK;
+    }
+    
+    @Override
+    public int getCachedFormulaResultType() {
+        throw new IllegalStateException("Only formula cells have cached results");
+    }
+    
+    @Override
+    public CellType getCachedFormulaResultTypeEnum() {
+        throw new IllegalStateException("Only formula cells have cached results");
+    }
+    
+    @Override
+    public String getCellFormula() {
+        throw new IllegalStateException("Cannot get a FORMULA value from a BLANK cell");
+    }
+    
+    @Override
+    public double getNumericCellValue() {
+        return 0.0;
+    }
+    
+    @Override
+    public Date getDateCellValue() {
+        return null;
+    }
+    
+    @Override
+    public RichTextString getRichStringCellValue() {
+        return sheet.getWorkbook().getCreationHelper().createRichTextString("");
+    }
+    
+    @Override
+    public String getStringCellValue() {
+        return "";
+    }
+    
+    @Override
+    public boolean getBooleanCellValue() {
+        return false;
+    }
+    
+    @Override
+    public byte getErrorCellValue() {
+        throw new IllegalStateException("Cannot get a ERROR value from a BLANK cell");
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>列の書式が設定されている場合はその書式、設定されていない場合はワークブックの標準の書式を返す。</p>
+     */
+    @Override
+    public CellStyle getCellStyle() {
+        
+        final CellStyle columnStyle = sheet.getColumnStyle(columnIndex);
+        if(columnStyle != null) {
+            return columnStyle;
+        }
+        
+        final Workbook workbook = sheet.getWorkbook();
+        if(workbook instanceof HSSFWorkbook) {
+            return workbook.getCellStyleAt(HSSF_DEFAULT_STYLE_INDEX);
+        }
+        
+        return workbook.getCellStyleAt(0);
+    }
+    
+    @Override
+    public CellAddress getAddress() {
+        return new CellAddress(rowIndex, columnIndex);
+    }
+    
+    @Override
+    public Comment getCellComment() {
+        return sheet.getCellComment(getAddress());
+    }
+    
+    @Override
+    public Hyperlink getHyperlink() {
+        return sheet.getHyperlink(rowIndex, columnIndex);
+    }
+    
+    @Override
+    public CellRangeAddress getArrayFormulaRange() {
+        throw new IllegalStateException("Cell " + getAddress().formatAsString() + " is not part of an array formula.");
+    }
+    
+    @Override
+    public boolean isPartOfArrayFormulaGroup() {
+        return false;
+    }
+    
+    @Override
+    public String toString() {
+        return getAddress().formatAsString();
+    }
+    
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException(String.format("cell '%s' in sheet '%s' is read only.",
+                getAddress().formatAsString(), sheet.getSheetName()));
+    }
+    
+    @Override
+    public void setCellType(final int cellType) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setCellType(final CellType cellType) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setCellValue(final double value) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setCellValue(final Date value) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setCellValue(final Calendar value) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setCellValue(final RichTextString value) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setCellValue(final String value) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setCellValue(final boolean value) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setCellFormula(final String formula) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setCellErrorValue(final byte value) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setCellStyle(final CellStyle style) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setAsActiveCell() {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setCellComment(final Comment comment) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void removeCellComment() {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setHyperlink(final Hyperlink link) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void removeHyperlink() {
+        throw readOnly();
+    }
+    
+}
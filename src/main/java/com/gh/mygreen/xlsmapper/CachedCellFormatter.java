@@ -0,0 +1,179 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+
+
+/**
+ * フォーマットしたセルの値を、シートごとに保持するセルフォーマッター。
+ * <p>1つのレコードの読み込み中に、同じセルの値は何度もフォーマットされるため、
+ *    セルの位置をキーにして結果を保持し、フォーマットの処理はセルごとに1回だけ行う。
+ * </p>
+ * <p>値を保持するのは、{@link #beginCache(Sheet)}から{@link #endCache(Sheet)}までの間のみ。
+ *    {@link XlsLoader}は、フィールドの読み込み処理の間だけ保持する。
+ *    <br>それ以外は、委譲先のフォーマッターをそのまま呼び出す。
+ *    <br>保持している間にセルの値を書き換えた場合は、{@link #invalidate(Cell)}、{@link #invalidate(Sheet)}で破棄する必要がある。
+ * </p>
+ * <p>保持する値は、{@link #beginCache(Sheet)}を呼び出したスレッドごとに管理するため、
+ *    複数のスレッドで同じインスタンスを使用しても、ロックによる待ち合わせは発生しない。
+ *    <br>そのため、{@link #beginCache(Sheet)}、{@link #endCache(Sheet)}は、読み込み処理と同じスレッドで呼び出す必要がある。
+ * </p>
+ * 
+ * <pre class="highlight"><code class="java">
+ * XlsMapper mapper = new XlsMapper();
+ * mapper.getConig().setCellFormatter(new CachedCellFormatter(new DefaultCellFormatter()));
+ * </code></pre>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class CachedCellFormatter implements CellFormatter {
+    
+    private final CellFormatter delegate;
+    
+    /** スレッドごとの、シートとセルの位置をキーにしたフォーマット結果 */
+    private final ThreadLocal<Map<Sheet, Map<Long, String>>> caches = new ThreadLocal<>();
+    
+    /**
+     * {@link DefaultCellFormatter}に委譲するインスタンスを作成する。
+     */
+    public CachedCellFormatter() {
+        this(new DefaultCellFormatter());
+    }
+    
+    /**
+     * 委譲先のフォーマッターを指定してインスタンスを作成する。
+     * @param delegate 委譲先のフォーマッター
+     * @throws IllegalArgumentException {@literal delegate == null.}
+     */
+    public CachedCellFormatter(final CellFormatter delegate) {
+        ArgUtils.notNull(delegate, "delegate");
+        this.delegate = delegate;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>{@link #beginCache(Sheet)}で値の保持を開始している場合は、保持している値を返す。</p>
+     */
+    @Override
+    public String format(final Cell cell) {
+        
+        final Map<Long, String> cache = getCache(cell.getSheet());
+        if(cache == null) {
+            return delegate.format(cell);
+        }
+        
+        final Long key = toKey(cell.getRowIndex(), cell.getColumnIndex());
+        String value = cache.get(key);
+        if(value == null && !cache.containsKey(key)) {
+            value = delegate.format(cell);
+            cache.put(key, value);
+        }
+        
+        return value;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>ロケールを指定した場合は、値を保持せずに委譲先のフォーマッターを呼び出す。</p>
+     */
+    @Override
+    public String format(final Cell cell, final Locale locale) {
+        return delegate.format(cell, locale);
+    }
+    
+    /**
+     * シートのセルの値の保持を開始する。
+     * @param sheet 対象のシート
+     * @throws IllegalArgumentException {@literal sheet == null.}
+     */
+    public void beginCache(final Sheet sheet) {
+        ArgUtils.notNull(sheet, "sheet");
+        
+        Map<Sheet, Map<Long, String>> sheetCaches = caches.get();
+        if(sheetCaches == null) {
+            sheetCaches = new HashMap<>();
+            caches.set(sheetCaches);
+        }
+        
+        if(!sheetCaches.containsKey(sheet)) {
+            sheetCaches.put(sheet, new HashMap<Long, String>());
+        }
+    }
+    
+    /**
+     * シートのセルの値の保持を終了し、保持している値を破棄する。
+     * @param sheet 対象のシート
+     * @throws IllegalArgumentException {@literal sheet == null.}
+     */
+    public void endCache(final Sheet sheet) {
+        ArgUtils.notNull(sheet, "sheet");
+        
+        final Map<Sheet, Map<Long, String>> sheetCaches = caches.get();
+        if(sheetCaches == null) {
+            return;
+        }
+        
+        sheetCaches.remove(sheet);
+        if(sheetCaches.isEmpty()) {
+            // スレッドプールなどでスレッドが使い回される場合に、値が残らないようにする。
+            caches.remove();
+        }
+    }
+    
+    /**
+     * シートの保持している値を全て破棄する。
+     * <p>値の保持は継続する。</p>
+     * @param sheet 対象のシート
+     * @throws IllegalArgumentException {@literal sheet == null.}
+     */
+    public void invalidate(final Sheet sheet) {
+        ArgUtils.notNull(sheet, "sheet");
+        
+        final Map<Long, String> cache = getCache(sheet);
+        if(cache != null) {
+            cache.clear();
+        }
+    }
+    
+    /**
+     * セルの保持している値を破棄する。
+     * @param cell 値を書き換えたセル
+     * @throws IllegalArgumentException {@literal cell == null.}
+     */
+    public void invalidate(final Cell cell) {
+        ArgUtils.notNull(cell, "cell");
+        
+        final Map<Long, String> cache = getCache(cell.getSheet());
+        if(cache != null) {
+            cache.remove(toKey(cell.getRowIndex(), cell.getColumnIndex()));
+        }
+    }
+    
+    /**
+     * 委譲先のフォーマッターを取得する。
+     * @return 委譲先のフォーマッター
+     */
+    public CellFormatter getDelegate() {
+        return delegate;
+    }
+    
+    /**
+     * 現在のスレッドで保持しているシートの値を取得する。
+     * @return 保持を開始していない場合は、nullを返す。
+     */
+    private Map<Long, String> getCache(final Sheet sheet) {
+        final Map<Sheet, Map<Long, String>> sheetCaches = caches.get();
+        return sheetCaches != null ? sheetCaches.get(sheet) : null;
+    }
+    
+    private static Long toKey(final int rowIndex, final int columnIndex) {
+        return ((long)rowIndex << 32) | (columnIndex & 0xFFFFFFFFL);
+    }
+    
+}
@@ -0,0 +1,196 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Workbook;
+
+
+/**
+ * 書き込み時に、セルの書式を変更したスタイルをワークブック単位で再利用するためのクラス。
+ * <p>元のスタイル、書式、折り返し設定、縮小表示設定の組み合わせごとに、一度だけスタイルを作成する。
+ *    <br>セルごとにスタイルを作成すると、ワークブックのスタイルの数が増え、
+ *    Excel2003形式の場合は上限(4000個)を超えてしまうため。
+ * </p>
+ * <p>インスタンスは書き込み処理ごとに{@link SavingWorkObject}で保持し、スレッド間では共有しない。
+ *    <br>{@link com.gh.mygreen.xlsmapper.cellconvert.CellConverter}には作業情報が渡されないため、
+ *    書き込み処理中は、{@link SavingWorkObject#beginCellStyleCache(Workbook)}で現在のスレッドに関連付け、
+ *    {@link #get(Workbook)}から参照する。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class CellStyleCache {
+    
+    /** 現在のスレッドで書き込み中のインスタンス */
+    private static final ThreadLocal<CellStyleCache> current = new ThreadLocal<>();
+    
+    /** 変更しない設定を表すキーの値 */
+    private static final String KEEP = "-";
+    
+    /** 対象のワークブック */
+    private final Workbook workbook;
+    
+    /** 変更内容をキーにした、作成したスタイルのインデックス */
+    private final Map<String, Integer> styleIndexMap = new HashMap<>();
+    
+    /**
+     * ワークブックを指定して作成する。
+     * @param workbook 対象のワークブック
+     * @throws IllegalArgumentException {@literal workbook == null.}
+     */
+    public CellStyleCache(final Workbook workbook) {
+        ArgUtils.notNull(workbook, "workbook");
+        this.workbook = workbook;
+    }
+    
+    /**
+     * ワークブックに対するインスタンスを取得する。
+     * <p>現在のスレッドで同じワークブックに書き込み中の場合は、書き込み処理で保持しているインスタンスを返す。
+     * @param workbook 対象のワークブック
+     * @return 書き込み中でない場合は、新たに作成して返す。
+     * @throws IllegalArgumentException {@literal workbook == null.}
+     */
+    public static CellStyleCache get(final Workbook workbook) {
+        ArgUtils.notNull(workbook, "workbook");
+        
+        final CellStyleCache cache = current.get();
+        if(cache != null && cache.workbook == workbook) {
+            return cache;
+        }
+        
+        return new CellStyleCache(workbook);
+    }
+    
+    /**
+     * 現在のスレッドで書き込み中のインスタンスとして関連付ける。
+     * @param cache 関連付けるインスタンス
+     * @return 既に関連付けていたインスタンス。関連付けていない場合はnullを返す。
+     */
+    static CellStyleCache bind(final CellStyleCache cache) {
+        final CellStyleCache previous = current.get();
+        current.set(cache);
+        return previous;
+    }
+    
+    /**
+     * 現在のスレッドとの関連付けを解除する。
+     * <p>書き込み処理が入れ子になっている場合は、外側の書き込みで関連付けていたインスタンスに戻す。
+     * @param previous {@link #bind(CellStyleCache)}の戻り値。
+     */
+    static void unbind(final CellStyleCache previous) {
+        if(previous != null) {
+            current.set(previous);
+        } else {
+            current.remove();
+        }
+    }
+    
+    /**
+     * 対象のワークブックを取得する。
+     * @return 作成時に指定したワークブック
+     */
+    public Workbook getWorkbook() {
+        return workbook;
+    }
+    
+    /**
+     * 書式を変更したスタイルを取得する。
+     * @param source 元のスタイル
+     * @param dataFormat 書式のインデックス
+     * @return 元のスタイルの書式が同じ場合は、元のスタイルをそのまま返す。
+     * @throws IllegalArgumentException {@literal source == null.}
+     */
+    public CellStyle getDataFormatStyle(final CellStyle source, final short dataFormat) {
+        ArgUtils.notNull(source, "source");
+        
+        if(source.getDataFormat() == dataFormat) {
+            return source;
+        }
+        
+        return getCellStyle(source, String.valueOf(dataFormat), KEEP, KEEP);
+    }
+    
+    /**
+     * 折り返し設定を有効にし、縮小表示設定を無効にしたスタイルを取得する。
+     * @param source 元のスタイル
+     * @return 変更したスタイル
+     * @throws IllegalArgumentException {@literal source == null.}
+     */
+    public CellStyle getWrapTextStyle(final CellStyle source) {
+        ArgUtils.notNull(source, "source");
+        
+        return getCellStyle(source, KEEP, "true", "false");
+    }
+    
+    /**
+     * 縮小表示設定を有効にし、折り返し設定を無効にしたスタイルを取得する。
+     * @param source 元のスタイル
+     * @return 変更したスタイル
+     * @throws IllegalArgumentException {@literal source == null.}
+     */
+    public CellStyle getShrinkToFitStyle(final CellStyle source) {
+        ArgUtils.notNull(source, "source");
+        
+        return getCellStyle(source, KEEP, "false", "true");
+    }
+    
+    private CellStyle getCellStyle(final CellStyle source, final String dataFormat,
+            final String wrapText, final String shrinkToFit) {
+            
+        final Workbook book = workbook;
+        final String key = createKey(source.getIndex(), dataFormat, wrapText, shrinkToFit);
+        final Integer index = styleIndexMap.get(key);
+        if(index != null) {
+            return book.getCellStyleAt(index);
+        }
+        
+        final CellStyle style = book.createCellStyle();
+        style.cloneStyleFrom(source);
+        
+        if(!KEEP.equals(dataFormat)) {
+            style.setDataFormat(Short.parseShort(dataFormat));
+        }
+        
+        if(!KEEP.equals(wrapText)) {
+            style.setWrapText(Boolean.parseBoolean(wrapText));
+        }
+        
+        if(!KEEP.equals(shrinkToFit)) {
+            POIUtils.setShrinkToFit(style, Boolean.parseBoolean(shrinkToFit));
+        }
+        
+        final int styleIndex = style.getIndex() & 0xFFFF;
+        styleIndexMap.put(key, styleIndex);
+        
+        // 作成したスタイルに、再度同じ変更をする場合
+        styleIndexMap.put(createKey(style.getIndex(), dataFormat, wrapText, shrinkToFit), styleIndex);
+        
+        return style;
+    }
+    
+    private static String createKey(final short sourceIndex, final String dataFormat,
+            final String wrapText, final String shrinkToFit) {
+        return (sourceIndex & 0xFFFF) + ":" + dataFormat + ":" + wrapText + ":" + shrinkToFit;
+    }
+    
+    /**
+     * 作成したスタイルの組み合わせの数を取得する。
+     * @return 元のスタイルと変更内容の組み合わせの数
+     */
+    public int size() {
+        return styleIndexMap.size();
+    }
+    
+    /**
+     * 保持している情報を破棄する。
+     * <p>ワークブックからスタイルを削除した場合など、インデックスが変わったときに呼び出す。
+     */
+    public void clear() {
+        styleIndexMap.clear();
+    }
+    
+}
@@ -0,0 +1,240 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+
+
+/**
+ * レコードのクラスの、アノテーション{@link XlsColumn}が付与されたプロパティを、見出しから引くための索引。
+ * <p>{@link BeanMapping}が、読み込み用と書き込み用をそれぞれ保持する。
+ *    <br>見出しの値は、システム設定{@link XlsMapperConfig#isNormalizeLabelText()}、{@link XlsMapperConfig#isRegexLabelText()}に従い比較する。
+ *    比較結果は、{@link Utils#matches(String, String, XlsMapperConfig)}と同じになる。
+ * </p>
+ * <p>保持する情報は作成後に変更しないため、複数のスレッドから参照することができる。</p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class ColumnPropertyIndex {
+    
+    /** 見出しが一致するものがない場合の値 */
+    private static final List<FieldAdaptor> EMPTY = Collections.emptyList();
+    
+    /** 全てのプロパティ */
+    private final List<FieldAdaptor> all;
+    
+    /** 属性columnNameをキーにしたプロパティ */
+    private final Map<String, List<Entry>> byName = new HashMap<>();
+    
+    /** 正規化した属性columnNameをキーにしたプロパティ */
+    private final Map<String, List<Entry>> byNormalizedName = new HashMap<>();
+    
+    /** 属性columnNameが正規表現の形式のプロパティ */
+    private final List<Entry> regexEntries = new ArrayList<>();
+    
+    /**
+     * 索引を作成する。
+     * @param methodAdaptors setter/getterメソッドのプロパティ
+     * @param fieldAdaptors フィールドのプロパティ
+     * @param onLoad 読み込み用の索引かどうか。
+     */
+    ColumnPropertyIndex(final FieldAdaptor[] methodAdaptors, final FieldAdaptor[] fieldAdaptors, final boolean onLoad) {
+        
+        final List<FieldAdaptor> list = new ArrayList<>();
+        int order = 0;
+        
+        for(FieldAdaptor adaptor : methodAdaptors) {
+            list.add(adaptor);
+            addEntry(new Entry(adaptor, getColumnName(adaptor, onLoad), order++, false));
+        }
+        
+        for(FieldAdaptor adaptor : fieldAdaptors) {
+            if(!list.contains(adaptor)) {
+                list.add(adaptor);
+            }
+            
+            addEntry(new Entry(adaptor, getColumnName(adaptor, onLoad), order++, true));
+        }
+        
+        this.all = Collections.unmodifiableList(list);
+        
+    }
+    
+    private static String getColumnName(final FieldAdaptor adaptor, final boolean onLoad) {
+        final XlsColumn column = onLoad ? adaptor.getLoadingAnnotation(XlsColumn.class) : adaptor.getSavingAnnotation(XlsColumn.class);
+        return column.columnName();
+    }
+    
+    private void addEntry(final Entry entry) {
+        
+        add(byName, entry.columnName, entry);
+        add(byNormalizedName, entry.normalizedName, entry);
+        
+        if(entry.isRegex()) {
+            regexEntries.add(entry);
+        }
+    }
+    
+    private static void add(final Map<String, List<Entry>> map, final String key, final Entry entry) {
+        List<Entry> list = map.get(key);
+        if(list == null) {
+            list = new ArrayList<>();
+            map.put(key, list);
+        }
+        list.add(entry);
+    }
+    
+    /**
+     * 見出しが一致するプロパティを取得する。
+     * <p>setter/getterメソッドを先に、フィールドを後に並べる。
+     *    フィールドが、既に一致したメソッドと同じプロパティの場合は除外する。
+     * </p>
+     * @param label 見出しの値。nullの場合は、全てのプロパティを返す。
+     * @param config システム設定
+     * @return 変更不可能なリスト。一致するものがない場合は、空のリストを返す。
+     */
+    public List<FieldAdaptor> find(final String label, final XlsMapperConfig config) {
+        
+        if(label == null) {
+            return all;
+        }
+        
+        final boolean regex = config.isRegexLabelText();
+        final String normalizedLabel = Utils.normalize(label, config);
+        
+        final List<Entry> candidates;
+        if(config.isNormalizeLabelText()) {
+            candidates = byNormalizedName.get(normalizedLabel);
+        } else {
+            candidates = byName.get(label);
+        }
+        
+        List<Entry> matched = null;
+        if(candidates != null) {
+            for(Entry entry : candidates) {
+                if(regex && entry.isRegex()) {
+                    // 正規表現の場合は、文字列として比較しない。
+                    continue;
+                }
+                
+                if(matched == null) {
+                    matched = new ArrayList<>();
+                }
+                matched.add(entry);
+            }
+        }
+        
+        if(regex) {
+            for(Entry entry : regexEntries) {
+                if(entry.matches(normalizedLabel)) {
+                    if(matched == null) {
+                        matched = new ArrayList<>();
+                    }
+                    matched.add(entry);
+                }
+            }
+        }
+        
+        if(matched == null) {
+            return EMPTY;
+        }
+        
+        if(matched.size() == 1) {
+            return Collections.singletonList(matched.get(0).adaptor);
+        }
+        
+        Collections.sort(matched);
+        
+        final List<FieldAdaptor> result = new ArrayList<>(matched.size());
+        for(Entry entry : matched) {
+            if(entry.field && result.contains(entry.adaptor)) {
+                continue;
+            }
+            result.add(entry.adaptor);
+        }
+        
+        return Collections.unmodifiableList(result);
+    }
+    
+    /**
+     * 全てのプロパティを取得する。
+     * @return 変更不可能なリスト。
+     */
+    public List<FieldAdaptor> getAll() {
+        return all;
+    }
+    
+    /**
+     * プロパティと見出しの組み合わせ。
+     */
+    private static class Entry implements Comparable<Entry> {
+        
+        private final FieldAdaptor adaptor;
+        
+        private final String columnName;
+        
+        private final String normalizedName;
+        
+        /** 正規表現の場合のパターン。正規表現の形式でない場合はnull。 */
+        private final String regex;
+        
+        /** コンパイル済みのパターン。コンパイルに失敗した場合はnull。 */
+        private final Pattern pattern;
+        
+        private final int order;
+        
+        private final boolean field;
+        
+        private Entry(final FieldAdaptor adaptor, final String columnName, final int order, final boolean field) {
+            this.adaptor = adaptor;
+            this.columnName = columnName;
+            this.normalizedName = Utils.normalizeLabel(columnName);
+            this.order = order;
+            this.field = field;
+            
+            if(columnName.length() > 1 && columnName.startsWith("/") && columnName.endsWith("/")) {
+                this.regex = columnName.substring(1, columnName.length() - 1);
+                
+                Pattern compiled;
+                try {
+                    compiled = Pattern.compile(regex);
+                } catch(PatternSyntaxException e) {
+                    // 不正なパターンは、比較時に例外をスローさせる。
+                    compiled = null;
+                }
+                this.pattern = compiled;
+                
+            } else {
+                this.regex = null;
+                this.pattern = null;
+            }
+        }
+        
+        private boolean isRegex() {
+            return regex != null;
+        }
+        
+        private boolean matches(final String normalizedLabel) {
+            if(pattern == null) {
+                return normalizedLabel.matches(regex);
+            }
+            return pattern.matcher(normalizedLabel).matches();
+        }
+        
+        @Override
+        public int compareTo(final Entry o) {
+            return Integer.compare(order, o.order);
+        }
+        
+    }
+    
+}
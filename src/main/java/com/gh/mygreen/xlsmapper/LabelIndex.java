@@ -0,0 +1,323 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+
+
+/**
+ * シート中のセルの値（見出し）から、セルを検索するための索引。
+ * <p>シートを行単位に1回だけ走査し、セルの値ごとにセルの一覧を保持する。
+ *    {@link Utils#getCell(Sheet, String, int, XlsMapperConfig)}などの、シートを毎回走査する検索の代わりに使用する。
+ *    <br>セルの値は、システム設定{@link XlsMapperConfig#isNormalizeLabelText()}、{@link XlsMapperConfig#isRegexLabelText()}に従い比較し、
+ *    検索結果は、{@link Utils#getCell(Sheet, String, int, XlsMapperConfig)}などと同じになる。
+ * </p>
+ * <p>索引は作成時点のシートの内容を元にするため、シートの内容を変更しない読み込み処理中のみ使用する。
+ *    {@link LoadingWorkObject#getLabelIndex(Sheet, XlsMapperConfig)}で、シートごとに取得する。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class LabelIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LabelIndex.class);
+    
+    /** 行、列の順に並べる */
+    private static final Comparator<Cell> ROW_MAJOR = new Comparator<Cell>() {
+        
+        @Override
+        public int compare(final Cell o1, final Cell o2) {
+            if(o1.getRowIndex() != o2.getRowIndex()) {
+                return Integer.compare(o1.getRowIndex(), o2.getRowIndex());
+            }
+            return Integer.compare(o1.getColumnIndex(), o2.getColumnIndex());
+        }
+    };
+    
+    private final Sheet sheet;
+    
+    private final XlsMapperConfig config;
+    
+    /**
+     * 正規化したセルの値をキーにした、セルの一覧。
+     * <p>セルの一覧は、行、列の順に並べる。
+     *    <br>索引の作成に失敗した場合はnullとし、シートを走査する。
+     */
+    private final Map<String, List<Cell>> cellsByText;
+    
+    /** 見出しをキーにした、検索候補のセルの一覧 */
+    private final Map<String, List<Cell>> candidatesByLabel = new HashMap<>();
+    
+    /**
+     * シートを走査して、索引を作成する。
+     * @param sheet 対象のシート
+     * @param config システム設定
+     * @throws IllegalArgumentException sheet == null.
+     * @throws IllegalArgumentException config == null.
+     */
+    public LabelIndex(final Sheet sheet, final XlsMapperConfig config) {
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notNull(config, "config");
+        
+        this.sheet = sheet;
+        this.config = config;
+        this.cellsByText = createIndex(sheet, config);
+    }
+    
+    private static Map<String, List<Cell>> createIndex(final Sheet sheet, final XlsMapperConfig config) {
+        
+        final Map<String, List<Cell>> map = new LinkedHashMap<>();
+        
+        try {
+            final int maxRow = POIUtils.getRows(sheet);
+            for(int i=0; i < maxRow; i++) {
+                final Row row = sheet.getRow(i);
+                if(row == null) {
+                    continue;
+                }
+                
+                final int maxCol = row.getLastCellNum();
+                for(int j=Math.max(row.getFirstCellNum(), 0); j < maxCol; j++) {
+                    final Cell cell = row.getCell(j);
+                    if(cell == null) {
+                        continue;
+                    }
+                    
+                    final String text = Utils.normalize(POIUtils.getCellContents(cell, config.getCellFormatter()), config);
+                    if(text == null || text.isEmpty()) {
+                        // 空のセルは、シートを走査して検索する。
+                        continue;
+                    }
+                    
+                    List<Cell> cells = map.get(text);
+                    if(cells == null) {
+                        cells = new ArrayList<>(1);
+                        map.put(text, cells);
+                    }
+                    cells.add(cell);
+                }
+            }
+            
+        } catch(RuntimeException e) {
+            logger.warn("fail create label index, so search cells by scanning the sheet '{}'.", sheet.getSheetName(), e);
+            return null;
+        }
+        
+        return map;
+    }
+    
+    /**
+     * 対象のシートを取得する。
+     * @return 索引の作成元のシート
+     */
+    public Sheet getSheet() {
+        return sheet;
+    }
+    
+    /**
+     * 索引を使用せずに、シートを走査する必要があるかどうか。
+     * @param label 見出し
+     * @return trueの場合、シートを走査する。
+     */
+    private boolean isScanRequired(final String label) {
+        // 空のセルに一致する見出しは、索引に含まれないため走査する。
+        return cellsByText == null || Utils.matches("", label, config);
+    }
+    
+    /**
+     * 見出しに一致するセルの候補を取得する。
+     * @param label 見出し
+     * @return 行、列の順に並べたセルの一覧。
+     */
+    private List<Cell> getCandidates(final String label) {
+        
+        List<Cell> candidates = candidatesByLabel.get(label);
+        if(candidates != null) {
+            return candidates;
+        }
+        
+        if(config.isRegexLabelText() && label.startsWith("/") && label.endsWith("/")) {
+            final Pattern pattern = Pattern.compile(label.substring(1, label.length() - 1));
+            candidates = new ArrayList<>();
+            for(Map.Entry<String, List<Cell>> entry : cellsByText.entrySet()) {
+                if(pattern.matcher(entry.getKey()).matches()) {
+                    candidates.addAll(entry.getValue());
+                }
+            }
+            Collections.sort(candidates, ROW_MAJOR);
+            
+        } else {
+            candidates = cellsByText.get(Utils.normalize(label, config));
+            if(candidates == null) {
+                candidates = Collections.emptyList();
+            }
+        }
+        
+        candidatesByLabel.put(label, candidates);
+        return candidates;
+    }
+    
+    /**
+     * 指定したラベル（値を持つ）セルを検索し、取得する。
+     * <p>{@link Utils#getCell(Sheet, String, int, boolean, XlsMapperConfig)}と同じく、列、行の順に検索する。
+     * @param label 検索するセルの値
+     * @param from 検索開始位置の行
+     * @param throwableWhenNotFound セルが見つからない場合例外をスローするかどうか。falseの場合、nullを返す。
+     * @return 引数labelで指定した値を持つセル。見つからない場合は、nullを返す。
+     * @throws CellNotFoundException シート中に引数'label'を持つセルが存在しない場合。ただし、引数throwableWhenNotFound=trueの場合のみ。
+     */
+    public Cell getCell(final String label, final int from, final boolean throwableWhenNotFound) throws CellNotFoundException {
+        ArgUtils.notEmpty(label, "label");
+        ArgUtils.notMin(from, 0, "from");
+        
+        if(isScanRequired(label)) {
+            return Utils.getCell(sheet, label, from, throwableWhenNotFound, config);
+        }
+        
+        Cell found = null;
+        for(Cell cell : getCandidates(label)) {
+            if(cell.getRowIndex() < from) {
+                continue;
+            }
+            
+            if(found == null || cell.getColumnIndex() < found.getColumnIndex()) {
+                // 行の順に並んでいるため、同じ列の場合は先に見つかったセルを優先する。
+                found = cell;
+            }
+        }
+        
+        return found(found, label, throwableWhenNotFound);
+    }
+    
+    /**
+     * 指定したラベル（値を持つ）セルを検索し、取得する。
+     * <p>{@link Utils#getCell(Sheet, String, int, XlsMapperConfig)}と同じく、列、行の順に検索する。
+     * @param label 検索するセルの値
+     * @param from 検索開始位置の行
+     * @return 引数labelで指定した値を持つセル。
+     * @throws CellNotFoundException シート中に引数'label'を持つセルが存在しない場合。
+     */
+    public Cell getCell(final String label, final int from) throws CellNotFoundException {
+        return getCell(label, from, true);
+    }
+    
+    /**
+     * 指定したラベル（値を持つ）セルを検索し、取得する。
+     * <p>{@link Utils#getCell(Sheet, String, int, int, boolean, XlsMapperConfig)}と同じく、行、列の順に検索する。
+     * @param label 検索するセルの値
+     * @param fromCol 検索開始位置の列のインデックス
+     * @param fromRow 検索開始位置の行のインデックス
+     * @param throwableWhenNotFound セルが見つからない場合例外をスローするかどうか。falseの場合、nullを返す。
+     * @return 引数labelで指定した値を持つセル。見つからない場合は、nullを返す。
+     * @throws CellNotFoundException シート中に引数'label'を持つセルが存在しない場合。ただし、引数throwableWhenNotFound=trueの場合のみ。
+     */
+    public Cell getCell(final String label, final int fromCol, final int fromRow,
+            final boolean throwableWhenNotFound) throws CellNotFoundException {
+        ArgUtils.notEmpty(label, "label");
+        ArgUtils.notMin(fromCol, 0, "fromCol");
+        ArgUtils.notMin(fromRow, 0, "fromRow");
+        
+        if(isScanRequired(label)) {
+            return Utils.getCell(sheet, label, fromCol, fromRow, throwableWhenNotFound, config);
+        }
+        
+        for(Cell cell : getCandidates(label)) {
+            if(cell.getRowIndex() >= fromRow && cell.getColumnIndex() >= fromCol) {
+                return cell;
+            }
+        }
+        
+        return found(null, label, throwableWhenNotFound);
+    }
+    
+    /**
+     * 指定したラベル（値を持つ）セルを検索し、取得する。
+     * <p>{@link Utils#getCell(Sheet, String, int, int, XlsMapperConfig)}と同じく、行、列の順に検索する。
+     * @param label 検索するセルの値
+     * @param fromCol 検索開始位置の列のインデックス
+     * @param fromRow 検索開始位置の行のインデックス
+     * @return 引数labelで指定した値を持つセル。
+     * @throws CellNotFoundException シート中に引数'label'を持つセルが存在しない場合。
+     */
+    public Cell getCell(final String label, final int fromCol, final int fromRow) throws CellNotFoundException {
+        return getCell(label, fromCol, fromRow, true);
+    }
+    
+    /**
+     * 指定したセルより右下にある、ラベル（値を持つ）セルを検索し、取得する。
+     * <p>{@link Utils#getCell(Sheet, String, Cell, boolean, boolean, XlsMapperConfig)}と同じく、行、列の順に検索する。
+     * @param label 検索するセルの値
+     * @param after 検索開始位置のセル。nullの場合は、シートの先頭から検索する。
+     * @param includeAfter 検索開始位置のセルも検索対象とするかどうか。
+     * @param throwableWhenNotFound セルが見つからない場合例外をスローするかどうか。falseの場合、nullを返す。
+     * @return 引数labelで指定した値を持つセル。見つからない場合は、nullを返す。
+     * @throws CellNotFoundException シート中に引数'label'を持つセルが存在しない場合。ただし、引数throwableWhenNotFound=trueの場合のみ。
+     */
+    public Cell getCell(final String label, final Cell after, final boolean includeAfter,
+            final boolean throwableWhenNotFound) throws CellNotFoundException {
+        ArgUtils.notEmpty(label, "label");
+        
+        if(after == null) {
+            return getCell(label, 0, 0, throwableWhenNotFound);
+        }
+        
+        if(isScanRequired(label)) {
+            return Utils.getCell(sheet, label, after, includeAfter, throwableWhenNotFound, config);
+        }
+        
+        final int columnStart = after.getColumnIndex();
+        final int rowStart = after.getRowIndex();
+        
+        for(Cell cell : getCandidates(label)) {
+            if(cell.getRowIndex() < rowStart || cell.getColumnIndex() < columnStart) {
+                continue;
+            }
+            
+            if(!includeAfter && cell.getRowIndex() == rowStart && cell.getColumnIndex() == columnStart) {
+                continue;
+            }
+            
+            return cell;
+        }
+        
+        return found(null, label, throwableWhenNotFound);
+    }
+    
+    /**
+     * 指定したセルより右下にある、ラベル（値を持つ）セルを検索し、取得する。
+     * <p>{@link Utils#getCell(Sheet, String, Cell, boolean, XlsMapperConfig)}と同じく、行、列の順に検索する。
+     * @param label 検索するセルの値
+     * @param after 検索開始位置のセル。nullの場合は、シートの先頭から検索する。
+     * @param includeAfter 検索開始位置のセルも検索対象とするかどうか。
+     * @return 引数labelで指定した値を持つセル。
+     * @throws CellNotFoundException シート中に引数'label'を持つセルが存在しない場合。
+     */
+    public Cell getCell(final String label, final Cell after, final boolean includeAfter) throws CellNotFoundException {
+        return getCell(label, after, includeAfter, true);
+    }
+    
+    private Cell found(final Cell cell, final String label, final boolean throwableWhenNotFound) throws CellNotFoundException {
+        
+        if(cell == null && throwableWhenNotFound) {
+            throw new CellNotFoundException(sheet.getSheetName(), label);
+        }
+        
+        return cell;
+    }
+    
+}
@@ -2,11 +2,15 @@ package com.gh.mygreen.xlsmapper;
 
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
 
 import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
 import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
@@ -15,6 +19,7 @@ import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 /**
  * 読み込み処理中で持ち回すオブジェクトを保持するクラス。
  * 
+ * @version 1.6
  * @author T.TSUCHIE
  */
 public class LoadingWorkObject {
@@ -25,6 +30,21 @@ public class LoadingWorkObject {
     
     private SheetBindingErrors errors;
     
+    /** シートごとの見出しの索引 */
+    private final Map<Sheet, LabelIndex> labelIndexes = new IdentityHashMap<>();
+    
+    /** シートごとの最大行数、最大列数 */
+    private final Map<Sheet, SheetDimension> sheetDimensions = new IdentityHashMap<>();
+    
+    /** シートごとの結合セルの索引 */
+    private final Map<Sheet, MergedRegionIndex> mergedRegionIndexes = new IdentityHashMap<>();
+    
+    /** シートごとのセルの情報 */
+    private final Map<Sheet, SheetSnapshot> sheetSnapshots = new IdentityHashMap<>();
+    
+    /** ワークブック単位で共有する、式の評価処理 */
+    private FormulaEvaluator formulaEvaluator;
+    
     public AnnotationReader getAnnoReader() {
         return annoReader;
     }
@@ -60,4 +80,97 @@ public class LoadingWorkObject {
     public void addTypeBindError(final TypeBindException e, final Cell cell, final String fieldName, final String label) {
         addTypeBindError(e, new Point(cell.getColumnIndex(), cell.getRowIndex()), fieldName, label);
     }
+    
+    /**
+     * シートの見出しの索引を取得する。
+     * <p>シートごとに初回の呼び出し時に作成し、同じ読み込み処理中は共有する。
+     * @since 1.6
+     * @param sheet 対象のシート
+     * @param config システム設定
+     * @return 見出しの索引
+     */
+    public LabelIndex getLabelIndex(final Sheet sheet, final XlsMapperConfig config) {
+        LabelIndex labelIndex = labelIndexes.get(sheet);
+        if(labelIndex == null) {
+            labelIndex = new LabelIndex(sheet, config);
+            labelIndexes.put(sheet, labelIndex);
+        }
+        return labelIndex;
+    }
+    
+    /**
+     * シートの最大行数、最大列数の情報を取得する。
+     * <p>シートごとに初回の呼び出し時に作成し、同じ読み込み処理中は共有する。
+     * @since 1.6
+     * @param sheet 対象のシート
+     * @return シートの最大行数、最大列数の情報
+     */
+    public SheetDimension getSheetDimension(final Sheet sheet) {
+        SheetDimension dimension = sheetDimensions.get(sheet);
+        if(dimension == null) {
+            dimension = new SheetDimension(sheet);
+            sheetDimensions.put(sheet, dimension);
+        }
+        return dimension;
+    }
+    
+    /**
+     * シートの結合セルの索引を取得する。
+     * <p>シートごとに初回の呼び出し時に作成し、同じ読み込み処理中は共有する。
+     * @since 1.6
+     * @param sheet 対象のシート
+     * @return 結合セルの索引
+     */
+    public MergedRegionIndex getMergedRegionIndex(final Sheet sheet) {
+        MergedRegionIndex index = mergedRegionIndexes.get(sheet);
+        if(index == null) {
+            index = new MergedRegionIndex(sheet);
+            mergedRegionIndexes.put(sheet, index);
+        }
+        return index;
+    }
+    
+    /**
+     * シートの使用範囲のセルの情報を取得する。
+     * <p>シートごとに初回の呼び出し時に作成し、同じ読み込み処理中は共有する。
+     * @since 1.6
+     * @param sheet 対象のシート
+     * @param config システム設定
+     * @return {@link XlsMapperConfig#isSheetSnapshotOnLoad()}がfalseの場合はnullを返す。
+     */
+    public SheetSnapshot getSheetSnapshot(final Sheet sheet, final XlsMapperConfig config) {
+        if(!config.isSheetSnapshotOnLoad()) {
+            return null;
+        }
+        
+        SheetSnapshot snapshot = sheetSnapshots.get(sheet);
+        if(snapshot == null) {
+            snapshot = new SheetSnapshot(sheet, config.getCellFormatter());
+            sheetSnapshots.put(sheet, snapshot);
+        }
+        return snapshot;
+    }
+    
+    /**
+     * 式の評価処理を取得する。
+     * <p>評価結果はインスタンスごとに保持されるため、同じワークブックの読み込み中は共有する。
+     * @since 1.6
+     * @param workbook 読み込み対象のワークブック
+     * @return 設定されていない場合は、作成して返す。
+     */
+    public FormulaEvaluator getFormulaEvaluator(final Workbook workbook) {
+        if(formulaEvaluator == null) {
+            formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        }
+        return formulaEvaluator;
+    }
+    
+    /**
+     * 式の評価処理を設定する。
+     * @since 1.6
+     * @param formulaEvaluator 読み込み対象のワークブックの式の評価処理
+     */
+    public void setFormulaEvaluator(final FormulaEvaluator formulaEvaluator) {
+        this.formulaEvaluator = formulaEvaluator;
+    }
 }
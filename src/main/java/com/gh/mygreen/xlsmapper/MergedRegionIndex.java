@@ -0,0 +1,161 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+
+/**
+ * シートの結合セルの情報を、行の範囲ごとに分けて保持する索引。
+ * <p>{@link POIUtils#getMergedRegion(Sheet, int, int)}は全ての結合セルを走査するため、
+ *    セルの位置から結合セルを取得するときは、該当する行の範囲の結合セルのみを比較する。
+ * </p>
+ * <p>{@link POIUtils#removeMergedRange(Sheet, CellRangeAddress, MergedRegionIndex)}で解除したときや、
+ *    {@link #add(CellRangeAddress)}で追加したときは、合わせて更新する。
+ *    <br>行の挿入などで結合セルの位置が変わった場合は、値が古くなるため、読み込み時や、書き込み時の行を挿入／削除しない範囲で使用する。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class MergedRegionIndex {
+    
+    /** 1つの範囲の行数(2の累乗) */
+    private static final int BUCKET_SHIFT = 5;
+    
+    /** 行の範囲のインデックスをキーにした結合セル */
+    private final Map<Integer, List<CellRangeAddress>> buckets = new HashMap<>();
+    
+    private int size;
+    
+    /**
+     * シートの結合セルから作成する。
+     * @param sheet 対象のシート
+     * @throws IllegalArgumentException {@literal sheet == null.}
+     */
+    public MergedRegionIndex(final Sheet sheet) {
+        ArgUtils.notNull(sheet, "sheet");
+        
+        final int num = sheet.getNumMergedRegions();
+        for(int i=0; i < num; i++) {
+            add(sheet.getMergedRegion(i));
+        }
+    }
+    
+    /**
+     * 結合セルの一覧から作成する。
+     * @param regions 結合セルの一覧
+     * @throws IllegalArgumentException {@literal regions == null.}
+     */
+    public MergedRegionIndex(final Collection<CellRangeAddress> regions) {
+        ArgUtils.notNull(regions, "regions");
+        
+        for(CellRangeAddress region : regions) {
+            add(region);
+        }
+    }
+    
+    /**
+     * 指定したセルのアドレスの結合情報を取得する。
+     * @param rowIdx 行番号
+     * @param colIdx 列番号
+     * @return 結合していない場合nullを返す。
+     */
+    public CellRangeAddress getMergedRegion(final int rowIdx, final int colIdx) {
+        
+        final List<CellRangeAddress> bucket = buckets.get(rowIdx >> BUCKET_SHIFT);
+        if(bucket == null) {
+            return null;
+        }
+        
+        for(CellRangeAddress region : bucket) {
+            if(region.isInRange(rowIdx, colIdx)) {
+                return region;
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * 保持している結合セルの数を取得する。
+     * @return 結合セルの数
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * 結合セルを追加する。
+     * @param region 追加する結合セル
+     * @throws IllegalArgumentException {@literal region == null.}
+     */
+    public void add(final CellRangeAddress region) {
+        ArgUtils.notNull(region, "region");
+        
+        final int last = lastBucket(region);
+        for(int i = firstBucket(region); i <= last; i++) {
+            List<CellRangeAddress> bucket = buckets.get(i);
+            if(bucket == null) {
+                bucket = new ArrayList<>(2);
+                buckets.put(i, bucket);
+            }
+            bucket.add(region);
+        }
+        
+        size++;
+    }
+    
+    /**
+     * 同じ範囲の結合セルを削除する。
+     * @param region 削除する結合セル
+     * @return 同じ範囲の結合セルが見つからない場合は、falseを返す。
+     * @throws IllegalArgumentException {@literal region == null.}
+     */
+    public boolean remove(final CellRangeAddress region) {
+        ArgUtils.notNull(region, "region");
+        
+        boolean removed = false;
+        final int last = lastBucket(region);
+        for(int i = firstBucket(region); i <= last; i++) {
+            final List<CellRangeAddress> bucket = buckets.get(i);
+            if(bucket == null) {
+                continue;
+            }
+            
+            for(Iterator<CellRangeAddress> itr = bucket.iterator(); itr.hasNext(); ) {
+                if(POIUtils.equalsRange(itr.next(), region)) {
+                    itr.remove();
+                    removed = true;
+                    break;
+                }
+            }
+            
+            if(bucket.isEmpty()) {
+                buckets.remove(i);
+            }
+        }
+        
+        if(removed) {
+            size--;
+        }
+        
+        return removed;
+    }
+    
+    private static int firstBucket(final CellRangeAddress region) {
+        return Math.max(region.getFirstRow(), 0) >> BUCKET_SHIFT;
+    }
+    
+    private static int lastBucket(final CellRangeAddress region) {
+        return Math.max(region.getLastRow(), region.getFirstRow()) >> BUCKET_SHIFT;
+    }
+    
+}
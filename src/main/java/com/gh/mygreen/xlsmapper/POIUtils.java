@@ -6,7 +6,9 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.poi.hssf.model.InternalSheet;
@@ -17,12 +19,14 @@ import org.apache.poi.hssf.record.aggregates.DataValidityTable;
 import org.apache.poi.hssf.record.aggregates.RecordAggregate.RecordVisitor;
 import org.apache.poi.hssf.usermodel.HSSFCellStyle;
 import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.ClientAnchor;
 import org.apache.poi.ss.usermodel.DataValidation;
 import org.apache.poi.ss.usermodel.DataValidationConstraint;
 import org.apache.poi.ss.usermodel.DataValidationHelper;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Hyperlink;
 import org.apache.poi.ss.usermodel.Name;
 import org.apache.poi.ss.usermodel.Row;
@@ -33,8 +37,10 @@ import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellRangeAddressBase;
 import org.apache.poi.ss.util.CellRangeAddressList;
 import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.apache.poi.xssf.usermodel.extensions.XSSFCellAlignment;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCellAlignment;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTDataValidation;
@@ -246,6 +252,70 @@ public class POIUtils {
         return cell;
     }
     
+    /**
+     * 読み込み用に、シートから任意のセルを取得する。
+     * <p>{@link #getCell(Sheet, int, int)}と異なり、行やセルが存在しない場合でも作成せず、
+     *    読み取り専用のブランクセルを返すため、シートを変更しない。
+     * </p>
+     * <p>ブランクセルは位置ごとに新しいインスタンスを返す。
+     *    戻り値のセルは{@link Cell#getRowIndex()}や{@link Cell#getAddress()}を通して
+     *    エラーメッセージや位置情報の記録に使われ、呼び出し元で保持されることもあるため、
+     *    座標を書き換えて使い回す共有のインスタンスにはできない。
+     *    <br>セルの座標とシートの参照のみを持つ小さなオブジェクトのため、生成のコストは小さい。
+     * </p>
+     * @since 1.6
+     * @param sheet シートオブジェクト
+     * @param column 列のインデックス
+     * @param row 行のインデックス
+     * @return セルが存在しない場合は、値を変更できないブランクセルを返す。
+     * @throws IllegalArgumentException {@literal column < 0 or row < 0.}
+     */
+    public static Cell getReadOnlyCell(final Sheet sheet, final int column, final int row) {
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notMin(column, 0, "column");
+        ArgUtils.notMin(row, 0, "row");
+        
+        final Row rows = sheet.getRow(row);
+        if(rows == null) {
+            return new BlankCell(sheet, row, column);
+        }
+        
+        final Cell cell = rows.getCell(column);
+        if(cell == null) {
+            return new BlankCell(sheet, row, column);
+        }
+        
+        return cell;
+    }
+    
+    /**
+     * 読み込み用に、シートから任意のセルを取得する。
+     * @since 1.6
+     * @param sheet シートオブジェクト
+     * @param address アドレス（Point.x=column, Point.y=row）
+     * @return セルが存在しない場合は、値を変更できないブランクセルを返す。
+     * @see #getReadOnlyCell(Sheet, int, int)
+     */
+    public static Cell getReadOnlyCell(final Sheet sheet, final Point address) {
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notNull(address, "address");
+        return getReadOnlyCell(sheet, address.x, address.y);
+    }
+    
+    /**
+     * 読み込み用に、シートから任意のセルを取得する。
+     * @since 1.6
+     * @param sheet シートオブジェクト
+     * @param address セルのアドレス
+     * @return セルが存在しない場合は、値を変更できないブランクセルを返す。
+     * @see #getReadOnlyCell(Sheet, int, int)
+     */
+    public static Cell getReadOnlyCell(final Sheet sheet, final CellAddress address) {
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notNull(address, "address");
+        return getReadOnlyCell(sheet, address.getColumn(), address.getRow());
+    }
+    
     /**
      * 任意の行のセルを全て取得する。
      * @see jxl.Seet.getRow(int row)
@@ -254,13 +324,26 @@ public class POIUtils {
      * @return
      */
     public static Cell[] getRow(final Sheet sheet, final int row) {
+        return getRow(sheet, row, null);
+    }
+    
+    /**
+     * 任意の行のセルを全て取得する。
+     * <p>シートの最大列数は、{@link SheetDimension}から取得し、シートを走査しない。
+     * @since 1.6
+     * @param sheet
+     * @param row
+     * @param dimension シートの最大行数、最大列数の情報。nullの場合はシートを走査して最大列数を取得する。
+     * @return
+     */
+    public static Cell[] getRow(final Sheet sheet, final int row, final SheetDimension dimension) {
         ArgUtils.notNull(sheet, "sheet");
         
         Row rows = sheet.getRow(row);
         if(rows == null) {
             rows = sheet.createRow(row);
         }
-        int maxColumn = getColumns(sheet);
+        int maxColumn = (dimension != null) ? dimension.getColumns() : getColumns(sheet);
         Cell[] cells = new Cell[maxColumn];
         for(int i=0; i < maxColumn; i++) {
             Cell cell = rows.getCell(i);
@@ -270,6 +353,10 @@ public class POIUtils {
             cells[i] = cell;
         }
         
+        if(dimension != null) {
+            dimension.updateRow(row);
+        }
+        
         return cells;
     }
     
@@ -341,9 +428,79 @@ public class POIUtils {
         ArgUtils.notNull(cell, "cell");
         ArgUtils.notNull(cellFormatter, "cellFormatter");
         
+        // 標準のフォーマッターの場合、数値のセルは書式から判定できるときは、フォーマットを省略する。
+        // 空白のセルも書式によっては文字が出力されるため、フォーマットして判定する。
+        if(cell.getCellType() == Cell.CELL_TYPE_NUMERIC && isDefaultCellFormatter(cellFormatter)
+                && isVisibleNumberFormat(cell.getCellStyle().getDataFormatString())) {
+            return false;
+        }
+        
         return getCellContents(cell, cellFormatter).isEmpty();
     }
     
+    /**
+     * 標準のフォーマッター{@link DefaultCellFormatter}かどうか判定する。
+     * <p>{@link CachedCellFormatter}の場合は、委譲先のフォーマッターで判定する。
+     * @since 1.6
+     * @param cellFormatter 判定対象のフォーマッター
+     * @return 標準のフォーマッターの場合trueを返す。継承したクラスの場合はfalseを返す。
+     */
+    private static boolean isDefaultCellFormatter(final CellFormatter cellFormatter) {
+        
+        CellFormatter formatter = cellFormatter;
+        if(formatter instanceof CachedCellFormatter) {
+            formatter = ((CachedCellFormatter) formatter).getDelegate();
+        }
+        
+        return formatter.getClass() == DefaultCellFormatter.class;
+    }
+    
+    /**
+     * 数値をフォーマットした結果が、必ず空文字以外となる書式かどうか判定する。
+     * <p>判定できない書式は、falseと判定する。
+     *    <br>セクションの区切り(;)や条件を含む書式、桁の記号(#)のみの書式は、値によって空文字になる場合があるため、falseと判定する。
+     * </p>
+     * @since 1.6
+     * @param format 書式
+     * @return 必ず文字が出力される書式の場合trueを返す。
+     */
+    static boolean isVisibleNumberFormat(final String format) {
+        
+        if(format == null || format.indexOf(';') >= 0) {
+            return false;
+        }
+        
+        boolean quoted = false;
+        final int length = format.length();
+        for(int i=0; i < length; i++) {
+            final char c = format.charAt(i);
+            if(c == '"') {
+                quoted = !quoted;
+                
+            } else if(quoted) {
+                // 引用符で囲まれた文字はそのまま出力される
+                return true;
+                
+            } else if(c == '[') {
+                // 色や条件の指定
+                final int close = format.indexOf(']', i);
+                if(close < 0 || (i+1 < close && "<>=".indexOf(format.charAt(i+1)) >= 0)) {
+                    return false;
+                }
+                i = close;
+                
+            } else if(c == '_' || c == '*' || c == '\\') {
+                // 次の文字の幅の空白、繰り返し、エスケープは判定しない
+                i++;
+                
+            } else if(c != '#' && c != ',') {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
     /**
      * 指定した書式のインデックス番号を取得する。シートに存在しない場合は、新しく作成する。
      * @param sheet シート
@@ -444,13 +601,10 @@ public class POIUtils {
         ArgUtils.notNull(sheet, "sheet");
         ArgUtils.notNull(mergedRange, "mergedRange");
         
-        final String mergedAddress = mergedRange.formatAsString(sheet.getSheetName(), true);
-        
         final int num = sheet.getNumMergedRegions();
         for(int i=0; i < num; i ++) {
             final CellRangeAddress range = sheet.getMergedRegion(i);
-            final String rangeAddress = range.formatAsString(sheet.getSheetName(), true);
-            if(rangeAddress.equals(mergedAddress)) {
+            if(equalsRange(range, mergedRange)) {
                 sheet.removeMergedRegion(i);
                 return true;
             }
@@ -459,6 +613,135 @@ public class POIUtils {
         return false;
     }
     
+    /**
+     * 指定した範囲の結合を解除し、結合セルの索引も更新する。
+     * @since 1.6
+     * @param sheet
+     * @param mergedRange
+     * @param mergedRegionIndex 更新する結合セルの索引。nullの場合は更新しない。
+     * @return 引数で指定した結合が見つからない場合。
+     */
+    public static boolean removeMergedRange(final Sheet sheet, final CellRangeAddress mergedRange,
+            final MergedRegionIndex mergedRegionIndex) {
+        
+        final boolean removed = removeMergedRange(sheet, mergedRange);
+        if(removed && mergedRegionIndex != null) {
+            mergedRegionIndex.remove(mergedRange);
+        }
+        
+        return removed;
+    }
+    
+    /**
+     * セルの範囲が同じかどうか比較する。
+     * @since 1.6
+     * @param range1
+     * @param range2
+     * @return 開始／終了位置の行と列が全て等しい場合、trueを返す。
+     */
+    static boolean equalsRange(final CellRangeAddress range1, final CellRangeAddress range2) {
+        return range1.getFirstRow() == range2.getFirstRow()
+                && range1.getLastRow() == range2.getLastRow()
+                && range1.getFirstColumn() == range2.getFirstColumn()
+                && range1.getLastColumn() == range2.getLastColumn();
+    }
+    
+    /**
+     * ワークブックの日付の基準が1904年かどうか判定する。
+     * <p>Excelの日時のシリアル値を計算する際に使用する。
+     * @since 1.6
+     * @param workbook 判定対象のワークブック
+     * @return 1904年基準の場合trueを返す。判定できないワークブックの場合はfalseを返す。
+     * @throws IllegalArgumentException {@literal workbook == null.}
+     */
+    public static boolean isDate1904(final Workbook workbook) {
+        ArgUtils.notNull(workbook, "workbook");
+        
+        if(workbook instanceof HSSFWorkbook) {
+            return ((HSSFWorkbook) workbook).getInternalWorkbook().isUsing1904DateWindowing();
+            
+        } else if(workbook instanceof XSSFWorkbook) {
+            return ((XSSFWorkbook) workbook).isDate1904();
+            
+        } else if(workbook instanceof SXSSFWorkbook) {
+            return ((SXSSFWorkbook) workbook).getXSSFWorkbook().isDate1904();
+        }
+        
+        return false;
+    }
+    
+    /**
+     * 読み込み中に共有する式の評価処理。
+     * <p>読み込み処理を実行しているスレッドごとに保持するため、他のスレッドの読み込みには影響しない。</p>
+     */
+    private static final ThreadLocal<Map<Workbook, FormulaEvaluator>> sharedFormulaEvaluators =
+            new ThreadLocal<Map<Workbook, FormulaEvaluator>>();
+    
+    /**
+     * 式の評価処理を取得する。
+     * <p>現在のスレッドでワークブックの読み込み中は、評価結果を再利用するため、共有しているインスタンスを返す。
+     * @since 1.6
+     * @param workbook 評価対象のワークブック
+     * @return 共有しているインスタンスがない場合は、新たに作成して返す。
+     */
+    public static FormulaEvaluator getFormulaEvaluator(final Workbook workbook) {
+        ArgUtils.notNull(workbook, "workbook");
+        
+        final Map<Workbook, FormulaEvaluator> evaluators = sharedFormulaEvaluators.get();
+        if(evaluators != null) {
+            final FormulaEvaluator evaluator = evaluators.get(workbook);
+            if(evaluator != null) {
+                return evaluator;
+            }
+        }
+        
+        return workbook.getCreationHelper().createFormulaEvaluator();
+    }
+    
+    /**
+     * 現在のスレッドで、式の評価処理の共有を開始する。
+     * <p>{@link #unshareFormulaEvaluator(Workbook, FormulaEvaluator)}は、必ずfinallyブロックで呼び出すこと。</p>
+     * @since 1.6
+     * @param workbook 評価対象のワークブック
+     * @param evaluator 共有するインスタンス
+     * @return 既に共有していたインスタンス。共有していない場合はnullを返す。
+     */
+    static FormulaEvaluator shareFormulaEvaluator(final Workbook workbook, final FormulaEvaluator evaluator) {
+        
+        Map<Workbook, FormulaEvaluator> evaluators = sharedFormulaEvaluators.get();
+        if(evaluators == null) {
+            evaluators = new IdentityHashMap<>();
+            sharedFormulaEvaluators.set(evaluators);
+        }
+        
+        return evaluators.put(workbook, evaluator);
+    }
+    
+    /**
+     * 現在のスレッドで、式の評価処理の共有を終了する。
+     * <p>読み込み処理が入れ子になっている場合は、外側の読み込みで共有していたインスタンスに戻す。</p>
+     * @since 1.6
+     * @param workbook 評価対象のワークブック
+     * @param previous {@link #shareFormulaEvaluator(Workbook, FormulaEvaluator)}の戻り値。
+     */
+    static void unshareFormulaEvaluator(final Workbook workbook, final FormulaEvaluator previous) {
+        
+        final Map<Workbook, FormulaEvaluator> evaluators = sharedFormulaEvaluators.get();
+        if(evaluators == null) {
+            return;
+        }
+        
+        if(previous != null) {
+            evaluators.put(workbook, previous);
+            return;
+        }
+        
+        evaluators.remove(workbook);
+        if(evaluators.isEmpty()) {
+            sharedFormulaEvaluators.remove();
+        }
+    }
+    
     /**
      * 指定した行の下に行を1行追加する
      * @param sheet
@@ -481,6 +764,50 @@ public class POIUtils {
         return sheet.createRow(rowIndex);
     }
     
+    /**
+     * 指定した位置に、複数の行をまとめて追加する。
+     * <p>{@link #insertRow(Sheet, int)}を繰り返し呼び出すと、その都度以降の全ての行をずらすため、1回でずらす。
+     * @since 1.6
+     * @param sheet
+     * @param rowIndex 追加する位置の行番号
+     * @param size 追加する行数
+     * @throws IllegalArgumentException {@literal sheet == null.}
+     * @throws IllegalArgumentException {@literal rowIndex < 0 or size < 1.}
+     */
+    public static void insertRows(final Sheet sheet, final int rowIndex, final int size) {
+        
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notMin(rowIndex, 0, "rowIndex");
+        ArgUtils.notMin(size, 1, "size");
+        
+        final int lastRow = sheet.getLastRowNum();
+        if(lastRow >= rowIndex) {
+            sheet.shiftRows(rowIndex, lastRow, size);
+        }
+        
+        for(int i=0; i < size; i++) {
+            sheet.createRow(rowIndex + i);
+        }
+    }
+    
+    /**
+     * 指定した位置に、複数の行をまとめて追加し、シートの最大行数、最大列数の情報も更新する。
+     * @since 1.6
+     * @param sheet
+     * @param rowIndex 追加する位置の行番号
+     * @param size 追加する行数
+     * @param dimension 更新するシートの最大行数、最大列数の情報。nullの場合は更新しない。
+     * @throws IllegalArgumentException {@literal sheet == null.}
+     * @throws IllegalArgumentException {@literal rowIndex < 0 or size < 1.}
+     */
+    public static void insertRows(final Sheet sheet, final int rowIndex, final int size, final SheetDimension dimension) {
+        
+        insertRows(sheet, rowIndex, size);
+        if(dimension != null) {
+            dimension.rowsInserted(rowIndex, size);
+        }
+    }
+    
     /**
      * 指定した行を削除する。
      * <p>削除した行は上に詰める。
@@ -513,8 +840,65 @@ public class POIUtils {
         return row;
     }
     
+    /**
+     * 指定した範囲の行をまとめて削除する。
+     * <p>削除した行は上に詰める。{@link #removeRow(Sheet, int)}を繰り返し呼び出すと、
+     *    その都度以降の全ての行をずらすため、1回でずらす。
+     * @since 1.6
+     * @param sheet
+     * @param rowIndex 削除する開始位置の行番号
+     * @param size 削除する行数
+     * @return 削除した行数。以降の行は、この行数分だけ上にずらす。
+     * @throws IllegalArgumentException {@literal sheet == null.}
+     * @throws IllegalArgumentException {@literal rowIndex < 0 or size < 1.}
+     */
+    public static int removeRows(final Sheet sheet, final int rowIndex, final int size) {
+        
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notMin(rowIndex, 0, "rowIndex");
+        ArgUtils.notMin(size, 1, "size");
+        
+        for(int i=rowIndex; i < rowIndex + size; i++) {
+            final Row row = sheet.getRow(i);
+            if(row != null) {
+                sheet.removeRow(row);
+            }
+        }
+        
+        // 上に行をずらす
+        final int lastRow = sheet.getLastRowNum();
+        if(rowIndex + size <= lastRow) {
+            sheet.shiftRows(rowIndex + size, lastRow, -size);
+        }
+        
+        return size;
+    }
+    
+    /**
+     * 指定した範囲の行をまとめて削除し、シートの最大行数、最大列数の情報も更新する。
+     * <p>削除した行は上に詰める。
+     * @since 1.6
+     * @param sheet
+     * @param rowIndex 削除する開始位置の行番号
+     * @param size 削除する行数
+     * @param dimension 更新するシートの最大行数、最大列数の情報。nullの場合は更新しない。
+     * @return 削除した行数。以降の行は、この行数分だけ上にずらす。
+     * @throws IllegalArgumentException {@literal sheet == null.}
+     * @throws IllegalArgumentException {@literal rowIndex < 0 or size < 1.}
+     */
+    public static int removeRows(final Sheet sheet, final int rowIndex, final int size, final SheetDimension dimension) {
+        
+        final int removedSize = removeRows(sheet, rowIndex, size);
+        if(dimension != null) {
+            dimension.rowsRemoved(rowIndex, removedSize);
+        }
+        
+        return removedSize;
+    }
+    
     /**
      * セルの折り返し設定を有効にする
+     * <p>セルのスタイルは直接変更せず、{@link CellStyleCache}から変更したスタイルを取得して設定する。
      * @param cell
      * @param forceWrapText trueの場合有効にする。falseの場合は変更しない。
      */
@@ -526,15 +910,13 @@ public class POIUtils {
             return;
         }
         
-        final CellStyle style = cell.getCellStyle();
-        style.setWrapText(true);
-        setCellStyleWithShrinkToFit(cell, style, false);
-        
-        cell.setCellStyle(style);
+        final CellStyleCache cache = CellStyleCache.get(cell.getSheet().getWorkbook());
+        cell.setCellStyle(cache.getWrapTextStyle(cell.getCellStyle()));
     }
     
     /**
      * セルの縮小表示設定を有効にする。
+     * <p>セルのスタイルは直接変更せず、{@link CellStyleCache}から変更したスタイルを取得して設定する。
      * @param cell
      * @param forceShrinkToFit trueの場合有効にする。falseの場合は変更しない。
      */
@@ -546,10 +928,8 @@ public class POIUtils {
             return;
         }
         
-        final CellStyle style = cell.getCellStyle();
-        
-        style.setWrapText(false);
-        setCellStyleWithShrinkToFit(cell, style, true);
+        final CellStyleCache cache = CellStyleCache.get(cell.getSheet().getWorkbook());
+        cell.setCellStyle(cache.getShrinkToFitStyle(cell.getCellStyle()));
     }
     
     /**
@@ -564,16 +944,30 @@ public class POIUtils {
         ArgUtils.notNull(cell, "cell");
         ArgUtils.notNull(style, "style");
         
+        if(setShrinkToFit(style, shrinkToFit)) {
+            cell.setCellStyle(style);
+        }
+        
+    }
+    
+    /**
+     * スタイルの縮小表示設定を変更する。
+     * <p>POI-3.9以前の場合は、リフレクションで強制的に変更する。
+     * @since 1.6
+     * @param style 縮小表示設定を行うStyle
+     * @param shrinkToFit
+     * @return 変更できた場合trueを返す。
+     */
+    static boolean setShrinkToFit(final CellStyle style, final boolean shrinkToFit) {
+        
         if(AVAILABLE_METHOD_CELL_SHRINK_TO_FIT) {
             try {
                 //POI-3.10以降
                 final Method method = style.getClass().getMethod("setShrinkToFit", boolean.class);
                 method.setAccessible(true);
-                method.invoke(style, true);
-                
-                cell.setCellStyle(style);
+                method.invoke(style, shrinkToFit);
                 
-                return;
+                return true;
                 
             } catch (Exception e) {}
         }
@@ -587,8 +981,7 @@ public class POIUtils {
                 ExtendedFormatRecord record = (ExtendedFormatRecord) field.get(style);
                 record.setShrinkToFit(shrinkToFit);
                 
-                cell.setCellStyle(style);
-                return;
+                return true;
             } catch (Exception e ) { }
             
         } else if(style instanceof XSSFCellStyle) {
@@ -604,12 +997,12 @@ public class POIUtils {
                 
                 alignment2.setShrinkToFit(shrinkToFit);
                 
-                cell.setCellStyle(style);
-                return;
+                return true;
             } catch (Exception e ) { }
             
         }
         
+        return false;
     }
     
     /**
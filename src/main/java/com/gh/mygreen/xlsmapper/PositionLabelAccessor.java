@@ -0,0 +1,265 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.awt.Point;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * セルの位置と見出しを、Beanに設定するためのアクセッサ。
+ * <p>{@link Utils#setPosition(int, int, Object, String)}、{@link Utils#setLabel(String, Object, String)}から使用する。
+ *    <br>設定先（Mapのフィールド、setterメソッド、フィールド）をクラスとプロパティごとに一度だけ解決し、
+ *    以降はリフレクションによる探索を行わない。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+class PositionLabelAccessor {
+    
+    private static final ClassValue<PositionLabelAccessor> CACHE = new ClassValue<PositionLabelAccessor>() {
+        
+        @Override
+        protected PositionLabelAccessor computeValue(final Class<?> type) {
+            return new PositionLabelAccessor(type);
+        }
+    };
+    
+    private final Class<?> beanClass;
+    
+    /** フィールド「Map&lt;String, Point&gt; positions」。存在しない場合はnull。 */
+    private final Field positionMapField;
+    
+    /** フィールド「Map&lt;String, String&gt; labels」。存在しない場合はnull。 */
+    private final Field labelMapField;
+    
+    /** プロパティ名をキーにした位置の設定方法 */
+    private final ConcurrentMap<String, PositionSetter> positionSetters = new ConcurrentHashMap<>();
+    
+    /** プロパティ名をキーにした見出しの設定方法 */
+    private final ConcurrentMap<String, LabelSetter> labelSetters = new ConcurrentHashMap<>();
+    
+    /**
+     * クラスに対するアクセッサを取得する。
+     * @param beanClass Beanのクラス
+     * @return キャッシュしたインスタンス
+     */
+    static PositionLabelAccessor get(final Class<?> beanClass) {
+        return CACHE.get(beanClass);
+    }
+    
+    private PositionLabelAccessor(final Class<?> beanClass) {
+        this.beanClass = beanClass;
+        this.positionMapField = getMapField(beanClass, "positions");
+        this.labelMapField = getMapField(beanClass, "labels");
+    }
+    
+    private static Field getMapField(final Class<?> beanClass, final String fieldName) {
+        
+        final Field field = Utils.getField(beanClass, fieldName);
+        if(field == null || !Map.class.isAssignableFrom(field.getType())) {
+            return null;
+        }
+        
+        try {
+            field.setAccessible(true);
+        } catch(SecurityException e) {
+            return null;
+        }
+        return field;
+    }
+    
+    /**
+     * セルの位置を設定する。
+     * @param x 列のインデックス番号
+     * @param y 行のインデックス番号
+     * @param obj 設定対象のオブジェクト
+     * @param fieldName プロパティ名
+     */
+    void setPosition(final int x, final int y, final Object obj, final String fieldName) {
+        
+        if(positionMapField != null) {
+            getOrCreateMap(positionMapField, obj).put(fieldName, new Point(x, y));
+            return;
+        }
+        
+        PositionSetter setter = positionSetters.get(fieldName);
+        if(setter == null) {
+            setter = createPositionSetter(fieldName + "Position");
+            positionSetters.putIfAbsent(fieldName, setter);
+        }
+        
+        setter.set(obj, x, y);
+    }
+    
+    /**
+     * セルの見出しを設定する。
+     * @param label 見出し
+     * @param obj 設定対象のオブジェクト
+     * @param fieldName プロパティ名
+     */
+    void setLabel(final String label, final Object obj, final String fieldName) {
+        
+        if(labelMapField != null) {
+            getOrCreateMap(labelMapField, obj).put(fieldName, label);
+            return;
+        }
+        
+        LabelSetter setter = labelSetters.get(fieldName);
+        if(setter == null) {
+            setter = createLabelSetter(fieldName + "Label");
+            labelSetters.putIfAbsent(fieldName, setter);
+        }
+        
+        setter.set(obj, label);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <V> Map<String, V> getOrCreateMap(final Field field, final Object obj) {
+        
+        try {
+            Object value = field.get(obj);
+            if(value == null) {
+                value = new HashMap<String, V>();
+                field.set(obj, value);
+            }
+            return (Map<String, V>) value;
+            
+        } catch (IllegalArgumentException | IllegalAccessException e) {
+            throw new RuntimeException(
+                    String.format("fail set '%s' field", field.getName()),
+                    e);
+        }
+    }
+    
+    private PositionSetter createPositionSetter(final String positionFieldName) {
+        
+        // メソッドの場合(引数が int, intの場合)
+        final Method positionMethod1 = Utils.getSetter(beanClass, positionFieldName, Integer.TYPE, Integer.TYPE);
+        if(positionMethod1 != null) {
+            return new PositionSetter() {
+                
+                @Override
+                void set(final Object obj, final int x, final int y) {
+                    invoke(positionMethod1, obj, "fail set position with '%s' method", x, y);
+                }
+            };
+        }
+        
+        // メソッドの場合(引数が Pointの場合)
+        final Method positionMethod2 = Utils.getSetter(beanClass, positionFieldName, Point.class);
+        if(positionMethod2 != null) {
+            return new PositionSetter() {
+                
+                @Override
+                void set(final Object obj, final int x, final int y) {
+                    invoke(positionMethod2, obj, "fail set position with '%s' method", new Point(x, y));
+                }
+            };
+        }
+        
+        // フィールドの場合
+        final Field positionField = Utils.getField(beanClass, positionFieldName);
+        if(positionField != null) {
+            positionField.setAccessible(true);
+            return new PositionSetter() {
+                
+                @Override
+                void set(final Object obj, final int x, final int y) {
+                    setField(positionField, obj, "fail set position with '%s' field", new Point(x, y));
+                }
+            };
+        }
+        
+        return PositionSetter.NONE;
+    }
+    
+    private LabelSetter createLabelSetter(final String labelFieldName) {
+        
+        // メソッドの場合(引数が String の場合)
+        final Method labelMethod1 = Utils.getSetter(beanClass, labelFieldName, String.class);
+        if(labelMethod1 != null) {
+            return new LabelSetter() {
+                
+                @Override
+                void set(final Object obj, final String label) {
+                    invoke(labelMethod1, obj, "fail set label with '%s' method", label);
+                }
+            };
+        }
+        
+        // フィールドの場合
+        final Field labelField = Utils.getField(beanClass, labelFieldName);
+        if(labelField != null) {
+            labelField.setAccessible(true);
+            return new LabelSetter() {
+                
+                @Override
+                void set(final Object obj, final String label) {
+                    setField(labelField, obj, "fail set label with '%s' field", label);
+                }
+            };
+        }
+        
+        return LabelSetter.NONE;
+    }
+    
+    private static void invoke(final Method method, final Object obj, final String errorMessage, final Object... args) {
+        try {
+            method.invoke(obj, args);
+        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+            throw new RuntimeException(String.format(errorMessage, method.getName()), e);
+        }
+    }
+    
+    private static void setField(final Field field, final Object obj, final String errorMessage, final Object value) {
+        try {
+            field.set(obj, value);
+        } catch (IllegalArgumentException | IllegalAccessException e) {
+            throw new RuntimeException(String.format(errorMessage, field.getName()), e);
+        }
+    }
+    
+    /**
+     * 位置の設定方法
+     */
+    private static abstract class PositionSetter {
+        
+        /** 設定先が存在しない場合 */
+        static final PositionSetter NONE = new PositionSetter() {
+            
+            @Override
+            void set(final Object obj, final int x, final int y) {
+                // 何もしない
+            }
+        };
+        
+        abstract void set(Object obj, int x, int y);
+        
+    }
+    
+    /**
+     * 見出しの設定方法
+     */
+    private static abstract class LabelSetter {
+        
+        /** 設定先が存在しない場合 */
+        static final LabelSetter NONE = new LabelSetter() {
+            
+            @Override
+            void set(final Object obj, final String label) {
+                // 何もしない
+            }
+        };
+        
+        abstract void set(Object obj, String label);
+        
+    }
+    
+}
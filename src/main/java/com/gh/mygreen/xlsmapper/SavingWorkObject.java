@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Workbook;
 
 import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
 import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
@@ -22,6 +23,12 @@ public class SavingWorkObject {
     
     private SheetBindingErrors errors;
     
+    /**
+     * 書式を変更したスタイルのキャッシュ
+     * @since 1.6
+     */
+    private CellStyleCache cellStyleCache;
+    
     public AnnotationReader getAnnoReader() {
         return annoReader;
     }
@@ -46,6 +53,52 @@ public class SavingWorkObject {
         this.errors = errors;
     }
     
+    /**
+     * 書式を変更したスタイルのキャッシュを取得する。
+     * @since 1.6
+     * @param workbook 書き込み対象のワークブック
+     * @return 設定されていない場合、または他のワークブックのキャッシュの場合は、作成して返す。
+     */
+    public CellStyleCache getCellStyleCache(final Workbook workbook) {
+        if(cellStyleCache == null || cellStyleCache.getWorkbook() != workbook) {
+            cellStyleCache = new CellStyleCache(workbook);
+        }
+        return cellStyleCache;
+    }
+    
+    /**
+     * 書式を変更したスタイルのキャッシュを設定する。
+     * <p>同じワークブックの複数のシートに書き込む場合に、キャッシュを共有するために使用する。
+     * @since 1.6
+     * @param cellStyleCache 書き込み対象のワークブックのキャッシュ
+     */
+    public void setCellStyleCache(final CellStyleCache cellStyleCache) {
+        this.cellStyleCache = cellStyleCache;
+    }
+    
+    /**
+     * 現在のスレッドで、書式を変更したスタイルのキャッシュの使用を開始する。
+     * <p>{@link com.gh.mygreen.xlsmapper.cellconvert.CellConverter}には作業情報が渡されないため、
+     *    {@link CellStyleCache#get(Workbook)}から参照できるようにする。
+     *    <br>{@link #endCellStyleCache(CellStyleCache)}は、必ずfinallyブロックで呼び出すこと。
+     * </p>
+     * @since 1.6
+     * @param workbook 書き込み対象のワークブック
+     * @return 既に使用していたキャッシュ。使用していない場合はnullを返す。
+     */
+    public CellStyleCache beginCellStyleCache(final Workbook workbook) {
+        return CellStyleCache.bind(getCellStyleCache(workbook));
+    }
+    
+    /**
+     * 現在のスレッドで、書式を変更したスタイルのキャッシュの使用を終了する。
+     * @since 1.6
+     * @param previous {@link #beginCellStyleCache(Workbook)}の戻り値。
+     */
+    public void endCellStyleCache(final CellStyleCache previous) {
+        CellStyleCache.unbind(previous);
+    }
+    
     public void addTypeBindError(final TypeBindException e, final Point position, final String fieldName, final String label) {
         this.errors.rejectSheetTypeBind(fieldName, e.getTargetValue(), e.getBindClass(),
                 position, label);
@@ -0,0 +1,195 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.Arrays;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+
+/**
+ * シートの最大行数、最大列数を保持するクラス。
+ * <p>{@link POIUtils#getColumns(Sheet)}は呼び出すたびに全ての行を走査するため、作成時に一度だけ走査して行ごとの列数を保持する。
+ *    <br>{@link POIUtils#insertRows(Sheet, int, int, SheetDimension)}、
+ *    {@link POIUtils#removeRows(Sheet, int, int, SheetDimension)}で行を挿入／削除したときは、合わせて更新する。
+ *    <br>それ以外の方法でセルを追加した場合は、{@link #updateRow(int)}で行の列数を更新する。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class SheetDimension {
+    
+    private final Sheet sheet;
+    
+    /** 行ごとの列数。({@link Row#getLastCellNum()}の値。行が存在しない場合は0。) */
+    private int[] lastCellNums;
+    
+    /** 最大列数。-1の場合は再計算が必要。 */
+    private int columns;
+    
+    /**
+     * シートを走査して作成する。
+     * @param sheet 対象のシート
+     * @throws IllegalArgumentException {@literal sheet == null.}
+     */
+    public SheetDimension(final Sheet sheet) {
+        ArgUtils.notNull(sheet, "sheet");
+        
+        this.sheet = sheet;
+        
+        final int rows = POIUtils.getRows(sheet);
+        this.lastCellNums = new int[Math.max(rows, 1)];
+        
+        int maxColumn = 0;
+        for(int i = Math.max(sheet.getFirstRowNum(), 0); i < rows; i++) {
+            final Row row = sheet.getRow(i);
+            if(row == null) {
+                continue;
+            }
+            
+            final int column = Math.max(row.getLastCellNum(), 0);
+            lastCellNums[i] = column;
+            if(column > maxColumn) {
+                maxColumn = column;
+            }
+        }
+        
+        this.columns = maxColumn;
+    }
+    
+    /**
+     * 対象のシートを取得する。
+     * @return 作成元のシート
+     */
+    public Sheet getSheet() {
+        return sheet;
+    }
+    
+    /**
+     * シートの最大行数を取得する。
+     * <p>行数は走査せずに取得できるため、シートから直接取得する。</p>
+     * @return {@link POIUtils#getRows(Sheet)}と同じ値。
+     */
+    public int getRows() {
+        return POIUtils.getRows(sheet);
+    }
+    
+    /**
+     * シートの最大列数を取得する。
+     * @return {@link POIUtils#getColumns(Sheet)}と同じ値。
+     */
+    public int getColumns() {
+        if(columns < 0) {
+            int maxColumn = 0;
+            for(int column : lastCellNums) {
+                if(column > maxColumn) {
+                    maxColumn = column;
+                }
+            }
+            this.columns = maxColumn;
+        }
+        return columns;
+    }
+    
+    /**
+     * 行の列数を取得する。
+     * @param rowIndex 行のインデックス
+     * @return {@link Row#getLastCellNum()}の値。行が存在しない場合は0を返す。
+     */
+    public int getLastCellNum(final int rowIndex) {
+        if(rowIndex < 0 || rowIndex >= lastCellNums.length) {
+            return 0;
+        }
+        return lastCellNums[rowIndex];
+    }
+    
+    /**
+     * セルを追加／削除した行の列数を、シートから取得し直す。
+     * @param rowIndex 行のインデックス
+     * @throws IllegalArgumentException {@literal rowIndex < 0.}
+     */
+    public void updateRow(final int rowIndex) {
+        ArgUtils.notMin(rowIndex, 0, "rowIndex");
+        
+        ensureCapacity(rowIndex + 1);
+        
+        final int oldColumn = lastCellNums[rowIndex];
+        final int newColumn = getLastCellNumFromSheet(rowIndex);
+        lastCellNums[rowIndex] = newColumn;
+        
+        if(columns < 0) {
+            return;
+        }
+        
+        if(newColumn > columns) {
+            this.columns = newColumn;
+        } else if(newColumn < oldColumn && oldColumn >= columns) {
+            // 最大列数の行が短くなった場合は、次回取得時に再計算する。
+            this.columns = -1;
+        }
+    }
+    
+    /**
+     * 行を挿入して下にずらしたときに、保持している値を更新する。
+     * @param rowIndex 挿入した位置の行のインデックス
+     * @param size 挿入した行数
+     */
+    void rowsInserted(final int rowIndex, final int size) {
+        
+        final int oldLength = lastCellNums.length;
+        ensureCapacity(Math.max(oldLength, rowIndex) + size);
+        
+        if(rowIndex < oldLength) {
+            // 下にずらす
+            System.arraycopy(lastCellNums, rowIndex, lastCellNums, rowIndex + size, oldLength - rowIndex);
+        }
+        
+        for(int i=rowIndex; i < rowIndex + size; i++) {
+            final int column = getLastCellNumFromSheet(i);
+            lastCellNums[i] = column;
+            if(columns >= 0 && column > columns) {
+                this.columns = column;
+            }
+        }
+    }
+    
+    /**
+     * 行を削除して上に詰めたときに、保持している値を更新する。
+     * @param rowIndex 削除した位置の行のインデックス
+     * @param size 削除した行数
+     */
+    void rowsRemoved(final int rowIndex, final int size) {
+        
+        final int length = lastCellNums.length;
+        if(rowIndex >= length) {
+            return;
+        }
+        
+        final int removedEnd = Math.min(rowIndex + size, length);
+        for(int i=rowIndex; i < removedEnd; i++) {
+            if(columns >= 0 && lastCellNums[i] >= columns) {
+                // 最大列数の行を削除した場合は、次回取得時に再計算する。
+                this.columns = -1;
+            }
+        }
+        
+        // 上に詰める
+        if(removedEnd < length) {
+            System.arraycopy(lastCellNums, removedEnd, lastCellNums, rowIndex, length - removedEnd);
+        }
+        Arrays.fill(lastCellNums, length - (removedEnd - rowIndex), length, 0);
+    }
+    
+    private int getLastCellNumFromSheet(final int rowIndex) {
+        final Row row = sheet.getRow(rowIndex);
+        return (row == null) ? 0 : Math.max(row.getLastCellNum(), 0);
+    }
+    
+    private void ensureCapacity(final int size) {
+        if(size > lastCellNums.length) {
+            this.lastCellNums = Arrays.copyOf(lastCellNums, Math.max(size, lastCellNums.length * 2));
+        }
+    }
+    
+}
@@ -0,0 +1,247 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+
+/**
+ * シートの使用範囲のセルの情報を、一度だけ走査してプリミティブ型の配列で保持するクラス。
+ * <p>表の終端の判定などでセルの値を繰り返し参照する場合に、POIのオブジェクトやフォーマッターを経由せずに参照する。
+ *   <ul>
+ *     <li>フォーマットした文字列、書式のインデックス、結合セルを、行ごとの配列で保持する。</li>
+ *     <li>フォーマットした文字列は、同じ値を1つにまとめて、そのインデックスを保持する。</li>
+ *   </ul>
+ * </p>
+ * <p>作成後にシートを変更した場合は、値が古くなるため、シートを変更しない読み込み時に使用する。</p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class SheetSnapshot {
+    
+    private final Sheet sheet;
+    
+    /** 行数 */
+    private final int rows;
+    
+    /** 最大列数 */
+    private final int columns;
+    
+    /** 行ごとのフォーマットした文字列のインデックス。行が存在しない場合はnull、セルが存在しない場合は-1。 */
+    private final int[][] contentsIndices;
+    
+    /** 行ごとの書式のインデックス */
+    private final short[][] styleIndices;
+    
+    /** 行ごとの結合セルのインデックス。結合していない場合は-1。 */
+    private final int[][] mergedIds;
+    
+    /** フォーマットした文字列。先頭は空文字。 */
+    private final String[] contents;
+    
+    /** 結合セル */
+    private final CellRangeAddress[] mergedRegions;
+    
+    /** 使用範囲外の結合セルの索引 */
+    private final MergedRegionIndex mergedRegionIndex;
+    
+    /**
+     * シートを走査して作成する。
+     * @param sheet 対象のシート
+     * @param cellFormatter セルの値のフォーマッター
+     * @throws IllegalArgumentException {@literal sheet == null or cellFormatter == null.}
+     */
+    public SheetSnapshot(final Sheet sheet, final CellFormatter cellFormatter) {
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notNull(cellFormatter, "cellFormatter");
+        
+        this.sheet = sheet;
+        this.rows = POIUtils.getRows(sheet);
+        
+        this.contentsIndices = new int[rows][];
+        this.styleIndices = new short[rows][];
+        this.mergedIds = new int[rows][];
+        
+        final Map<String, Integer> contentsMap = new HashMap<>();
+        final List<String> contentsList = new ArrayList<>();
+        contentsMap.put("", 0);
+        contentsList.add("");
+        
+        int maxColumn = 0;
+        for(int i = Math.max(sheet.getFirstRowNum(), 0); i < rows; i++) {
+            final Row row = sheet.getRow(i);
+            if(row == null) {
+                continue;
+            }
+            
+            final int width = Math.max(row.getLastCellNum(), 0);
+            if(width > maxColumn) {
+                maxColumn = width;
+            }
+            
+            final int[] indices = new int[width];
+            final short[] styles = new short[width];
+            final int[] ids = new int[width];
+            Arrays.fill(indices, -1);
+            Arrays.fill(ids, -1);
+            
+            for(int j = Math.max(row.getFirstCellNum(), 0); j < width; j++) {
+                final Cell cell = row.getCell(j);
+                if(cell == null) {
+                    continue;
+                }
+                
+                styles[j] = cell.getCellStyle().getIndex();
+                
+                final String value = cellFormatter.format(cell);
+                Integer index = contentsMap.get(value);
+                if(index == null) {
+                    index = contentsList.size();
+                    contentsMap.put(value, index);
+                    contentsList.add(value);
+                }
+                indices[j] = index;
+            }
+            
+            contentsIndices[i] = indices;
+            styleIndices[i] = styles;
+            mergedIds[i] = ids;
+        }
+        
+        this.columns = maxColumn;
+        this.contents = contentsList.toArray(new String[contentsList.size()]);
+        
+        // 結合セルは、使用範囲内のセルに番号を割り当てる。
+        final List<CellRangeAddress> regions = new ArrayList<>();
+        final int num = sheet.getNumMergedRegions();
+        for(int id=0; id < num; id++) {
+            final CellRangeAddress region = sheet.getMergedRegion(id);
+            regions.add(region);
+            
+            for(int i = Math.max(region.getFirstRow(), 0); i <= region.getLastRow() && i < rows; i++) {
+                final int[] ids = mergedIds[i];
+                if(ids == null) {
+                    continue;
+                }
+                
+                for(int j = Math.max(region.getFirstColumn(), 0); j <= region.getLastColumn() && j < ids.length; j++) {
+                    ids[j] = id;
+                }
+            }
+        }
+        
+        this.mergedRegions = regions.toArray(new CellRangeAddress[regions.size()]);
+        this.mergedRegionIndex = new MergedRegionIndex(regions);
+        
+    }
+    
+    /**
+     * 対象のシートを取得する。
+     * @return 作成元のシート
+     */
+    public Sheet getSheet() {
+        return sheet;
+    }
+    
+    /**
+     * シートの最大行数を取得する。
+     * @return {@link POIUtils#getRows(Sheet)}と同じ値。
+     */
+    public int getRows() {
+        return rows;
+    }
+    
+    /**
+     * シートの最大列数を取得する。
+     * @return {@link POIUtils#getColumns(Sheet)}と同じ値。
+     */
+    public int getColumns() {
+        return columns;
+    }
+    
+    /**
+     * 保持しているフォーマットした文字列の種類の数を取得する。
+     * @return 空文字を含めた数。
+     */
+    public int getContentsSize() {
+        return contents.length;
+    }
+    
+    private boolean exists(final int column, final int row) {
+        if(row < 0 || row >= rows || column < 0) {
+            return false;
+        }
+        
+        final int[] indices = contentsIndices[row];
+        return indices != null && column < indices.length && indices[column] >= 0;
+    }
+    
+    /**
+     * フォーマットしたセルの値を取得する。
+     * @param column 列番号(0から始まる)
+     * @param row 行番号(0から始まる)
+     * @return 作成時のフォーマッターでフォーマットした値。存在しないセルの場合は空文字を返す。
+     */
+    public String getCellContents(final int column, final int row) {
+        if(!exists(column, row)) {
+            return "";
+        }
+        return contents[contentsIndices[row][column]];
+    }
+    
+    /**
+     * セルの値が空かどうか判定する。
+     * @param column 列番号(0から始まる)
+     * @param row 行番号(0から始まる)
+     * @return フォーマットした値が空文字の場合trueを返す。
+     */
+    public boolean isEmptyCellContents(final int column, final int row) {
+        if(!exists(column, row)) {
+            return true;
+        }
+        return contentsIndices[row][column] == 0;
+    }
+    
+    /**
+     * セルの書式を取得する。
+     * @param column 列番号(0から始まる)
+     * @param row 行番号(0から始まる)
+     * @return 存在しないセルの場合は、{@link POIUtils#getReadOnlyCell(Sheet, int, int)}と同じ書式を返す。
+     */
+    public CellStyle getCellStyle(final int column, final int row) {
+        if(!exists(column, row)) {
+            return POIUtils.getReadOnlyCell(sheet, column, row).getCellStyle();
+        }
+        return sheet.getWorkbook().getCellStyleAt(styleIndices[row][column] & 0xFFFF);
+    }
+    
+    /**
+     * 指定したセルのアドレスの結合情報を取得する。
+     * @param column 列番号(0から始まる)
+     * @param row 行番号(0から始まる)
+     * @return 結合していない場合nullを返す。
+     */
+    public CellRangeAddress getMergedRegion(final int column, final int row) {
+        
+        if(row >= 0 && row < rows && column >= 0) {
+            final int[] ids = mergedIds[row];
+            if(ids != null && column < ids.length) {
+                final int id = ids[column];
+                return id < 0 ? null : mergedRegions[id];
+            }
+        }
+        
+        return mergedRegionIndex.getMergedRegion(row, column);
+    }
+    
+}
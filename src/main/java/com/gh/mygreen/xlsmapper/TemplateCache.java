@@ -0,0 +1,150 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+
+/**
+ * 書き込み時の雛形となるテンプレートのExcelファイルの内容を、名前を付けてメモリ上に保持するクラス。
+ * <p>同じテンプレートから繰り返し出力する場合に、テンプレートのファイルの読み込みを一度だけにするために使用する。
+ *    <br>{@link XlsMapperConfig#getTemplateCache()}で取得し、複数のスレッドから同時に参照することができる。
+ * </p>
+ * <p>保持するのはファイルの内容のバイト列のみで、解析済みのワークブックは保持しない。
+ *    <br>POIのワークブックは複製できないため、{@link #createWorkbook(String)}の呼び出しごとに、
+ *    バイト列からワークブックを解析して作成する。
+ *    そのため、出力のたびに、テンプレートの大きさに応じた解析のコストとメモリが必要になる。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class TemplateCache {
+    
+    private final ConcurrentMap<String, byte[]> cache = new ConcurrentHashMap<>();
+    
+    /**
+     * テンプレートを登録する。
+     * <p>登録時に一度ワークブックとして読み込み、Excelファイルとして正しいか検証する。
+     *    <br>既に同じ名前で登録されている場合は、上書きする。
+     * </p>
+     * @param name テンプレートの名前
+     * @param templateXlsIn 雛形となるExcelファイルの入力。読み込み後に閉じない。
+     * @throws IllegalArgumentException {@literal name == null or templateXlsIn == null.}
+     * @throws XlsMapperException Excelファイルとして読み込めない場合。
+     * @throws IOException 入力の読み込みに失敗した場合。
+     */
+    public void register(final String name, final InputStream templateXlsIn) throws XlsMapperException, IOException {
+        ArgUtils.notEmpty(name, "name");
+        ArgUtils.notNull(templateXlsIn, "templateXlsIn");
+        
+        final byte[] data = toByteArray(templateXlsIn);
+        
+        // 検証のために読み込み、検証後は閉じる
+        final Workbook workbook = createWorkbook(data);
+        workbook.close();
+        
+        cache.put(name, data);
+    }
+    
+    /**
+     * テンプレートが登録されているかどうか判定する。
+     * @param name テンプレートの名前
+     * @return 登録されている場合trueを返す。
+     */
+    public boolean contains(final String name) {
+        return name != null && cache.containsKey(name);
+    }
+    
+    /**
+     * 登録されているテンプレートの名前を取得する。
+     * @return 変更できない名前の一覧。
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(cache.keySet());
+    }
+    
+    /**
+     * 登録されているテンプレートから、新たなワークブックを作成する。
+     * <p>呼び出しごとにテンプレートを解析して独立したインスタンスを作成するため、作成したワークブックを変更しても、他には影響しない。
+     * @param name テンプレートの名前
+     * @return 作成したワークブック
+     * @throws IllegalArgumentException {@literal name == null.}
+     * @throws IllegalStateException 指定した名前のテンプレートが登録されていない場合。
+     * @throws XlsMapperException ワークブックの作成に失敗した場合。
+     */
+    public Workbook createWorkbook(final String name) throws XlsMapperException {
+        ArgUtils.notEmpty(name, "name");
+        
+        final byte[] data = cache.get(name);
+        if(data == null) {
+            throw new IllegalStateException(String.format("not found template '%s'.", name));
+        }
+        
+        return createWorkbook(data);
+    }
+    
+    /**
+     * 登録されているテンプレートの入力を取得する。
+     * @param name テンプレートの名前
+     * @return メモリ上のデータを参照する入力。
+     * @throws IllegalArgumentException {@literal name == null.}
+     * @throws IllegalStateException 指定した名前のテンプレートが登録されていない場合。
+     */
+    public InputStream openStream(final String name) {
+        ArgUtils.notEmpty(name, "name");
+        
+        final byte[] data = cache.get(name);
+        if(data == null) {
+            throw new IllegalStateException(String.format("not found template '%s'.", name));
+        }
+        
+        return new ByteArrayInputStream(data);
+    }
+    
+    /**
+     * 登録されているテンプレートを削除する。
+     * @param name テンプレートの名前
+     * @return 削除した場合trueを返す。
+     */
+    public boolean remove(final String name) {
+        return name != null && cache.remove(name) != null;
+    }
+    
+    /**
+     * 登録されている全てのテンプレートを削除する。
+     */
+    public void clear() {
+        cache.clear();
+    }
+    
+    private static Workbook createWorkbook(final byte[] data) throws XlsMapperException {
+        try {
+            return WorkbookFactory.create(new ByteArrayInputStream(data));
+            
+        } catch (InvalidFormatException | IOException | RuntimeException e) {
+            throw new XlsMapperException("fail load template Excel File", e);
+        }
+    }
+    
+    private static byte[] toByteArray(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buf = new byte[8192];
+        int len;
+        while((len = in.read(buf)) != -1) {
+            out.write(buf, 0, len);
+        }
+        return out.toByteArray();
+    }
+    
+}
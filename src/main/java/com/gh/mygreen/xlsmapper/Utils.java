@@ -37,13 +37,14 @@ import com.gh.mygreen.xlsmapper.cellconvert.ItemConverter;
 import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
 import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
 import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReadException;
 import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 
 
 /**
  * ユーティリティクラス。
  * 
- * @version 1.5
+ * @version 1.6
  * @author T.TSUCHIE
  * @author Naoki Takezoe
  * @author Mitsuyoshi Hasegawa
@@ -270,13 +271,23 @@ public class Utils {
      * @param config システム設定
      * @return true:ラベルが一致する。
      */
-    private static String normalize(final String text, final XlsMapperConfig config){
+    static String normalize(final String text, final XlsMapperConfig config){
         if(text != null && config.isNormalizeLabelText()){
-            return text.trim().replaceAll("[\n\r]", "").replaceAll("[\t 　]+", " ");
+            return normalizeLabel(text);
         }
         return text;
     }
     
+    /**
+     * システム設定によらず、ラベルを正規化する。
+     * @since 1.6
+     * @param text セルのラベル
+     * @return 正規化したラベル
+     */
+    static String normalizeLabel(final String text) {
+        return text.trim().replaceAll("[\n\r]", "").replaceAll("[\t 　]+", " ");
+    }
+    
     /**
      * 指定したフィールド名に対するGetterメソッドを取得する。
      * 
@@ -420,80 +431,8 @@ public class Utils {
      * @param obj メソッドが定義されているオブジェクト
      * @param fieldName フィールド名
      */
-    @SuppressWarnings("unchecked")
     public static void setPosition(final int x, final int y, final Object obj, final String fieldName) {
-        
-        final Class<?> clazz = obj.getClass();
-        final String positionFieldName = fieldName + "Position";
-        
-        // フィールド positionsの場合
-        final String positionMapFieldName = "positions";
-        try {
-            Field positionMapField  = clazz.getDeclaredField(positionMapFieldName);
-            positionMapField.setAccessible(true);
-            if(Map.class.isAssignableFrom(positionMapField.getType())) {
-                Object positionMapValue = positionMapField.get(obj);
-                if(positionMapValue == null) {
-                    positionMapValue = new HashMap<String, Point>();
-                    positionMapField.set(obj, positionMapValue);
-                }
-                
-                ((Map<String, Point>) positionMapValue).put(fieldName, new Point(x, y));
-                return;
-            }
-        } catch (NoSuchFieldException | SecurityException e) {
-            // フィールドが見つからない場合は何もしない。
-            
-            
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-            throw new RuntimeException(
-                    String.format("fail set '%s' field", positionMapFieldName), 
-                    e);
-        }
-        
-        
-        // メソッドの場合(引数が int, intの場合)
-        final Method positionMethod1 = getSetter(clazz, positionFieldName, Integer.TYPE, Integer.TYPE);
-        if(positionMethod1 != null) {
-            try {
-                positionMethod1.invoke(obj, x, y);
-                return;
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new RuntimeException(
-                        String.format("fail set position with '%s' method", positionMethod1.getName()),
-                        e);
-            }
-            
-        }
-        
-        // メソッドの場合(引数が Pointの場合)
-        final Method positionMethod2 = getSetter(clazz, positionFieldName, Point.class);
-        if(positionMethod2 != null) {
-            try {
-                positionMethod2.invoke(obj, new Point(x, y));
-                return;
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new RuntimeException(
-                        String.format("fail set position with '%s' method", positionMethod2.getName()),
-                        e);
-            }
-            
-        }
-        
-        // フィールドの場合
-        final Field positionField = getField(clazz, positionFieldName);
-        if(positionField != null) {
-            try {
-                positionField.setAccessible(true);
-                positionField.set(obj, new Point(x, y));
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                throw new RuntimeException(
-                        String.format("fail set position with '%s' field", positionField.getName()),
-                        e);
-            }
-        }
-        
-        
+        PositionLabelAccessor.get(obj.getClass()).setPosition(x, y, obj, fieldName);
     }
     
     /**
@@ -680,64 +619,8 @@ public class Utils {
      * @param obj メソッドが定義されているオブジェクト
      * @param fieldName フィールド名
      */
-    @SuppressWarnings("unchecked")
     public static void setLabel(final String label, final Object obj, final String fieldName) {
-        
-        final Class<?> clazz = obj.getClass();
-        final String labelFieldName = fieldName + "Label";
-        
-        // フィールド labelsの場合
-        final String labelMapFieldName = "labels";
-        try {
-            Field labelMapField  = clazz.getDeclaredField(labelMapFieldName);
-            labelMapField.setAccessible(true);
-            if(Map.class.isAssignableFrom(labelMapField.getType())) {
-                Object labelMapValue = labelMapField.get(obj);
-                if(labelMapValue == null) {
-                    labelMapValue = new HashMap<String, Point>();
-                    labelMapField.set(obj, labelMapValue);
-                }
-                
-                ((Map<String, String>) labelMapValue).put(fieldName, label);
-                return;
-            }
-        } catch (NoSuchFieldException | SecurityException e) {
-            // フィールドが見つからない場合は何もしない。
-            
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-            throw new RuntimeException(
-                    String.format("fail set '%s' field", labelMapFieldName), 
-                    e);
-        }
-        
-        // メソッドの場合(引数が String の場合)
-        final Method labelMethod1 = getSetter(clazz, labelFieldName, String.class);
-        if(labelMethod1 != null) {
-            try {
-                labelMethod1.invoke(obj, label);
-                return;
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new RuntimeException(
-                        String.format("fail set label with '%s' method", labelMethod1.getName()),
-                        e);
-            }
-            
-        }
-        
-        // フィールドの場合
-        final Field labelField = getField(clazz, labelFieldName);
-        if(labelField != null) {
-            try {
-                labelField.setAccessible(true);
-                labelField.set(obj, label);
-                return;
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                throw new RuntimeException(
-                        String.format("fail set label with '%s' field", labelField.getName()),
-                        e);
-            }
-        }
-        
+        PositionLabelAccessor.get(obj.getClass()).setLabel(label, obj, fieldName);
     }
     
     /**
@@ -1051,13 +934,25 @@ public class Utils {
         ArgUtils.notMin(from, 0, "from");
         ArgUtils.notNull(config, "config");
         
-        final int rows = POIUtils.getColumns(sheet);
-        for(int i=0; i < rows; i++) {
-            final Cell[] columns = POIUtils.getColumn(sheet, i);
-            for(int j=from; j < columns.length; j++) {
-                final String cellValue = POIUtils.getCellContents(columns[j], config.getCellFormatter());
+        // 存在しないセルは空文字として比較し、一致する場合のみ作成する。
+        final boolean matchesBlank = matches("", label, config);
+        
+        final int maxColumn = POIUtils.getColumns(sheet);
+        final int maxRow = POIUtils.getRows(sheet);
+        for(int i=0; i < maxColumn; i++) {
+            for(int j=from; j < maxRow; j++) {
+                final Row row = sheet.getRow(j);
+                final Cell cell = (row == null) ? null : row.getCell(i);
+                if(cell == null) {
+                    if(matchesBlank) {
+                        return POIUtils.getCell(sheet, i, j);
+                    }
+                    continue;
+                }
+                
+                final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
                 if(matches(cellValue, label, config)) {
-                    return columns[j];
+                    return cell;
                 }
                 
             }
@@ -1107,6 +1002,9 @@ public class Utils {
         ArgUtils.notMin(fromRow, 0, "fromRow");
         ArgUtils.notNull(config, "config");
         
+        // 存在しないセルは空文字として比較し、一致する場合のみ作成する。
+        final boolean matchesBlank = matches("", label, config);
+        
         final int maxRow = POIUtils.getRows(sheet);
         for(int i=fromRow; i < maxRow; i++) {
             final Row row = sheet.getRow(i);
@@ -1116,7 +1014,14 @@ public class Utils {
             
             final int maxCol = row.getLastCellNum();;
             for(int j=fromCol; j < maxCol; j++) {
-                final Cell cell = row.getCell(j, Row.CREATE_NULL_AS_BLANK);
+                final Cell cell = row.getCell(j);
+                if(cell == null) {
+                    if(matchesBlank) {
+                        return row.createCell(j, Cell.CELL_TYPE_BLANK);
+                    }
+                    continue;
+                }
+                
                 final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
                 if(matches(cellValue, label, config)) {
                     return cell;
@@ -1182,6 +1087,9 @@ public class Utils {
         int columnStart = after.getColumnIndex();
         int rowStart = after.getRowIndex();
         
+        // 存在しないセルは空文字として比較し、一致する場合のみ作成する。
+        final boolean matchesBlank = matches("", label, config);
+        
         final int maxRow = POIUtils.getRows(sheet);
         for(int i=rowStart; i < maxRow; i++) {
             final Row row = sheet.getRow(i);
@@ -1196,7 +1104,14 @@ public class Utils {
                     continue;
                 }
                 
-                final Cell cell = row.getCell(j, Row.CREATE_NULL_AS_BLANK);
+                final Cell cell = row.getCell(j);
+                if(cell == null) {
+                    if(matchesBlank) {
+                        return row.createCell(j, Cell.CELL_TYPE_BLANK);
+                    }
+                    continue;
+                }
+                
                 final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
                 if(matches(cellValue, label, config)) {
                     return cell;
@@ -1304,12 +1219,13 @@ public class Utils {
     /**
      * アノテーション{@link XlsColumn}が付与されている読み込み系の指定したオブジェクトのメソッド（Setter）とフィールド情報を取得する。
      * <p>フィールドは、public以外の全てのメソッドを対象とする。
+     * <p>クラスのマッピング情報{@link BeanMapping}の索引から取得するため、2回目以降はクラスを解析しない。
      * 
      * @param clazz
      * @param name 属性columnNameと比較する値。名前がない場合はnullを指定する。
      * @param reader
      * @param config
-     * @return
+     * @return 変更不可能なリスト。
      */
     public static List<FieldAdaptor> getLoadingColumnProperties(final Class<?> clazz, final String name,
             final AnnotationReader reader, final XlsMapperConfig config) {
@@ -1318,32 +1234,26 @@ public class Utils {
         ArgUtils.notNull(reader, "reader");
         ArgUtils.notNull(config, "config");
         
-        final List<FieldAdaptor> list = new ArrayList<>();
-        
-        for(FieldAdaptor adaptor : getSetterColumnMethods(clazz, name, reader, config)) {
-            list.add(adaptor);
-        }
-        
-        for(FieldAdaptor adaptor : getColumnFields(clazz, name, reader, config)) {
-            if(list.contains(adaptor)) {
-                continue;
-            }
-            
-            list.add(adaptor);
+        final BeanMapping beanMapping;
+        try {
+            beanMapping = config.getBeanMapping(clazz, reader);
+        } catch(AnnotationReadException e) {
+            throw new IllegalStateException("fail load annotations", e);
         }
         
-        return list;
+        return beanMapping.getLoadingColumnIndex().find(name, config);
     }
     
     /**
      * アノテーション{@link XlsColumn}が付与されている書き込み系の指定したオブジェクトのメソッド（Setter）とフィールド情報を取得する。
      * <p>フィールドは、public以外の全てのメソッドを対象とする。
+     * <p>クラスのマッピング情報{@link BeanMapping}の索引から取得するため、2回目以降はクラスを解析しない。
      * 
      * @param clazz
      * @param name 属性columnNameと比較する値。名前がない場合はnullを指定する。
      * @param reader
      * @param config
-     * @return
+     * @return 変更不可能なリスト。
      */
     public static List<FieldAdaptor> getSavingColumnProperties(final Class<?> clazz, final String name,
             final AnnotationReader reader, final XlsMapperConfig config) {
@@ -1352,21 +1262,14 @@ public class Utils {
         ArgUtils.notNull(reader, "reader");
         ArgUtils.notNull(config, "config");
         
-        final List<FieldAdaptor> list = new ArrayList<>();
-        
-        for(FieldAdaptor adaptor : getGetterColumnMethods(clazz, name, reader, config)) {
-            list.add(adaptor);
-        }
-        
-        for(FieldAdaptor adaptor : getColumnFields(clazz, name, reader, config)) {
-            if(list.contains(adaptor)) {
-                continue;
-            }
-            
-            list.add(adaptor);
+        final BeanMapping beanMapping;
+        try {
+            beanMapping = config.getBeanMapping(clazz, reader);
+        } catch(AnnotationReadException e) {
+            throw new IllegalStateException("fail load annotations", e);
         }
         
-        return list;
+        return beanMapping.getSavingColumnIndex().find(name, config);
     }
     
     /**
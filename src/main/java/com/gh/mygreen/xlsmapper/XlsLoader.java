@@ -2,27 +2,22 @@ package com.gh.mygreen.xlsmapper;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.gh.mygreen.xlsmapper.annotation.XlsListener;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
 import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
-import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
-import com.gh.mygreen.xlsmapper.fieldprocessor.LoadingFieldProcessor;
+import com.gh.mygreen.xlsmapper.streaming.RecordIterator;
+import com.gh.mygreen.xlsmapper.streaming.XlsStreamingLoader;
 import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
 import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 import com.gh.mygreen.xlsmapper.xml.XmlIO;
@@ -32,7 +27,7 @@ import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
 /**
  * ExcelのシートをJavaBeanにマッピングするクラス。
  * 
- * @version 1.4.4
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -155,6 +150,8 @@ public class XlsLoader {
             throw new XlsMapperException("fail load Excel File", e);
         }
         
+        work.setFormulaEvaluator(createFormulaEvaluator(book));
+        
         try {
             final Sheet[] xlsSheet = config.getSheetFinder().findForLoading(book, sheetAnno, annoReader, clazz);
             return loadSheet(xlsSheet[0], clazz, work);
@@ -168,6 +165,58 @@ public class XlsLoader {
         }
     }
     
+    /**
+     * Excelファイルの１シートを読み込み、指定したフィールドの表のレコードを1件ずつ取得する。
+     * <p>xlsx形式のファイルを対象に、{@link XlsStreamingLoader}を利用してシートを読み込みながらレコードを返す。
+     *    <br>全てのレコードをリストとして保持しないため、大量のレコードを扱う場合に、使用するメモリを抑えることができる。
+     *    <br>対象のフィールドは、アノテーション{@link com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords}を付与している必要がある。
+     * </p>
+     * 
+     * @since 1.6
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz シートのマッピング先のクラスタイプ。
+     * @param fieldName 表のマッピング先のフィールド名。
+     * @return レコードのイテレータ。使用後は{@link RecordIterator#close()}で閉じる必要がある。
+     * @throws XlsMapperException 
+     * @throws IOException 
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     * @throws IllegalArgumentException fieldName is empty.
+     */
+    public <T> RecordIterator<T> streamRecords(final InputStream xlsIn, final Class<?> clazz, final String fieldName)
+            throws XlsMapperException, IOException {
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        ArgUtils.notEmpty(fieldName, "fieldName");
+        
+        return new XlsStreamingLoader(config).streamRecords(xlsIn, clazz, fieldName);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、指定したフィールドの表のレコードを1件ずつ取得する。
+     * 
+     * @since 1.6
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz シートのマッピング先のクラスタイプ。
+     * @param fieldName 表のマッピング先のフィールド名。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return レコードのイテレータ。使用後は{@link RecordIterator#close()}で閉じる必要がある。
+     * @throws XlsMapperException 
+     * @throws IOException 
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     * @throws IllegalArgumentException fieldName is empty.
+     */
+    public <T> RecordIterator<T> streamRecords(final InputStream xlsIn, final Class<?> clazz, final String fieldName,
+            final InputStream xmlIn, final SheetBindingErrors errors) throws XlsMapperException, IOException {
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        ArgUtils.notEmpty(fieldName, "fieldName");
+        
+        return new XlsStreamingLoader(config).streamRecords(xlsIn, clazz, fieldName, xmlIn, errors);
+    }
+    
     /**
      * Excelファイルの複数シートを読み込み、任意のクラスにマップする。
      * @param xlsIn
@@ -261,6 +310,8 @@ public class XlsLoader {
             throw new XlsMapperException("fail load Excel File", e);
         }
         
+        final FormulaEvaluator formulaEvaluator = createFormulaEvaluator(book);
+        
         final List<P> list = new ArrayList<P>();
         
         if(sheetAnno.number() == -1 && sheetAnno.name().isEmpty() && sheetAnno.regex().isEmpty()) {
@@ -271,6 +322,7 @@ public class XlsLoader {
                 
                 final LoadingWorkObject work = new LoadingWorkObject();
                 work.setAnnoReader(annoReader);
+                work.setFormulaEvaluator(formulaEvaluator);
                 work.setErrors(container.findBindingResult(i));
                 list.add(loadSheet(sheet, clazz, work));
             }
@@ -283,6 +335,7 @@ public class XlsLoader {
                     
                     final LoadingWorkObject work = new LoadingWorkObject();
                     work.setAnnoReader(annoReader);
+                    work.setFormulaEvaluator(formulaEvaluator);
                     work.setErrors(container.findBindingResult(list.size()));
                     list.add(loadSheet(sheet, clazz, work));
                 }
@@ -341,6 +394,8 @@ public class XlsLoader {
             throw new XlsMapperException("fail load Excel File", e);
         }
         
+        final FormulaEvaluator formulaEvaluator = createFormulaEvaluator(book);
+        
         final List<Object> list = new ArrayList<Object>();
         for(Class<?> clazz : classes) {
             final XlsSheet sheetAnno = clazz.getAnnotation(XlsSheet.class);
@@ -355,6 +410,7 @@ public class XlsLoader {
                     
                     final LoadingWorkObject work = new LoadingWorkObject();
                     work.setAnnoReader(annoReader);
+                    work.setFormulaEvaluator(formulaEvaluator);
                     work.setErrors(container.findBindingResult(list.size()));
                     list.add(loadSheet(sheet, clazz, work));
                     
@@ -380,7 +436,6 @@ public class XlsLoader {
      * @throws Exception 
      * 
      */
-    @SuppressWarnings({"rawtypes"})
     private <P> P loadSheet(final Sheet sheet, final Class<P> clazz, final LoadingWorkObject work) throws XlsMapperException {
         
         // 値の読み込み対象のJavaBeanオブジェクトの作成
@@ -388,80 +443,56 @@ public class XlsLoader {
         
         work.getErrors().setSheetName(sheet.getSheetName());
         
-        final List<FieldAdaptorProxy> adaptorProxies = new ArrayList<>();
+        // クラスのマッピング情報の取得
+        final BeanMapping beanMapping = config.getBeanMapping(clazz, work.getAnnoReader());
         
         // リスナークラスの@PreLoadd用メソッドの実行
-        final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(beanObj.getClass(), XlsListener.class);
-        if(listenerAnno != null) {
-            Object listenerObj = config.createBean(listenerAnno.listenerClass());
-            for(Method method : listenerObj.getClass().getMethods()) {
-                final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreLoad.class);
-                if(preProcessAnno != null) {
-                    Utils.invokeNeedProcessMethod(listenerObj, method, beanObj, sheet, config, work.getErrors());
-                }
+        if(beanMapping.hasListener()) {
+            Object listenerObj = config.createBean(beanMapping.getListenerClass());
+            for(Method method : beanMapping.getListenerPreLoadMethods()) {
+                Utils.invokeNeedProcessMethod(listenerObj, method, beanObj, sheet, config, work.getErrors());
             }
             
         }
         
         // @PreLoad用のメソッドの実行
-        for(Method method : clazz.getMethods()) {
-            
-            final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(beanObj.getClass(), method, XlsPreLoad.class);
-            if(preProcessAnno != null) {
-                Utils.invokeNeedProcessMethod(beanObj, method, beanObj, sheet, config, work.getErrors());
-            }
+        for(Method method : beanMapping.getPreLoadMethods()) {
+            Utils.invokeNeedProcessMethod(beanObj, method, beanObj, sheet, config, work.getErrors());
         }
         
-        // public メソッドの処理
-        for(Method method : clazz.getMethods()) {
-            method.setAccessible(true);
-            
-            for(Annotation anno : work.getAnnoReader().getAnnotations(clazz, method)) {
-                final LoadingFieldProcessor processor = config.getFieldProcessorRegistry().getLoadingProcessor(anno);
-                if(Utils.isSetterMethod(method) && processor != null) {
-                    final FieldAdaptor adaptor = new FieldAdaptor(clazz, method, work.getAnnoReader());
-                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
-                    
-                } else if(anno instanceof XlsPostLoad) {
-                    work.addNeedPostProcess(new NeedProcess(beanObj, beanObj, method));
-                }
-            }
-            
+        // @PostLoadのメソッドの取得
+        for(Method method : beanMapping.getPostLoadMethods()) {
+            work.addNeedPostProcess(new NeedProcess(beanObj, beanObj, method));
         }
         
-        // public / private / protected / default フィールドの処理
-        for(Field field : clazz.getDeclaredFields()) {
-            
-            field.setAccessible(true);
-            final FieldAdaptor adaptor = new FieldAdaptor(clazz, field, work.getAnnoReader());
-            
-            // メソッドを重複している場合は排除する。
-            if(adaptorProxies.contains(adaptor)) {
-                continue;
-            }
-            
-            for(Annotation anno : work.getAnnoReader().getAnnotations(clazz, field)) {
-                final LoadingFieldProcessor processor = config.getFieldProcessorRegistry().getLoadingProcessor(anno);
-                if(processor != null) {
-                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
-                }
-            }
+        // フォーマットしたセルの値は、フィールドの読み込み中のみ保持する
+        final CachedCellFormatter cachedCellFormatter = (config.getCellFormatter() instanceof CachedCellFormatter)
+                ? (CachedCellFormatter) config.getCellFormatter() : null;
+        if(cachedCellFormatter != null) {
+            cachedCellFormatter.beginCache(sheet);
         }
         
-        // 順番を並び替えて保存処理を実行する
-        Collections.sort(adaptorProxies, HintOrderComparator.createForLoading());
-        for(FieldAdaptorProxy adaptorProxy : adaptorProxies) {
-            adaptorProxy.loadProcess(sheet, beanObj, config, work);
+        // 式の評価処理は、ワークブック単位で共有する
+        final Workbook book = sheet.getWorkbook();
+        final FormulaEvaluator previousEvaluator = POIUtils.shareFormulaEvaluator(book, work.getFormulaEvaluator(book));
+        
+        // 並び替え済みの順番で読み込み処理を実行する
+        try {
+            for(FieldAdaptorProxy adaptorProxy : beanMapping.getLoadingProxies()) {
+                adaptorProxy.loadProcess(sheet, beanObj, config, work);
+            }
+        } finally {
+            POIUtils.unshareFormulaEvaluator(book, previousEvaluator);
+            if(cachedCellFormatter != null) {
+                cachedCellFormatter.endCache(sheet);
+            }
         }
         
         // リスナークラスの@PostLoadの取得
-        if(listenerAnno != null) {
-            Object listenerObj = config.createBean(listenerAnno.listenerClass());
-            for(Method method : listenerObj.getClass().getMethods()) {
-                final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostLoad.class);
-                if(postProcessAnno != null) {
-                    work.addNeedPostProcess(new NeedProcess(beanObj, listenerObj, method));
-                }
+        if(beanMapping.hasListener()) {
+            Object listenerObj = config.createBean(beanMapping.getListenerClass());
+            for(Method method : beanMapping.getListenerPostLoadMethods()) {
+                work.addNeedPostProcess(new NeedProcess(beanObj, listenerObj, method));
             }
             
         }
@@ -474,6 +505,27 @@ public class XlsLoader {
         return beanObj;
     }
     
+    /**
+     * ワークブック単位で共有する式の評価処理を作成する。
+     * <p>設定により、マッピングを始める前に全ての式を評価する。
+     * @param book 読み込み対象のワークブック
+     * @return 式の評価処理
+     */
+    private FormulaEvaluator createFormulaEvaluator(final Workbook book) {
+        
+        final FormulaEvaluator evaluator = book.getCreationHelper().createFormulaEvaluator();
+        if(config.isFormulaEvaluateAllOnLoad()) {
+            try {
+                evaluator.evaluateAll();
+            } catch(RuntimeException e) {
+                // 評価できない式がある場合は、セルの値の取得時に個別に評価する。
+                logger.warn("fail evaluate all formula cells.", e);
+            }
+        }
+        
+        return evaluator;
+    }
+    
     public XlsMapperConfig getConfig() {
         return config;
     }
@@ -6,7 +6,9 @@ import java.util.Map;
 import org.apache.poi.ss.usermodel.Sheet;
 
 import com.gh.mygreen.xlsmapper.annotation.XlsArrayConverter;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
 import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.annotation.XlsVerticalRecords;
 import com.gh.mygreen.xlsmapper.cellconvert.CellConverterRegistry;
 import com.gh.mygreen.xlsmapper.cellconvert.DefaultItemConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.ItemConverter;
@@ -14,6 +16,8 @@ import com.gh.mygreen.xlsmapper.expression.CustomFunctions;
 import com.gh.mygreen.xlsmapper.expression.ExpressionLanguageJEXLImpl;
 import com.gh.mygreen.xlsmapper.fieldprocessor.FieldProcessorRegstry;
 import com.gh.mygreen.xlsmapper.validation.MessageInterpolator;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReadException;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 
 
 /**
@@ -55,6 +59,12 @@ public class XlsMapperConfig {
     /** 書き込み時に式の再計算をするかどうか */
     private boolean formulaRecalcurationOnSave = true;
     
+    /** 読み込み時に全ての式を事前に評価するかどうか */
+    private boolean formulaEvaluateAllOnLoad = false;
+    
+    /** 読み込み時にシートのセルの情報をまとめて保持するかどうか */
+    private boolean sheetSnapshotOnLoad = false;
+    
     /** POIのセルの値のフォーマッター */
     private CellFormatter cellFormatter = new DefaultCellFormatter();
     
@@ -74,6 +84,12 @@ public class XlsMapperConfig {
     /** 数式をフォーマットするクラス */
     private MessageInterpolator formulaFormatter = new MessageInterpolator();
     
+    /** クラスのマッピング情報のキャッシュ */
+    private BeanMappingCache beanMappingCache = new BeanMappingCache();
+    
+    /** 書き込み時のテンプレートのキャッシュ */
+    private TemplateCache templateCache = new TemplateCache();
+    
     public XlsMapperConfig() {
         
         // 数式をフォーマットする際のEL関数を登録する。
@@ -95,6 +111,19 @@ public class XlsMapperConfig {
         return (P) beanFactory.create(clazz);
     }
     
+    /**
+     * 指定したクラスタイプのマッピング情報を取得する。
+     * <p>{@link #getBeanMappingCache()}から、現在のプロセッサの管理クラスを使用して取得します。
+     * @since 1.6
+     * @param clazz マッピング対象のクラス
+     * @param annoReader アノテーションの読み込みクラス
+     * @return クラスのマッピング情報
+     * @throws AnnotationReadException アノテーションの読み込みに失敗した場合。
+     */
+    public BeanMapping getBeanMapping(final Class<?> clazz, final AnnotationReader annoReader) throws AnnotationReadException {
+        return beanMappingCache.get(clazz, annoReader, fieldProcessorRegistry);
+    }
+    
     /**
      * シートが見つからなくても無視するかどうか。
      * @return 初期値は、'false'です。
@@ -314,6 +343,52 @@ public class XlsMapperConfig {
         return this;
     }
     
+    /**
+     * 読み込み時に、マッピングを始める前にワークブックの全ての式を評価するか設定します。
+     * <p>式を含むセルが多い場合、まとめて評価することで、評価結果をワークブック単位で再利用できます。
+     * @since 1.6
+     * @return 初期値は、'false'です。
+     */
+    public boolean isFormulaEvaluateAllOnLoad() {
+        return formulaEvaluateAllOnLoad;
+    }
+    
+    /**
+     * 読み込み時に、マッピングを始める前にワークブックの全ての式を評価するか設定します。
+     * <p>式を含むセルが多い場合、まとめて評価することで、評価結果をワークブック単位で再利用できます。
+     * @since 1.6
+     * @param formulaEvaluateAllOnLoad trueの場合、全ての式を事前に評価します。
+     * @return 自身のインスタンス
+     */
+    public XlsMapperConfig setFormulaEvaluateAllOnLoad(boolean formulaEvaluateAllOnLoad) {
+        this.formulaEvaluateAllOnLoad = formulaEvaluateAllOnLoad;
+        return this;
+    }
+    
+    /**
+     * 読み込み時に、表のセルの値をシートの使用範囲から事前にまとめて取得するか設定します。
+     * <p>{@link XlsHorizontalRecords}、{@link XlsVerticalRecords}で、大きな表を読み込む場合に、
+     *    表の終端の判定などで参照するセルの値を、{@link SheetSnapshot}から参照します。
+     * @since 1.6
+     * @return 初期値は、'false'です。
+     */
+    public boolean isSheetSnapshotOnLoad() {
+        return sheetSnapshotOnLoad;
+    }
+    
+    /**
+     * 読み込み時に、表のセルの値をシートの使用範囲から事前にまとめて取得するか設定します。
+     * <p>{@link XlsHorizontalRecords}、{@link XlsVerticalRecords}で、大きな表を読み込む場合に、
+     *    表の終端の判定などで参照するセルの値を、{@link SheetSnapshot}から参照します。
+     * @since 1.6
+     * @param sheetSnapshotOnLoad trueの場合、シートの使用範囲のセルの値をまとめて取得します。
+     * @return 自身のインスタンス
+     */
+    public XlsMapperConfig setSheetSnapshotOnLoad(boolean sheetSnapshotOnLoad) {
+        this.sheetSnapshotOnLoad = sheetSnapshotOnLoad;
+        return this;
+    }
+    
     /**
      * POIのセルのフォーマッターを取得します。
      * @return
@@ -454,4 +529,52 @@ public class XlsMapperConfig {
         return this;
     }
     
+    /**
+     * クラスのマッピング情報のキャッシュを取得します。
+     * 
+     * @since 1.6
+     * @return クラスのマッピング情報のキャッシュ。
+     */
+    public BeanMappingCache getBeanMappingCache() {
+        return beanMappingCache;
+    }
+    
+    /**
+     * クラスのマッピング情報のキャッシュを設定します。
+     * <p>複数の設定で、キャッシュを共有したい場合に設定します。
+     * 
+     * @since 1.6
+     * @param beanMappingCache クラスのマッピング情報のキャッシュ。
+     * @return 自身のインスタンス
+     */
+    public XlsMapperConfig setBeanMappingCache(BeanMappingCache beanMappingCache) {
+        this.beanMappingCache = beanMappingCache;
+        return this;
+    }
+    
+    /**
+     * 書き込み時のテンプレートのキャッシュを取得します。
+     * <p>{@link XlsSaver#saveByTemplate(String, java.io.OutputStream, Object)}などで、
+     *    登録したテンプレートの名前を指定して出力する際に参照します。
+     * 
+     * @since 1.6
+     * @return 書き込み時のテンプレートのキャッシュ。
+     */
+    public TemplateCache getTemplateCache() {
+        return templateCache;
+    }
+    
+    /**
+     * 書き込み時のテンプレートのキャッシュを設定します。
+     * <p>複数の設定で、キャッシュを共有したい場合に設定します。
+     * 
+     * @since 1.6
+     * @param templateCache 書き込み時のテンプレートのキャッシュ。
+     * @return 自身のインスタンス
+     */
+    public XlsMapperConfig setTemplateCache(TemplateCache templateCache) {
+        this.templateCache = templateCache;
+        return this;
+    }
+    
 }
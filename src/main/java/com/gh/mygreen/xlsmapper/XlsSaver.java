@@ -3,11 +3,8 @@ package com.gh.mygreen.xlsmapper;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
@@ -17,12 +14,7 @@ import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.gh.mygreen.xlsmapper.annotation.XlsListener;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
 import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
-import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
-import com.gh.mygreen.xlsmapper.fieldprocessor.SavingFieldProcessor;
 import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
 import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 import com.gh.mygreen.xlsmapper.xml.XmlIO;
@@ -32,7 +24,7 @@ import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
 /**
  * JavaBeanをExcelのシートにマッピングし出力するクラス。
  * 
- * @version 1.5
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -83,6 +75,56 @@ public class XlsSaver {
         ArgUtils.notNull(xlsOut, "xlsOut");
         ArgUtils.notNull(beanObj, "beanObj");
         
+        saveWorkbook(loadTemplate(templateXlsIn), xlsOut, beanObj, xmlIn);
+    }
+    
+    /**
+     * {@link TemplateCache}に登録したテンプレートをもとに、JavaのオブジェクトをExeclファイルに出力する。
+     * <p>テンプレートは、{@link XlsMapperConfig#getTemplateCache()}に事前に登録しておく必要がある。
+     *    <br>テンプレートのファイルの読み込みは省略できるが、ワークブックの解析は出力のたびに行う。
+     * @since 1.6
+     * @param templateName 登録したテンプレートの名前
+     * @param xlsOut 出力
+     * @param beanObj 書き込むオブジェクト
+     * @throws XlsMapperException 
+     * @throws IOException 
+     */
+    public void saveByTemplate(final String templateName, final OutputStream xlsOut, final Object beanObj) throws XlsMapperException, IOException {
+        
+        saveByTemplate(templateName, xlsOut, beanObj, null);
+    }
+    
+    /**
+     * {@link TemplateCache}に登録したテンプレートと、XMLによるマッピングを指定して、
+     * JavaのオブジェクトをExcelファイルに出力する。
+     * @since 1.6
+     * @param templateName 登録したテンプレートの名前
+     * @param xlsOut 出力
+     * @param beanObj 書き込むオブジェクト
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。
+     * @throws XlsMapperException 
+     * @throws IOException 
+     */
+    public void saveByTemplate(final String templateName, final OutputStream xlsOut, final Object beanObj, final InputStream xmlIn) throws XlsMapperException, IOException {
+        
+        ArgUtils.notEmpty(templateName, "templateName");
+        ArgUtils.notNull(xlsOut, "xlsOut");
+        ArgUtils.notNull(beanObj, "beanObj");
+        
+        saveWorkbook(config.getTemplateCache().createWorkbook(templateName), xlsOut, beanObj, xmlIn);
+    }
+    
+    private Workbook loadTemplate(final InputStream templateXlsIn) throws XlsMapperException {
+        try {
+            return WorkbookFactory.create(templateXlsIn);
+            
+        } catch (InvalidFormatException | IOException e) {
+            throw new XlsMapperException("fail load template Excel File", e);
+        }
+    }
+    
+    private void saveWorkbook(final Workbook book, final OutputStream xlsOut, final Object beanObj, final InputStream xmlIn) throws XlsMapperException, IOException {
+        
         // Xmls情報の出力
         XmlInfo xmlInfo = null;
         if(xmlIn != null) {
@@ -95,14 +137,6 @@ public class XlsSaver {
         
         work.setErrors(new SheetBindingErrors(beanObj.getClass()));
         
-        final Workbook book;
-        try {
-            book = WorkbookFactory.create(templateXlsIn);
-            
-        } catch (InvalidFormatException | IOException e) {
-            throw new XlsMapperException("fail load template Excel File", e);
-        }
-        
         final Class<?> clazz = beanObj.getClass();
         final XlsSheet sheetAnno = clazz.getAnnotation(XlsSheet.class);
         if(sheetAnno == null) {
@@ -162,6 +196,46 @@ public class XlsSaver {
         ArgUtils.notNull(xlsOut, "xlsOut");
         ArgUtils.notEmpty(beanObjs, "beanObjs");
         
+        saveMultipleWorkbook(loadTemplate(templateXlsIn), xlsOut, beanObjs, xmlIn);
+    }
+    
+    /**
+     * {@link TemplateCache}に登録したテンプレートをもとに、複数のオブジェクトをそれぞれのシートへ保存する。
+     * @since 1.6
+     * @param templateName 登録したテンプレートの名前
+     * @param xlsOut 出力
+     * @param beanObjs 書き込むオブジェクトの配列。
+     * @throws XlsMapperException
+     * @throws IOException 
+     */
+    public void saveMultipleByTemplate(final String templateName, final OutputStream xlsOut, final Object[] beanObjs) throws XlsMapperException, IOException {
+        
+        saveMultipleByTemplate(templateName, xlsOut, beanObjs, null);
+    }
+    
+    /**
+     * {@link TemplateCache}に登録したテンプレートをもとに、複数のオブジェクトをそれぞれのシートへ保存する。
+     * @since 1.6
+     * @param templateName 登録したテンプレートの名前
+     * @param xlsOut 出力
+     * @param beanObjs 書き込むオブジェクトの配列。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。
+     * @throws XlsMapperException
+     * @throws IOException 
+     */
+    public void saveMultipleByTemplate(final String templateName, final OutputStream xlsOut, final Object[] beanObjs,
+            final InputStream xmlIn) throws XlsMapperException, IOException {
+        
+        ArgUtils.notEmpty(templateName, "templateName");
+        ArgUtils.notNull(xlsOut, "xlsOut");
+        ArgUtils.notEmpty(beanObjs, "beanObjs");
+        
+        saveMultipleWorkbook(config.getTemplateCache().createWorkbook(templateName), xlsOut, beanObjs, xmlIn);
+    }
+    
+    private void saveMultipleWorkbook(final Workbook book, final OutputStream xlsOut, final Object[] beanObjs,
+            final InputStream xmlIn) throws XlsMapperException, IOException {
+        
         // Xmls情報の出力
         XmlInfo xmlInfo = null;
         if(xmlIn != null) {
@@ -171,13 +245,9 @@ public class XlsSaver {
         final SheetBindingErrorsContainer errorsContainer = new SheetBindingErrorsContainer(getObjectNames(beanObjs));
         
         final AnnotationReader annoReader = new AnnotationReader(xmlInfo);
-        final Workbook book;
-        try {
-            book = WorkbookFactory.create(templateXlsIn);
-            
-        } catch (InvalidFormatException | IOException e) {
-            throw new XlsMapperException("fail load template Excel File", e);
-        }
+        
+        // 書式を変更したスタイルは、シートをまたいで共有する
+        final CellStyleCache cellStyleCache = new CellStyleCache(book);
         
         for(int i=0; i < beanObjs.length; i++) {
             final Object beanObj = beanObjs[i];
@@ -191,6 +261,7 @@ public class XlsSaver {
             
             final SavingWorkObject work = new SavingWorkObject();
             work.setAnnoReader(annoReader);
+            work.setCellStyleCache(cellStyleCache);
             
             try {
                 final Sheet[] xlsSheet = config.getSheetFinder().findForSaving(book, sheetAnno, annoReader, beanObj);
@@ -229,7 +300,6 @@ public class XlsSaver {
      * @param work
      * @throws XlsMapperException 
      */
-    @SuppressWarnings({"rawtypes"})
     private void saveSheet(final Sheet sheet, final Object beanObj,
             final SavingWorkObject work) throws XlsMapperException {
         
@@ -237,79 +307,45 @@ public class XlsSaver {
         
         work.getErrors().setSheetName(sheet.getSheetName());
         
+        // クラスのマッピング情報の取得
+        final BeanMapping beanMapping = config.getBeanMapping(clazz, work.getAnnoReader());
+        
         // リスナークラスの@PreSave用メソッドの実行
-        final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(beanObj.getClass(), XlsListener.class);
-        if(listenerAnno != null) {
-            Object listenerObj = config.createBean(listenerAnno.listenerClass());
-            for(Method method : listenerObj.getClass().getMethods()) {
-                final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreSave.class);
-                if(preProcessAnno != null) {
-                    Utils.invokeNeedProcessMethod(listenerObj, method, beanObj, sheet, config, work.getErrors());
-                }
+        if(beanMapping.hasListener()) {
+            Object listenerObj = config.createBean(beanMapping.getListenerClass());
+            for(Method method : beanMapping.getListenerPreSaveMethods()) {
+                Utils.invokeNeedProcessMethod(listenerObj, method, beanObj, sheet, config, work.getErrors());
             }
             
         }
         
-        // @PreSave用のメソッドの取得と実行
-        for(Method method : clazz.getMethods()) {
-            
-            final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(beanObj.getClass(), method, XlsPreSave.class);
-            if(preProcessAnno != null) {
-                Utils.invokeNeedProcessMethod(beanObj, method, beanObj, sheet, config, work.getErrors());
-            }
+        // @PreSave用のメソッドの実行
+        for(Method method : beanMapping.getPreSaveMethods()) {
+            Utils.invokeNeedProcessMethod(beanObj, method, beanObj, sheet, config, work.getErrors());
         }
         
-        final List<FieldAdaptorProxy> adaptorProxies = new ArrayList<>();
-        
-        // public メソッドの処理
-        for(Method method : clazz.getMethods()) {
-            method.setAccessible(true);
-            for(Annotation anno : work.getAnnoReader().getAnnotations(clazz, method)) {
-                final SavingFieldProcessor processor = config.getFieldProcessorRegistry().getSavingProcessor(anno);
-                if((Utils.isGetterMethod(method) || Utils.isBooleanGetterMethod(method))&& processor != null) {
-                    final FieldAdaptor adaptor = new FieldAdaptor(clazz, method, work.getAnnoReader());
-                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
-                    
-                } else if(anno instanceof XlsPostSave) {
-                    work.addNeedPostProcess(new NeedProcess(beanObj, beanObj, method));
-                }
-            }
+        // @PostSaveのメソッドの取得
+        for(Method method : beanMapping.getPostSaveMethods()) {
+            work.addNeedPostProcess(new NeedProcess(beanObj, beanObj, method));
         }
         
-        // public / private/ protected /default フィールドの処理
-        for(Field field : clazz.getDeclaredFields()) {
-            
-            field.setAccessible(true);
-            final FieldAdaptor adaptor = new FieldAdaptor(clazz, field, work.getAnnoReader());
-            
-            //メソッドと重複している場合は排除する
-            if(adaptorProxies.contains(adaptor)) {
-                continue;
-            }
-            
-            for(Annotation anno : work.getAnnoReader().getAnnotations(clazz, field)) {
-                final SavingFieldProcessor processor = config.getFieldProcessorRegistry().getSavingProcessor(anno);
-                if(processor != null) {
-                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
-                }
-            }
-            
-        }
+        // 書式を変更したスタイルは、書き込み処理の中で共有する
+        final CellStyleCache previousCellStyleCache = work.beginCellStyleCache(sheet.getWorkbook());
         
-        // 順番を並び替えて保存処理を実行する
-        Collections.sort(adaptorProxies, HintOrderComparator.createForSaving());
-        for(FieldAdaptorProxy adaptorProxy : adaptorProxies) {
-            adaptorProxy.saveProcess(sheet, beanObj, config, work);
+        // 並び替え済みの順番で保存処理を実行する
+        try {
+            for(FieldAdaptorProxy adaptorProxy : beanMapping.getSavingProxies()) {
+                adaptorProxy.saveProcess(sheet, beanObj, config, work);
+            }
+        } finally {
+            work.endCellStyleCache(previousCellStyleCache);
         }
         
         // リスナークラスの@PostSaveの取得
-        if(listenerAnno != null) {
-            Object listenerObj = config.createBean(listenerAnno.listenerClass());
-            for(Method method : listenerObj.getClass().getMethods()) {
-                final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostSave.class);
-                if(postProcessAnno != null) {
-                    work.addNeedPostProcess(new NeedProcess(beanObj, listenerObj, method));
-                }
+        if(beanMapping.hasListener()) {
+            Object listenerObj = config.createBean(beanMapping.getListenerClass());
+            for(Method method : beanMapping.getListenerPostSaveMethods()) {
+                work.addNeedPostProcess(new NeedProcess(beanObj, listenerObj, method));
             }
             
         }
@@ -15,6 +15,9 @@ import java.text.SimpleDateFormat;
  *   <li>{@link java.util.Date}</li>
  *   <li>{@link java.sql.Date}/{@link java.sql.Time}/{@link java.sql.Timestamp}</li>
  *   <li>{@link java.util.Calendar}</li>
+ *   <li>Java8以降の場合、<code>java.time.LocalDate/LocalDateTime/LocalTime/OffsetDateTime/Instant</code>。
+ *       <br>属性{@link #javaPattern()}は、{@code java.time.format.DateTimeFormatter}の書式として解釈します。
+ *   </li>
  * </ul>
  * 
  * 
@@ -26,7 +29,7 @@ import java.text.SimpleDateFormat;
  *     アノテーションの属性{@link #excelPattern()}で書式を指定しておいてください。
  * </p>
  * 
- * @version 1.1
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
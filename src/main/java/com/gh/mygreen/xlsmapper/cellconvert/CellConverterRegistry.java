@@ -5,6 +5,11 @@ import java.math.BigInteger;
 import java.net.URI;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -25,9 +30,14 @@ import com.gh.mygreen.xlsmapper.cellconvert.converter.DateCellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.converter.DoubleCellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.converter.EnumCellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.converter.FloatCellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.converter.InstantCellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.converter.IntegerCellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.converter.ListCellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.converter.LocalDateCellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.converter.LocalDateTimeCellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.converter.LocalTimeCellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.converter.LongCellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.converter.OffsetDateTimeCellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.converter.SetCellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.converter.ShortCellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.converter.SqlDateCellConverter;
@@ -41,7 +51,7 @@ import com.gh.mygreen.xlsmapper.cellconvert.converter.URICellConverter;
  * ExcelのCell <=> Javaオブジェクト の相互変換をする{@link CellConverter}を管理するクラス。
  * 独自の{@link CellConverter}を登録したりする場合は、このクラスを経由する。
  * 
- * @version 1.0
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -54,6 +64,13 @@ public class CellConverterRegistry {
      */
     private Map<Class<?>, CellConverter<?>> converterMap;
     
+    /**
+     * 登録内容を変更した回数。
+     * <p>決定済みの{@link CellConverter}を保持している側で、登録内容が変わったかどうか判定するために使用する。
+     * @since 1.6
+     */
+    private volatile int modificationCount;
+    
     public CellConverterRegistry() {
         init();
     }
@@ -115,6 +132,12 @@ public class CellConverterRegistry {
         registerConverter(URI.class, new URICellConverter());
         registerConverter(CellLink.class, new CellLinkCellConverter());
         
+        registerConverter(LocalDate.class, new LocalDateCellConverter());
+        registerConverter(LocalDateTime.class, new LocalDateTimeCellConverter());
+        registerConverter(LocalTime.class, new LocalTimeCellConverter());
+        registerConverter(OffsetDateTime.class, new OffsetDateTimeCellConverter());
+        registerConverter(Instant.class, new InstantCellConverter());
+        
     }
     
     /**
@@ -154,6 +177,17 @@ public class CellConverterRegistry {
         ArgUtils.notNull(converter, "converter");
         
         converterMap.put(clazz, converter);
+        modificationCount++;
+    }
+    
+    /**
+     * 登録内容を変更した回数を取得する。
+     * <p>{@link #registerConverter(Class, CellConverter)}を呼び出すごとに増加する。
+     * @since 1.6
+     * @return 登録内容を変更した回数。
+     */
+    public int getModificationCount() {
+        return modificationCount;
     }
     
 }
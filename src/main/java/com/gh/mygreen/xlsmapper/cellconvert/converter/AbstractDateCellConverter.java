@@ -10,13 +10,12 @@ import java.util.Locale;
 import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.CreationHelper;
 import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 
 import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.CellStyleCache;
 import com.gh.mygreen.xlsmapper.POIUtils;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
@@ -32,7 +31,7 @@ import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
  * 日時型のConverterの抽象クラス。
  * <p>{@link Date}を継承している<code>javax.sql.Time/Date/Timestamp</code>はこのクラスを継承して作成します。
  * 
- * @version 1.5
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -67,8 +66,7 @@ public abstract class AbstractDateCellConverter<T extends Date> extends Abstract
         } else if(cell.getCellType() == Cell.CELL_TYPE_FORMULA) {
             // 式を評価して再帰的に処理する。
             final Workbook workbook = cell.getSheet().getWorkbook();
-            final CreationHelper helper = workbook.getCreationHelper();
-            final FormulaEvaluator evaluator = helper.createFormulaEvaluator();
+            final FormulaEvaluator evaluator = POIUtils.getFormulaEvaluator(workbook);
             try {
                 // 再帰的に処理する
                 final Cell evalCell = evaluator.evaluateInCell(cell);
@@ -102,6 +100,8 @@ public abstract class AbstractDateCellConverter<T extends Date> extends Abstract
     
     /**
      * アノテーションを元に日付のフォーマッターのインスタンスを作成します。
+     * <p>書式、ロケール、厳密な解析かどうかの組み合わせごとに、スレッド単位で同じインスタンスを返します。
+     *    そのため、取得したインスタンスの設定は変更しないでください。
      * @param anno
      * @return
      * @throws AnnotationInvalidException フォーマットが指定されていない場合
@@ -116,10 +116,7 @@ public abstract class AbstractDateCellConverter<T extends Date> extends Abstract
         }
         
         final String pattern = anno.javaPattern().isEmpty() ? getDefaultJavaPattern() : anno.javaPattern();
-        final DateFormat format = new SimpleDateFormat(pattern, locale);
-        format.setLenient(anno.lenient());
-        
-        return format;
+        return FormatterCache.getDateFormat(pattern, locale, anno.lenient());
         
     }
     
@@ -261,19 +258,15 @@ public abstract class AbstractDateCellConverter<T extends Date> extends Abstract
         if(Utils.isNotEmpty(anno.excelPattern()) && !POIUtils.getCellFormatPattern(cell).equalsIgnoreCase(anno.excelPattern())) {
             
             // 既にCell中に書式が設定され、それが異なる場合
-            CellStyle style = sheet.getWorkbook().createCellStyle();
-            style.cloneStyleFrom(cell.getCellStyle());
-            style.setDataFormat(POIUtils.getDataFormatIndex(sheet, anno.excelPattern()));
-            cell.setCellStyle(style);
+            final CellStyleCache cache = CellStyleCache.get(sheet.getWorkbook());
+            cell.setCellStyle(cache.getDataFormatStyle(cell.getCellStyle(), POIUtils.getDataFormatIndex(sheet, anno.excelPattern())));
             
         } else if(Utils.isEmpty(anno.excelPattern()) && POIUtils.getCellFormatPattern(cell).isEmpty()) {
             
             // アノテーションの書式が指定されておらず、セルの書式が空の場合
             // 標準の書式を設定する。
-            CellStyle style = sheet.getWorkbook().createCellStyle();
-            style.cloneStyleFrom(cell.getCellStyle());
-            style.setDataFormat(POIUtils.getDataFormatIndex(sheet, getDefaultExcelPattern()));
-            cell.setCellStyle(style);
+            final CellStyleCache cache = CellStyleCache.get(sheet.getWorkbook());
+            cell.setCellStyle(cache.getDataFormatStyle(cell.getCellStyle(), POIUtils.getDataFormatIndex(sheet, getDefaultExcelPattern())));
             
         }
         
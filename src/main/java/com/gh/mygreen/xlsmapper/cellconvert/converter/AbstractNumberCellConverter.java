@@ -4,23 +4,19 @@ import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.text.ParsePosition;
-import java.util.Currency;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.CreationHelper;
 import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 
+import com.gh.mygreen.xlsmapper.CellStyleCache;
 import com.gh.mygreen.xlsmapper.POIUtils;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
@@ -37,12 +33,38 @@ import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
  * 数値型のConverterの抽象クラス。
  * <p>数値型のConverterは、基本的にこのクラスを継承して作成する。
  * 
- * @version 1.5
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
 public abstract class AbstractNumberCellConverter<T extends Number> extends AbstractCellConverter<T> {
     
+    /**
+     * Excelの有効桁数
+     * @since 1.6
+     */
+    private static final int EXCEL_PRECISION = 15;
+    
+    /**
+     * 有効桁数を指定しない場合の{@link MathContext}。
+     * @since 1.6
+     */
+    private static final MathContext DEFAULT_MATH_CONTEXT = new MathContext(EXCEL_PRECISION, RoundingMode.HALF_UP);
+    
+    /**
+     * 有効桁数ごとの、丸めが発生しない整数の上限値(10の有効桁数乗)。
+     * @since 1.6
+     */
+    private static final double[] EXACT_INTEGER_LIMITS;
+    static {
+        EXACT_INTEGER_LIMITS = new double[EXCEL_PRECISION + 1];
+        double limit = 1.0;
+        for(int i=0; i < EXACT_INTEGER_LIMITS.length; i++) {
+            EXACT_INTEGER_LIMITS[i] = limit;
+            limit *= 10.0;
+        }
+    }
+    
     @Override
     public T toObject(final Cell cell, final FieldAdaptor adaptor, final XlsMapperConfig config) throws TypeBindException {
         
@@ -80,8 +102,7 @@ public abstract class AbstractNumberCellConverter<T extends Number> extends Abst
         } else if(cell.getCellType() == Cell.CELL_TYPE_FORMULA) {
             // 式を評価して再帰的に処理する。
             final Workbook workbook = cell.getSheet().getWorkbook();
-            final CreationHelper helper = workbook.getCreationHelper();
-            final FormulaEvaluator evaluator = helper.createFormulaEvaluator();
+            final FormulaEvaluator evaluator = POIUtils.getFormulaEvaluator(workbook);
             try {
                 // 再帰的に処理する
                 final Cell evalCell = evaluator.evaluateInCell(cell);
@@ -117,6 +138,8 @@ public abstract class AbstractNumberCellConverter<T extends Number> extends Abst
     
     /**
      * アノテーションから数値のフォーマッタを取得する。
+     * <p>書式、ロケール、通貨の組み合わせごとに、スレッド単位で同じインスタンスを返す。
+     *    そのため、取得したインスタンスの設定は変更しないこと。
      * @param anno 引数がnull(アノテーションが設定されていない場合)は、nullを返す。
      * @return アノテーションに書式が設定されていない場合はnullを返す。
      */
@@ -134,21 +157,11 @@ public abstract class AbstractNumberCellConverter<T extends Number> extends Abst
                 return null;
             } else {
                 // 通貨の場合
-                return NumberFormat.getCurrencyInstance(locale);
+                return FormatterCache.getCurrencyFormat(locale);
             }
         }
         
-        final DecimalFormatSymbols symbols = new DecimalFormatSymbols(locale);
-        final DecimalFormat format = new DecimalFormat(anno.javaPattern(), symbols);
-        
-        format.setRoundingMode(RoundingMode.HALF_UP);
-        format.setParseBigDecimal(true);
-        
-        if(Utils.isNotEmpty(anno.currency())) {
-            format.setCurrency(Currency.getInstance(anno.currency()));
-        }
-        
-        return format;
+        return FormatterCache.getNumberFormat(anno.javaPattern(), locale, anno.currency());
         
     }
     
@@ -178,11 +191,29 @@ public abstract class AbstractNumberCellConverter<T extends Number> extends Abst
         if(anno.precision() > 0) {
             return new MathContext(anno.precision(), RoundingMode.HALF_UP);
         } else {
-            return new MathContext(15, RoundingMode.HALF_UP);
+            return DEFAULT_MATH_CONTEXT;
         }
         
     }
     
+    /**
+     * セルの数値が、有効桁数で丸めても値が変わらない整数かどうか判定する。
+     * <p>trueの場合は、{@link BigDecimal}を経由せずに、プリミティブ型のまま変換できる。
+     *    <br>有効桁数は、Excelの仕様に合わせて最大15桁として判定する。
+     * </p>
+     * @since 1.6
+     * @param value 判定対象の値
+     * @param context 有効桁数の情報
+     * @return 丸めが発生しない整数の場合trueを返す。
+     */
+    protected static boolean isExactInteger(final double value, final MathContext context) {
+        
+        final int precision = context.getPrecision();
+        final double limit = EXACT_INTEGER_LIMITS[precision <= 0 || precision > EXCEL_PRECISION ? EXCEL_PRECISION : precision];
+        
+        return value > -limit && value < limit && value == Math.rint(value);
+    }
+    
     /**
      * その型における数値型を返す。
      * @param value
@@ -380,10 +411,8 @@ public abstract class AbstractNumberCellConverter<T extends Number> extends Abst
         if(Utils.isNotEmpty(anno.excelPattern()) && !POIUtils.getCellFormatPattern(cell).equalsIgnoreCase(anno.excelPattern())) {
             
             // 既にCell中に書式が設定され、それが異なる場合
-            CellStyle style = sheet.getWorkbook().createCellStyle();
-            style.cloneStyleFrom(cell.getCellStyle());
-            style.setDataFormat(POIUtils.getDataFormatIndex(sheet, anno.excelPattern()));
-            cell.setCellStyle(style);
+            final CellStyleCache cache = CellStyleCache.get(sheet.getWorkbook());
+            cell.setCellStyle(cache.getDataFormatStyle(cell.getCellStyle(), POIUtils.getDataFormatIndex(sheet, anno.excelPattern())));
             
         }
         
@@ -0,0 +1,454 @@
+package com.gh.mygreen.xlsmapper.cellconvert.converter;
+
+import java.lang.annotation.Annotation;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import com.gh.mygreen.xlsmapper.CellStyleCache;
+import com.gh.mygreen.xlsmapper.POIUtils;
+import com.gh.mygreen.xlsmapper.Utils;
+import com.gh.mygreen.xlsmapper.XlsMapperConfig;
+import com.gh.mygreen.xlsmapper.XlsMapperException;
+import com.gh.mygreen.xlsmapper.annotation.XlsConverter;
+import com.gh.mygreen.xlsmapper.annotation.XlsDateConverter;
+import com.gh.mygreen.xlsmapper.annotation.XlsFormula;
+import com.gh.mygreen.xlsmapper.cellconvert.AbstractCellConverter;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+
+
+/**
+ * Java8から追加された日時型(<code>java.time</code>パッケージ)のConverterの抽象クラス。
+ * <p>セルの数値(シリアル値)と日時の変換は、{@link Cell#getDateCellValue()}を使用せずに、
+ *    1900年基準/1904年基準に合わせて直接計算するため、セルごとに{@link java.util.Calendar}を作成しない。
+ * </p>
+ * <p>書式はアノテーション{@link XlsDateConverter}で指定し、属性{@link XlsDateConverter#javaPattern()}は、
+ *    {@link DateTimeFormatter}の書式として解釈する。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public abstract class AbstractTemporalCellConverter<T extends TemporalAccessor> extends AbstractCellConverter<T> {
+    
+    /** 1日のミリ秒数 */
+    private static final long DAY_MILLISECONDS = 24L * 60L * 60L * 1000L;
+    
+    /** 1900年基準のシリアル値の起点(シリアル値0)の日付 */
+    private static final LocalDate BASE_DATE_1900 = LocalDate.of(1899, 12, 31);
+    
+    /** 1900年基準で、存在しない1900年2月29日以降のシリアル値の起点の日付 */
+    private static final LocalDate BASE_DATE_1900_AFTER_LEAP = LocalDate.of(1899, 12, 30);
+    
+    /** 1900年基準で、存在しない1900年2月29日の次の日 */
+    private static final LocalDate FIRST_DATE_AFTER_LEAP = LocalDate.of(1900, 3, 1);
+    
+    /** 1904年基準のシリアル値の起点の日付 */
+    private static final LocalDate BASE_DATE_1904 = LocalDate.of(1904, 1, 1);
+    
+    /**
+     * 書式、ロケール、厳密に解析するかの組み合わせごとのフォーマッター。
+     * <p>{@link DateTimeFormatter}は変更不可のため、全てのスレッドで共有する。
+     */
+    private static final ConcurrentMap<String, DateTimeFormatter> formatterCache = new ConcurrentHashMap<>();
+    
+    @Override
+    public T toObject(final Cell cell, final FieldAdaptor adaptor, final XlsMapperConfig config) throws XlsMapperException {
+        
+        final XlsConverter converterAnno = adaptor.getLoadingAnnotation(XlsConverter.class);
+        final XlsDateConverter anno = getLoadingAnnotation(adaptor);
+        
+        T resultValue = null;
+        if(POIUtils.isEmptyCellContents(cell, config.getCellFormatter())) {
+            
+            if(Utils.hasNotDefaultValue(converterAnno)) {
+                return null;
+                
+            } else if(Utils.isNotEmpty(anno.javaPattern())) {
+                final String defaultValue = converterAnno.defaultValue();
+                try {
+                    resultValue = parseTemporal(defaultValue, createFormatter(anno));
+                } catch(DateTimeParseException e) {
+                    throw newTypeBindException(e, cell, adaptor, defaultValue)
+                        .addAllMessageVars(createTypeErrorMessageVars(anno));
+                }
+            }
+            
+        } else if(cell.getCellType() == Cell.CELL_TYPE_NUMERIC) {
+            // セルのタイプが数値型の場合は、シリアル値から計算する
+            final boolean date1904 = POIUtils.isDate1904(cell.getSheet().getWorkbook());
+            final LocalDateTime dateTime = toLocalDateTime(cell.getNumericCellValue(), date1904);
+            if(dateTime != null) {
+                resultValue = convertTemporal(dateTime);
+            }
+            
+        } else if(cell.getCellType() == Cell.CELL_TYPE_FORMULA) {
+            // 式を評価して再帰的に処理する。
+            final Workbook workbook = cell.getSheet().getWorkbook();
+            final FormulaEvaluator evaluator = POIUtils.getFormulaEvaluator(workbook);
+            try {
+                // 再帰的に処理する
+                final Cell evalCell = evaluator.evaluateInCell(cell);
+                return toObject(evalCell, adaptor, config);
+                
+            } catch(Exception e) {
+                throw newTypeBindException(e, cell, adaptor, cell)
+                    .addAllMessageVars(createTypeErrorMessageVars(anno));
+            }
+            
+        } else {
+            String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
+            cellValue = Utils.trim(cellValue, converterAnno);
+            if(Utils.isNotEmpty(cellValue)) {
+                try {
+                    resultValue = parseTemporal(cellValue, createFormatter(anno));
+                } catch(DateTimeParseException e) {
+                    throw newTypeBindException(e, cell, adaptor, cellValue)
+                        .addAllMessageVars(createTypeErrorMessageVars(anno));
+                }
+            }
+        }
+        
+        return resultValue;
+    }
+    
+    @Override
+    public Cell toCell(final FieldAdaptor adaptor, final T targetValue, final Object targetBean,
+            final Sheet sheet, final int column, final int row,
+            final XlsMapperConfig config) throws XlsMapperException {
+            
+        final XlsConverter converterAnno = adaptor.getSavingAnnotation(XlsConverter.class);
+        final XlsDateConverter anno = getSavingAnnotation(adaptor);
+        final XlsFormula formulaAnno = adaptor.getSavingAnnotation(XlsFormula.class);
+        final boolean primaryFormula = formulaAnno == null ? false : formulaAnno.primary();
+        
+        final Cell cell = POIUtils.getCell(sheet, column, row);
+        
+        // セルの書式設定
+        if(converterAnno != null) {
+            POIUtils.wrapCellText(cell, converterAnno.wrapText());
+            POIUtils.shrinkToFit(cell, converterAnno.shrinkToFit());
+        }
+        
+        T value = targetValue;
+        
+        // デフォルト値から値を設定する
+        if(value == null && Utils.hasDefaultValue(converterAnno)) {
+            final String defaultValue = converterAnno.defaultValue();
+            
+            final DateTimeFormatter formatter;
+            if(Utils.isNotEmpty(anno.javaPattern())) {
+                formatter = createFormatter(anno);
+            } else {
+                formatter = createFormatter(getDefaultDateConverterAnnotation());
+            }
+            
+            try {
+                value = parseTemporal(defaultValue, formatter);
+            } catch (DateTimeParseException e) {
+                throw newTypeBindException(e, cell, adaptor, defaultValue)
+                    .addAllMessageVars(createTypeErrorMessageVars(anno));
+            }
+            
+        }
+        
+        // セルの書式の設定
+        if(Utils.isNotEmpty(anno.excelPattern()) && !POIUtils.getCellFormatPattern(cell).equalsIgnoreCase(anno.excelPattern())) {
+            
+            // 既にCell中に書式が設定され、それが異なる場合
+            final CellStyleCache cache = CellStyleCache.get(sheet.getWorkbook());
+            cell.setCellStyle(cache.getDataFormatStyle(cell.getCellStyle(), POIUtils.getDataFormatIndex(sheet, anno.excelPattern())));
+            
+        } else if(Utils.isEmpty(anno.excelPattern()) && POIUtils.getCellFormatPattern(cell).isEmpty()) {
+            
+            // アノテーションの書式が指定されておらず、セルの書式が空の場合
+            // 標準の書式を設定する。
+            final CellStyleCache cache = CellStyleCache.get(sheet.getWorkbook());
+            cell.setCellStyle(cache.getDataFormatStyle(cell.getCellStyle(), POIUtils.getDataFormatIndex(sheet, getDefaultExcelPattern())));
+            
+        }
+        
+        if(value != null && !primaryFormula) {
+            final boolean date1904 = POIUtils.isDate1904(sheet.getWorkbook());
+            cell.setCellValue(convertToSerialNumber(value, date1904));
+            
+        } else if(formulaAnno != null) {
+            Utils.setupCellFormula(adaptor, formulaAnno, config, cell, targetBean);
+            
+        } else {
+            cell.setCellType(Cell.CELL_TYPE_BLANK);
+        }
+        
+        return cell;
+    }
+    
+    /**
+     * Excelのシリアル値を日時に変換する。
+     * <p>{@link org.apache.poi.ss.usermodel.DateUtil#getJavaDate(double, boolean)}と同様に、
+     *    時刻はミリ秒単位に丸め、1900年基準の場合は存在しない1900年2月29日を考慮する。
+     * </p>
+     * @param serialNumber シリアル値
+     * @param date1904 1904年基準の場合true
+     * @return 日時として不正な値(負の値)の場合はnullを返す。
+     */
+    public static LocalDateTime toLocalDateTime(final double serialNumber, final boolean date1904) {
+        
+        if(!(serialNumber > -Double.MIN_VALUE)) {
+            return null;
+        }
+        
+        final long wholeDays = (long) Math.floor(serialNumber);
+        final long millis = (long) ((serialNumber - wholeDays) * DAY_MILLISECONDS + 0.5);
+        
+        final LocalDate date;
+        if(date1904) {
+            date = BASE_DATE_1904.plusDays(wholeDays);
+            
+        } else if(wholeDays < 61) {
+            date = BASE_DATE_1900.plusDays(wholeDays);
+            
+        } else {
+            date = BASE_DATE_1900_AFTER_LEAP.plusDays(wholeDays);
+        }
+        
+        // 丸めにより1日分になる場合も考慮して加算する
+        return date.atStartOfDay().plusNanos(millis * 1000000L);
+    }
+    
+    /**
+     * 日時をExcelのシリアル値に変換する。
+     * <p>{@link org.apache.poi.ss.usermodel.DateUtil#getExcelDate(java.util.Date, boolean)}と同様に、
+     *    基準日よりも前の日付は、不正な値として-1を返す。
+     * </p>
+     * @param dateTime 変換対象の日時
+     * @param date1904 1904年基準の場合true
+     * @return シリアル値
+     */
+    public static double toSerialNumber(final LocalDateTime dateTime, final boolean date1904) {
+        
+        final LocalDate date = dateTime.toLocalDate();
+        if((!date1904 && date.getYear() < 1900) || (date1904 && date.getYear() < 1904)) {
+            return -1.0;
+        }
+        
+        final long days;
+        if(date1904) {
+            days = date.toEpochDay() - BASE_DATE_1904.toEpochDay();
+            
+        } else if(date.isBefore(FIRST_DATE_AFTER_LEAP)) {
+            days = date.toEpochDay() - BASE_DATE_1900.toEpochDay();
+            
+        } else {
+            days = date.toEpochDay() - BASE_DATE_1900_AFTER_LEAP.toEpochDay();
+        }
+        
+        return days + toSerialNumber(dateTime.toLocalTime());
+    }
+    
+    /**
+     * アノテーションを元に日時のフォーマッターを取得する。
+     * <p>変更不可のインスタンスのため、書式、ロケール、厳密に解析するかの組み合わせごとにキャッシュする。
+     *    <br>属性{@link XlsDateConverter#lenient()}がtrueの場合は{@link ResolverStyle#LENIENT}、
+     *    falseの場合は{@link ResolverStyle#SMART}で解析する。
+     * </p>
+     * @param anno 変換規則のアノテーション
+     * @return 日時のフォーマッター
+     */
+    protected DateTimeFormatter createFormatter(final XlsDateConverter anno) {
+        
+        final Locale locale;
+        if(anno.locale().isEmpty()) {
+            locale = Locale.getDefault();
+        } else {
+            locale = Utils.getLocale(anno.locale());
+        }
+        
+        final String pattern = anno.javaPattern().isEmpty() ? getDefaultJavaPattern() : anno.javaPattern();
+        final String key = pattern + "|" + locale + "|" + anno.lenient();
+        
+        DateTimeFormatter formatter = formatterCache.get(key);
+        if(formatter == null) {
+            formatter = DateTimeFormatter.ofPattern(pattern, locale)
+                    .withResolverStyle(anno.lenient() ? ResolverStyle.LENIENT : ResolverStyle.SMART);
+            formatterCache.putIfAbsent(key, formatter);
+        }
+        
+        return formatter;
+    }
+    
+    /**
+     * 文字列を解析し、日時を取得する。
+     * <p>オフセットが含まれない場合は、システムの既定のタイムゾーンとして解析する。
+     * @param value 解析対象の文字列
+     * @param formatter フォーマッター
+     * @return 解析した日時
+     * @throws DateTimeParseException 解析に失敗した場合
+     */
+    static OffsetDateTime parseOffsetDateTime(final String value, final DateTimeFormatter formatter) {
+        
+        final TemporalAccessor parsed = formatter.parseBest(value, new TemporalQuery<OffsetDateTime>() {
+            
+            @Override
+            public OffsetDateTime queryFrom(final TemporalAccessor temporal) {
+                return OffsetDateTime.from(temporal);
+            }
+            
+        }, new TemporalQuery<LocalDateTime>() {
+            
+            @Override
+            public LocalDateTime queryFrom(final TemporalAccessor temporal) {
+                return LocalDateTime.from(temporal);
+            }
+        });
+        
+        if(parsed instanceof OffsetDateTime) {
+            return (OffsetDateTime) parsed;
+        }
+        
+        return ((LocalDateTime) parsed).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+    
+    /**
+     * 日時を、システムの既定のタイムゾーンの日時に変換する。
+     * @param value 変換対象の日時
+     * @return タイムゾーンを除いた日時
+     */
+    static LocalDateTime toSystemLocalDateTime(final OffsetDateTime value) {
+        return value.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+    
+    /**
+     * 型変換エラー時のメッセージ変数の作成
+     */
+    private Map<String, Object> createTypeErrorMessageVars(final XlsDateConverter anno) {
+        
+        final Map<String, Object> vars = new LinkedHashMap<>();
+        vars.put("javaPattern", anno.javaPattern());
+        vars.put("lenient", anno.lenient());
+        vars.put("locale", anno.locale());
+        return vars;
+    }
+    
+    /**
+     * シリアル値から計算した日時を、その型における日時型に変換する。
+     * @param value シリアル値から計算した日時
+     * @return 変換した値
+     */
+    protected abstract T convertTemporal(LocalDateTime value);
+    
+    /**
+     * その型における日時型を、シリアル値に変換するための日時に変換する。
+     * @param value 変換対象の値
+     * @return 変換した日時
+     */
+    protected abstract LocalDateTime convertToLocalDateTime(T value);
+    
+    /**
+     * その型における日時型を、Excelのシリアル値に変換する。
+     * <p>時刻のみの型など、日付の基準を考慮しない場合はオーバーライドする。
+     * @param value 変換対象の値
+     * @param date1904 1904年基準の場合true
+     * @return シリアル値
+     */
+    protected double convertToSerialNumber(final T value, final boolean date1904) {
+        return toSerialNumber(convertToLocalDateTime(value), date1904);
+    }
+    
+    /**
+     * 時刻を、Excelのシリアル値の1日未満の部分に変換する。
+     * @param time 時刻
+     * @return 0以上1未満の値
+     */
+    static double toSerialNumber(final LocalTime time) {
+        return (double) (time.toNanoOfDay() / 1000000L) / DAY_MILLISECONDS;
+    }
+    
+    /**
+     * 文字列を解析し、その型における日時型を返す。
+     * @param value 解析対象の文字列
+     * @param formatter フォーマッター
+     * @return 解析した値
+     * @throws DateTimeParseException 解析に失敗した場合
+     */
+    protected abstract T parseTemporal(String value, DateTimeFormatter formatter);
+    
+    /**
+     * その型における標準のJavaの書式を返す。
+     * @return {@link DateTimeFormatter}で処理可能な形式。
+     */
+    protected abstract String getDefaultJavaPattern();
+    
+    /**
+     * その型における標準のExcelの書式を返す。
+     * @return Excelの書式
+     */
+    protected abstract String getDefaultExcelPattern();
+    
+    XlsDateConverter getDefaultDateConverterAnnotation() {
+        return new XlsDateConverter() {
+            
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return XlsDateConverter.class;
+            }
+            
+            @Override
+            public String javaPattern() {
+                // 各タイプごとの標準の書式を取得する。
+                return getDefaultJavaPattern();
+            }
+            
+            @Override
+            public String locale() {
+                return "";
+            }
+            
+            @Override
+            public boolean lenient() {
+                return false;
+            }
+            
+            @Override
+            public String excelPattern() {
+                return "";
+            }
+        };
+    }
+    
+    XlsDateConverter getLoadingAnnotation(final FieldAdaptor adaptor) {
+        XlsDateConverter anno = adaptor.getLoadingAnnotation(XlsDateConverter.class);
+        if(anno == null) {
+            anno = getDefaultDateConverterAnnotation();
+        }
+        
+        return anno;
+    }
+    
+    XlsDateConverter getSavingAnnotation(final FieldAdaptor adaptor) {
+        XlsDateConverter anno = adaptor.getSavingAnnotation(XlsDateConverter.class);
+        if(anno == null) {
+            anno = getDefaultDateConverterAnnotation();
+        }
+        
+        return anno;
+    }
+    
+}
@@ -8,7 +8,7 @@ import java.math.RoundingMode;
 /**
  * byte/Byte型を処理するConverter.
  * 
- * @version 0.5
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -16,6 +16,11 @@ public class ByteCellConverter extends AbstractNumberCellConverter<Byte> {
     
     @Override
     protected Byte convertNumber(double value, final MathContext context) {
+        if(isExactInteger(value, context) && value >= getMinValue() && value <= getMaxValue()) {
+            // 丸めが不要な整数の場合
+            return (byte) value;
+        }
+        
         // 少数以下を四捨五入
         BigDecimal decimal = new BigDecimal(value, context);
         decimal = decimal.setScale(0, RoundingMode.HALF_UP);
@@ -2,15 +2,17 @@ package com.gh.mygreen.xlsmapper.cellconvert.converter;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumSet;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -30,8 +32,9 @@ import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
 /**
  * 列挙型のConverter。
  * <p>一度読み込んだ列挙型の情報はキャッシュする。列挙型はstaticであるため、動的に変更できないため。
+ *    <br>列挙型のクラス、アノテーションの属性の組み合わせごとに、値と項目の変換表を作成する。
  * 
- * @version 1.5
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -39,13 +42,13 @@ import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
 public class EnumCellConverter extends AbstractCellConverter<Enum> {
     
     /**
-     * 列挙科型のクラスとその値とのマップ。(キャッシュデータ)
-     * <p>key=列挙型のクラスタイプ、value=列挙型の各項目の文字列形式とオブジェクト形式の値のマップ。
+     * 列挙型の変換表のマップ。(キャッシュデータ)
+     * <p>key=列挙型のクラスタイプとアノテーションの属性、value=列挙型の値と項目の変換表。
      */
-    private Map<Class<?>, Map<String, Enum>> cacheData;
+    private ConcurrentMap<EnumLookupKey, EnumLookup> cacheData;
     
     public EnumCellConverter() {
-        this.cacheData =  new ConcurrentHashMap<Class<?>, Map<String,Enum>>();
+        this.cacheData =  new ConcurrentHashMap<EnumLookupKey, EnumLookup>();
     }
     
     @SuppressWarnings({"unchecked"})
@@ -130,126 +133,113 @@ public class EnumCellConverter extends AbstractCellConverter<Enum> {
      * @throws ConversionException 
      */
     private Collection<String> getLoadingAvailableValue(final Class<Enum> clazz, final XlsEnumConverter anno) throws ConversionException {
-        
-        final Set<String> values = new LinkedHashSet<String>();
-        
-        final Map<String, Enum> map = getEnumValueMapFromCache(clazz);
-        for(Map.Entry<String, Enum> entry : map.entrySet()) {
-            if(anno.valueMethodName().isEmpty()) {
-                values.add(entry.getKey());
-            } else {
-                try {
-                    final Method method = clazz.getMethod(anno.valueMethodName(), new Class[]{});
-                    method.setAccessible(true);
-                    final String value = method.invoke(entry.getValue(), new Object[]{}).toString();
-                    values.add(value);
-                } catch(Exception e) {
-                    throw new ConversionException(
-                            String.format("Not found Enum method '%s#%s()'.", clazz.getName(), anno.valueMethodName()),
-                            e, clazz);
-                }
-            }
-        }
-        
-        return values;
-        
+        return getEnumLookupFromCache(clazz, anno).availableValues;
     }
     
     /**
-     * 列挙型のキーと値のマップをキャッシュから取得する。
-     * <p>key=列挙型のname()の値。value=列挙型の各項目のオブジェクト。
+     * 列挙型の変換表をキャッシュから取得する。
      * <p>キャッシュ上に存在しなければ、新しく情報を作成しキャッシュに追加する。
-     * @param clazz
-     * @return
+     * @since 1.6
+     * @param clazz 列挙型のクラス。
+     * @param anno 変換方法を指定したアノテーション
+     * @return 列挙型の変換表
+     * @throws ConversionException 値を取得するメソッドが存在しない場合
      */
-    private synchronized Map<String, Enum> getEnumValueMapFromCache(final Class<Enum> clazz) {
-        if(cacheData.containsKey(clazz)) {
-            return cacheData.get(clazz);
+    private EnumLookup getEnumLookupFromCache(final Class<Enum> clazz, final XlsEnumConverter anno) throws ConversionException {
+        
+        final EnumLookupKey key = new EnumLookupKey(clazz, anno.valueMethodName(), anno.ignoreCase());
+        EnumLookup lookup = cacheData.get(key);
+        if(lookup == null) {
+            lookup = createEnumLookup(clazz, anno);
+            final EnumLookup current = cacheData.putIfAbsent(key, lookup);
+            if(current != null) {
+                lookup = current;
+            }
         }
         
-        final Map<String, Enum> map = createEnumValueMap(clazz);
-        cacheData.put(clazz, map);
-        return map;
+        return lookup;
     }
     
     /**
-     * 列挙型のマップを作成する。
-     * 
+     * 列挙型の変換表を作成する。
+     * <p>値は、属性{@link XlsEnumConverter#valueMethodName()}が指定されていない場合は、{@link Enum#name()}の値とする。
+     *    <br>値が重複する場合は、先に定義されている項目を優先する。
+     * </p>
+     * @since 1.6
      * @param clazz 列挙型のクラス。
-     * @return key=項目名（{@link Enum#name()}メソッドの値）、value=列挙型の項目オブジェクト。
+     * @param anno 変換方法を指定したアノテーション
+     * @return 列挙型の変換表
+     * @throws ConversionException 値を取得するメソッドが存在しない場合
      */
-    @SuppressWarnings({"unchecked"})
-    private Map<String, Enum> createEnumValueMap(final Class<Enum> clazz) {
-        
-        final Map<String, Enum> map = new LinkedHashMap<>();
-        final EnumSet set = EnumSet.allOf(clazz);
-        final Iterator<Enum> it = set.iterator();
-        while(it.hasNext()) {
-            final Enum e = it.next();
-            map.put(e.name(), e);
+    private EnumLookup createEnumLookup(final Class<Enum> clazz, final XlsEnumConverter anno) throws ConversionException {
+        
+        Method method = null;
+        if(!anno.valueMethodName().isEmpty()) {
+            try {
+                method = clazz.getMethod(anno.valueMethodName(), new Class[]{});
+                method.setAccessible(true);
+            } catch(Exception e) {
+                throw new ConversionException(
+                        String.format("Not found Enum method '%s#%s()'.", clazz.getName(), anno.valueMethodName()),
+                        e, clazz);
+            }
         }
         
-        return Collections.unmodifiableMap(map);
-    }
-    
-    private Enum<?> convertToObject(final String value, final Class<Enum> clazz, final XlsEnumConverter anno) throws ConversionException {
+        final Map<String, Enum> toEnum = new HashMap<>();
+        final Map<Enum, String> toValue = new IdentityHashMap<>();
+        final Set<String> availableValues = new LinkedHashSet<>();
         
-        final Map<String, Enum> map = getEnumValueMapFromCache(clazz);
-        for(Map.Entry<String, Enum> entry : map.entrySet()) {
+        for(Enum e : clazz.getEnumConstants()) {
             
-            final String key;
-            if(anno.valueMethodName().isEmpty()) {
-                key = entry.getKey();
+            final String value;
+            if(method == null) {
+                value = e.name();
             } else {
                 try {
-                    final Method method = clazz.getMethod(anno.valueMethodName(), new Class[]{});
-                    method.setAccessible(true);
-                    key = method.invoke(entry.getValue(), new Object[]{}).toString();
-                } catch(Exception e) {
+                    value = method.invoke(e, new Object[]{}).toString();
+                } catch(Exception ex) {
                     throw new ConversionException(
                             String.format("Not found Enum method '%s#%s()'.", clazz.getName(), anno.valueMethodName()),
-                            e, clazz);
+                            ex, clazz);
                 }
             }
             
-            if(anno.ignoreCase() && value.equalsIgnoreCase(key)) {
-                return entry.getValue();
-                
-            } else if(value.equals(key)) {
-                return entry.getValue();
+            final String key = anno.ignoreCase() ? foldCase(value) : value;
+            if(!toEnum.containsKey(key)) {
+                toEnum.put(key, e);
             }
+            
+            toValue.put(e, value);
+            availableValues.add(value);
         }
         
-        return null;
-        
+        return new EnumLookup(toEnum, toValue, availableValues, anno.ignoreCase());
     }
     
-    private String convertToString(final Enum<?> value, final Class<Enum> clazz, final XlsEnumConverter anno) throws ConversionException {
+    /**
+     * 大文字と小文字を区別せずに比較するための文字列に変換する。
+     * <p>{@link String#equalsIgnoreCase(String)}と同じく、1文字ずつ大文字にしてから小文字に変換する。
+     * @since 1.6
+     * @param value 変換対象の文字列
+     * @return 変換した文字列
+     */
+    private static String foldCase(final String value) {
         
-        final Map<String, Enum> map = getEnumValueMapFromCache(clazz);
-        for(Map.Entry<String, Enum> entry : map.entrySet()) {
-            
-            if(entry.getValue() != value) {
-                continue;
-            }
-            
-            if(anno.valueMethodName().isEmpty()) {
-                return value.name();
-            } else {
-                try {
-                    final Method method = clazz.getMethod(anno.valueMethodName(), new Class[]{});
-                    method.setAccessible(true);
-                    return method.invoke(entry.getValue(), new Object[]{}).toString();
-                } catch(Exception e) {
-                    throw new ConversionException(
-                            String.format("Not found Enum method '%s#%s()'.", clazz.getName(), anno.valueMethodName()),
-                            e, clazz);
-                }
-            }
+        final int length = value.length();
+        final StringBuilder folded = new StringBuilder(length);
+        for(int i=0; i < length; i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
         }
         
-        return null;
-        
+        return folded.toString();
+    }
+    
+    private Enum<?> convertToObject(final String value, final Class<Enum> clazz, final XlsEnumConverter anno) throws ConversionException {
+        return getEnumLookupFromCache(clazz, anno).toEnum(value);
+    }
+    
+    private String convertToString(final Enum<?> value, final Class<Enum> clazz, final XlsEnumConverter anno) throws ConversionException {
+        return getEnumLookupFromCache(clazz, anno).toValue(value);
     }
     
     @Override
@@ -297,4 +287,89 @@ public class EnumCellConverter extends AbstractCellConverter<Enum> {
         return cell;
     }
     
+    /**
+     * 列挙型の変換表のキャッシュのキー。
+     * @since 1.6
+     */
+    private static final class EnumLookupKey {
+        
+        private final Class<?> enumClass;
+        
+        private final String valueMethodName;
+        
+        private final boolean ignoreCase;
+        
+        EnumLookupKey(final Class<?> enumClass, final String valueMethodName, final boolean ignoreCase) {
+            this.enumClass = enumClass;
+            this.valueMethodName = valueMethodName;
+            this.ignoreCase = ignoreCase;
+        }
+        
+        @Override
+        public int hashCode() {
+            int result = enumClass.hashCode();
+            result = 31 * result + valueMethodName.hashCode();
+            result = 31 * result + (ignoreCase ? 1 : 0);
+            return result;
+        }
+        
+        @Override
+        public boolean equals(final Object obj) {
+            if(this == obj) {
+                return true;
+            }
+            
+            if(!(obj instanceof EnumLookupKey)) {
+                return false;
+            }
+            
+            final EnumLookupKey other = (EnumLookupKey) obj;
+            return enumClass.equals(other.enumClass)
+                    && valueMethodName.equals(other.valueMethodName)
+                    && ignoreCase == other.ignoreCase;
+        }
+        
+    }
+    
+    /**
+     * 列挙型の値と項目の変換表。作成後は変更しない。
+     * @since 1.6
+     */
+    private static final class EnumLookup {
+        
+        /**
+         * key=値(大文字・小文字を区別しない場合は変換した値)、value=列挙型の項目
+         */
+        private final Map<String, Enum> toEnum;
+        
+        /**
+         * key=列挙型の項目、value=値
+         */
+        private final Map<Enum, String> toValue;
+        
+        /**
+         * 入力の候補となる値
+         */
+        private final Collection<String> availableValues;
+        
+        private final boolean ignoreCase;
+        
+        EnumLookup(final Map<String, Enum> toEnum, final Map<Enum, String> toValue,
+                final Collection<String> availableValues, final boolean ignoreCase) {
+            this.toEnum = Collections.unmodifiableMap(toEnum);
+            this.toValue = Collections.unmodifiableMap(toValue);
+            this.availableValues = Collections.unmodifiableList(new ArrayList<>(availableValues));
+            this.ignoreCase = ignoreCase;
+        }
+        
+        Enum toEnum(final String value) {
+            return toEnum.get(ignoreCase ? foldCase(value) : value);
+        }
+        
+        String toValue(final Enum<?> value) {
+            return toValue.get(value);
+        }
+        
+    }
+    
 }
@@ -7,7 +7,7 @@ import java.math.MathContext;
 /**
  * float/Float型を処理するConverter.
  *
- * @version 0.5
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -15,6 +15,11 @@ public class FloatCellConverter extends AbstractNumberCellConverter<Float> {
     
     @Override
     protected Float convertNumber(final double value, final MathContext context) {
+        if(isExactInteger(value, context)) {
+            // 丸めが不要な整数の場合。-0.0は、BigDecimalを経由した場合と同じく0.0とする。
+            return (float) (value + 0.0);
+        }
+        
         return new BigDecimal(value, context).floatValue();
     }
     
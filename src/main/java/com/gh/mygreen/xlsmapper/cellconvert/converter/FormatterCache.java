@@ -0,0 +1,126 @@
+package com.gh.mygreen.xlsmapper.cellconvert.converter;
+
+import java.math.RoundingMode;
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+import com.gh.mygreen.xlsmapper.Utils;
+
+
+/**
+ * 日時や数値のフォーマッターを、スレッドごとに再利用するためのクラス。
+ * <p>{@link SimpleDateFormat}や{@link DecimalFormat}はスレッドセーフではないため、
+ *    書式、ロケールなどの組み合わせごとに、スレッド単位でインスタンスを保持する。
+ *    <br>文字列のセルを変換する場合に、行ごとにフォーマッターを作成しないようにするために使用する。
+ * </p>
+ * <p>取得したインスタンスは、同じスレッドの他の変換処理でも使用するため、設定を変更してはいけない。</p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+final class FormatterCache {
+    
+    private static final ThreadLocal<Map<String, DateFormat>> dateFormats = new ThreadLocal<Map<String, DateFormat>>() {
+        
+        @Override
+        protected Map<String, DateFormat> initialValue() {
+            return new HashMap<>();
+        }
+    };
+    
+    private static final ThreadLocal<Map<String, NumberFormat>> numberFormats = new ThreadLocal<Map<String, NumberFormat>>() {
+        
+        @Override
+        protected Map<String, NumberFormat> initialValue() {
+            return new HashMap<>();
+        }
+    };
+    
+    private FormatterCache() {
+    
+    }
+    
+    /**
+     * 日時のフォーマッターを取得する。
+     * <p>タイムゾーンは、作成時の既定のタイムゾーンとなるため、既定のタイムゾーンもキーに含める。
+     * @param pattern {@link SimpleDateFormat}の書式
+     * @param locale ロケール
+     * @param lenient 日時の解析を厳密に行わない場合true
+     * @return 現在のスレッドで共有するインスタンス
+     */
+    static DateFormat getDateFormat(final String pattern, final Locale locale, final boolean lenient) {
+        
+        final String key = pattern + "|" + locale + "|" + lenient + "|" + TimeZone.getDefault().getID();
+        final Map<String, DateFormat> map = dateFormats.get();
+        
+        DateFormat format = map.get(key);
+        if(format == null) {
+            format = new SimpleDateFormat(pattern, locale);
+            format.setLenient(lenient);
+            map.put(key, format);
+        }
+        
+        return format;
+    }
+    
+    /**
+     * 数値のフォーマッターを取得する。
+     * <p>丸め方法は{@link RoundingMode#HALF_UP}とし、解析結果は{@link java.math.BigDecimal}とする。
+     * @param pattern {@link DecimalFormat}の書式
+     * @param locale ロケール
+     * @param currency 通貨コード。指定しない場合は空文字。
+     * @return 現在のスレッドで共有するインスタンス
+     */
+    static NumberFormat getNumberFormat(final String pattern, final Locale locale, final String currency) {
+        
+        final String key = pattern + "|" + locale + "|" + currency;
+        final Map<String, NumberFormat> map = numberFormats.get();
+        
+        NumberFormat format = map.get(key);
+        if(format == null) {
+            final DecimalFormatSymbols symbols = new DecimalFormatSymbols(locale);
+            final DecimalFormat decimalFormat = new DecimalFormat(pattern, symbols);
+            
+            decimalFormat.setRoundingMode(RoundingMode.HALF_UP);
+            decimalFormat.setParseBigDecimal(true);
+            
+            if(Utils.isNotEmpty(currency)) {
+                decimalFormat.setCurrency(Currency.getInstance(currency));
+            }
+            
+            format = decimalFormat;
+            map.put(key, format);
+        }
+        
+        return format;
+    }
+    
+    /**
+     * 通貨のフォーマッターを取得する。
+     * @param locale ロケール
+     * @return 現在のスレッドで共有するインスタンス
+     */
+    static NumberFormat getCurrencyFormat(final Locale locale) {
+        
+        final String key = "currency|" + locale;
+        final Map<String, NumberFormat> map = numberFormats.get();
+        
+        NumberFormat format = map.get(key);
+        if(format == null) {
+            format = NumberFormat.getCurrencyInstance(locale);
+            map.put(key, format);
+        }
+        
+        return format;
+    }
+    
+}
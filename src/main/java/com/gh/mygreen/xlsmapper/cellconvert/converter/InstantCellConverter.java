@@ -0,0 +1,44 @@
+package com.gh.mygreen.xlsmapper.cellconvert.converter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+
+/**
+ * {@link Instant}型を処理するConverter.
+ * <p>標準の書式として{@code yyyy-MM-dd HH:mm:ss}で処理する。
+ * <p>Excelの日時はタイムゾーンを持たないため、システムの既定のタイムゾーンの日時として扱う。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class InstantCellConverter extends AbstractTemporalCellConverter<Instant> {
+    
+    @Override
+    protected Instant convertTemporal(final LocalDateTime value) {
+        return value.atZone(ZoneId.systemDefault()).toInstant();
+    }
+    
+    @Override
+    protected LocalDateTime convertToLocalDateTime(final Instant value) {
+        return LocalDateTime.ofInstant(value, ZoneId.systemDefault());
+    }
+    
+    @Override
+    protected Instant parseTemporal(final String value, final DateTimeFormatter formatter) {
+        return parseOffsetDateTime(value, formatter).toInstant();
+    }
+    
+    @Override
+    protected String getDefaultJavaPattern() {
+        return "yyyy-MM-dd HH:mm:ss";
+    }
+    
+    @Override
+    protected String getDefaultExcelPattern() {
+        return "yyyy-mm-dd hh:mm:ss";
+    }
+}
@@ -8,6 +8,7 @@ import java.math.RoundingMode;
 /**
  * int/Integer型を処理するConverter.
  *
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -15,6 +16,11 @@ public class IntegerCellConverter extends AbstractNumberCellConverter<Integer> {
     
     @Override
     protected Integer convertNumber(final double value, final MathContext context) {
+        if(isExactInteger(value, context) && value >= getMinValue() && value <= getMaxValue()) {
+            // 丸めが不要な整数の場合
+            return (int) value;
+        }
+        
         // 少数以下を四捨五入
         BigDecimal decimal = new BigDecimal(value, context);
         decimal = decimal.setScale(0, RoundingMode.HALF_UP);
@@ -0,0 +1,42 @@
+package com.gh.mygreen.xlsmapper.cellconvert.converter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+
+/**
+ * {@link LocalDate}型を処理するConverter.
+ * <p>標準の書式として{@code yyyy-MM-dd}で処理する。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class LocalDateCellConverter extends AbstractTemporalCellConverter<LocalDate> {
+    
+    @Override
+    protected LocalDate convertTemporal(final LocalDateTime value) {
+        return value.toLocalDate();
+    }
+    
+    @Override
+    protected LocalDateTime convertToLocalDateTime(final LocalDate value) {
+        return value.atStartOfDay();
+    }
+    
+    @Override
+    protected LocalDate parseTemporal(final String value, final DateTimeFormatter formatter) {
+        return LocalDate.parse(value, formatter);
+    }
+    
+    @Override
+    protected String getDefaultJavaPattern() {
+        return "yyyy-MM-dd";
+    }
+    
+    @Override
+    protected String getDefaultExcelPattern() {
+        return "yyyy-mm-dd";
+    }
+}
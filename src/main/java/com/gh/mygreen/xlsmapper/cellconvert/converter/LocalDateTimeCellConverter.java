@@ -0,0 +1,41 @@
+package com.gh.mygreen.xlsmapper.cellconvert.converter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+
+/**
+ * {@link LocalDateTime}型を処理するConverter.
+ * <p>標準の書式として{@code yyyy-MM-dd HH:mm:ss}で処理する。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class LocalDateTimeCellConverter extends AbstractTemporalCellConverter<LocalDateTime> {
+    
+    @Override
+    protected LocalDateTime convertTemporal(final LocalDateTime value) {
+        return value;
+    }
+    
+    @Override
+    protected LocalDateTime convertToLocalDateTime(final LocalDateTime value) {
+        return value;
+    }
+    
+    @Override
+    protected LocalDateTime parseTemporal(final String value, final DateTimeFormatter formatter) {
+        return LocalDateTime.parse(value, formatter);
+    }
+    
+    @Override
+    protected String getDefaultJavaPattern() {
+        return "yyyy-MM-dd HH:mm:ss";
+    }
+    
+    @Override
+    protected String getDefaultExcelPattern() {
+        return "yyyy-mm-dd hh:mm:ss";
+    }
+}
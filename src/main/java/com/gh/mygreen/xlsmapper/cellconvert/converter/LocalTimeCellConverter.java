@@ -0,0 +1,49 @@
+package com.gh.mygreen.xlsmapper.cellconvert.converter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+
+/**
+ * {@link LocalTime}型を処理するConverter.
+ * <p>標準の書式として{@code HH:mm:ss}で処理する。
+ * <p>書き込み時は、時刻のみをシリアル値の1日未満の部分として書き込む。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class LocalTimeCellConverter extends AbstractTemporalCellConverter<LocalTime> {
+    
+    @Override
+    protected LocalTime convertTemporal(final LocalDateTime value) {
+        return value.toLocalTime();
+    }
+    
+    @Override
+    protected LocalDateTime convertToLocalDateTime(final LocalTime value) {
+        return LocalDate.of(1900, 1, 1).atTime(value);
+    }
+    
+    @Override
+    protected double convertToSerialNumber(final LocalTime value, final boolean date1904) {
+        return toSerialNumber(value);
+    }
+    
+    @Override
+    protected LocalTime parseTemporal(final String value, final DateTimeFormatter formatter) {
+        return LocalTime.parse(value, formatter);
+    }
+    
+    @Override
+    protected String getDefaultJavaPattern() {
+        return "HH:mm:ss";
+    }
+    
+    @Override
+    protected String getDefaultExcelPattern() {
+        return "hh:mm:ss";
+    }
+}
@@ -8,7 +8,7 @@ import java.math.RoundingMode;
 /**
  * long/Long型を処理するためのConverter.
  * 
- * @version 0.5
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -16,6 +16,11 @@ public class LongCellConverter extends AbstractNumberCellConverter<Long> {
     
     @Override
     protected Long convertNumber(final double value, final MathContext context) {
+        if(value == Math.rint(value) && value >= getMinValue() && value < getMaxValue()) {
+            // 丸めが不要な整数の場合
+            return (long) value;
+        }
+        
         // 少数以下を四捨五入
         BigDecimal decimal = new BigDecimal(value);
         decimal = decimal.setScale(0, RoundingMode.HALF_UP);
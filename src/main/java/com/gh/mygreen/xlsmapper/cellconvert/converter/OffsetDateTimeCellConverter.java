@@ -0,0 +1,45 @@
+package com.gh.mygreen.xlsmapper.cellconvert.converter;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+
+/**
+ * {@link OffsetDateTime}型を処理するConverter.
+ * <p>標準の書式として{@code yyyy-MM-dd HH:mm:ss}で処理する。
+ * <p>Excelの日時はオフセットを持たないため、システムの既定のタイムゾーンの日時として扱う。
+ *    <br>文字列を解析する際に、書式にオフセットが含まれる場合は、そのオフセットを使用する。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class OffsetDateTimeCellConverter extends AbstractTemporalCellConverter<OffsetDateTime> {
+    
+    @Override
+    protected OffsetDateTime convertTemporal(final LocalDateTime value) {
+        return value.atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+    
+    @Override
+    protected LocalDateTime convertToLocalDateTime(final OffsetDateTime value) {
+        return toSystemLocalDateTime(value);
+    }
+    
+    @Override
+    protected OffsetDateTime parseTemporal(final String value, final DateTimeFormatter formatter) {
+        return parseOffsetDateTime(value, formatter);
+    }
+    
+    @Override
+    protected String getDefaultJavaPattern() {
+        return "yyyy-MM-dd HH:mm:ss";
+    }
+    
+    @Override
+    protected String getDefaultExcelPattern() {
+        return "yyyy-mm-dd hh:mm:ss";
+    }
+}
@@ -8,7 +8,7 @@ import java.math.RoundingMode;
 /**
  * short/Short型を処理するためのConveter.
  * 
- * @version 0.5
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -16,6 +16,11 @@ public class ShortCellConverter extends AbstractNumberCellConverter<Short> {
     
     @Override
     protected Short convertNumber(final double value, final MathContext context) {
+        if(isExactInteger(value, context) && value >= getMinValue() && value <= getMaxValue()) {
+            // 丸めが不要な整数の場合
+            return (short) value;
+        }
+        
         // 少数以下を四捨五入
         BigDecimal decimal = new BigDecimal(value, context);
         decimal = decimal.setScale(0, RoundingMode.HALF_UP);
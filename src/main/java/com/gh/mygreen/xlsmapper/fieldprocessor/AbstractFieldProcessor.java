@@ -15,7 +15,7 @@ import com.gh.mygreen.xlsmapper.cellconvert.DefaultCellConverter;
  * 各種アノテーションを処理するためのクラスの抽象クラス。
  * <p>通常はこのクラスを継承して作成する。
  * 
- * @version 1.0
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -27,6 +27,10 @@ public abstract class AbstractFieldProcessor<A extends Annotation> implements Lo
      * @return
      */
     protected ConversionException newNotFoundConverterExpcetion(final Class<?> targetType) {
+        return createNotFoundConverterExpcetion(targetType);
+    }
+    
+    private static ConversionException createNotFoundConverterExpcetion(final Class<?> targetType) {
         return new ConversionException(
                 String.format("not found CellConverter for type '%s'.", targetType.getName()),
                 targetType);
@@ -34,7 +38,7 @@ public abstract class AbstractFieldProcessor<A extends Annotation> implements Lo
     
     /**
      * 読み込み時用のConveterを取得する。
-     * <p>アノテーション「{@link XlsConverter#converterClass()}」が設定されていた場合を考慮した、個別のConverterを考慮する。
+     * <p>{@link #resolveLoadingCellConverter(FieldAdaptor, CellConverterRegistry, XlsMapperConfig)}で決定する。
      * 
      * @param adaptor フィールド情報
      * @param converterResolver Converterを登録しているクラス。
@@ -44,49 +48,93 @@ public abstract class AbstractFieldProcessor<A extends Annotation> implements Lo
      */
     protected CellConverter<?> getLoadingCellConverter(final FieldAdaptor adaptor, final CellConverterRegistry converterResolver,
             final XlsMapperConfig config) throws XlsMapperException {
+        return resolveLoadingCellConverter(adaptor, converterResolver, config);
+    }
+    
+    /**
+     * 書き込み時用のConveterを取得する。
+     * <p>{@link #resolveSavingCellConverter(FieldAdaptor, CellConverterRegistry, XlsMapperConfig)}で決定する。
+     * 
+     * @param adaptor フィールド情報
+     * @param converterResolver Converterを登録しているクラス。
+     * @param config XlsMapperの設定クラス。Converterクラスのインスタンスを生成する際に利用する。
+     * @return
+     * @throws XlsMapperException Converterが見つからない場合。
+     */
+    protected CellConverter<?> getSavingCellConverter(final FieldAdaptor adaptor, final CellConverterRegistry converterResolver,
+            final XlsMapperConfig config) throws XlsMapperException {
+        return resolveSavingCellConverter(adaptor, converterResolver, config);
+    }
+    
+    /**
+     * 読み込み時用のConveterを決定する。
+     * <p>アノテーション「{@link XlsConverter#converterClass()}」が設定されていた場合を考慮した、個別のConverterを考慮する。
+     * <p>管理クラスから決定したConverterはフィールド情報に保持し、同じ管理クラスと設定の場合は、2回目以降の呼び出しで再利用する。
+     *    <br>アノテーションで指定したConverterクラスは、スレッドセーフとは限らないため保持せず、呼び出しごとにインスタンスを作成する。
+     * <p>フィールドの処理クラス以外（ストリーミングでの読み込みなど）からも、同じ方法で決定するために使用する。
+     * 
+     * @since 1.6
+     * @param adaptor フィールド情報
+     * @param converterResolver Converterを登録しているクラス。
+     * @param config XlsMapperの設定クラス。Converterクラスのインスタンスを生成する際に利用する。
+     * @return
+     * @throws XlsMapperException Converterが見つからない場合。
+     */
+    public static CellConverter<?> resolveLoadingCellConverter(final FieldAdaptor adaptor, final CellConverterRegistry converterResolver,
+            final XlsMapperConfig config) throws XlsMapperException {
         
         final XlsConverter converterAnno = adaptor.getLoadingAnnotation(XlsConverter.class);
-        final CellConverter<?> converter;
-        
         if(converterAnno != null && !converterAnno.converterClass().equals(DefaultCellConverter.class)) {
-            converter = config.createBean(converterAnno.converterClass());
-            
-        } else {
-            converter = converterResolver.getConverter(adaptor.getTargetClass());
-            if(converter == null) {
-                throw newNotFoundConverterExpcetion(adaptor.getTargetClass());
-            }
+            return config.createBean(converterAnno.converterClass());
+        }
+        
+        final CellConverter<?> resolved = adaptor.getResolvedLoadingConverter(converterResolver, config);
+        if(resolved != null) {
+            return resolved;
+        }
+        
+        final CellConverter<?> converter = converterResolver.getConverter(adaptor.getTargetClass());
+        if(converter == null) {
+            throw createNotFoundConverterExpcetion(adaptor.getTargetClass());
         }
         
+        adaptor.setResolvedLoadingConverter(converterResolver, config, converter);
         return converter;
     }
     
     /**
-     * 書き込み時用のConveterを取得する。
+     * 書き込み時用のConveterを決定する。
      * <p>アノテーション「{@link XlsConverter#converterClass()}」が設定されていた場合を考慮した、個別のConverterを考慮する。
+     * <p>管理クラスから決定したConverterはフィールド情報に保持し、同じ管理クラスと設定の場合は、2回目以降の呼び出しで再利用する。
+     *    <br>アノテーションで指定したConverterクラスは、スレッドセーフとは限らないため保持せず、呼び出しごとにインスタンスを作成する。
+     * <p>フィールドの処理クラス以外（ストリーミングでの書き込みなど）からも、同じ方法で決定するために使用する。
      * 
+     * @since 1.6
      * @param adaptor フィールド情報
      * @param converterResolver Converterを登録しているクラス。
      * @param config XlsMapperの設定クラス。Converterクラスのインスタンスを生成する際に利用する。
      * @return
      * @throws XlsMapperException Converterが見つからない場合。
      */
-    protected CellConverter<?> getSavingCellConverter(final FieldAdaptor adaptor, final CellConverterRegistry converterResolver,
+    public static CellConverter<?> resolveSavingCellConverter(final FieldAdaptor adaptor, final CellConverterRegistry converterResolver,
             final XlsMapperConfig config) throws XlsMapperException {
         
         final XlsConverter converterAnno = adaptor.getSavingAnnotation(XlsConverter.class);
-        final CellConverter<?> converter;
-        
         if(converterAnno != null && !converterAnno.converterClass().equals(DefaultCellConverter.class)) {
-            converter = config.createBean(converterAnno.converterClass());
-            
-        } else {
-            converter = converterResolver.getConverter(adaptor.getTargetClass());
-            if(converter == null) {
-                throw newNotFoundConverterExpcetion(adaptor.getTargetClass());
-            }
+            return config.createBean(converterAnno.converterClass());
+        }
+        
+        final CellConverter<?> resolved = adaptor.getResolvedSavingConverter(converterResolver, config);
+        if(resolved != null) {
+            return resolved;
+        }
+        
+        final CellConverter<?> converter = converterResolver.getConverter(adaptor.getTargetClass());
+        if(converter == null) {
+            throw createNotFoundConverterExpcetion(adaptor.getTargetClass());
         }
         
+        adaptor.setResolvedSavingConverter(converterResolver, config, converter);
         return converter;
     }
 }
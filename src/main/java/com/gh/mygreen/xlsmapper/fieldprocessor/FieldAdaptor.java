@@ -2,7 +2,6 @@ package com.gh.mygreen.xlsmapper.fieldprocessor;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.Collection;
@@ -11,12 +10,16 @@ import java.util.Map;
 
 import com.gh.mygreen.xlsmapper.ArgUtils;
 import com.gh.mygreen.xlsmapper.Utils;
+import com.gh.mygreen.xlsmapper.XlsMapperConfig;
+import com.gh.mygreen.xlsmapper.cellconvert.CellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.CellConverterRegistry;
 import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 
 
 /**
  * メソッド（setter/getter）とフィールドのアクセスを吸収するクラス。
  * 
+ * @version 1.6
  * @author T.TSUCHIE
  *
  */
@@ -52,6 +55,27 @@ public class FieldAdaptor {
     /** 親のクラスタイプ */
     private Class<?> parentClass;
     
+    /**
+     * 値の取得/設定用のインスタンス。
+     * <p>内部の情報は変更しないため、複数のスレッドから同時に作成されても問題はない。
+     * <p>インスタンスはクラス単位のキャッシュで共有されるため、他のスレッドから初期化済みの値が見えるよう{@literal volatile}とする。
+     * @since 1.6
+     */
+    private volatile PropertyAccessor accessor;
+    
+    /**
+     * 読み込み時に使用する{@link CellConverter}。
+     * <p>初回の変換時に決定し、以降のセルの変換ではアノテーションや管理クラスからの検索を省略する。
+     * @since 1.6
+     */
+    private volatile ResolvedConverter loadingConverter;
+    
+    /**
+     * 書き込み時に使用する{@link CellConverter}。
+     * @since 1.6
+     */
+    private volatile ResolvedConverter savingConverter;
+    
     /**
      * フィールド情報を指定して初期化する。
      * @param clazz
@@ -274,13 +298,11 @@ public class FieldAdaptor {
         ArgUtils.notNull(targetObj, "targetObj");
         
         try {
-            if(withField) {
-                return targetField.get(targetObj);
-            } else {
-                return targetGetter.invoke(targetObj);
-            }
-        } catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException("fail get field value.");
+            return getAccessor().get(targetObj);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("fail get field value.", e);
         }
         
     }
@@ -316,15 +338,79 @@ public class FieldAdaptor {
         ArgUtils.notNull(targetObj, "targetObj");
         
         try {
+            getAccessor().set(targetObj, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("fail set field value.", e);
+        }
+    }
+    
+    /**
+     * 値の取得/設定用のインスタンスを取得する。
+     * <p>初回の呼び出し時に作成する。
+     * @since 1.6
+     * @return
+     */
+    private PropertyAccessor getAccessor() {
+        PropertyAccessor result = accessor;
+        if(result == null) {
             if(withField) {
-                targetField.set(targetObj, value);
+                result = PropertyAccessor.create(targetField);
             } else {
-                targetSetter.invoke(targetObj, value);
+                result = PropertyAccessor.create(targetGetter, targetSetter);
             }
-            
-        }catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException("fail get field value.");
+            this.accessor = result;
         }
+        return result;
+    }
+    
+    /**
+     * 読み込み時に使用する決定済みの{@link CellConverter}を取得する。
+     * @since 1.6
+     * @param registry {@link CellConverter}の管理クラス
+     * @param config システム設定
+     * @return 同じ管理クラスと設定で決定していない場合はnullを返す。
+     */
+    CellConverter<?> getResolvedLoadingConverter(final CellConverterRegistry registry, final XlsMapperConfig config) {
+        final ResolvedConverter resolved = loadingConverter;
+        return resolved != null ? resolved.get(registry, config) : null;
+    }
+    
+    /**
+     * 読み込み時に使用する{@link CellConverter}を保持する。
+     * @since 1.6
+     * @param registry {@link CellConverter}の管理クラス
+     * @param config システム設定
+     * @param converter 決定した{@link CellConverter}
+     */
+    void setResolvedLoadingConverter(final CellConverterRegistry registry, final XlsMapperConfig config,
+            final CellConverter<?> converter) {
+        this.loadingConverter = new ResolvedConverter(registry, config, converter);
+    }
+    
+    /**
+     * 書き込み時に使用する決定済みの{@link CellConverter}を取得する。
+     * @since 1.6
+     * @param registry {@link CellConverter}の管理クラス
+     * @param config システム設定
+     * @return 同じ管理クラスと設定で決定していない場合はnullを返す。
+     */
+    CellConverter<?> getResolvedSavingConverter(final CellConverterRegistry registry, final XlsMapperConfig config) {
+        final ResolvedConverter resolved = savingConverter;
+        return resolved != null ? resolved.get(registry, config) : null;
+    }
+    
+    /**
+     * 書き込み時に使用する{@link CellConverter}を保持する。
+     * @since 1.6
+     * @param registry {@link CellConverter}の管理クラス
+     * @param config システム設定
+     * @param converter 決定した{@link CellConverter}
+     */
+    void setResolvedSavingConverter(final CellConverterRegistry registry, final XlsMapperConfig config,
+            final CellConverter<?> converter) {
+        this.savingConverter = new ResolvedConverter(registry, config, converter);
     }
     
     /**
@@ -533,4 +619,37 @@ public class FieldAdaptor {
     public Class<?> getParentClass() {
         return parentClass;
     }
+    
+    /**
+     * 決定した{@link CellConverter}と、決定に使用した管理クラスと設定の組み合わせ。
+     * <p>管理クラスや設定が変更された場合、管理クラスに{@link CellConverter}が登録し直された場合は、決定し直す。
+     * @since 1.6
+     */
+    private static final class ResolvedConverter {
+        
+        private final CellConverterRegistry registry;
+        
+        /** 決定したときの管理クラスの変更回数 */
+        private final int modificationCount;
+        
+        private final XlsMapperConfig config;
+        
+        private final CellConverter<?> converter;
+        
+        ResolvedConverter(final CellConverterRegistry registry, final XlsMapperConfig config,
+                final CellConverter<?> converter) {
+            this.registry = registry;
+            this.modificationCount = registry.getModificationCount();
+            this.config = config;
+            this.converter = converter;
+        }
+        
+        CellConverter<?> get(final CellConverterRegistry registry, final XlsMapperConfig config) {
+            if(this.registry == registry && this.config == config
+                    && this.modificationCount == registry.getModificationCount()) {
+                return converter;
+            }
+            return null;
+        }
+    }
 }
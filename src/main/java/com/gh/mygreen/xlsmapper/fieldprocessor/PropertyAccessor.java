@@ -0,0 +1,239 @@
+package com.gh.mygreen.xlsmapper.fieldprocessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+
+/**
+ * {@link FieldAdaptor}で、プロパティの値を取得/設定するためのクラス。
+ * <p>フィールドやメソッドを{@link MethodHandle}に変換して呼び出すため、
+ *    リフレクションによる呼び出しよりも高速に処理できる。
+ *    <br>{@link MethodHandle}に変換できない場合（finalフィールドやセキュリティマネージャによる制限がある場合）は、
+ *    リフレクションにより呼び出す。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+abstract class PropertyAccessor {
+    
+    /** 値の取得用の型 */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    
+    /** 値の設定用の型 */
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    
+    /**
+     * オブジェクトから値を取得する。
+     * @param targetObj 取得対象のオブジェクト
+     * @return プロパティの値
+     * @throws Throwable 値の取得に失敗した場合
+     */
+    abstract Object get(Object targetObj) throws Throwable;
+    
+    /**
+     * オブジェクトに値を設定する。
+     * @param targetObj 設定対象のオブジェクト
+     * @param value 設定する値
+     * @throws Throwable 値の設定に失敗した場合
+     */
+    abstract void set(Object targetObj, Object value) throws Throwable;
+    
+    /**
+     * フィールドに直接アクセスするインスタンスを作成する。
+     * @param field フィールド
+     * @return アクセス用のインスタンス
+     */
+    static PropertyAccessor create(final Field field) {
+        
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        
+        MethodHandle getter = null;
+        MethodHandle setter = null;
+        try {
+            field.setAccessible(true);
+            getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            
+        } catch(SecurityException | IllegalAccessException e) {
+            // finalフィールドなどの場合は、変換できた方のみを使用する。
+        }
+        
+        return new FieldAccessor(field, getter, setter);
+    }
+    
+    /**
+     * getter/setterメソッドを経由してアクセスするインスタンスを作成する。
+     * @param getter getterメソッド。存在しない場合はnull。
+     * @param setter setterメソッド。存在しない場合はnull。
+     * @return アクセス用のインスタンス
+     */
+    static PropertyAccessor create(final Method getter, final Method setter) {
+        
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        return new MethodAccessor(getter, setter,
+                unreflect(lookup, getter, GETTER_TYPE), unreflect(lookup, setter, SETTER_TYPE));
+    }
+    
+    private static MethodHandle unreflect(final MethodHandles.Lookup lookup, final Method method, final MethodType type) {
+        
+        if(method == null) {
+            return null;
+        }
+        
+        try {
+            method.setAccessible(true);
+            return lookup.unreflect(method).asType(type);
+            
+        } catch(SecurityException | IllegalAccessException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * {@link MethodHandle}で、そのまま値を設定できるかどうか判定する。
+     * <p>プリミティブ型の拡大変換が必要な場合や、型が一致しない場合はリフレクションで設定し、
+     *    {@link Field#set(Object, Object)}や{@link Method#invoke(Object, Object...)}と同じ結果とする。
+     * @param valueType 設定先の型。プリミティブ型の場合はラッパークラス。
+     * @param primitive 設定先の型がプリミティブ型かどうか
+     * @param value 設定する値
+     * @return trueの場合、{@link MethodHandle}で設定できる。
+     */
+    private static boolean isExactType(final Class<?> valueType, final boolean primitive, final Object value) {
+        
+        if(value == null) {
+            return !primitive;
+        }
+        
+        if(primitive) {
+            return valueType == value.getClass();
+        }
+        
+        return valueType.isInstance(value);
+    }
+    
+    /**
+     * リフレクションでメソッドを呼び出す。
+     * <p>{@link MethodHandle}で呼び出した場合と同じく、メソッド内で発生した例外をそのままスローする。
+     * @param method 呼び出すメソッド
+     * @param targetObj 呼び出し対象のオブジェクト
+     * @param args メソッドの引数
+     * @return メソッドの戻り値
+     * @throws Throwable メソッドの呼び出しに失敗した場合
+     */
+    private static Object invoke(final Method method, final Object targetObj, final Object... args) throws Throwable {
+        try {
+            return method.invoke(targetObj, args);
+        } catch(InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private static Class<?> wrap(final Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+    
+    /**
+     * フィールドにアクセスする場合
+     */
+    private static class FieldAccessor extends PropertyAccessor {
+        
+        private final Field field;
+        
+        private final MethodHandle getter;
+        
+        private final MethodHandle setter;
+        
+        private final Class<?> valueType;
+        
+        private final boolean primitive;
+        
+        private FieldAccessor(final Field field, final MethodHandle getter, final MethodHandle setter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+            this.valueType = wrap(field.getType());
+            this.primitive = field.getType().isPrimitive();
+        }
+        
+        @Override
+        Object get(final Object targetObj) throws Throwable {
+            if(getter == null) {
+                return field.get(targetObj);
+            }
+            
+            return (Object) getter.invokeExact(targetObj);
+        }
+        
+        @Override
+        void set(final Object targetObj, final Object value) throws Throwable {
+            if(setter == null || !isExactType(valueType, primitive, value)) {
+                field.set(targetObj, value);
+                return;
+            }
+            
+            setter.invokeExact(targetObj, value);
+        }
+        
+    }
+    
+    /**
+     * getter/setterメソッドにアクセスする場合
+     */
+    private static class MethodAccessor extends PropertyAccessor {
+        
+        private final Method getterMethod;
+        
+        private final Method setterMethod;
+        
+        private final MethodHandle getter;
+        
+        private final MethodHandle setter;
+        
+        private final Class<?> valueType;
+        
+        private final boolean primitive;
+        
+        private MethodAccessor(final Method getterMethod, final Method setterMethod,
+                final MethodHandle getter, final MethodHandle setter) {
+            this.getterMethod = getterMethod;
+            this.setterMethod = setterMethod;
+            this.getter = getter;
+            this.setter = setter;
+            
+            if(setterMethod != null) {
+                this.valueType = wrap(setterMethod.getParameterTypes()[0]);
+                this.primitive = setterMethod.getParameterTypes()[0].isPrimitive();
+            } else {
+                this.valueType = Object.class;
+                this.primitive = false;
+            }
+        }
+        
+        @Override
+        Object get(final Object targetObj) throws Throwable {
+            if(getter == null) {
+                return invoke(getterMethod, targetObj);
+            }
+            
+            return (Object) getter.invokeExact(targetObj);
+        }
+        
+        @Override
+        void set(final Object targetObj, final Object value) throws Throwable {
+            if(setter == null || !isExactType(valueType, primitive, value)) {
+                invoke(setterMethod, targetObj, value);
+                return;
+            }
+            
+            setter.invokeExact(targetObj, value);
+        }
+        
+    }
+    
+}
@@ -4,10 +4,16 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
 
 import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
 import com.gh.mygreen.xlsmapper.ArgUtils;
+import com.gh.mygreen.xlsmapper.LoadingWorkObject;
+import com.gh.mygreen.xlsmapper.POIUtils;
+import com.gh.mygreen.xlsmapper.SheetSnapshot;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
 import com.gh.mygreen.xlsmapper.XlsMapperException;
@@ -21,7 +27,7 @@ import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 /**
  * Provides generic utility methods for {@link HorizontalRecordsProcessor} and {@link VerticalRecordsProcessor}.
  * 
- * @version 1.4
+ * @version 1.6
  * @author Naoki Takezoe
  */
 public class RecordsProcessorUtil {
@@ -252,4 +258,63 @@ public class RecordsProcessorUtil {
         
         
     }
+    
+    /**
+     * 読み込み時に、セルの値をフォーマットして取得する。
+     * @since 1.6
+     * @param cell 対象のセル
+     * @param snapshot シートのセルの情報。nullの場合は、セルを直接フォーマットする。
+     * @param config システム設定
+     * @return フォーマットしたセルの値
+     */
+    public static String getCellContents(final Cell cell, final SheetSnapshot snapshot, final XlsMapperConfig config) {
+        if(snapshot != null) {
+            return snapshot.getCellContents(cell.getColumnIndex(), cell.getRowIndex());
+        }
+        return POIUtils.getCellContents(cell, config.getCellFormatter());
+    }
+    
+    /**
+     * 読み込み時に、セルの値が空かどうか判定する。
+     * @since 1.6
+     * @param cell 対象のセル
+     * @param snapshot シートのセルの情報。nullの場合は、セルを直接フォーマットする。
+     * @param config システム設定
+     * @return フォーマットした値が空文字の場合trueを返す。
+     */
+    public static boolean isEmptyCellContents(final Cell cell, final SheetSnapshot snapshot, final XlsMapperConfig config) {
+        if(snapshot != null) {
+            return snapshot.isEmptyCellContents(cell.getColumnIndex(), cell.getRowIndex());
+        }
+        return POIUtils.isEmptyCellContents(cell, config.getCellFormatter());
+    }
+    
+    /**
+     * 読み込み時に、セルの書式を取得する。
+     * @since 1.6
+     * @param cell 対象のセル
+     * @param snapshot シートのセルの情報。nullの場合は、セルから直接取得する。
+     * @return セルの書式
+     */
+    public static CellStyle getCellStyle(final Cell cell, final SheetSnapshot snapshot) {
+        if(snapshot != null) {
+            return snapshot.getCellStyle(cell.getColumnIndex(), cell.getRowIndex());
+        }
+        return cell.getCellStyle();
+    }
+    
+    /**
+     * 読み込み時に、セルの結合情報を取得する。
+     * @since 1.6
+     * @param cell 対象のセル
+     * @param snapshot シートのセルの情報。nullの場合は、結合セルの索引から取得する。
+     * @param work 読み込み処理中の情報
+     * @return 結合していない場合nullを返す。
+     */
+    public static CellRangeAddress getMergedRegion(final Cell cell, final SheetSnapshot snapshot, final LoadingWorkObject work) {
+        if(snapshot != null) {
+            return snapshot.getMergedRegion(cell.getColumnIndex(), cell.getRowIndex());
+        }
+        return work.getMergedRegionIndex(cell.getSheet()).getMergedRegion(cell.getRowIndex(), cell.getColumnIndex());
+    }
 }
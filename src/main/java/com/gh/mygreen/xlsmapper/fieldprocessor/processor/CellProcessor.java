@@ -34,7 +34,7 @@ public class CellProcessor extends AbstractFieldProcessor<XlsCell> {
         
         Utils.setPosition(cellPosition.x, cellPosition.y, beansObj, adaptor.getName());
         
-        final Cell xlsCell = POIUtils.getCell(sheet, cellPosition.x, cellPosition.y);
+        final Cell xlsCell = POIUtils.getReadOnlyCell(sheet, cellPosition.x, cellPosition.y);
         final CellConverter<?> converter = getLoadingCellConverter(adaptor, config.getConverterRegistry(), config);
         
         try {
@@ -7,9 +7,11 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.poi.ss.usermodel.Cell;
@@ -27,11 +29,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.BeanMapping;
 import com.gh.mygreen.xlsmapper.CellCommentStore;
+import com.gh.mygreen.xlsmapper.LabelIndex;
 import com.gh.mygreen.xlsmapper.LoadingWorkObject;
+import com.gh.mygreen.xlsmapper.MergedRegionIndex;
 import com.gh.mygreen.xlsmapper.NeedProcess;
 import com.gh.mygreen.xlsmapper.POIUtils;
 import com.gh.mygreen.xlsmapper.SavingWorkObject;
+import com.gh.mygreen.xlsmapper.SheetDimension;
+import com.gh.mygreen.xlsmapper.SheetSnapshot;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
 import com.gh.mygreen.xlsmapper.XlsMapperException;
@@ -41,13 +48,8 @@ import com.gh.mygreen.xlsmapper.annotation.RemainedRecordOperate;
 import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
 import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
 import com.gh.mygreen.xlsmapper.annotation.XlsIsEmpty;
-import com.gh.mygreen.xlsmapper.annotation.XlsListener;
 import com.gh.mygreen.xlsmapper.annotation.XlsMapColumns;
 import com.gh.mygreen.xlsmapper.annotation.XlsNestedRecords;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
 import com.gh.mygreen.xlsmapper.cellconvert.CellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
 import com.gh.mygreen.xlsmapper.fieldprocessor.AbstractFieldProcessor;
@@ -65,7 +67,7 @@ import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 /**
  * アノテーション{@link XlsHorizontalRecords}を処理するクラス。
  * 
- * @version 1.5
+ * @version 1.6
  * @author Naoki Takezoe
  * @author T.TSUCHIE
  *
@@ -79,9 +81,10 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
         
         // ラベルの設定
+        // 表の位置と同じく、行、列の順に探す。
         if(Utils.isNotEmpty(anno.tableLabel())) {
             try {
-                final Cell tableLabelCell = Utils.getCell(sheet, anno.tableLabel(), 0, config);
+                final Cell tableLabelCell = work.getLabelIndex(sheet, config).getCell(anno.tableLabel(), 0, 0);
                 Utils.setLabel(POIUtils.getCellContents(tableLabelCell, config.getCellFormatter()), beansObj, adaptor.getName());
             } catch(CellNotFoundException e) {
                 
@@ -132,10 +135,12 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
     private List<?> loadRecords(final Sheet sheet, XlsHorizontalRecords anno, final FieldAdaptor adaptor, 
             final Class<?> recordClass, final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
         
+        final SheetSnapshot snapshot = work.getSheetSnapshot(sheet, config);
+        
         RecordsProcessorUtil.checkLoadingNestedRecordClass(recordClass, adaptor, work.getAnnoReader());
         
         // get table starting position
-        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config);
+        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config, work.getLabelIndex(sheet, config));
         if(initPosition == null) {
             return null;
         }
@@ -151,14 +156,14 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         int rangeCount = 1;
         while(true) {
             try {
-                Cell cell = POIUtils.getCell(sheet, hColumn, hRow);
+                Cell cell = POIUtils.getReadOnlyCell(sheet, hColumn, hRow);
                 
-                while(POIUtils.isEmptyCellContents(cell, config.getCellFormatter()) && rangeCount < anno.range()) {
-                    cell = POIUtils.getCell(sheet, hColumn + rangeCount, hRow);
+                while(RecordsProcessorUtil.isEmptyCellContents(cell, snapshot, config) && rangeCount < anno.range()) {
+                    cell = POIUtils.getReadOnlyCell(sheet, hColumn + rangeCount, hRow);
                     rangeCount++;
                 }
                 
-                final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
+                final String cellValue = RecordsProcessorUtil.getCellContents(cell, snapshot, config);
                 if(Utils.isEmpty(cellValue)){
                     break;
                 }
@@ -168,7 +173,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 rangeCount = 1;
                 
                 // 結合しているセルの場合は、はじめのセルだけ取得して、後は結合分スキップする。
-                CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                CellRangeAddress mergedRange = RecordsProcessorUtil.getMergedRegion(cell, snapshot, work);
                 if(mergedRange != null) {
                     hColumn = hColumn + (mergedRange.getLastColumn() - mergedRange.getFirstColumn());
                 }
@@ -195,6 +200,8 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             final FieldAdaptor adaptor, final Class<?> recordClass, 
             final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
         
+        final SheetSnapshot snapshot = work.getSheetSnapshot(sheet, config);
+        
         final List<Object> result = new ArrayList<>();
         
         final int initColumn = initPosition.getColumn();
@@ -214,7 +221,8 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         final int startHeaderIndex = getStartHeaderIndexForLoading(headers, recordClass, work.getAnnoReader(), config);
         
         // get records
-        while(hRow < POIUtils.getRows(sheet)){
+        final SheetDimension dimension = work.getSheetDimension(sheet);
+        while(hRow < dimension.getRows()){
             
             if(parentMergedSize > 0 && hRow >= maxRow) {
                 // ネストしている処理のとき、最大の処理レコード数をチェックする。
@@ -229,41 +237,35 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             work.getErrors().pushNestedPath(adaptor.getName(), result.size());
             
             // execute PreProcess listener
-            final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreLoad.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
-                    }
+            final BeanMapping beanMapping = config.getBeanMapping(record.getClass(), work.getAnnoReader());
+            if(beanMapping.hasListener()) {
+                Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                for(Method method : beanMapping.getListenerPreLoadMethods()) {
+                    Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
                 }
             }
             
             // execute PreProcess method
-            for(Method method : record.getClass().getMethods()) {
-                final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPreLoad.class);
-                if(preProcessAnno != null) {
-                    Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());
-                }
+            for(Method method : beanMapping.getPreLoadMethods()) {
+                Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());
             }
             
             final List<MergedRecord> mergedRecords = new ArrayList<>();
             
             loadMapColumns(sheet, headers, mergedRecords, new CellAddress(hRow, initColumn), record, config, work);
             
-            for(int i=0; i < headers.size() && hRow < POIUtils.getRows(sheet); i++){
+            for(int i=0; i < headers.size() && hRow < dimension.getRows(); i++){
                 final RecordHeader headerInfo = headers.get(i);
                 int hColumn = initColumn + headerInfo.getInterval();
-                final Cell cell = POIUtils.getCell(sheet, hColumn, hRow);
+                final Cell cell = POIUtils.getReadOnlyCell(sheet, hColumn, hRow);
                 
                 // find end of the table
-                if(!POIUtils.isEmptyCellContents(cell, config.getCellFormatter())){
+                if(!RecordsProcessorUtil.isEmptyCellContents(cell, snapshot, config)){
                     emptyFlag = false;
                 }
                 
                 if(terminal == RecordTerminal.Border && i == startHeaderIndex){
-                    final CellStyle format = cell.getCellStyle();
+                    final CellStyle format = RecordsProcessorUtil.getCellStyle(cell, snapshot);
                     if(format != null && !(format.getBorderLeft() == CellStyle.BORDER_NONE)){
                         emptyFlag = false;
                     } else {
@@ -273,7 +275,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 }
                 
                 if(!anno.terminateLabel().equals("")){
-                    if(Utils.matches(POIUtils.getCellContents(cell, config.getCellFormatter()), anno.terminateLabel(), config)){
+                    if(Utils.matches(RecordsProcessorUtil.getCellContents(cell, snapshot, config), anno.terminateLabel(), config)){
                         emptyFlag = true;
                         break;
                     }
@@ -287,21 +289,21 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                     final XlsColumn column = property.getLoadingAnnotation(XlsColumn.class);
                     if(column.headerMerged() > 0) {
                         hColumn = hColumn + column.headerMerged();
-                        valueCell = POIUtils.getCell(sheet, hColumn, hRow);
+                        valueCell = POIUtils.getReadOnlyCell(sheet, hColumn, hRow);
                     }
                     
                     // for merged cell
-                    if(POIUtils.isEmptyCellContents(valueCell, config.getCellFormatter())) {
-                        final CellStyle valueCellFormat = valueCell.getCellStyle();
+                    if(RecordsProcessorUtil.isEmptyCellContents(valueCell, snapshot, config)) {
+                        final CellStyle valueCellFormat = RecordsProcessorUtil.getCellStyle(valueCell, snapshot);
                         if(column.merged()
                                 && (valueCellFormat == null || valueCellFormat.getBorderTop() == CellStyle.BORDER_NONE)) {
                             for(int k=hRow-1; k > initRow; k--){
-                                Cell tmpCell = POIUtils.getCell(sheet, hColumn, k);
-                                final CellStyle tmpCellFormat = tmpCell.getCellStyle();
+                                Cell tmpCell = POIUtils.getReadOnlyCell(sheet, hColumn, k);
+                                final CellStyle tmpCellFormat = RecordsProcessorUtil.getCellStyle(tmpCell, snapshot);
                                 if(tmpCellFormat!=null && !(tmpCellFormat.getBorderBottom() == CellStyle.BORDER_NONE)){
                                     break;
                                 }
-                                if(!POIUtils.isEmptyCellContents(tmpCell, config.getCellFormatter())){
+                                if(!RecordsProcessorUtil.isEmptyCellContents(tmpCell, snapshot, config)){
                                     valueCell = tmpCell;
                                     break;
                                 }
@@ -313,7 +315,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                         hColumn = hColumn - column.headerMerged();
                     }
                     
-                    CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, valueCell.getRowIndex(), valueCell.getColumnIndex());
+                    CellRangeAddress mergedRange = RecordsProcessorUtil.getMergedRegion(valueCell, snapshot, work);
                     if(mergedRange != null) {
                         int mergedSize =  mergedRange.getLastRow() - mergedRange.getFirstRow() + 1;
                         mergedRecords.add(new MergedRecord(headerInfo, mergedRange, mergedSize));
@@ -353,29 +355,22 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 break;
             }
             
-            if(!anno.ignoreEmptyRecord() || !isEmptyRecord(adaptor, record, work.getAnnoReader())) {
+            if(!anno.ignoreEmptyRecord() || !isEmptyRecord(adaptor, record, beanMapping, work.getAnnoReader())) {
                 result.add(record);
                 
             }
             
             // set PostProcess listener
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    
-                    final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostLoad.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
-                    }
+            if(beanMapping.hasListener()) {
+                Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                for(Method method : beanMapping.getListenerPostLoadMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
                 }
             }
             
             // set PostProcess method
-            for(Method method : record.getClass().getMethods()) {
-                final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPostLoad.class);
-                if(postProcessAnno != null) {
-                    work.addNeedPostProcess(new NeedProcess(record, record, method));
-                }
+            for(Method method : beanMapping.getPostLoadMethods()) {
+                work.addNeedPostProcess(new NeedProcess(record, record, method));
             }
             
             // パスの位置の変更
@@ -398,12 +393,14 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
      * @param anno
      * @param adaptor
      * @param config
+     * @param labelIndex 見出しの索引。シートを走査して検索する場合はnull。
      * @return 表の開始位置。指定したラベルが見つからない場合、設定によりnullを返す。
      * @throws AnnotationInvalidException アノテーションの値が不正で、表の開始位置が位置が見つからない場合。
      * @throws CellNotFoundException 指定したラベルが見つからない場合。
      */
     private CellAddress getHeaderPosition(final Sheet sheet, final XlsHorizontalRecords anno,
-            final FieldAdaptor adaptor, final XlsMapperConfig config) throws AnnotationInvalidException, CellNotFoundException {
+            final FieldAdaptor adaptor, final XlsMapperConfig config, final LabelIndex labelIndex)
+                    throws AnnotationInvalidException, CellNotFoundException {
         
         if(Utils.isNotEmpty(anno.headerAddress())) {
             final Point address = Utils.parseCellAddress(anno.headerAddress());
@@ -417,7 +414,8 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             
         } else if(Utils.isNotEmpty(anno.tableLabel())) {
             try {
-                Cell labelCell = Utils.getCell(sheet, anno.tableLabel(), 0, 0, config);
+                Cell labelCell = labelIndex != null ? labelIndex.getCell(anno.tableLabel(), 0, 0)
+                        : Utils.getCell(sheet, anno.tableLabel(), 0, 0, config);
                 int initColumn = labelCell.getColumnIndex();
                 int initRow = labelCell.getRowIndex() + anno.bottom();
                 
@@ -477,6 +475,8 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
     private void loadMapColumns(final Sheet sheet, final List<RecordHeader> headers, final List<MergedRecord> mergedRecords,
             final CellAddress beginPosition, final Object record, final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
         
+        final SheetSnapshot snapshot = work.getSheetSnapshot(sheet, config);
+        
         final List<FieldAdaptor> properties = Utils.getLoadingMapColumnProperties(record.getClass(), work.getAnnoReader());
         
         for(FieldAdaptor property : properties) {
@@ -508,11 +508,11 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 }
                 
                 if(foundPreviousColumn){
-                    final Cell cell = POIUtils.getCell(sheet, hColumn, beginPosition.getRow());
+                    final Cell cell = POIUtils.getReadOnlyCell(sheet, hColumn, beginPosition.getRow());
                     Utils.setPositionWithMapColumn(cell.getColumnIndex(), cell.getRowIndex(), record, property.getName(), headerInfo.getLabel());
                     Utils.setLabelWithMapColumn(headerInfo.getLabel(), record, property.getName(), headerInfo.getLabel());
                     
-                    CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                    CellRangeAddress mergedRange = RecordsProcessorUtil.getMergedRegion(cell, snapshot, work);
                     if(mergedRange != null) {
                         int mergedSize =  mergedRange.getLastRow() - mergedRange.getFirstRow() + 1;
                         mergedRecords.add(new MergedRecord(headerInfo, mergedRange, mergedSize));
@@ -626,31 +626,29 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
      * <p>アノテーション<code>@XlsIsEmpty</code>のメソッドで判定を行う。
      * @param adaptor
      * @param record
+     * @param beanMapping レコードのクラスのマッピング情報
      * @param annoReader
      * @return アノテーションがない場合はfalseを返す。
      * @throws AnnotationReadException 
      * @throws AnnotationInvalidException 
      */
-    private boolean isEmptyRecord(final FieldAdaptor adaptor, final Object record, final AnnotationReader annoReader) throws AnnotationReadException, AnnotationInvalidException {
+    private boolean isEmptyRecord(final FieldAdaptor adaptor, final Object record, final BeanMapping beanMapping,
+            final AnnotationReader annoReader) throws AnnotationReadException, AnnotationInvalidException {
         
-        for(Method method : record.getClass().getMethods()) {
-            final XlsIsEmpty emptyAnno = annoReader.getAnnotation(record.getClass(), method, XlsIsEmpty.class);
-            if(emptyAnno == null) {
-                continue;
-            }
-            
-            try {
-                method.setAccessible(true);
-                return (boolean) method.invoke(record);
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new AnnotationInvalidException(
-                        String.format("With '%s', @XlsIsEmpty should be appended method that no args and returning boolean type.", adaptor.getNameWithClass()),
-                        emptyAnno);
-            }
+        final Method method = beanMapping.getIsEmptyMethod();
+        if(method == null) {
+            // メソッドが見つからない場合。
+            return false;
         }
         
-        // メソッドが見つからない場合。
-        return false;
+        try {
+            return (boolean) method.invoke(record);
+        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+            final XlsIsEmpty emptyAnno = annoReader.getAnnotation(record.getClass(), method, XlsIsEmpty.class);
+            throw new AnnotationInvalidException(
+                    String.format("With '%s', @XlsIsEmpty should be appended method that no args and returning boolean type.",
+                            adaptor.getNameWithClass()), emptyAnno);
+        }
     }
     
     @Override
@@ -658,9 +656,10 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             final FieldAdaptor adaptor, final XlsMapperConfig config, final SavingWorkObject work) throws XlsMapperException {
         
         // ラベルの設定
+        // 表の位置と同じく、行、列の順に探す。
         if(Utils.isNotEmpty(anno.tableLabel())) {
             try {
-                final Cell tableLabelCell = Utils.getCell(sheet, anno.tableLabel(), 0, config);
+                final Cell tableLabelCell = Utils.getCell(sheet, anno.tableLabel(), 0, 0, config);
                 Utils.setLabel(POIUtils.getCellContents(tableLabelCell, config.getCellFormatter()), beansObj, adaptor.getName());
             } catch(CellNotFoundException e) {
                 
@@ -705,7 +704,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         RecordsProcessorUtil.checkSavingNestedRecordClass(recordClass, adaptor, work.getAnnoReader());
         
         // get table starting position
-        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config);
+        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config, null);
         if(initPosition == null) {
             return;
         }
@@ -717,6 +716,8 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         int hRow = initRow;
         
         // get header columns.
+        // 見出しの走査中は結合セルは変わらないため、索引を作成して参照する。
+        final MergedRegionIndex mergedRegionIndex = new MergedRegionIndex(sheet);
         final List<RecordHeader> headers = new ArrayList<>();
         int rangeCount = 1;
         while(true) {
@@ -737,7 +738,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 rangeCount = 1;
                 
                 // 結合しているセルの場合は、はじめのセルだけ取得して、後は結合分スキップする。
-                CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                CellRangeAddress mergedRange = mergedRegionIndex.getMergedRegion(cell.getRowIndex(), cell.getColumnIndex());
                 if(mergedRange != null) {
                     hColumn = hColumn + (mergedRange.getLastColumn() - mergedRange.getFirstColumn());
                 }
@@ -783,8 +784,11 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         // データ行の開始位置の調整
         hRow += anno.headerBottom();
         
-        saveRecords(sheet, headers, anno, new CellAddress(hRow, initColumn), new AtomicInteger(0), adaptor, recordClass, result, config,
-                work, mergedRanges, recordOperation, new ArrayList<Integer>());
+        // シートの最大行数、最大列数は、表の書き込み中は行の挿入／削除に合わせて更新する
+        final SheetDimension dimension = new SheetDimension(sheet);
+        
+        saveRecords(sheet, dimension, headers, anno, new CellAddress(hRow, initColumn), new AtomicInteger(0), adaptor, recordClass, result, config,
+                work, mergedRanges, recordOperation, new HashSet<Integer>());
         
         // 書き込むデータがない場合は、1行目の終端を操作範囲とする。
         if(result.isEmpty()) {
@@ -810,13 +814,13 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         
     }
     
-    private void saveRecords(final Sheet sheet, final List<RecordHeader> headers,
+    private void saveRecords(final Sheet sheet, final SheetDimension dimension, final List<RecordHeader> headers,
             final XlsHorizontalRecords anno,
             final CellAddress initPosition, final AtomicInteger nestedRecordSize,
             final FieldAdaptor adaptor, final Class<?> recordClass, final List<Object> result,
             final XlsMapperConfig config, final SavingWorkObject work,
             final List<CellRangeAddress> mergedRanges, final RecordOperation recordOperation,
-            final List<Integer> inserteRowsIdx) throws XlsMapperException {
+            final Set<Integer> inserteRowsIdx) throws XlsMapperException {
         
         final int initColumn = initPosition.getColumn();
         final int initRow = initPosition.getRow();
@@ -842,7 +846,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         final int startHeaderIndex = getStartHeaderIndexForSaving(headers, recordClass, work.getAnnoReader(), config);
         
         // get records
-        for(int r=0; r < POIUtils.getRows(sheet); r++) {
+        for(int r=0; r < dimension.getRows(); r++) {
             
             boolean emptyFlag = true;
             
@@ -858,23 +862,17 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             if(record != null) {
                 
                 // execute PreProcess/ listner
-                final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-                if(listenerAnno != null) {
-                    Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                    for(Method method : listenerObj.getClass().getMethods()) {
-                        final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreSave.class);
-                        if(preProcessAnno != null) {
-                            Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
-                        }
+                final BeanMapping beanMapping = config.getBeanMapping(record.getClass(), work.getAnnoReader());
+                if(beanMapping.hasListener()) {
+                    Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                    for(Method method : beanMapping.getListenerPreSaveMethods()) {
+                        Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
                     }
                 }
                 
                 // execute PreProcess/PostProcess method
-                for(Method method : record.getClass().getMethods()) {
-                    final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPreSave.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());                    
-                    }
+                for(Method method : beanMapping.getPreSaveMethods()) {
+                    Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());
                 }
             }
             
@@ -895,26 +893,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 final Cell cell = POIUtils.getCell(sheet, hColumn, hRow);
                 
                 // find end of the table
-                if(!POIUtils.isEmptyCellContents(cell, config.getCellFormatter())){
-                    emptyFlag = false;
-                }
-                
-                if(terminal == RecordTerminal.Border && i == startHeaderIndex){
-                    final CellStyle format = cell.getCellStyle();
-                    if(format != null && !(format.getBorderLeft() == CellStyle.BORDER_NONE)){
-                        emptyFlag = false;
-                    } else {
-                        emptyFlag = true;
-//                            break;
-                    }
-                }
-                
-                if(!anno.terminateLabel().equals("")){
-                    if(Utils.matches(POIUtils.getCellContents(cell, config.getCellFormatter()), anno.terminateLabel(), config)){
-                        emptyFlag = true;
-//                            break;
-                    }
-                }
+                emptyFlag = judgeEmptyFlag(emptyFlag, cell, i, startHeaderIndex, terminal, anno, config);
                 
                 // mapping from Excel columns to Object properties.
                 if(record != null) {
@@ -968,18 +947,22 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                             } else if(anno.overRecord().equals(OverRecordOperate.Insert)) {
                                 // すでに他の列の処理に対して行を追加している場合は行の追加は行わない。
                                 if(!insertRows) {
-                                    // 行を下に追加する
-                                    POIUtils.insertRow(sheet, valueCell.getRowIndex());
+                                    // 残りのレコード分の行を、まとめて下に追加する
+                                    final int insertRowIndex = valueCell.getRowIndex();
+                                    final int insertSize = getInsertRecordSize(result, r, work.getAnnoReader());
+                                    POIUtils.insertRows(sheet, insertRowIndex, insertSize, dimension);
                                     
-                                    // 現在のセルがずれるため、1つ上のセルを再取得する
-                                    valueCell = POIUtils.getCell(sheet, valueCell.getColumnIndex(), valueCell.getRowIndex()-1);
+                                    // 現在のセルがずれるため、追加した行のセルを再取得する
+                                    valueCell = POIUtils.getCell(sheet, valueCell.getColumnIndex(), insertRowIndex);
                                     
                                     insertRows = true;
-                                    recordOperation.incrementInsertRecord();
-                                    inserteRowsIdx.add(valueCell.getRowIndex()+1);
+                                    for(int k=0; k < insertSize; k++) {
+                                        recordOperation.incrementInsertRecord();
+                                        inserteRowsIdx.add(insertRowIndex + k + 1);
+                                    }
                                     
                                     if(logger.isDebugEnabled()) {
-                                        logger.debug("insert row : sheet name=[{}], row index=[{}]", sheet.getSheetName(), valueCell.getRowIndex()+1);
+                                        logger.debug("insert row : sheet name=[{}], row index=[{}], size=[{}]", sheet.getSheetName(), insertRowIndex, insertSize);
                                     }
                                 }
                                 
@@ -1035,13 +1018,17 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                             
                         } else if(!deleteRows) {
                             // すでに他の列の処理に対して行を削除している場合は行の削除は行わない。
-                            final Row row = POIUtils.removeRow(sheet, hRow);
+                            // 残りの行は、まとめて削除する。
+                            final int deleteSize = getRemainedRecordSize(sheet, headers, initColumn, hRow, startHeaderIndex, terminal, anno, config);
+                            final int removedSize = POIUtils.removeRows(sheet, hRow, deleteSize, dimension);
                             deleteRows = true;
                             
-                            if(row != null) {
-                                if(logger.isDebugEnabled()) {
-                                    logger.debug("delete row : sheet name=[{}], row index=[{}]", sheet.getSheetName(), hRow);
-                                }
+                            if(logger.isDebugEnabled()) {
+                                logger.debug("delete row : sheet name=[{}], row index=[{}], size=[{}]", sheet.getSheetName(), hRow, removedSize);
+                            }
+                            
+                            // 結合セルや入力規則などの補正は、ずらした行数で行う。
+                            for(int k=0; k < removedSize; k++) {
                                 recordOperation.incrementDeleteRecord();
                             }
                         }
@@ -1055,10 +1042,13 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 saveMapColumn(sheet, headers, valueCellPositions, new CellAddress(hRow, initColumn), record, terminal, anno, config, work, recordOperation);
             }
             
+            // 書き込んだ行の列数を更新する
+            dimension.updateRow(hRow);
+            
             // execute nested record.
             int skipSize = 0;
             if(record != null) {
-                skipSize = saveNestedRecords(sheet, headers, valueCellPositions, anno, new CellAddress(hRow, initColumn), record,
+                skipSize = saveNestedRecords(sheet, dimension, headers, valueCellPositions, anno, new CellAddress(hRow, initColumn), record,
                         config, work, mergedRanges, recordOperation, inserteRowsIdx);
                 nestedRecordSize.addAndGet(skipSize);
             }
@@ -1066,25 +1056,17 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             if(record != null) {
                 
                 // set PostProcess listener
-                final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-                if(listenerAnno != null) {
-                    Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                    for(Method method : listenerObj.getClass().getMethods()) {
-                        
-                        final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostSave.class);
-                        if(postProcessAnno != null) {
-                            work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
-                        }
+                final BeanMapping beanMapping = config.getBeanMapping(record.getClass(), work.getAnnoReader());
+                if(beanMapping.hasListener()) {
+                    Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                    for(Method method : beanMapping.getListenerPostSaveMethods()) {
+                        work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
                     }
                 }
                 
                 // set PostProcess method
-                for(Method method : record.getClass().getMethods()) {
-                    
-                    final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPostSave.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(record, record, method));
-                    }
+                for(Method method : beanMapping.getPostSaveMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, record, method));
                 }
                 
             }
@@ -1113,6 +1095,117 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         
     }
     
+    /**
+     * 書き込むレコードがない残りの行のうち、削除する行数を取得する。
+     * <p>指定した行から、レコード用の行（{@link #isRemainedRecordRow(Sheet, List, int, int, int, RecordTerminal, XlsHorizontalRecords, XlsMapperConfig)}）が
+     *    続く行数を数える。
+     * @since 1.6
+     * @return 指定した行も含めた行数
+     */
+    private int getRemainedRecordSize(final Sheet sheet, final List<RecordHeader> headers, final int initColumn,
+            final int beginRow, final int startHeaderIndex, final RecordTerminal terminal,
+            final XlsHorizontalRecords anno, final XlsMapperConfig config) {
+        
+        final int maxRow = POIUtils.getRows(sheet);
+        int size = 1;
+        while(beginRow + size < maxRow
+                && isRemainedRecordRow(sheet, headers, initColumn, beginRow + size, startHeaderIndex, terminal, anno, config)) {
+            size++;
+        }
+        
+        return size;
+    }
+    
+    /**
+     * 書き込むレコードがない行が、削除対象のレコード用の行かどうか判定する。
+     * <p>{@link #saveRecords(Sheet, SheetDimension, List, XlsHorizontalRecords, CellAddress, AtomicInteger, FieldAdaptor, Class, List, XlsMapperConfig, SavingWorkObject, List, RecordOperation, Set)}
+     *    で列ごとに表の終端を判定するときと同じく、{@link #judgeEmptyFlag(boolean, Cell, int, int, RecordTerminal, XlsHorizontalRecords, XlsMapperConfig)}で判定する。
+     * @since 1.6
+     * @return いずれかの列で、表の終端ではないと判定された場合trueを返す。
+     */
+    private boolean isRemainedRecordRow(final Sheet sheet, final List<RecordHeader> headers, final int initColumn,
+            final int row, final int startHeaderIndex, final RecordTerminal terminal,
+            final XlsHorizontalRecords anno, final XlsMapperConfig config) {
+        
+        boolean emptyFlag = true;
+        for(int i=0; i < headers.size(); i++) {
+            final Cell cell = POIUtils.getReadOnlyCell(sheet, initColumn + headers.get(i).getInterval(), row);
+            
+            emptyFlag = judgeEmptyFlag(emptyFlag, cell, i, startHeaderIndex, terminal, anno, config);
+            if(!emptyFlag) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * 書き込み時に、列のセルから表の終端かどうかの判定結果を更新する。
+     * <p>書き込み時の列ごとの処理と、削除する行数を数えるときで、同じ条件で判定するために使用する。
+     * @since 1.6
+     * @param emptyFlag 前の列までの判定結果
+     * @param cell 判定対象のセル
+     * @param headerIndex 判定対象の列の見出しのインデックス
+     * @param startHeaderIndex 表の終端を罫線で判定するときの、見出しのインデックス
+     * @param terminal 表の終端の種類
+     * @param anno アノテーション
+     * @param config システム設定
+     * @return 表の終端と判定した場合trueを返す。
+     */
+    private boolean judgeEmptyFlag(final boolean emptyFlag, final Cell cell, final int headerIndex, final int startHeaderIndex,
+            final RecordTerminal terminal, final XlsHorizontalRecords anno, final XlsMapperConfig config) {
+        
+        boolean result = emptyFlag;
+        if(!POIUtils.isEmptyCellContents(cell, config.getCellFormatter())) {
+            result = false;
+        }
+        
+        if(terminal == RecordTerminal.Border && headerIndex == startHeaderIndex) {
+            final CellStyle format = cell.getCellStyle();
+            result = !(format != null && !(format.getBorderLeft() == CellStyle.BORDER_NONE));
+        }
+        
+        if(!anno.terminateLabel().equals("")) {
+            if(Utils.matches(POIUtils.getCellContents(cell, config.getCellFormatter()), anno.terminateLabel(), config)) {
+                result = true;
+            }
+        }
+        
+        return result;
+    }
+    
+    /**
+     * 書き込む行が足りない場合に、まとめて追加する行数を取得する。
+     * <p>残りのレコードが、ネストしたレコードを持つ場合やnullの場合は、必要な行数が決まらないため1行ずつ追加する。
+     * @since 1.6
+     * @param result 書き込むレコード
+     * @param index 現在のレコードのインデックス
+     * @param annoReader {@link AnnotationReader}
+     * @return 追加する行数
+     */
+    private int getInsertRecordSize(final List<Object> result, final int index, final AnnotationReader annoReader) {
+        
+        final Set<Class<?>> checkedClasses = new HashSet<>();
+        for(int i=index; i < result.size(); i++) {
+            final Object record = result.get(i);
+            if(record == null) {
+                // 書き込まないレコードの場合は、行を追加しないため
+                return 1;
+            }
+            
+            if(!checkedClasses.add(record.getClass())) {
+                continue;
+            }
+            
+            if(!Utils.getSavingNestedRecordsProperties(record.getClass(), annoReader).isEmpty()) {
+                return 1;
+            }
+        }
+        
+        return result.size() - index;
+    }
+    
     /**
      * 表の見出しから、レコードのJavaクラスの定義にあるカラムの定義で初めて見つかるリストのインデックスを取得する。
      * <p>カラムの定義とは、アノテーション「@XlsColumn」が付与されたもの。</p>
@@ -1302,13 +1395,13 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
     }
     
     @SuppressWarnings("unchecked")
-    private int saveNestedRecords(final Sheet sheet, final List<RecordHeader> headers, final List<CellAddress> valueCellPositions,
+    private int saveNestedRecords(final Sheet sheet, final SheetDimension dimension, final List<RecordHeader> headers, final List<CellAddress> valueCellPositions,
             final XlsHorizontalRecords anno,
             final CellAddress beginPositoin,
             final Object record,
             final XlsMapperConfig config, final SavingWorkObject work,
             final List<CellRangeAddress> mergedRanges, final RecordOperation recordOperation,
-            final List<Integer> insertRowsIdx) throws XlsMapperException {
+            final Set<Integer> insertRowsIdx) throws XlsMapperException {
         
         int skipSize = 0;
         
@@ -1333,7 +1426,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 
                 final List<Object> list = Utils.convertCollectionToList(value);
                 final AtomicInteger nestedRecordSize = new AtomicInteger(0);
-                saveRecords(sheet, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
+                saveRecords(sheet, dimension, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
                         config, work, mergedRanges, recordOperation, insertRowsIdx);
                 
                 if(skipSize < list.size()) {
@@ -1363,7 +1456,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 
                 final List<Object> list = Arrays.asList(value);
                 final AtomicInteger nestedRecordSize = new AtomicInteger(0);
-                saveRecords(sheet, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
+                saveRecords(sheet, dimension, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
                         config, work, mergedRanges, recordOperation, insertRowsIdx);
                 
                 if(nestedRecordSize.get() > 0) {
@@ -1390,7 +1483,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 
                 List<Object> list = Arrays.asList(value);
                 final AtomicInteger nestedRecordSize = new AtomicInteger(0);
-                saveRecords(sheet, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
+                saveRecords(sheet, dimension, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
                         config, work, mergedRanges, recordOperation, insertRowsIdx);
                 
                 if(nestedRecordSize.get() > 0) {
@@ -1418,6 +1511,9 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             return;
         }
         
+        // 結合の解除／追加に合わせて索引も更新し、結合セルの検索のたびに全ての結合を走査しないようにする。
+        final MergedRegionIndex mergedRegionIndex = new MergedRegionIndex(sheet);
+        
         // ネストした場合、上のセルのスタイルをコピーして、結合する
         for(CellAddress position : valueCellPositions) {
             Cell valueCell = POIUtils.getCell(sheet, position);
@@ -1440,13 +1536,14 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             
             // 既に結合済みのセルがある場合、外す。
             for(int rowIdx=range.getFirstRow(); rowIdx <= range.getLastRow(); rowIdx++) {
-                CellRangeAddress r = POIUtils.getMergedRegion(sheet, rowIdx, position.getColumn());
+                CellRangeAddress r = mergedRegionIndex.getMergedRegion(rowIdx, position.getColumn());
                 if(r != null) {
-                    POIUtils.removeMergedRange(sheet, r);
+                    POIUtils.removeMergedRange(sheet, r, mergedRegionIndex);
                 }
             }
             
             sheet.addMergedRegion(range);
+            mergedRegionIndex.add(range);
         }
         
     }
@@ -11,8 +11,10 @@ import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Sheet;
 
 import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.BeanMapping;
 import com.gh.mygreen.xlsmapper.FieldAdaptorProxy;
 import com.gh.mygreen.xlsmapper.HintOrderComparator;
+import com.gh.mygreen.xlsmapper.LabelIndex;
 import com.gh.mygreen.xlsmapper.LoadingWorkObject;
 import com.gh.mygreen.xlsmapper.NeedProcess;
 import com.gh.mygreen.xlsmapper.SavingWorkObject;
@@ -24,11 +26,6 @@ import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecordsForIterateTables;
 import com.gh.mygreen.xlsmapper.annotation.XlsIterateTables;
 import com.gh.mygreen.xlsmapper.annotation.XlsLabelledCell;
 import com.gh.mygreen.xlsmapper.annotation.XlsLabelledCellForIterateTable;
-import com.gh.mygreen.xlsmapper.annotation.XlsListener;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
 import com.gh.mygreen.xlsmapper.fieldprocessor.AbstractFieldProcessor;
 import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
 import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
@@ -97,8 +94,9 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
         Cell after = null;
         Cell currentCell = null;
         
+        final LabelIndex labelIndex = work.getLabelIndex(sheet, config);
         final String label = iterateTablesAnno.tableLabel();
-        currentCell = Utils.getCell(sheet, label, after, false, !iterateTablesAnno.optional(), config);
+        currentCell = labelIndex.getCell(label, after, false, !iterateTablesAnno.optional());
         
         while(currentCell != null) {
             // 1 table object instance
@@ -108,23 +106,17 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
             work.getErrors().pushNestedPath(adaptor.getName(), resultTableList.size());
             
             // execute PreProcess listener
-            final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), XlsListener.class);
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreLoad.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(listenerObj, method, tableObj, sheet, config, work.getErrors());
-                    }
+            final BeanMapping beanMapping = config.getBeanMapping(tableObj.getClass(), work.getAnnoReader());
+            if(beanMapping.hasListener()) {
+                Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                for(Method method : beanMapping.getListenerPreLoadMethods()) {
+                    Utils.invokeNeedProcessMethod(listenerObj, method, tableObj, sheet, config, work.getErrors());
                 }
             }
             
             // execute PreProcess method
-            for(Method method : tableObj.getClass().getMethods()) {
-                final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), method, XlsPreLoad.class);
-                if(preProcessAnno != null) {
-                    Utils.invokeNeedProcessMethod(tableObj, method, tableObj, sheet, config, work.getErrors());                    
-                }
+            for(Method method : beanMapping.getPreLoadMethods()) {
+                Utils.invokeNeedProcessMethod(tableObj, method, tableObj, sheet, config, work.getErrors());
             }
             
             // process single label.
@@ -139,25 +131,19 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
             
             resultTableList.add(tableObj);
             after = currentCell;
-            currentCell = Utils.getCell(sheet, label, after, false, false, config);
+            currentCell = labelIndex.getCell(label, after, false, false);
             
             // set PostProcess listener
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostLoad.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(tableObj, listenerObj, method));
-                    }
+            if(beanMapping.hasListener()) {
+                Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                for(Method method : beanMapping.getListenerPostLoadMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(tableObj, listenerObj, method));
                 }
             }
             
             // set PostProcess method
-            for(Method method : tableObj.getClass().getMethods()) {
-                final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), method, XlsPostLoad.class);
-                if(postProcessAnno != null) {
-                    work.addNeedPostProcess(new NeedProcess(tableObj, tableObj, method));
-                }
+            for(Method method : beanMapping.getPostLoadMethods()) {
+                work.addNeedPostProcess(new NeedProcess(tableObj, tableObj, method));
             }
             
             // パスの位置の変更
@@ -189,7 +175,7 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
             
             Cell titleCell = null;
             try {
-                titleCell = Utils.getCell(sheet, ann.label(), headerCell, config);
+                titleCell = work.getLabelIndex(sheet, config).getCell(ann.label(), headerCell, false);
             } catch (CellNotFoundException e) {
                 if (ann.optional()) {
                     continue;
@@ -323,23 +309,17 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
             work.getErrors().pushNestedPath(adaptor.getName(), i);
             
             // execute PreProcess listener
-            final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), XlsListener.class);
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreSave.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(listenerObj, method, tableObj, sheet, config, work.getErrors());
-                    }
+            final BeanMapping beanMapping = config.getBeanMapping(tableObj.getClass(), work.getAnnoReader());
+            if(beanMapping.hasListener()) {
+                Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                for(Method method : beanMapping.getListenerPreSaveMethods()) {
+                    Utils.invokeNeedProcessMethod(listenerObj, method, tableObj, sheet, config, work.getErrors());
                 }
             }
             
             // execute PreProcess method
-            for(Method method : tableObj.getClass().getMethods()) {
-                final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), method, XlsPreSave.class);
-                if(preProcessAnno != null) {
-                    Utils.invokeNeedProcessMethod(tableObj, method, tableObj, sheet, config, work.getErrors());                    
-                }
+            for(Method method : beanMapping.getPreSaveMethods()) {
+                Utils.invokeNeedProcessMethod(tableObj, method, tableObj, sheet, config, work.getErrors());
             }
             
             currentCell = Utils.getCell(sheet, label, after, false, !iterateTablesAnno.optional(), config);
@@ -363,22 +343,16 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
             after = currentCell;
             
             // set PostProcess listener
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostSave.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(tableObj, listenerObj, method));
-                    }
+            if(beanMapping.hasListener()) {
+                Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                for(Method method : beanMapping.getListenerPostSaveMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(tableObj, listenerObj, method));
                 }
             }
             
             // set PreProcess method
-            for(Method method : tableObj.getClass().getMethods()) {
-                final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), method, XlsPostSave.class);
-                if(postProcessAnno != null) {
-                    work.addNeedPostProcess(new NeedProcess(tableObj, tableObj, method));
-                }
+            for(Method method : beanMapping.getPostSaveMethods()) {
+                work.addNeedPostProcess(new NeedProcess(tableObj, tableObj, method));
             }
             
             // パスの位置の変更
@@ -6,6 +6,7 @@ import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Sheet;
 
 import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.LabelIndex;
 import com.gh.mygreen.xlsmapper.LoadingWorkObject;
 import com.gh.mygreen.xlsmapper.POIUtils;
 import com.gh.mygreen.xlsmapper.SavingWorkObject;
@@ -34,7 +35,7 @@ public class LabelledCellProcessor extends AbstractFieldProcessor<XlsLabelledCel
     public void loadProcess(final Sheet sheet, final Object beansObj, final XlsLabelledCell anno,
             final FieldAdaptor adaptor, final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
         
-        final FindInfo info = findCell(adaptor, sheet, anno, config);
+        final FindInfo info = findCell(adaptor, sheet, anno, config, work.getLabelIndex(sheet, config));
         if(info == null) {
             /*
              * ラベル用のセルが見つからない場合
@@ -63,10 +64,10 @@ public class LabelledCellProcessor extends AbstractFieldProcessor<XlsLabelledCel
         String label;
     }
     
-    private FindInfo findCell(final FieldAdaptor adaptor, final Sheet sheet, final XlsLabelledCell anno, final XlsMapperConfig config)
-            throws XlsMapperException {
+    private FindInfo findCell(final FieldAdaptor adaptor, final Sheet sheet, final XlsLabelledCell anno, final XlsMapperConfig config,
+            final LabelIndex labelIndex) throws XlsMapperException {
         
-        final Point labelPosition = getLabelPosition(adaptor, sheet, anno, config);
+        final Point labelPosition = getLabelPosition(adaptor, sheet, anno, config, labelIndex);
         if(labelPosition == null) {
             return null;
         }
@@ -87,17 +88,17 @@ public class LabelledCellProcessor extends AbstractFieldProcessor<XlsLabelledCel
             if(anno.type() == LabelledCellType.Left) {
                 targetPosition.x = column - index;
                 targetPosition.y = row;
-                targetCell = POIUtils.getCell(sheet, targetPosition);
+                targetCell = POIUtils.getReadOnlyCell(sheet, targetPosition);
                 
             } else if(anno.type() == LabelledCellType.Right) {
                 targetPosition.x = column + index;
                 targetPosition.y = row;
-                targetCell = POIUtils.getCell(sheet, targetPosition);
+                targetCell = POIUtils.getReadOnlyCell(sheet, targetPosition);
                 
             } else if(anno.type() == LabelledCellType.Bottom) {
                 targetPosition.x = column;
                 targetPosition.y = row + index;
-                targetCell = POIUtils.getCell(sheet, targetPosition);
+                targetCell = POIUtils.getReadOnlyCell(sheet, targetPosition);
                 
             }
             
@@ -109,12 +110,13 @@ public class LabelledCellProcessor extends AbstractFieldProcessor<XlsLabelledCel
         final FindInfo info = new FindInfo();
         info.targetCell = targetCell;
         info.position = targetPosition;
-        info.label = POIUtils.getCellContents(POIUtils.getCell(sheet, column, row), config.getCellFormatter());
+        info.label = POIUtils.getCellContents(POIUtils.getReadOnlyCell(sheet, column, row), config.getCellFormatter());
         
         return info;
     }
     
-    private Point getLabelPosition(final FieldAdaptor adaptor, final Sheet sheet, final XlsLabelledCell anno, final XlsMapperConfig config) throws XlsMapperException {
+    private Point getLabelPosition(final FieldAdaptor adaptor, final Sheet sheet, final XlsLabelledCell anno, final XlsMapperConfig config,
+            final LabelIndex labelIndex) throws XlsMapperException {
         
         if(Utils.isNotEmpty(anno.labelAddress())) {
             final Point address = Utils.parseCellAddress(anno.labelAddress());
@@ -128,14 +130,17 @@ public class LabelledCellProcessor extends AbstractFieldProcessor<XlsLabelledCel
         } else if(Utils.isNotEmpty(anno.label())) {
             try {
                 if(Utils.isNotEmpty(anno.headerLabel())){
-                    Cell headerCell = Utils.getCell(sheet, anno.headerLabel(), 0, 0, config);
-                    Cell labelCell = Utils.getCell(sheet, anno.label(), headerCell.getColumnIndex(), headerCell.getRowIndex() + 1, config);
+                    Cell headerCell = labelIndex != null ? labelIndex.getCell(anno.headerLabel(), 0, 0)
+                            : Utils.getCell(sheet, anno.headerLabel(), 0, 0, config);
+                    Cell labelCell = labelIndex != null ? labelIndex.getCell(anno.label(), headerCell.getColumnIndex(), headerCell.getRowIndex() + 1)
+                            : Utils.getCell(sheet, anno.label(), headerCell.getColumnIndex(), headerCell.getRowIndex() + 1, config);
                     int column = labelCell.getColumnIndex();
                     int row = labelCell.getRowIndex();
                     return new Point(column, row);
                     
                 } else {
-                    Cell labelCell = Utils.getCell(sheet, anno.label(), 0, config);
+                    Cell labelCell = labelIndex != null ? labelIndex.getCell(anno.label(), 0)
+                            : Utils.getCell(sheet, anno.label(), 0, config);
                     int column = labelCell.getColumnIndex();
                     int row = labelCell.getRowIndex();
                     return new Point(column, row);
@@ -165,7 +170,7 @@ public class LabelledCellProcessor extends AbstractFieldProcessor<XlsLabelledCel
     public void saveProcess(final Sheet sheet, final Object targetObj, final XlsLabelledCell anno, final FieldAdaptor adaptor,
             final XlsMapperConfig config, final SavingWorkObject work) throws XlsMapperException {
         
-        final FindInfo info = findCell(adaptor, sheet, anno, config);
+        final FindInfo info = findCell(adaptor, sheet, anno, config, null);
         if(info == null) {
             /*
              * ラベル用のセルが見つからない場合
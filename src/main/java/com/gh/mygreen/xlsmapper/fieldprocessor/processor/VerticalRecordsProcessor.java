@@ -24,10 +24,15 @@ import org.apache.poi.ss.util.CellRangeAddressList;
 import org.apache.poi.ss.util.CellReference;
 
 import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.BeanMapping;
+import com.gh.mygreen.xlsmapper.LabelIndex;
 import com.gh.mygreen.xlsmapper.LoadingWorkObject;
+import com.gh.mygreen.xlsmapper.MergedRegionIndex;
 import com.gh.mygreen.xlsmapper.NeedProcess;
 import com.gh.mygreen.xlsmapper.POIUtils;
 import com.gh.mygreen.xlsmapper.SavingWorkObject;
+import com.gh.mygreen.xlsmapper.SheetDimension;
+import com.gh.mygreen.xlsmapper.SheetSnapshot;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
 import com.gh.mygreen.xlsmapper.XlsMapperException;
@@ -36,13 +41,8 @@ import com.gh.mygreen.xlsmapper.annotation.RecordTerminal;
 import com.gh.mygreen.xlsmapper.annotation.RemainedRecordOperate;
 import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
 import com.gh.mygreen.xlsmapper.annotation.XlsIsEmpty;
-import com.gh.mygreen.xlsmapper.annotation.XlsListener;
 import com.gh.mygreen.xlsmapper.annotation.XlsMapColumns;
 import com.gh.mygreen.xlsmapper.annotation.XlsNestedRecords;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
 import com.gh.mygreen.xlsmapper.annotation.XlsVerticalRecords;
 import com.gh.mygreen.xlsmapper.cellconvert.CellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
@@ -61,7 +61,7 @@ import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 /**
  * アノテーション{@link XlsVerticalRecords}を処理するクラス。
  * 
- * @version 1.5
+ * @version 1.6
  * @author Naoki Takezoe
  * @author T.TSUCHIE
  *
@@ -75,7 +75,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         // ラベルの設定
         if(Utils.isNotEmpty(anno.tableLabel())) {
             try {
-                final Cell tableLabelCell = Utils.getCell(sheet, anno.tableLabel(), 0, config);
+                final Cell tableLabelCell = work.getLabelIndex(sheet, config).getCell(anno.tableLabel(), 0);
                 Utils.setLabel(POIUtils.getCellContents(tableLabelCell, config.getCellFormatter()), beansObj, adaptor.getName());
             } catch(CellNotFoundException e) {
                 
@@ -125,8 +125,10 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
    private List<?> loadRecords(final Sheet sheet, XlsVerticalRecords anno, final FieldAdaptor adaptor,
            final Class<?> recordClass, final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
         
+        final SheetSnapshot snapshot = work.getSheetSnapshot(sheet, config);
+        
         // get table starting position
-        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config);
+        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config, work.getLabelIndex(sheet, config));
         if(initPosition == null) {
             return null;
         }
@@ -142,18 +144,18 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         int rangeCount = 1;
         while(true){
             try {
-                Cell cell = POIUtils.getCell(sheet, hColumn, hRow);
-                while(POIUtils.isEmptyCellContents(cell, config.getCellFormatter()) && rangeCount < anno.range()){
-                    cell = POIUtils.getCell(sheet, hColumn, hRow + rangeCount);
+                Cell cell = POIUtils.getReadOnlyCell(sheet, hColumn, hRow);
+                while(RecordsProcessorUtil.isEmptyCellContents(cell, snapshot, config) && rangeCount < anno.range()){
+                    cell = POIUtils.getReadOnlyCell(sheet, hColumn, hRow + rangeCount);
                     rangeCount++;
                 }
                 
-                String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
+                String cellValue = RecordsProcessorUtil.getCellContents(cell, snapshot, config);
                 if(Utils.isEmpty(cellValue)){
                     break;
                 } /*else {
                     for(int j=hColumn; j > initColumn; j--){
-                        final Cell tmpCell = POIUtils.getCell(sheet, j, hRow);
+                        final Cell tmpCell = POIUtils.getReadOnlyCell(sheet, j, hRow);
                         if(!POIUtils.isEmptyCellContents(tmpCell, config.getCellFormatter())){
                             cell = tmpCell;
                             break;
@@ -166,7 +168,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 rangeCount = 1;
                 
                 // 結合しているセルの場合は、はじめのセルだけ取得して、後は結合分スキップする。
-                CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                CellRangeAddress mergedRange = RecordsProcessorUtil.getMergedRegion(cell, snapshot, work);
                 if(mergedRange != null) {
                     hRow = hRow + (mergedRange.getLastRow() - mergedRange.getFirstRow());
                 }
@@ -191,6 +193,8 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
            final CellAddress initPosition, final int parentMergedSize,
            final FieldAdaptor adaptor, final Class<?> recordClass,
            final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
+        
+        final SheetSnapshot snapshot = work.getSheetSnapshot(sheet, config);
        
         final List<Object> result = new ArrayList<>();
         
@@ -211,7 +215,8 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         final int startHeaderIndex = getStartHeaderIndexForLoading(headers, recordClass, work.getAnnoReader(), config);
         
         // get records
-        while(hColumn < POIUtils.getColumns(sheet)){
+        final SheetDimension dimension = work.getSheetDimension(sheet);
+        while(hColumn < dimension.getColumns()){
             
             if(parentMergedSize > 0 && hColumn >= maxColumn) {
                 // ネストしている処理のとき、最大の処理レコード数をチェックする。
@@ -226,41 +231,35 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             work.getErrors().pushNestedPath(adaptor.getName(), result.size());
             
             // execute PreProcess listener
-            final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreLoad.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
-                    }
+            final BeanMapping beanMapping = config.getBeanMapping(record.getClass(), work.getAnnoReader());
+            if(beanMapping.hasListener()) {
+                Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                for(Method method : beanMapping.getListenerPreLoadMethods()) {
+                    Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
                 }
             }
             
             // execute PreProcess method
-            for(Method method : record.getClass().getMethods()) {
-                final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPreLoad.class);
-                if(preProcessAnno != null) {
-                    Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());
-                }
+            for(Method method : beanMapping.getPreLoadMethods()) {
+                Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());
             }
             
             final List<MergedRecord> mergedRecords = new ArrayList<>();
             
             loadMapColumns(sheet, headers, mergedRecords, new CellAddress(initRow, hColumn), record, config, work);
             
-            for(int i=0; i < headers.size() && hColumn < POIUtils.getColumns(sheet); i++){
+            for(int i=0; i < headers.size() && hColumn < dimension.getColumns(); i++){
                 final RecordHeader headerInfo = headers.get(i);
                 int hRow = initRow + headerInfo.getInterval();
-                final Cell cell = POIUtils.getCell(sheet, hColumn, hRow);
+                final Cell cell = POIUtils.getReadOnlyCell(sheet, hColumn, hRow);
                 
                 // find end of the table
-                if(!POIUtils.isEmptyCellContents(cell, config.getCellFormatter())){
+                if(!RecordsProcessorUtil.isEmptyCellContents(cell, snapshot, config)){
                     emptyFlag = false;
                 }
                 
                 if(terminal==RecordTerminal.Border && i == startHeaderIndex){
-                    final CellStyle format = cell.getCellStyle();
+                    final CellStyle format = RecordsProcessorUtil.getCellStyle(cell, snapshot);
                     if(format!=null && !(format.getBorderTop() == CellStyle.BORDER_NONE)){
                         emptyFlag = false;
                     } else {
@@ -270,7 +269,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 }
                 
                 if(!anno.terminateLabel().equals("")){
-                    if(Utils.matches(POIUtils.getCellContents(cell, config.getCellFormatter()), anno.terminateLabel(), config)){
+                    if(Utils.matches(RecordsProcessorUtil.getCellContents(cell, snapshot, config), anno.terminateLabel(), config)){
                         emptyFlag = true;
                         break;
                     }
@@ -285,23 +284,23 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                     
                     if(column.headerMerged() > 0){
                         hRow = hRow + column.headerMerged();
-                        valueCell = POIUtils.getCell(sheet, hColumn, hRow);
+                        valueCell = POIUtils.getReadOnlyCell(sheet, hColumn, hRow);
                     }
                     
                     // for merged cell
-                    if(POIUtils.isEmptyCellContents(valueCell, config.getCellFormatter())){
-                        CellStyle valueCellFormat = valueCell.getCellStyle();
+                    if(RecordsProcessorUtil.isEmptyCellContents(valueCell, snapshot, config)){
+                        CellStyle valueCellFormat = RecordsProcessorUtil.getCellStyle(valueCell, snapshot);
                         if(column.merged() && 
                                 (valueCellFormat == null || valueCellFormat.getBorderRight() == CellStyle.BORDER_NONE)){
                             for(int k=hColumn; k > initColumn; k--){
-                                final Cell tmpCell = POIUtils.getCell(sheet, k, hRow);
-                                final CellStyle tmpCellFormat = tmpCell.getCellStyle();
+                                final Cell tmpCell = POIUtils.getReadOnlyCell(sheet, k, hRow);
+                                final CellStyle tmpCellFormat = RecordsProcessorUtil.getCellStyle(tmpCell, snapshot);
                                 
                                 if(tmpCellFormat!=null && !(tmpCellFormat.getBorderLeft() == CellStyle.BORDER_NONE)){
                                     break;
                                 }
                                 
-                                if(!POIUtils.isEmptyCellContents(tmpCell, config.getCellFormatter())){
+                                if(!RecordsProcessorUtil.isEmptyCellContents(tmpCell, snapshot, config)){
                                     valueCell = tmpCell;
                                     break;
                                 }
@@ -313,7 +312,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                         hRow = hRow - column.headerMerged();
                     }
                     
-                    CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, valueCell.getRowIndex(), valueCell.getColumnIndex());
+                    CellRangeAddress mergedRange = RecordsProcessorUtil.getMergedRegion(valueCell, snapshot, work);
                     if(mergedRange != null) {
                         int mergedSize =  mergedRange.getLastColumn() - mergedRange.getFirstColumn() + 1;
                         mergedRecords.add(new MergedRecord(headerInfo, mergedRange, mergedSize));
@@ -353,29 +352,22 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 break;
             }
             
-            if(!anno.ignoreEmptyRecord() || !isEmptyRecord(adaptor, record, work.getAnnoReader())) {
+            if(!anno.ignoreEmptyRecord() || !isEmptyRecord(adaptor, record, beanMapping, work.getAnnoReader())) {
                 result.add(record);
                 
             }
             
             // set PostProcess listener
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    
-                    final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostLoad.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
-                    }
+            if(beanMapping.hasListener()) {
+                Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                for(Method method : beanMapping.getListenerPostLoadMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
                 }
             }
             
             // set PostProcess method
-            for(Method method : record.getClass().getMethods()) {
-                final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPostLoad.class);
-                if(postProcessAnno != null) {
-                    work.addNeedPostProcess(new NeedProcess(record, record, method));
-                }
+            for(Method method : beanMapping.getPostLoadMethods()) {
+                work.addNeedPostProcess(new NeedProcess(record, record, method));
             }
             
             // パスの位置の変更
@@ -399,12 +391,14 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
      * @param anno
      * @param adaptor
      * @param config
+     * @param labelIndex 見出しの索引。シートを走査して検索する場合はnull。
      * @return 表の開始位置。指定したラベルが見つからない場合、設定によりnullを返す。
      * @throws AnnotationInvalidException アノテーションの値が不正で、表の開始位置が位置が見つからない場合。
      * @throws CellNotFoundException 指定したラベルが見つからない場合。
      */
     private CellAddress getHeaderPosition(final Sheet sheet, final XlsVerticalRecords anno,
-            final FieldAdaptor adaptor, final XlsMapperConfig config) throws AnnotationInvalidException, CellNotFoundException {
+            final FieldAdaptor adaptor, final XlsMapperConfig config, final LabelIndex labelIndex)
+                    throws AnnotationInvalidException, CellNotFoundException {
         
         if(Utils.isNotEmpty(anno.headerAddress())) {
             Point address = Utils.parseCellAddress(anno.headerAddress());
@@ -417,7 +411,8 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             
         } else if(Utils.isNotEmpty(anno.tableLabel())) {
             try {
-                Cell labelCell = Utils.getCell(sheet, anno.tableLabel(), 0, config);
+                Cell labelCell = labelIndex != null ? labelIndex.getCell(anno.tableLabel(), 0)
+                        : Utils.getCell(sheet, anno.tableLabel(), 0, config);
                 
                 if(anno.tableLabelAbove()) {
                     // 表の見出しが上にある場合。HorizontalRecordsを同じ。
@@ -483,6 +478,8 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
     private void loadMapColumns(final Sheet sheet, final List<RecordHeader> headers, final List<MergedRecord> mergedRecords,
             final CellAddress beginPosition, final Object record, final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
         
+        final SheetSnapshot snapshot = work.getSheetSnapshot(sheet, config);
+        
         final List<FieldAdaptor> properties = Utils.getLoadingMapColumnProperties(record.getClass(), work.getAnnoReader());
         
         for(FieldAdaptor property : properties) {
@@ -514,11 +511,11 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 }
                 
                 if(foundPreviousColumn){
-                    final Cell cell = POIUtils.getCell(sheet, beginPosition.getColumn(), hRow);
+                    final Cell cell = POIUtils.getReadOnlyCell(sheet, beginPosition.getColumn(), hRow);
                     Utils.setPositionWithMapColumn(cell.getColumnIndex(), cell.getRowIndex(), record, property.getName(), headerInfo.getLabel());
                     Utils.setLabelWithMapColumn(headerInfo.getLabel(), record, property.getName(), headerInfo.getLabel());
                     
-                    CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                    CellRangeAddress mergedRange = RecordsProcessorUtil.getMergedRegion(cell, snapshot, work);
                     if(mergedRange != null) {
                         int mergedSize =  mergedRange.getLastColumn() - mergedRange.getFirstColumn() + 1;
                         mergedRecords.add(new MergedRecord(headerInfo, mergedRange, mergedSize));
@@ -630,31 +627,29 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
      * <p>アノテーション<code>@XlsIsEmpty</code>のメソッドで判定を行う。
      * @param adaptor
      * @param record
+     * @param beanMapping レコードのクラスのマッピング情報
      * @param annoReader
      * @return アノテーションがない場合はfalseを返す。
      * @throws AnnotationReadException 
      * @throws AnnotationInvalidException 
      */
-    private boolean isEmptyRecord(final FieldAdaptor adaptor, final Object record, final AnnotationReader annoReader) throws AnnotationReadException, AnnotationInvalidException {
+    private boolean isEmptyRecord(final FieldAdaptor adaptor, final Object record, final BeanMapping beanMapping,
+            final AnnotationReader annoReader) throws AnnotationReadException, AnnotationInvalidException {
         
-        for(Method method : record.getClass().getMethods()) {
-            final XlsIsEmpty emptyAnno = annoReader.getAnnotation(record.getClass(), method, XlsIsEmpty.class);
-            if(emptyAnno == null) {
-                continue;
-            }
-            
-            try {
-                method.setAccessible(true);
-                return (boolean) method.invoke(record);
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new AnnotationInvalidException(
-                        String.format("With '%s', @XlsIsEmpty should be appended method that no args and returning boolean type.",
-                                adaptor.getNameWithClass()), emptyAnno);
-            }
+        final Method method = beanMapping.getIsEmptyMethod();
+        if(method == null) {
+            // メソッドが見つからない場合。
+            return false;
         }
         
-        // メソッドが見つからない場合。
-        return false;
+        try {
+            return (boolean) method.invoke(record);
+        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+            final XlsIsEmpty emptyAnno = annoReader.getAnnotation(record.getClass(), method, XlsIsEmpty.class);
+            throw new AnnotationInvalidException(
+                    String.format("With '%s', @XlsIsEmpty should be appended method that no args and returning boolean type.",
+                            adaptor.getNameWithClass()), emptyAnno);
+        }
     }
     
     @Override
@@ -709,7 +704,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         RecordsProcessorUtil.checkSavingNestedRecordClass(recordClass, adaptor, work.getAnnoReader());
         
         // get table starting position
-        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config);
+        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config, null);
         if(initPosition == null) {
             return;
         }
@@ -721,6 +716,8 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         int hRow = initRow;
         
         // get header columns.
+        // 見出しの走査中は結合セルは変わらないため、索引を作成して参照する。
+        final MergedRegionIndex mergedRegionIndex = new MergedRegionIndex(sheet);
         final List<RecordHeader> headers = new ArrayList<>();
         int rangeCount = 1;
         while(true) {
@@ -741,7 +738,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 rangeCount = 1;
                 
                 // 結合しているセルの場合は、はじめのセルだけ取得して、後は結合分スキップする。
-                CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                CellRangeAddress mergedRange = mergedRegionIndex.getMergedRegion(cell.getRowIndex(), cell.getColumnIndex());
                 if(mergedRange != null) {
                     hRow = hRow + (mergedRange.getLastRow() - mergedRange.getFirstRow());
                 }
@@ -765,7 +762,10 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         // データ行の開始位置の調整
         hColumn += anno.headerRight();
         
-        saveRecords(sheet, headers,
+        // シートの最大列数は、表の書き込み中は書き込んだ行に合わせて更新する
+        final SheetDimension dimension = new SheetDimension(sheet);
+        
+        saveRecords(sheet, dimension, headers,
                 anno,
                 new CellAddress(initRow, hColumn), new AtomicInteger(0),
                 adaptor, recordClass, result,
@@ -786,7 +786,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         }
     }
     
-    private void saveRecords(final Sheet sheet, final List<RecordHeader> headers,
+    private void saveRecords(final Sheet sheet, final SheetDimension dimension, final List<RecordHeader> headers,
             final XlsVerticalRecords anno,
             final CellAddress initPosition, final AtomicInteger nestedRecordSize,
             final FieldAdaptor adaptor, final Class<?> recordClass, final List<Object> result,
@@ -816,7 +816,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         final int startHeaderIndex = getStartHeaderIndexForSaving(headers, recordClass, work.getAnnoReader(), config);
         
         // get records
-        for(int r=0; r < POIUtils.getColumns(sheet); r++) {
+        for(int r=0; r < dimension.getColumns(); r++) {
             
             boolean emptyFlag = true;
             
@@ -831,23 +831,17 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             
             if(record != null) {
              // execute PreProcess/ listner
-                final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-                if(listenerAnno != null) {
-                    Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                    for(Method method : listenerObj.getClass().getMethods()) {
-                        final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreSave.class);
-                        if(preProcessAnno != null) {
-                            Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
-                        }
+                final BeanMapping beanMapping = config.getBeanMapping(record.getClass(), work.getAnnoReader());
+                if(beanMapping.hasListener()) {
+                    Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                    for(Method method : beanMapping.getListenerPreSaveMethods()) {
+                        Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
                     }
                 }
                 
                 // execute PreProcess/PostProcess method
-                for(Method method : record.getClass().getMethods()) {
-                    final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPreSave.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());                    
-                    }
+                for(Method method : beanMapping.getPreSaveMethods()) {
+                    Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());
                 }
             }
             
@@ -1003,7 +997,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             // execute nested record.
             int skipSize = 0;
             if(record != null) {
-                skipSize = saveNestedRecords(sheet, headers, valueCellPositions, anno, new CellAddress(initRow, hColumn), record,
+                skipSize = saveNestedRecords(sheet, dimension, headers, valueCellPositions, anno, new CellAddress(initRow, hColumn), record,
                         config, work, mergedRanges, recordOperation);
                 nestedRecordSize.addAndGet(skipSize);
             }
@@ -1011,25 +1005,17 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             if(record != null) {
                 
                 // set PostProcess listener
-                final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-                if(listenerAnno != null) {
-                    Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                    for(Method method : listenerObj.getClass().getMethods()) {
-                        
-                        final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostSave.class);
-                        if(postProcessAnno != null) {
-                            work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
-                        }
+                final BeanMapping beanMapping = config.getBeanMapping(record.getClass(), work.getAnnoReader());
+                if(beanMapping.hasListener()) {
+                    Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                    for(Method method : beanMapping.getListenerPostSaveMethods()) {
+                        work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
                     }
                 }
                 
                 // set PostProcess method
-                for(Method method : record.getClass().getMethods()) {
-                    
-                    final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPostSave.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(record, record, method));
-                    }
+                for(Method method : beanMapping.getPostSaveMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, record, method));
                 }
                 
             }
@@ -1037,6 +1023,11 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             // パスの位置の変更
             work.getErrors().popNestedPath();
             
+            // 書き込んだ行の列数を更新する
+            for(RecordHeader headerInfo : headers) {
+                dimension.updateRow(initRow + headerInfo.getInterval());
+            }
+            
             if(skipSize > 0) {
                 hColumn += skipSize;
             } else {
@@ -1234,7 +1225,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
     }
     
     @SuppressWarnings("unchecked")
-    private int saveNestedRecords(final Sheet sheet, final List<RecordHeader> headers, final List<CellAddress> valueCellPositions,
+    private int saveNestedRecords(final Sheet sheet, final SheetDimension dimension, final List<RecordHeader> headers, final List<CellAddress> valueCellPositions,
             final XlsVerticalRecords anno,
             final CellAddress beginPositoin,
             final Object record,
@@ -1264,7 +1255,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 
                 final List<Object> list = Utils.convertCollectionToList(value);
                 final AtomicInteger nestedRecordSize = new AtomicInteger(0);
-                saveRecords(sheet, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
+                saveRecords(sheet, dimension, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
                         config, work, mergedRanges, recordOperation);
                 
                 if(skipSize < list.size()) {
@@ -1294,7 +1285,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 
                 final List<Object> list = Arrays.asList(value);
                 final AtomicInteger nestedRecordSize = new AtomicInteger(0);
-                saveRecords(sheet, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
+                saveRecords(sheet, dimension, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
                         config, work, mergedRanges, recordOperation);
                 
                 if(nestedRecordSize.get() > 0) {
@@ -1321,7 +1312,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 
                 List<Object> list = Arrays.asList(value);
                 final AtomicInteger nestedRecordSize = new AtomicInteger(0);
-                saveRecords(sheet, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
+                saveRecords(sheet, dimension, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
                         config, work, mergedRanges, recordOperation);
                 
                 if(nestedRecordSize.get() > 0) {
@@ -1349,6 +1340,9 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             return;
         }
         
+        // 結合の解除／追加に合わせて索引も更新し、結合セルの検索のたびに全ての結合を走査しないようにする。
+        final MergedRegionIndex mergedRegionIndex = new MergedRegionIndex(sheet);
+        
         // ネストした場合、上のセルのスタイルをコピーして、結合する
         for(CellAddress position : valueCellPositions) {
             Cell valueCell = POIUtils.getCell(sheet, position);
@@ -1371,13 +1365,14 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             
             // 既に結合済みのセルがある場合、外す。
             for(int colIdx=range.getFirstColumn(); colIdx <= range.getLastColumn(); colIdx++) {
-                CellRangeAddress r = POIUtils.getMergedRegion(sheet, position.getRow(), colIdx);
+                CellRangeAddress r = mergedRegionIndex.getMergedRegion(position.getRow(), colIdx);
                 if(r != null) {
-                    POIUtils.removeMergedRange(sheet, r);
+                    POIUtils.removeMergedRange(sheet, r, mergedRegionIndex);
                 }
             }
             
             sheet.addMergedRegion(range);
+            mergedRegionIndex.add(range);
         }
         
     }
@@ -0,0 +1,633 @@
+package com.gh.mygreen.xlsmapper.streaming;
+
+import java.awt.Point;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.ArgUtils;
+import com.gh.mygreen.xlsmapper.BeanMapping;
+import com.gh.mygreen.xlsmapper.LoadingWorkObject;
+import com.gh.mygreen.xlsmapper.NeedProcess;
+import com.gh.mygreen.xlsmapper.POIUtils;
+import com.gh.mygreen.xlsmapper.Utils;
+import com.gh.mygreen.xlsmapper.XlsMapperConfig;
+import com.gh.mygreen.xlsmapper.XlsMapperException;
+import com.gh.mygreen.xlsmapper.annotation.RecordTerminal;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsIsEmpty;
+import com.gh.mygreen.xlsmapper.cellconvert.CellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.AbstractFieldProcessor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHeader;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordsProcessorUtil;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReadException;
+
+
+/**
+ * {@link StreamingSheetReader}から読み込んだ行を、アノテーション{@link XlsHorizontalRecords}の定義に従いレコードにマッピングするクラス。
+ * <p>1つの表に対して1つのインスタンスを作成し、シートの行を上から順に{@link #readRecord(Row)}に渡す。
+ *    <br>{@link com.gh.mygreen.xlsmapper.fieldprocessor.processor.HorizontalRecordsProcessor}と同じ規則で、
+ *    表の見出しの検索、レコードの終端の判定、結合セルの値の補完を行う。
+ * </p>
+ * <p>ただし、行を遡って参照できないため、次の機能はサポートしない。
+ * <ul>
+ *   <li>{@link com.gh.mygreen.xlsmapper.annotation.XlsNestedRecords}によるネストしたレコード。</li>
+ *   <li>{@link com.gh.mygreen.xlsmapper.annotation.XlsMapColumns}によるマップ形式のカラム。</li>
+ * </ul>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class HorizontalRecordsReader {
+    
+    /**
+     * 読み込みの状態
+     */
+    private static enum State {
+        /** 表の見出しを探している状態 */
+        FIND_HEADER,
+        /** レコードを読み込んでいる状態 */
+        READ_RECORD,
+        /** 表の終端に達した状態 */
+        FINISHED
+        ;
+    }
+    
+    private final StreamingSheetReader sheetReader;
+    
+    private final XlsHorizontalRecords anno;
+    
+    private final FieldAdaptor adaptor;
+    
+    private final Class<?> recordClass;
+    
+    private final XlsMapperConfig config;
+    
+    private final LoadingWorkObject work;
+    
+    private final RecordTerminal terminal;
+    
+    private State state = State.FIND_HEADER;
+    
+    /**
+     * 表の見出しの行番号。ラベルで指定している場合、見つかるまでは-1。
+     */
+    private int headerRow = -1;
+    
+    /**
+     * 表の見出しの開始列番号。
+     */
+    private int headerColumn = -1;
+    
+    /**
+     * 見つかった表のラベルの値。
+     */
+    private String tableLabel;
+    
+    /**
+     * 表の見出し情報
+     */
+    private final List<RecordHeader> headers = new ArrayList<>();
+    
+    /**
+     * 表のデータレコードの開始行番号
+     */
+    private int initRow;
+    
+    /**
+     * 次に読み込むレコードの行番号
+     */
+    private int nextRow;
+    
+    private int startHeaderIndex;
+    
+    /**
+     * 属性{@link XlsColumn#merged()}が有効なカラムの列番号
+     */
+    private final Set<Integer> mergedColumns = new LinkedHashSet<>();
+    
+    /**
+     * 結合セルとして値を補完するためのセル。
+     * <p>key=列番号、value=上方向に遡って見つかる値を持つセル。
+     */
+    private final Map<Integer, Cell> mergedValueCells = new HashMap<>();
+    
+    /**
+     * 読み込んだレコード数
+     */
+    private int recordCount = 0;
+    
+    /**
+     * コンストラクタ
+     * @param sheetReader 読み込み対象のシート
+     * @param anno 表の定義
+     * @param adaptor 表のマッピング先のフィールド
+     * @param recordClass レコードのクラス
+     * @param config システム設定
+     * @param work 読み込み時の作業情報
+     * @throws XlsMapperException アノテーションの定義が不正な場合
+     */
+    public HorizontalRecordsReader(final StreamingSheetReader sheetReader, final XlsHorizontalRecords anno,
+            final FieldAdaptor adaptor, final Class<?> recordClass,
+            final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
+            
+        ArgUtils.notNull(sheetReader, "sheetReader");
+        ArgUtils.notNull(anno, "anno");
+        ArgUtils.notNull(adaptor, "adaptor");
+        ArgUtils.notNull(recordClass, "recordClass");
+        ArgUtils.notNull(config, "config");
+        ArgUtils.notNull(work, "work");
+        
+        this.sheetReader = sheetReader;
+        this.anno = anno;
+        this.adaptor = adaptor;
+        this.recordClass = recordClass;
+        this.config = config;
+        this.work = work;
+        this.terminal = anno.terminal() == null ? RecordTerminal.Empty : anno.terminal();
+        
+        RecordsProcessorUtil.checkLoadingNestedRecordClass(recordClass, adaptor, work.getAnnoReader());
+        
+        if(!Utils.getLoadingNestedRecordsProperties(recordClass, work.getAnnoReader()).isEmpty()
+                || !Utils.getLoadingMapColumnProperties(recordClass, work.getAnnoReader()).isEmpty()) {
+            throw new AnnotationInvalidException(
+                    String.format("With '%s', streaming load not support '@XlsNestedRecords' and '@XlsMapColumns' in record class '%s'.",
+                            adaptor.getNameWithClass(), recordClass.getName()), anno);
+        }
+        
+        initHeaderPosition();
+    }
+    
+    /**
+     * 位置が固定で指定されている場合、表の開始位置を設定する。
+     */
+    private void initHeaderPosition() throws AnnotationInvalidException {
+        
+        if(Utils.isNotEmpty(anno.headerAddress())) {
+            final Point address = Utils.parseCellAddress(anno.headerAddress());
+            if(address == null) {
+                throw new AnnotationInvalidException(
+                        String.format("With '%s, @XlsHorizontalRecords#headerAddress is wrong cell address '%s'.",
+                                adaptor.getNameWithClass(), anno.headerAddress()), anno);
+            }
+            
+            this.headerColumn = address.x;
+            this.headerRow = address.y;
+            
+        } else if(Utils.isNotEmpty(anno.tableLabel())) {
+            // 行を読み込みながら探す
+            
+        } else {
+            if(anno.headerColumn() < 0 || anno.headerRow() < 0) {
+                throw new AnnotationInvalidException(
+                        String.format("With '%s', @XlsHorizontalRecors#headerColumn or headerRow should be greater than or equal zero. (headerColumn=%d, headerRow=%d)",
+                                adaptor.getNameWithClass(), anno.headerColumn(), anno.headerRow()), anno);
+            }
+            
+            this.headerColumn = anno.headerColumn();
+            this.headerRow = anno.headerRow();
+        }
+        
+    }
+    
+    /**
+     * シートの行を渡し、レコードを読み込む。
+     * <p>行は、行番号の昇順で渡す必要がある。
+     * @param row シートの行
+     * @return 行に対応するレコード。表の範囲外の行や、読み込み対象外の空のレコードの場合はnullを返す。
+     * @throws XlsMapperException マッピングに失敗した場合
+     */
+    public Object readRecord(final Row row) throws XlsMapperException {
+        
+        ArgUtils.notNull(row, "row");
+        
+        if(state == State.FIND_HEADER) {
+            if(headerRow < 0) {
+                final Cell labelCell = findTableLabel(row);
+                if(labelCell == null) {
+                    return null;
+                }
+                
+                this.tableLabel = POIUtils.getCellContents(labelCell, config.getCellFormatter());
+                this.headerColumn = labelCell.getColumnIndex();
+                this.headerRow = labelCell.getRowIndex() + anno.bottom();
+            }
+            
+            if(row.getRowNum() < headerRow) {
+                return null;
+            }
+            
+            // 見出しの行が存在しない場合は、見出しが空として扱う。
+            initHeaders(row.getRowNum() == headerRow ? row : null);
+        }
+        
+        if(state != State.READ_RECORD || row.getRowNum() < nextRow) {
+            return null;
+        }
+        
+        if(row.getRowNum() > nextRow) {
+            // 行が存在しない場合は、空のレコードとして終了する。
+            finishRecords();
+            return null;
+        }
+        
+        return readRecordRow(row);
+    }
+    
+    /**
+     * シートの終端に達したときに呼び出す。
+     * @throws CellNotFoundException 表のラベルが見つからず、属性{@link XlsHorizontalRecords#optional()}がfalseの場合。
+     * @throws XlsMapperException 見出しのチェックに失敗した場合。
+     */
+    public void finish() throws XlsMapperException {
+        
+        if(state == State.FIND_HEADER) {
+            if(headerRow < 0) {
+                if(!anno.optional()) {
+                    throw new CellNotFoundException(sheetReader.getSheetName(), anno.tableLabel());
+                }
+                finishRecords();
+                return;
+            }
+            
+            initHeaders(null);
+        }
+        
+        finishRecords();
+    }
+    
+    /**
+     * 表の読み込みが終了したかどうか。
+     * @return
+     */
+    public boolean isFinished() {
+        return state == State.FINISHED;
+    }
+    
+    /**
+     * 表が見つかったかどうか。
+     * <p>ラベルで表を指定していて見つからない場合、falseを返す。
+     * @return
+     */
+    public boolean isFoundTable() {
+        return headerRow >= 0;
+    }
+    
+    /**
+     * 見つかった表のラベルの値を取得する。
+     * @return ラベルで表を指定していない場合、または見つからない場合はnull。
+     */
+    public String getTableLabel() {
+        return tableLabel;
+    }
+    
+    /**
+     * マッピング先のフィールド情報を取得する。
+     * @return
+     */
+    public FieldAdaptor getAdaptor() {
+        return adaptor;
+    }
+    
+    /**
+     * アノテーションの情報を取得する。
+     * @return
+     */
+    public XlsHorizontalRecords getAnnotation() {
+        return anno;
+    }
+    
+    /**
+     * レコードのクラスを取得する。
+     * @return
+     */
+    public Class<?> getRecordClass() {
+        return recordClass;
+    }
+    
+    /**
+     * 表のラベルを探す。
+     * <p>{@link com.gh.mygreen.xlsmapper.fieldprocessor.processor.HorizontalRecordsProcessor}と同じく、
+     *    {@link Utils#getCell(org.apache.poi.ss.usermodel.Sheet, String, int, int, XlsMapperConfig)}の順序(行、列の順)で探すため、
+     *    ラベルが複数ある場合も同じ表に対応付ける。
+     * </p>
+     * @param row シートの行
+     * @return 見つからない場合はnullを返す。
+     */
+    private Cell findTableLabel(final Row row) {
+        
+        final int maxCol = row.getLastCellNum();
+        for(int i=0; i < maxCol; i++) {
+            final Cell cell = row.getCell(i);
+            if(cell == null) {
+                continue;
+            }
+            
+            final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
+            if(Utils.matches(cellValue, anno.tableLabel(), config)) {
+                return cell;
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * 表の見出しを読み込む。
+     * @param row 見出しの行。存在しない場合はnull。
+     */
+    private void initHeaders(final Row row) throws XlsMapperException {
+        
+        if(row != null) {
+            int hColumn = headerColumn;
+            int rangeCount = 1;
+            while(true) {
+                Cell cell = row.getCell(hColumn, Row.CREATE_NULL_AS_BLANK);
+                
+                while(POIUtils.isEmptyCellContents(cell, config.getCellFormatter()) && rangeCount < anno.range()) {
+                    cell = row.getCell(hColumn + rangeCount, Row.CREATE_NULL_AS_BLANK);
+                    rangeCount++;
+                }
+                
+                final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
+                if(Utils.isEmpty(cellValue)) {
+                    break;
+                }
+                
+                headers.add(new RecordHeader(cellValue, cell.getColumnIndex() - headerColumn));
+                hColumn = hColumn + rangeCount;
+                rangeCount = 1;
+                
+                // 結合しているセルの場合は、はじめのセルだけ取得して、後は結合分スキップする。
+                final CellRangeAddress mergedRange = sheetReader.getMergedRegion(cell.getRowIndex(), cell.getColumnIndex());
+                if(mergedRange != null) {
+                    hColumn = hColumn + (mergedRange.getLastColumn() - mergedRange.getFirstColumn());
+                }
+                
+                if(anno.headerLimit() > 0 && headers.size() >= anno.headerLimit()) {
+                    break;
+                }
+            }
+        }
+        
+        RecordsProcessorUtil.checkColumns(sheetReader.getSheet(), recordClass, headers, work.getAnnoReader(), config);
+        
+        this.startHeaderIndex = getStartHeaderIndex();
+        
+        for(RecordHeader headerInfo : headers) {
+            for(FieldAdaptor property : Utils.getLoadingColumnProperties(recordClass, headerInfo.getLabel(), work.getAnnoReader(), config)) {
+                final XlsColumn column = property.getLoadingAnnotation(XlsColumn.class);
+                if(column.merged()) {
+                    mergedColumns.add(headerColumn + headerInfo.getInterval() + column.headerMerged());
+                }
+            }
+        }
+        
+        this.initRow = headerRow + anno.headerBottom();
+        this.nextRow = initRow;
+        this.state = State.READ_RECORD;
+    }
+    
+    /**
+     * 表の見出しから、レコードのクラスのカラムの定義で初めて見つかる見出しのインデックスを取得する。
+     * @return 不明な場合は0を返す。
+     */
+    private int getStartHeaderIndex() {
+        
+        if(recordClass.equals(Object.class)) {
+            return 0;
+        }
+        
+        for(int i=0; i < headers.size(); i++) {
+            final RecordHeader headerInfo = headers.get(i);
+            final List<FieldAdaptor> propeties = Utils.getLoadingColumnProperties(
+                    recordClass, headerInfo.getLabel(), work.getAnnoReader(), config);
+            if(!propeties.isEmpty()) {
+                return i;
+            }
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * 1行分のレコードを読み込む。
+     */
+    private Object readRecordRow(final Row row) throws XlsMapperException {
+        
+        final int hRow = row.getRowNum();
+        boolean emptyFlag = true;
+        
+        final Object record = config.createBean(recordClass);
+        
+        // パスの位置の変更
+        work.getErrors().pushNestedPath(adaptor.getName(), recordCount);
+        
+        // execute PreProcess listener
+        final BeanMapping beanMapping = config.getBeanMapping(record.getClass(), work.getAnnoReader());
+        if(beanMapping.hasListener()) {
+            Object listenerObj = config.createBean(beanMapping.getListenerClass());
+            for(Method method : beanMapping.getListenerPreLoadMethods()) {
+                Utils.invokeNeedProcessMethod(listenerObj, method, record, sheetReader.getSheet(), config, work.getErrors());
+            }
+        }
+        
+        // execute PreProcess method
+        for(Method method : beanMapping.getPreLoadMethods()) {
+            Utils.invokeNeedProcessMethod(record, method, record, sheetReader.getSheet(), config, work.getErrors());
+        }
+        
+        for(int i=0; i < headers.size(); i++) {
+            final RecordHeader headerInfo = headers.get(i);
+            int hColumn = headerColumn + headerInfo.getInterval();
+            final Cell cell = row.getCell(hColumn, Row.CREATE_NULL_AS_BLANK);
+            
+            // find end of the table
+            if(!POIUtils.isEmptyCellContents(cell, config.getCellFormatter())) {
+                emptyFlag = false;
+            }
+            
+            if(terminal == RecordTerminal.Border && i == startHeaderIndex) {
+                final CellStyle format = cell.getCellStyle();
+                if(format != null && !(format.getBorderLeft() == CellStyle.BORDER_NONE)) {
+                    emptyFlag = false;
+                } else {
+                    emptyFlag = true;
+                    break;
+                }
+            }
+            
+            if(!anno.terminateLabel().equals("")) {
+                if(Utils.matches(POIUtils.getCellContents(cell, config.getCellFormatter()), anno.terminateLabel(), config)) {
+                    emptyFlag = true;
+                    break;
+                }
+            }
+            
+            // mapping from Excel columns to Object properties.
+            final List<FieldAdaptor> propeties = Utils.getLoadingColumnProperties(
+                    record.getClass(), headerInfo.getLabel(), work.getAnnoReader(), config);
+            for(FieldAdaptor property : propeties) {
+                Cell valueCell = cell;
+                final XlsColumn column = property.getLoadingAnnotation(XlsColumn.class);
+                if(column.headerMerged() > 0) {
+                    hColumn = hColumn + column.headerMerged();
+                    valueCell = row.getCell(hColumn, Row.CREATE_NULL_AS_BLANK);
+                }
+                
+                // for merged cell
+                if(POIUtils.isEmptyCellContents(valueCell, config.getCellFormatter())) {
+                    final CellStyle valueCellFormat = valueCell.getCellStyle();
+                    if(column.merged()
+                            && (valueCellFormat == null || valueCellFormat.getBorderTop() == CellStyle.BORDER_NONE)) {
+                        final Cell mergedValueCell = mergedValueCells.get(hColumn);
+                        if(mergedValueCell != null) {
+                            valueCell = mergedValueCell;
+                        }
+                    }
+                }
+                
+                if(column.headerMerged() > 0) {
+                    hColumn = hColumn - column.headerMerged();
+                }
+                
+                // set for value
+                Utils.setPosition(valueCell.getColumnIndex(), valueCell.getRowIndex(), record, property.getName());
+                Utils.setLabel(headerInfo.getLabel(), record, property.getName());
+                final CellConverter<?> converter = AbstractFieldProcessor.resolveLoadingCellConverter(property, config.getConverterRegistry(), config);
+                try {
+                    final Object value = converter.toObject(valueCell, property, config);
+                    property.setValue(record, value);
+                } catch(TypeBindException e) {
+                    work.addTypeBindError(e, valueCell, property.getName(), headerInfo.getLabel());
+                    if(!config.isContinueTypeBindFailure()) {
+                        throw e;
+                    }
+                }
+            }
+            
+        }
+        
+        if(emptyFlag) {
+            // パスの位置の変更
+            work.getErrors().popNestedPath();
+            finishRecords();
+            return null;
+        }
+        
+        final boolean ignored = anno.ignoreEmptyRecord() && isEmptyRecord(record, beanMapping);
+        if(!ignored) {
+            recordCount++;
+        }
+        
+        // set PostProcess listener
+        if(beanMapping.hasListener()) {
+            Object listenerObj = config.createBean(beanMapping.getListenerClass());
+            for(Method method : beanMapping.getListenerPostLoadMethods()) {
+                work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
+            }
+        }
+        
+        // set PostProcess method
+        for(Method method : beanMapping.getPostLoadMethods()) {
+            work.addNeedPostProcess(new NeedProcess(record, record, method));
+        }
+        
+        // パスの位置の変更
+        work.getErrors().popNestedPath();
+        
+        updateMergedValueCells(row);
+        this.nextRow = hRow + 1;
+        
+        return ignored ? null : record;
+    }
+    
+    /**
+     * 結合セルとして補完する値を持つセルを更新する。
+     * <p>{@link com.gh.mygreen.xlsmapper.fieldprocessor.processor.HorizontalRecordsProcessor}では、
+     *    上方向に罫線が見つかるまで遡って値を探すが、行を遡れないため、読み込んだ行ごとに候補となるセルを保持しておく。
+     *    <br>データレコードの先頭行は、探索対象外とする。
+     * </p>
+     */
+    private void updateMergedValueCells(final Row row) {
+        
+        if(row.getRowNum() <= initRow) {
+            return;
+        }
+        
+        for(Integer column : mergedColumns) {
+            final Cell cell = row.getCell(column);
+            if(cell == null) {
+                continue;
+            }
+            
+            final CellStyle format = cell.getCellStyle();
+            if(format != null && !(format.getBorderBottom() == CellStyle.BORDER_NONE)) {
+                setMergedValueCell(column, null);
+                
+            } else if(!POIUtils.isEmptyCellContents(cell, config.getCellFormatter())) {
+                setMergedValueCell(column, cell);
+            }
+        }
+    }
+    
+    private void setMergedValueCell(final Integer column, final Cell cell) {
+        
+        final Cell old = mergedValueCells.remove(column);
+        if(old != null) {
+            sheetReader.releaseRow(old.getRowIndex());
+        }
+        
+        if(cell != null) {
+            sheetReader.retainRow(cell.getRowIndex());
+            mergedValueCells.put(column, cell);
+        }
+    }
+    
+    /**
+     * 表の読み込みを終了する。
+     */
+    private void finishRecords() {
+        
+        for(Cell cell : mergedValueCells.values()) {
+            sheetReader.releaseRow(cell.getRowIndex());
+        }
+        mergedValueCells.clear();
+        
+        this.state = State.FINISHED;
+    }
+    
+    private boolean isEmptyRecord(final Object record, final BeanMapping beanMapping) throws AnnotationReadException, AnnotationInvalidException {
+        
+        final Method method = beanMapping.getIsEmptyMethod();
+        if(method == null) {
+            return false;
+        }
+        
+        try {
+            return (boolean) method.invoke(record);
+        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+            final XlsIsEmpty emptyAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsIsEmpty.class);
+            throw new AnnotationInvalidException(
+                    String.format("With '%s', @XlsIsEmpty should be appended method that no args and returning boolean type.", adaptor.getNameWithClass()),
+                    emptyAnno);
+        }
+    }
+    
+}
@@ -0,0 +1,622 @@
+package com.gh.mygreen.xlsmapper.streaming;
+
+import java.awt.Point;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.formula.FormulaParser;
+import org.apache.poi.ss.formula.FormulaRenderer;
+import org.apache.poi.ss.formula.FormulaShifter;
+import org.apache.poi.ss.formula.FormulaType;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFEvaluationWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.ArgUtils;
+import com.gh.mygreen.xlsmapper.BeanMapping;
+import com.gh.mygreen.xlsmapper.NeedProcess;
+import com.gh.mygreen.xlsmapper.POIUtils;
+import com.gh.mygreen.xlsmapper.SavingWorkObject;
+import com.gh.mygreen.xlsmapper.Utils;
+import com.gh.mygreen.xlsmapper.XlsMapperConfig;
+import com.gh.mygreen.xlsmapper.XlsMapperException;
+import com.gh.mygreen.xlsmapper.annotation.OverRecordOperate;
+import com.gh.mygreen.xlsmapper.annotation.RemainedRecordOperate;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.cellconvert.CellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.AbstractFieldProcessor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellAddress;
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHeader;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordsProcessorUtil;
+
+
+/**
+ * アノテーション{@link XlsHorizontalRecords}の表のレコードを、{@link SXSSFSheet}を利用して1行ずつ書き込むクラス。
+ * <p>書き込みは、次の2段階で行う。
+ * <ol>
+ *   <li>コンストラクタで、テンプレートのシート({@link XSSFSheet})から見出しとデータ行の書式を読み込み、データ行以降の行を削除する。</li>
+ *   <li>{@link #write(SXSSFSheet, List)}で、データ行の書式と数式をコピーしながら、レコードを書き込む。
+ *       <br>書き込んだ行は、{@link SXSSFSheet}のウィンドウサイズを超えると一時ファイルに書き出されるため、メモリ上に保持しない。
+ *   </li>
+ * </ol>
+ * <p>{@link SXSSFSheet}は、テンプレートの最後の行より下にしか行を追加できないため、
+ *    表はシートの一番下に配置されている必要がある。
+ * </p>
+ * <p>データ行の書式は、テンプレートのデータ行の1行目のセルからコピーする。
+ *    <br>マッピング対象外のセルの数式は、書き込む行に合わせて相対参照をずらしてコピーする。
+ * </p>
+ * <p>テンプレートに用意されているデータ行より、書き込むレコードが多い場合は、属性{@link XlsHorizontalRecords#overRecord()}に従う。
+ * <ul>
+ *   <li>{@link OverRecordOperate#Break}の場合は、用意されているデータ行の分だけ書き込み、残りのレコードは書き込まない。</li>
+ *   <li>{@link OverRecordOperate#Copy}、{@link OverRecordOperate#Insert}の場合は、データ行の書式をコピーした行を追加して書き込む。
+ *       <br>表はシートの一番下にあるため、行を挿入しても下にずらす行はなく、どちらも同じ結果となる。
+ *   </li>
+ * </ul>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class HorizontalRecordsWriter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HorizontalRecordsWriter.class);
+    
+    private final XlsHorizontalRecords anno;
+    
+    private final FieldAdaptor adaptor;
+    
+    private final Class<?> recordClass;
+    
+    private final XlsMapperConfig config;
+    
+    private final SavingWorkObject work;
+    
+    /**
+     * 表が見つかったかどうか
+     */
+    private boolean foundTable;
+    
+    /**
+     * 表の見出し
+     */
+    private final List<RecordHeader> headers = new ArrayList<>();
+    
+    /**
+     * 表の開始列
+     */
+    private int initColumn;
+    
+    /**
+     * データ行の開始行
+     */
+    private int dataRow;
+    
+    /**
+     * テンプレートのデータ行に、予め用意されている行数
+     */
+    private int preparedRowSize;
+    
+    /**
+     * テンプレートのデータ行のセルの情報。キーは列番号。
+     */
+    private final Map<Integer, TemplateCell> templateCells = new LinkedHashMap<>();
+    
+    /**
+     * テンプレートのデータ行の高さ
+     */
+    private short templateRowHeight = -1;
+    
+    /**
+     * コンストラクタ
+     * <p>テンプレートのシートから表の情報を読み込み、データ行以降の行を削除する。
+     * @param templateSheet テンプレートのシート
+     * @param anno 表の定義
+     * @param adaptor 表のマッピング先のフィールド
+     * @param recordClass レコードのクラス
+     * @param config システム設定
+     * @param work 書き込み時の作業情報
+     * @throws XlsMapperException アノテーションの定義が不正な場合や、表の下に値が入力されているセルがある場合。
+     */
+    public HorizontalRecordsWriter(final XSSFSheet templateSheet, final XlsHorizontalRecords anno,
+            final FieldAdaptor adaptor, final Class<?> recordClass,
+            final XlsMapperConfig config, final SavingWorkObject work) throws XlsMapperException {
+            
+        ArgUtils.notNull(templateSheet, "templateSheet");
+        ArgUtils.notNull(anno, "anno");
+        ArgUtils.notNull(adaptor, "adaptor");
+        ArgUtils.notNull(recordClass, "recordClass");
+        ArgUtils.notNull(config, "config");
+        ArgUtils.notNull(work, "work");
+        
+        this.anno = anno;
+        this.adaptor = adaptor;
+        this.recordClass = recordClass;
+        this.config = config;
+        this.work = work;
+        
+        RecordsProcessorUtil.checkSavingNestedRecordClass(recordClass, adaptor, work.getAnnoReader());
+        
+        if(!Utils.getSavingNestedRecordsProperties(recordClass, work.getAnnoReader()).isEmpty()
+                || !Utils.getSavingMapColumnProperties(recordClass, work.getAnnoReader()).isEmpty()) {
+            throw new AnnotationInvalidException(
+                    String.format("With '%s', streaming save not support '@XlsNestedRecords' and '@XlsMapColumns' in record class '%s'.",
+                            adaptor.getNameWithClass(), recordClass.getName()), anno);
+        }
+        
+        final CellAddress headerPosition = getHeaderPosition(templateSheet, anno, adaptor, config);
+        if(headerPosition == null) {
+            this.foundTable = false;
+            return;
+        }
+        
+        this.foundTable = true;
+        prepareTemplate(templateSheet, headerPosition);
+    }
+    
+    /**
+     * 表の見出しの位置を取得する。
+     * <p>{@link com.gh.mygreen.xlsmapper.fieldprocessor.processor.HorizontalRecordsProcessor}と同じ規則で探す。
+     * @param sheet シート
+     * @param anno 表の定義
+     * @param adaptor 表のマッピング先のフィールド
+     * @param config システム設定
+     * @return 表の開始位置。指定したラベルが見つからない場合、設定によりnullを返す。
+     * @throws AnnotationInvalidException アノテーションの値が不正で、表の開始位置が位置が見つからない場合。
+     * @throws CellNotFoundException 指定したラベルが見つからない場合。
+     */
+    static CellAddress getHeaderPosition(final Sheet sheet, final XlsHorizontalRecords anno,
+            final FieldAdaptor adaptor, final XlsMapperConfig config) throws AnnotationInvalidException, CellNotFoundException {
+            
+        if(Utils.isNotEmpty(anno.headerAddress())) {
+            final Point address = Utils.parseCellAddress(anno.headerAddress());
+            if(address == null) {
+                throw new AnnotationInvalidException(
+                        String.format("With '%s, @XlsHorizontalRecords#headerAddress is wrong cell address '%s'.",
+                                adaptor.getNameWithClass(), anno.headerAddress()), anno);
+            }
+            
+            return new CellAddress(address);
+            
+        } else if(Utils.isNotEmpty(anno.tableLabel())) {
+            try {
+                final Cell labelCell = Utils.getCell(sheet, anno.tableLabel(), 0, 0, config);
+                return new CellAddress(labelCell.getRowIndex() + anno.bottom(), labelCell.getColumnIndex());
+                
+            } catch(CellNotFoundException ex) {
+                if(anno.optional()) {
+                    return null;
+                } else {
+                    throw ex;
+                }
+            }
+            
+        } else {
+            if(anno.headerColumn() < 0 || anno.headerRow() < 0) {
+                throw new AnnotationInvalidException(
+                        String.format("With '%s', @XlsHorizontalRecors#headerColumn or headerRow should be greater than or equal zero. (headerColumn=%d, headerRow=%d)",
+                                adaptor.getNameWithClass(), anno.headerColumn(), anno.headerRow()), anno);
+            }
+            
+            return new CellAddress(anno.headerRow(), anno.headerColumn());
+        }
+        
+    }
+    
+    /**
+     * テンプレートから見出しとデータ行の情報を読み込み、データ行以降を削除する。
+     */
+    private void prepareTemplate(final XSSFSheet sheet, final CellAddress headerPosition) throws XlsMapperException {
+        
+        this.initColumn = headerPosition.getColumn();
+        final int headerRow = headerPosition.getRow();
+        
+        // 見出しの取得
+        int hColumn = initColumn;
+        int rangeCount = 1;
+        while(true) {
+            Cell cell = POIUtils.getCell(sheet, hColumn, headerRow);
+            while(POIUtils.isEmptyCellContents(cell, config.getCellFormatter()) && rangeCount < anno.range()) {
+                cell = POIUtils.getCell(sheet, hColumn + rangeCount, headerRow);
+                rangeCount++;
+            }
+            
+            final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
+            if(Utils.isEmpty(cellValue)) {
+                break;
+            }
+            
+            headers.add(new RecordHeader(cellValue, cell.getColumnIndex() - initColumn));
+            hColumn = hColumn + rangeCount;
+            rangeCount = 1;
+            
+            // 結合しているセルの場合は、はじめのセルだけ取得して、後は結合分スキップする。
+            final CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+            if(mergedRange != null) {
+                hColumn = hColumn + (mergedRange.getLastColumn() - mergedRange.getFirstColumn());
+            }
+            
+            if(anno.headerLimit() > 0 && headers.size() >= anno.headerLimit()) {
+                break;
+            }
+        }
+        
+        RecordsProcessorUtil.checkColumns(sheet, recordClass, headers, work.getAnnoReader(), config);
+        
+        this.dataRow = headerRow + anno.headerBottom();
+        
+        // データ行の書式と数式の取得
+        final Row templateRow = sheet.getRow(dataRow);
+        if(templateRow != null) {
+            this.templateRowHeight = templateRow.getHeight();
+            
+            final XSSFEvaluationWorkbook evaluationBook = XSSFEvaluationWorkbook.create(sheet.getWorkbook());
+            final int sheetIndex = sheet.getWorkbook().getSheetIndex(sheet);
+            for(Cell cell : templateRow) {
+                final TemplateCell templateCell = new TemplateCell(cell.getCellStyle());
+                if(cell.getCellType() == Cell.CELL_TYPE_FORMULA) {
+                    templateCell.setFormula(evaluationBook, sheetIndex, sheet.getSheetName(), cell.getCellFormula(), dataRow);
+                }
+                templateCells.put(cell.getColumnIndex(), templateCell);
+            }
+        }
+        
+        // 罫線が引かれている行を、予め用意されているデータ行とする。
+        final int startColumn = initColumn + (headers.isEmpty() ? 0 : headers.get(getStartHeaderIndex()).getInterval());
+        this.preparedRowSize = 0;
+        for(int r = dataRow; r <= sheet.getLastRowNum(); r++) {
+            final Row row = sheet.getRow(r);
+            final Cell cell = (row == null ? null : row.getCell(startColumn));
+            if(cell == null || cell.getCellStyle() == null || cell.getCellStyle().getBorderLeft() == CellStyle.BORDER_NONE) {
+                break;
+            }
+            preparedRowSize++;
+        }
+        
+        // データ行以降に値があると、SXSSFで追加する行の後に残ってしまうため、エラーとする。
+        final int lastRowNum = sheet.getLastRowNum();
+        for(int r = dataRow; r <= lastRowNum; r++) {
+            final Row row = sheet.getRow(r);
+            if(row == null) {
+                continue;
+            }
+            
+            for(Cell cell : row) {
+                if(cell.getCellType() == Cell.CELL_TYPE_FORMULA && r < dataRow + preparedRowSize) {
+                    // 用意されているデータ行の数式は、コピーして書き込む。
+                    continue;
+                }
+                
+                if(!POIUtils.isEmptyCellContents(cell, config.getCellFormatter())) {
+                    throw new XlsMapperException(String.format(
+                            "With '%s', streaming save require the table at the bottom of sheet '%s', but cell '%s' has value.",
+                            adaptor.getNameWithClass(), sheet.getSheetName(), POIUtils.formatCellAddress(cell)));
+                }
+            }
+        }
+        
+        for(int r = lastRowNum; r >= dataRow; r--) {
+            final Row row = sheet.getRow(r);
+            if(row != null) {
+                sheet.removeRow(row);
+            }
+        }
+        
+    }
+    
+    /**
+     * 表の見出しから、レコードのクラスのカラムの定義で初めて見つかる見出しのインデックスを取得する。
+     * @return 不明な場合は0を返す。
+     */
+    private int getStartHeaderIndex() {
+        
+        for(int i=0; i < headers.size(); i++) {
+            final List<FieldAdaptor> properties = Utils.getSavingColumnProperties(
+                    recordClass, headers.get(i).getLabel(), work.getAnnoReader(), config);
+            if(!properties.isEmpty()) {
+                return i;
+            }
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * レコードを書き込む。
+     * <p>書き込むレコードの件数が、テンプレートに用意されているデータ行より少ない場合、
+     *    属性{@link XlsHorizontalRecords#remainedRecord()}が{@link RemainedRecordOperate#Delete}以外のときは、
+     *    残りの行をテンプレートの書式のまま出力する。
+     * <p>書き込むレコードの件数が、テンプレートに用意されているデータ行より多い場合、
+     *    属性{@link XlsHorizontalRecords#overRecord()}が{@link OverRecordOperate#Break}のときは、
+     *    用意されているデータ行を超えるレコードは書き込まない。
+     * 
+     * @param sheet 書き込み先のシート
+     * @param records 書き込むレコード
+     * @throws XlsMapperException 書き込みに失敗した場合
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void write(final SXSSFSheet sheet, final List<Object> records) throws XlsMapperException {
+        
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notNull(records, "records");
+        
+        if(!foundTable) {
+            return;
+        }
+        
+        // XlsColumn(merged=true)のセルの結合情報。キーは列番号。
+        final Map<Integer, MergingCell> mergingCells = new LinkedHashMap<>();
+        
+        // 書き込むレコードの件数
+        final int recordSize;
+        if(anno.overRecord() == OverRecordOperate.Break) {
+            recordSize = Math.min(records.size(), preparedRowSize);
+        } else {
+            recordSize = records.size();
+        }
+        
+        final int rowSize;
+        if(anno.remainedRecord() == RemainedRecordOperate.Delete) {
+            rowSize = Math.max(recordSize, 1);
+        } else {
+            rowSize = Math.max(recordSize, Math.max(preparedRowSize, 1));
+        }
+        
+        for(int r=0; r < rowSize; r++) {
+            
+            final int rowIndex = dataRow + r;
+            final Row row = createTemplateRow(sheet, rowIndex);
+            
+            if(r >= recordSize) {
+                continue;
+            }
+            
+            final Object record = records.get(r);
+            if(record == null) {
+                continue;
+            }
+            
+            // パスの位置の変更
+            work.getErrors().pushNestedPath(adaptor.getName(), r);
+            
+            // execute PreProcess/ listner
+            final BeanMapping beanMapping = config.getBeanMapping(record.getClass(), work.getAnnoReader());
+            Object listenerObj = null;
+            if(beanMapping.hasListener()) {
+                listenerObj = config.createBean(beanMapping.getListenerClass());
+                for(Method method : beanMapping.getListenerPreSaveMethods()) {
+                    Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
+                }
+            }
+            
+            // execute PreProcess method
+            for(Method method : beanMapping.getPreSaveMethods()) {
+                Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());
+            }
+            
+            for(RecordHeader headerInfo : headers) {
+                
+                final List<FieldAdaptor> properties = Utils.getSavingColumnProperties(
+                        record.getClass(), headerInfo.getLabel(), work.getAnnoReader(), config);
+                for(FieldAdaptor property : properties) {
+                    final XlsColumn column = property.getSavingAnnotation(XlsColumn.class);
+                    
+                    final int columnIndex = initColumn + headerInfo.getInterval() + Math.max(column.headerMerged(), 0);
+                    Cell valueCell = row.getCell(columnIndex);
+                    if(valueCell == null) {
+                        valueCell = row.createCell(columnIndex, Cell.CELL_TYPE_BLANK);
+                    }
+                    
+                    // set for cell value
+                    Utils.setPosition(columnIndex, rowIndex, record, property.getName());
+                    Utils.setLabel(headerInfo.getLabel(), record, property.getName());
+                    final CellConverter converter = AbstractFieldProcessor.resolveSavingCellConverter(property, config.getConverterRegistry(), config);
+                    try {
+                        converter.toCell(property, property.getValue(record), record, sheet, columnIndex, rowIndex, config);
+                    } catch(TypeBindException e) {
+                        work.addTypeBindError(e, valueCell, property.getName(), headerInfo.getLabel());
+                        if(!config.isContinueTypeBindFailure()) {
+                            throw e;
+                        }
+                    }
+                    
+                    // 上のセルと同じ値の場合は結合する
+                    if(column.merged() && config.isMergeCellOnSave()) {
+                        mergeCell(sheet, mergingCells, valueCell);
+                    }
+                }
+            }
+            
+            // set PostProcess listener
+            if(listenerObj != null) {
+                for(Method method : beanMapping.getListenerPostSaveMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
+                }
+            }
+            
+            // set PostProcess method
+            for(Method method : beanMapping.getPostSaveMethods()) {
+                work.addNeedPostProcess(new NeedProcess(record, record, method));
+            }
+            
+            // パスの位置の変更
+            work.getErrors().popNestedPath();
+        }
+        
+        for(MergingCell mergingCell : mergingCells.values()) {
+            mergingCell.addMergedRegion(sheet);
+        }
+        
+        if(logger.isDebugEnabled()) {
+            logger.debug("write records : sheet name=[{}], row index=[{}], record size=[{}]",
+                    sheet.getSheetName(), dataRow, recordSize);
+        }
+        
+    }
+    
+    /**
+     * テンプレートのデータ行の書式と数式をコピーした行を作成する。
+     */
+    private Row createTemplateRow(final SXSSFSheet sheet, final int rowIndex) {
+        
+        final Row row = sheet.createRow(rowIndex);
+        if(templateRowHeight >= 0) {
+            row.setHeight(templateRowHeight);
+        }
+        
+        for(Map.Entry<Integer, TemplateCell> entry : templateCells.entrySet()) {
+            final Cell cell = row.createCell(entry.getKey(), Cell.CELL_TYPE_BLANK);
+            entry.getValue().copyTo(cell, rowIndex);
+        }
+        
+        return row;
+    }
+    
+    /**
+     * 上のセルと同じ値の場合、結合する範囲を広げる。
+     * <p>書き込み済みの行は参照できないため、列ごとに直前の値を保持して比較する。
+     */
+    private void mergeCell(final Sheet sheet, final Map<Integer, MergingCell> mergingCells, final Cell cell) {
+        
+        final String value = POIUtils.getCellContents(cell, config.getCellFormatter());
+        final MergingCell current = mergingCells.get(cell.getColumnIndex());
+        
+        if(current != null && current.lastRow == cell.getRowIndex() - 1 && current.value.equals(value)) {
+            current.lastRow = cell.getRowIndex();
+            return;
+        }
+        
+        if(current != null) {
+            current.addMergedRegion(sheet);
+        }
+        
+        mergingCells.put(cell.getColumnIndex(), new MergingCell(cell.getColumnIndex(), cell.getRowIndex(), value));
+    }
+    
+    /**
+     * 表が見つかったかどうか。
+     * <p>ラベルで表を指定していて見つからない場合、falseを返す。
+     * @return
+     */
+    public boolean isFoundTable() {
+        return foundTable;
+    }
+    
+    /**
+     * マッピング先のフィールド情報を取得する。
+     * @return
+     */
+    public FieldAdaptor getAdaptor() {
+        return adaptor;
+    }
+    
+    /**
+     * データ行の開始行を取得する。
+     * @return 表が見つからない場合は0を返す。
+     */
+    public int getDataRow() {
+        return dataRow;
+    }
+    
+    /**
+     * テンプレートのデータ行のセルの書式と数式。
+     */
+    private static class TemplateCell {
+        
+        private final CellStyle style;
+        
+        private XSSFEvaluationWorkbook evaluationBook;
+        
+        private int sheetIndex;
+        
+        private String sheetName;
+        
+        /**
+         * 数式をパースした結果。{@link #formulaRow}の行を基準とした参照を持つ。
+         */
+        private Ptg[] formulaTokens;
+        
+        private int formulaRow;
+        
+        private String formula;
+        
+        TemplateCell(final CellStyle style) {
+            this.style = style;
+        }
+        
+        void setFormula(final XSSFEvaluationWorkbook evaluationBook, final int sheetIndex, final String sheetName,
+                final String formula, final int row) {
+            this.evaluationBook = evaluationBook;
+            this.sheetIndex = sheetIndex;
+            this.sheetName = sheetName;
+            this.formula = formula;
+            this.formulaRow = row;
+            this.formulaTokens = FormulaParser.parse(formula, evaluationBook, FormulaType.CELL, sheetIndex);
+        }
+        
+        void copyTo(final Cell cell, final int rowIndex) {
+            cell.setCellStyle(style);
+            
+            if(formulaTokens == null) {
+                return;
+            }
+            
+            if(rowIndex != formulaRow) {
+                // 行をコピーしたときと同様に、相対参照の行をずらす。
+                final FormulaShifter shifter = FormulaShifter.createForRowCopy(sheetIndex, sheetName,
+                        formulaRow, formulaRow, rowIndex - formulaRow, SpreadsheetVersion.EXCEL2007);
+                shifter.adjustFormula(formulaTokens, sheetIndex);
+                this.formulaRow = rowIndex;
+                this.formula = FormulaRenderer.toFormulaString(evaluationBook, formulaTokens);
+            }
+            
+            cell.setCellFormula(formula);
+        }
+        
+    }
+    
+    /**
+     * 結合中のセルの情報。
+     */
+    private static class MergingCell {
+        
+        private final int column;
+        
+        private final int firstRow;
+        
+        private int lastRow;
+        
+        private final String value;
+        
+        MergingCell(final int column, final int row, final String value) {
+            this.column = column;
+            this.firstRow = row;
+            this.lastRow = row;
+            this.value = value;
+        }
+        
+        void addMergedRegion(final Sheet sheet) {
+            if(lastRow > firstRow) {
+                sheet.addMergedRegion(new CellRangeAddress(firstRow, lastRow, column, column));
+            }
+        }
+        
+    }
+    
+}
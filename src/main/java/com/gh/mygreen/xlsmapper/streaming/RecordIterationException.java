@@ -0,0 +1,26 @@
+package com.gh.mygreen.xlsmapper.streaming;
+
+
+/**
+ * {@link RecordIterator}でレコードの読み込みに失敗した際にスローされる。
+ * <p>{@link java.util.Iterator}のメソッドは検査例外をスローできないため、
+ *    読み込み時に発生した{@link com.gh.mygreen.xlsmapper.XlsMapperException}などをラップする。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class RecordIterationException extends RuntimeException {
+    
+    /** serialVersionUID */
+    private static final long serialVersionUID = 3370262461437036416L;
+    
+    public RecordIterationException(final String message) {
+        super(message);
+    }
+    
+    public RecordIterationException(final String message, final Throwable e) {
+        super(message, e);
+    }
+    
+}
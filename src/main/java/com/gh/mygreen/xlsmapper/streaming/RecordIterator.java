@@ -0,0 +1,222 @@
+package com.gh.mygreen.xlsmapper.streaming;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gh.mygreen.xlsmapper.LoadingWorkObject;
+import com.gh.mygreen.xlsmapper.NeedProcess;
+import com.gh.mygreen.xlsmapper.Utils;
+import com.gh.mygreen.xlsmapper.XlsMapperConfig;
+import com.gh.mygreen.xlsmapper.XlsMapperException;
+import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+
+
+/**
+ * 表のレコードを、シートを読み込みながら1件ずつ取得するためのイテレータ。
+ * <p>{@link XlsStreamingLoader#streamRecords(java.io.InputStream, Class, String)}から取得する。
+ *    <br>レコードは、シートの読み込みに合わせて都度作成するため、全てのレコードをリストとして保持しない。
+ *    <br>レコードのクラスに定義された{@link com.gh.mygreen.xlsmapper.annotation.XlsPostLoad}のメソッドは、
+ *    レコードを返す直前に実行する。
+ * </p>
+ * <p>全てのレコードを読み込むと、自動的にファイルを閉じる。
+ *    途中で読み込みを止める場合は、{@link #close()}を呼び出す必要がある。
+ * </p>
+ * <p>読み込み時に発生した例外は、{@link RecordIterationException}でラップしてスローする。</p>
+ * 
+ * <pre class="highlight"><code class="java">
+ * try(RecordIterator&lt;UserRecord&gt; it = loader.streamRecords(in, UserSheet.class, "records")) {
+ *     while(it.hasNext()) {
+ *         UserRecord record = it.next();
+ *         // 1件ずつ処理する
+ *     }
+ * }
+ * </code></pre>
+ * 
+ * @param <T> レコードのクラスタイプ。
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class RecordIterator<T> implements Iterator<T>, Closeable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RecordIterator.class);
+    
+    private final StreamingWorkbook book;
+    
+    private final StreamingSheetReader sheetReader;
+    
+    private final HorizontalRecordsReader table;
+    
+    private final XlsMapperConfig config;
+    
+    private final LoadingWorkObject work;
+    
+    /**
+     * 先読みしたレコード
+     */
+    private T nextRecord;
+    
+    private boolean closed = false;
+    
+    RecordIterator(final StreamingWorkbook book, final StreamingSheetReader sheetReader,
+            final HorizontalRecordsReader table, final XlsMapperConfig config, final LoadingWorkObject work) {
+        this.book = book;
+        this.sheetReader = sheetReader;
+        this.table = table;
+        this.config = config;
+        this.work = work;
+    }
+    
+    /**
+     * レコードを持たない、閉じた状態のイテレータを作成する。
+     * <p>シートが見つからず、読み飛ばす場合に使用する。
+     * @param work 読み込み時の作業情報
+     * @return
+     */
+    static <T> RecordIterator<T> empty(final LoadingWorkObject work) {
+        final RecordIterator<T> iterator = new RecordIterator<>(null, null, null, null, work);
+        iterator.closed = true;
+        return iterator;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if(nextRecord != null) {
+            return true;
+        }
+        
+        if(closed) {
+            return false;
+        }
+        
+        try {
+            this.nextRecord = fetchRecord();
+            
+        } catch(XlsMapperException | IOException e) {
+            closeQuietly();
+            throw new RecordIterationException(String.format("fail load record in sheet '%s'.", sheetReader.getSheetName()), e);
+            
+        } catch(RuntimeException | Error e) {
+            // 実行時例外の場合も、ワークブックと一時ファイルを閉じてからそのままスローする。
+            closeQuietly();
+            throw e;
+        }
+        
+        if(nextRecord == null) {
+            closeQuietly();
+            return false;
+        }
+        
+        return true;
+    }
+    
+    @Override
+    public T next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        
+        final T record = nextRecord;
+        this.nextRecord = null;
+        return record;
+    }
+    
+    /**
+     * レコードの削除はサポートしない。
+     * @throws UnsupportedOperationException 常にスローする。
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+    
+    /**
+     * 次のレコードを読み込む。
+     * @return 表の終端に達した場合はnullを返す。
+     */
+    @SuppressWarnings("unchecked")
+    private T fetchRecord() throws XlsMapperException, IOException {
+        
+        while(!table.isFinished()) {
+            final Row row = sheetReader.nextRow();
+            if(row == null) {
+                table.finish();
+                break;
+            }
+            
+            final Object record = table.readRecord(row);
+            
+            // 読み飛ばしたレコードも含め、@XlsPostLoadのメソッドを実行する。
+            invokePostProcesses();
+            
+            if(record != null) {
+                return (T) record;
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * 読み込んだレコードに対する、{@link com.gh.mygreen.xlsmapper.annotation.XlsPostLoad}のメソッドを実行する。
+     */
+    private void invokePostProcesses() throws XlsMapperException {
+        
+        final List<NeedProcess> needProcesses = work.getNeedPostProcesses();
+        for(NeedProcess need : needProcesses) {
+            Utils.invokeNeedProcessMethod(need.getProcess(), need.getMethod(), need.getTarget(), sheetReader.getSheet(), config, work.getErrors());
+        }
+        needProcesses.clear();
+        
+    }
+    
+    /**
+     * レコードの読み込み時のエラー情報を取得する。
+     * @return
+     */
+    public SheetBindingErrors getErrors() {
+        return work.getErrors();
+    }
+    
+    /**
+     * 読み込み対象のシート名を取得する。
+     * @return シートが見つからず読み飛ばした場合は、nullを返す。
+     */
+    public String getSheetName() {
+        return sheetReader != null ? sheetReader.getSheetName() : null;
+    }
+    
+    /**
+     * ファイルを閉じる。
+     * <p>既に閉じている場合は何もしない。
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed) {
+            return;
+        }
+        
+        this.closed = true;
+        try {
+            sheetReader.close();
+        } finally {
+            book.close();
+        }
+    }
+    
+    private void closeQuietly() {
+        try {
+            close();
+        } catch(IOException e) {
+            logger.warn("fail close workbook.", e);
+        }
+    }
+    
+}
@@ -0,0 +1,576 @@
+package com.gh.mygreen.xlsmapper.streaming;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbookPr;
+
+import com.gh.mygreen.xlsmapper.CellStyleCache;
+import com.gh.mygreen.xlsmapper.MergedRegionIndex;
+import com.gh.mygreen.xlsmapper.XlsMapperException;
+
+
+/**
+ * シートのXMLをストリームとして読み込み、1行ずつ{@link Row}として返すリーダー。
+ * <p>読み込んだ行は、作業用のワークブック上の同じ行番号・列番号の位置に展開されるため、
+ *    既存の{@link com.gh.mygreen.xlsmapper.cellconvert.CellConverter}や{@link com.gh.mygreen.xlsmapper.POIUtils}の処理をそのまま利用できる。
+ *    <br>作業用のシートには、基本的に最後に読み込んだ1行のみを保持し、次の行を読み込む際に破棄する。
+ *    ただし、{@link #retainRow(int)}で保持を指定した行は、{@link #releaseRow(int)}が呼ばれるまで破棄しない。
+ * </p>
+ * <p>数式のセルは、ファイルに保存されている計算結果の値として展開する。
+ *    <br>結合セルの情報はシートのXMLの末尾に定義されているため、行の読み込みを開始する前に一度だけ走査して取得する。
+ * </p>
+ * <p>作業用のシートには結合セルの情報を設定しないため、結合セルの左上以外の空のセルには、左上のセルの値を展開する。
+ *    これは、{@link com.gh.mygreen.xlsmapper.DefaultCellFormatter}が結合セルの値を取得するときと同じ結果とするため。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class StreamingSheetReader implements Closeable {
+    
+    private final StreamingWorkbook book;
+    
+    private final String sheetName;
+    
+    private final InputStream sheetIn;
+    
+    private final XMLStreamReader xmlReader;
+    
+    /**
+     * 読み込んだ行を展開する作業用のワークブック。
+     */
+    private final XSSFWorkbook workBook;
+    
+    private final Sheet sheet;
+    
+    /**
+     * key=元のブックのスタイルのインデックス、value=作業用のブックのスタイル。
+     */
+    private final Map<Integer, CellStyle> styleMap = new HashMap<>();
+    
+    /**
+     * 作業用のブックで、書式を変更したスタイルのキャッシュ。
+     */
+    private CellStyleCache cellStyleCache;
+    
+    /**
+     * 結合セルの情報。開始行の昇順に並べる。
+     */
+    private final List<CellRangeAddress> mergedRegions;
+    
+    /**
+     * 位置から結合セルを取得するための索引
+     */
+    private final MergedRegionIndex mergedRegionIndex;
+    
+    /**
+     * 次に読み込む行以降で、有効になる結合セルのインデックス。
+     */
+    private int nextMergedIndex = 0;
+    
+    /**
+     * 読み込み中の行を含む結合セルと、その左上のセルの値。
+     */
+    private final List<MergedValue> activeMergedValues = new ArrayList<>();
+    
+    /**
+     * key=保持対象の行番号、value=保持を指定された数
+     */
+    private final Map<Integer, Integer> retainedRows = new HashMap<>();
+    
+    /**
+     * 最後に読み込んだ行
+     */
+    private Row currentRow;
+    
+    private int lastRowIndex = -1;
+    
+    private boolean finished = false;
+    
+    StreamingSheetReader(final StreamingWorkbook book, final String sheetName, final String relId)
+            throws XlsMapperException, IOException {
+            
+        this.book = book;
+        this.sheetName = sheetName;
+        
+        try(InputStream in = book.getSheetData(relId)) {
+            this.mergedRegions = readMergedRegions(in);
+            this.mergedRegionIndex = new MergedRegionIndex(mergedRegions);
+        } catch(XMLStreamException e) {
+            throw new XlsMapperException(String.format("fail read sheet '%s'.", sheetName), e);
+        }
+        
+        this.workBook = new XSSFWorkbook();
+        if(book.isDate1904()) {
+            CTWorkbookPr workbookPr = workBook.getCTWorkbook().getWorkbookPr();
+            if(workbookPr == null) {
+                workbookPr = workBook.getCTWorkbook().addNewWorkbookPr();
+            }
+            workbookPr.setDate1904(true);
+        }
+        this.sheet = workBook.createSheet(sheetName);
+        
+        this.sheetIn = book.getSheetData(relId);
+        try {
+            this.xmlReader = StreamingWorkbook.createXMLInputFactory().createXMLStreamReader(sheetIn);
+        } catch(XMLStreamException e) {
+            sheetIn.close();
+            throw new XlsMapperException(String.format("fail read sheet '%s'.", sheetName), e);
+        }
+    }
+    
+    /**
+     * シートのXMLの末尾に定義されている結合セルの情報を読み込む。
+     */
+    private List<CellRangeAddress> readMergedRegions(final InputStream in) throws XMLStreamException {
+        
+        final List<CellRangeAddress> list = new ArrayList<>();
+        
+        final XMLStreamReader reader = StreamingWorkbook.createXMLInputFactory().createXMLStreamReader(in);
+        try {
+            while(reader.hasNext()) {
+                if(reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("mergeCell")) {
+                    list.add(CellRangeAddress.valueOf(reader.getAttributeValue(null, "ref")));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        
+        Collections.sort(list, new Comparator<CellRangeAddress>() {
+            
+            @Override
+            public int compare(final CellRangeAddress o1, final CellRangeAddress o2) {
+                return Integer.compare(o1.getFirstRow(), o2.getFirstRow());
+            }
+        });
+        
+        return list;
+    }
+    
+    /**
+     * 次の行を読み込む。
+     * <p>値の定義されていない行は、XML上に存在しないため読み飛ばされる。
+     *    そのため、戻り値の行番号は連続しているとは限らない。
+     * </p>
+     * @return 読み込んだ行。シートの終端に達した場合はnullを返す。
+     * @throws XlsMapperException シートの読み込みに失敗した場合。
+     */
+    public Row nextRow() throws XlsMapperException {
+        
+        if(finished) {
+            return null;
+        }
+        
+        try {
+            Row row = null;
+            int columnIndex = -1;
+            while(xmlReader.hasNext()) {
+                final int event = xmlReader.next();
+                if(event == XMLStreamConstants.START_ELEMENT) {
+                    final String name = xmlReader.getLocalName();
+                    if(name.equals("row")) {
+                        final String r = xmlReader.getAttributeValue(null, "r");
+                        final int rowIndex = (r != null) ? Integer.parseInt(r) - 1 : lastRowIndex + 1;
+                        row = createRow(rowIndex);
+                        columnIndex = -1;
+                        updateActiveMergedValues(rowIndex);
+                        
+                    } else if(name.equals("c") && row != null) {
+                        columnIndex = readCell(row, columnIndex);
+                    }
+                    
+                } else if(event == XMLStreamConstants.END_ELEMENT) {
+                    final String name = xmlReader.getLocalName();
+                    if(name.equals("row") && row != null) {
+                        fillMergedCells(row);
+                        this.lastRowIndex = row.getRowNum();
+                        return row;
+                        
+                    } else if(name.equals("sheetData")) {
+                        break;
+                    }
+                }
+            }
+            
+        } catch(XMLStreamException e) {
+            throw new XlsMapperException(String.format("fail read sheet '%s'.", sheetName), e);
+        }
+        
+        this.finished = true;
+        return null;
+    }
+    
+    /**
+     * 作業用のシートに行を作成する。
+     * 前回読み込んだ行は、保持指定がなければ破棄する。
+     */
+    private Row createRow(final int rowIndex) {
+        
+        if(currentRow != null && !retainedRows.containsKey(currentRow.getRowNum())) {
+            sheet.removeRow(currentRow);
+        }
+        
+        this.currentRow = sheet.createRow(rowIndex);
+        return currentRow;
+    }
+    
+    /**
+     * 要素'c'を読み込み、セルを作成する。
+     * @param row 作成先の行
+     * @param prevColumnIndex 直前のセルの列番号
+     * @return 作成したセルの列番号
+     */
+    private int readCell(final Row row, final int prevColumnIndex) throws XMLStreamException {
+        
+        final String ref = xmlReader.getAttributeValue(null, "r");
+        final String type = xmlReader.getAttributeValue(null, "t");
+        final String styleIndex = xmlReader.getAttributeValue(null, "s");
+        
+        final int columnIndex = (ref != null) ? new CellReference(ref).getCol() : prevColumnIndex + 1;
+        
+        String value = null;
+        StringBuilder inlineValue = null;
+        while(xmlReader.hasNext()) {
+            final int event = xmlReader.next();
+            if(event == XMLStreamConstants.START_ELEMENT) {
+                final String name = xmlReader.getLocalName();
+                if(name.equals("v")) {
+                    value = xmlReader.getElementText();
+                    
+                } else if(name.equals("t")) {
+                    // インライン文字列(リッチテキストの場合は複数の要素に分かれる)
+                    if(inlineValue == null) {
+                        inlineValue = new StringBuilder();
+                    }
+                    inlineValue.append(xmlReader.getElementText());
+                    
+                } else if(name.equals("f")) {
+                    // 数式は、保存されている計算結果を利用するため読み飛ばす。
+                    xmlReader.getElementText();
+                    
+                } else if(name.equals("rPh")) {
+                    // ふりがなは値に含めないため読み飛ばす。
+                    skipElement();
+                }
+                
+            } else if(event == XMLStreamConstants.END_ELEMENT && xmlReader.getLocalName().equals("c")) {
+                break;
+            }
+        }
+        
+        final Cell cell = row.createCell(columnIndex);
+        if(styleIndex != null) {
+            cell.setCellStyle(getCellStyle(Integer.parseInt(styleIndex)));
+        }
+        
+        if(inlineValue != null) {
+            cell.setCellValue(inlineValue.toString());
+            
+        } else if(value == null || value.isEmpty()) {
+            // 値がない場合は、空のセル
+            
+        } else if("s".equals(type)) {
+            cell.setCellValue(book.getSharedString(Integer.parseInt(value)));
+            
+        } else if("str".equals(type) || "inlineStr".equals(type) || "d".equals(type)) {
+            cell.setCellValue(value);
+            
+        } else if("b".equals(type)) {
+            cell.setCellValue(value.equals("1") || value.equalsIgnoreCase("true"));
+            
+        } else if("e".equals(type)) {
+            try {
+                cell.setCellErrorValue(FormulaError.forString(value).getCode());
+            } catch(IllegalArgumentException e) {
+                cell.setCellValue(value);
+            }
+            
+        } else {
+            cell.setCellValue(Double.parseDouble(value));
+        }
+        
+        for(MergedValue mergedValue : activeMergedValues) {
+            if(mergedValue.region.getFirstRow() == cell.getRowIndex()
+                    && mergedValue.region.getFirstColumn() == columnIndex) {
+                mergedValue.setValue(cell);
+            }
+        }
+        
+        return columnIndex;
+    }
+    
+    /**
+     * 読み込む行を含む結合セルを更新する。
+     * @param rowIndex 読み込む行番号
+     */
+    private void updateActiveMergedValues(final int rowIndex) {
+        
+        for(Iterator<MergedValue> itr = activeMergedValues.iterator(); itr.hasNext(); ) {
+            if(itr.next().region.getLastRow() < rowIndex) {
+                itr.remove();
+            }
+        }
+        
+        while(nextMergedIndex < mergedRegions.size()) {
+            final CellRangeAddress region = mergedRegions.get(nextMergedIndex);
+            if(region.getFirstRow() > rowIndex) {
+                break;
+            }
+            
+            if(region.getLastRow() >= rowIndex) {
+                activeMergedValues.add(new MergedValue(region));
+            }
+            nextMergedIndex++;
+        }
+    }
+    
+    /**
+     * 結合セルの左上以外の空のセルに、左上のセルの値を展開する。
+     * @param row 読み込んだ行
+     */
+    private void fillMergedCells(final Row row) {
+        
+        for(MergedValue mergedValue : activeMergedValues) {
+            if(!mergedValue.hasValue) {
+                continue;
+            }
+            
+            final CellRangeAddress region = mergedValue.region;
+            for(int i=region.getFirstColumn(); i <= region.getLastColumn(); i++) {
+                if(region.getFirstRow() == row.getRowNum() && region.getFirstColumn() == i) {
+                    continue;
+                }
+                
+                final Cell cell = row.getCell(i, Row.CREATE_NULL_AS_BLANK);
+                if(cell.getCellType() != Cell.CELL_TYPE_BLANK) {
+                    continue;
+                }
+                
+                mergedValue.copyTo(cell);
+                if(cell.getCellStyle().getDataFormat() != mergedValue.dataFormat) {
+                    cell.setCellStyle(getMergedCellStyle(cell.getCellStyle(), mergedValue.dataFormat));
+                }
+            }
+        }
+    }
+    
+    /**
+     * 展開先のセルの罫線を維持したまま、左上のセルの書式を設定したスタイルを取得する。
+     */
+    private CellStyle getMergedCellStyle(final CellStyle orgStyle, final short dataFormat) {
+        
+        if(cellStyleCache == null) {
+            cellStyleCache = new CellStyleCache(workBook);
+        }
+        
+        return cellStyleCache.getDataFormatStyle(orgStyle, dataFormat);
+    }
+    
+    /**
+     * 現在の開始要素の終了まで読み飛ばす。
+     */
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while(depth > 0 && xmlReader.hasNext()) {
+            final int event = xmlReader.next();
+            if(event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if(event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+    
+    /**
+     * 元のブックのスタイルに対応する、作業用のブックのスタイルを取得する。
+     * <p>書式と罫線の情報のみを引き継ぐ。
+     * @param index 元のブックのスタイルのインデックス
+     * @return
+     */
+    private CellStyle getCellStyle(final int index) {
+        
+        CellStyle style = styleMap.get(index);
+        if(style != null) {
+            return style;
+        }
+        
+        style = workBook.createCellStyle();
+        final XSSFCellStyle orgStyle = book.getStylesTable().getStyleAt(index);
+        if(orgStyle != null) {
+            style.setDataFormat(workBook.createDataFormat().getFormat(orgStyle.getDataFormatString()));
+            style.setBorderTop(orgStyle.getBorderTop());
+            style.setBorderBottom(orgStyle.getBorderBottom());
+            style.setBorderLeft(orgStyle.getBorderLeft());
+            style.setBorderRight(orgStyle.getBorderRight());
+        }
+        
+        styleMap.put(index, style);
+        return style;
+    }
+    
+    /**
+     * 作業用のシートを取得する。
+     * <p>シートには、最後に読み込んだ行と保持指定された行のみが存在する。
+     * @return
+     */
+    public Sheet getSheet() {
+        return sheet;
+    }
+    
+    /**
+     * シート名を取得する。
+     * @return
+     */
+    public String getSheetName() {
+        return sheetName;
+    }
+    
+    /**
+     * 指定したセルを含む結合セルの情報を取得する。
+     * @param rowIdx 行番号
+     * @param colIdx 列番号
+     * @return 結合されていない場合は、nullを返す。
+     */
+    public CellRangeAddress getMergedRegion(final int rowIdx, final int colIdx) {
+        return mergedRegionIndex.getMergedRegion(rowIdx, colIdx);
+    }
+    
+    /**
+     * 次の行を読み込んだ後も、指定した行を作業用のシート上に保持する。
+     * <p>{@link #releaseRow(int)}と対で呼び出す必要がある。
+     * @param rowIndex 保持する行番号。
+     */
+    public void retainRow(final int rowIndex) {
+        final Integer count = retainedRows.get(rowIndex);
+        retainedRows.put(rowIndex, count == null ? 1 : count + 1);
+    }
+    
+    /**
+     * {@link #retainRow(int)}による保持の指定を解除する。
+     * <p>保持の指定がなくなった行は、作業用のシートから破棄する。
+     * @param rowIndex 保持を解除する行番号。
+     */
+    public void releaseRow(final int rowIndex) {
+        final Integer count = retainedRows.get(rowIndex);
+        if(count == null) {
+            return;
+        }
+        
+        if(count > 1) {
+            retainedRows.put(rowIndex, count - 1);
+            return;
+        }
+        
+        retainedRows.remove(rowIndex);
+        if(currentRow == null || currentRow.getRowNum() != rowIndex) {
+            final Row row = sheet.getRow(rowIndex);
+            if(row != null) {
+                sheet.removeRow(row);
+            }
+        }
+    }
+    
+    /**
+     * 結合セルと、その左上のセルの値を保持するクラス。
+     */
+    private static class MergedValue {
+        
+        private final CellRangeAddress region;
+        
+        private boolean hasValue = false;
+        
+        private int cellType;
+        
+        private String stringValue;
+        
+        private double numericValue;
+        
+        private boolean booleanValue;
+        
+        private byte errorValue;
+        
+        private short dataFormat;
+        
+        private MergedValue(final CellRangeAddress region) {
+            this.region = region;
+        }
+        
+        private void setValue(final Cell cell) {
+            this.cellType = cell.getCellType();
+            this.dataFormat = cell.getCellStyle().getDataFormat();
+            switch(cellType) {
+                case Cell.CELL_TYPE_STRING:
+                    this.stringValue = cell.getStringCellValue();
+                    break;
+                case Cell.CELL_TYPE_NUMERIC:
+                    this.numericValue = cell.getNumericCellValue();
+                    break;
+                case Cell.CELL_TYPE_BOOLEAN:
+                    this.booleanValue = cell.getBooleanCellValue();
+                    break;
+                case Cell.CELL_TYPE_ERROR:
+                    this.errorValue = cell.getErrorCellValue();
+                    break;
+                default:
+                    break;
+            }
+            this.hasValue = cellType != Cell.CELL_TYPE_BLANK;
+        }
+        
+        private void copyTo(final Cell cell) {
+            switch(cellType) {
+                case Cell.CELL_TYPE_STRING:
+                    cell.setCellValue(stringValue);
+                    break;
+                case Cell.CELL_TYPE_NUMERIC:
+                    cell.setCellValue(numericValue);
+                    break;
+                case Cell.CELL_TYPE_BOOLEAN:
+                    cell.setCellValue(booleanValue);
+                    break;
+                case Cell.CELL_TYPE_ERROR:
+                    cell.setCellErrorValue(errorValue);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            xmlReader.close();
+        } catch(XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            sheetIn.close();
+            workBook.close();
+        }
+    }
+    
+}
@@ -0,0 +1,370 @@
+package com.gh.mygreen.xlsmapper.streaming;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+
+import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.ArgUtils;
+import com.gh.mygreen.xlsmapper.SheetNotFoundException;
+import com.gh.mygreen.xlsmapper.XlsMapperException;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+
+
+/**
+ * xlsx形式のファイルを、DOMとして展開せずに読み込むためのワークブック。
+ * <p>POIの{@link XSSFReader}を利用し、共有文字列とスタイル情報のみをメモリ上に保持する。
+ *    <br>共有文字列は、セルの値として扱わないふりがなを除いて保持する。
+ *    <br>シートの内容は、{@link #openSheet(int)}で取得した{@link StreamingSheetReader}から1行ずつ読み込む。
+ * </p>
+ * <p>パッケージ(zip)の内容をメモリ上に展開しないよう、ファイルから開く。
+ *    <br>ストリームから開く場合は、一時ファイルに書き出してから開き、{@link #close()}で削除する。
+ * </p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class StreamingWorkbook implements Closeable {
+    
+    private static final String NS_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    
+    private final OPCPackage pkg;
+    
+    /**
+     * ストリームから開いた場合の一時ファイル。ファイルから開いた場合はnull。
+     */
+    private File tempFile;
+    
+    private final XSSFReader reader;
+    
+    /**
+     * 共有文字列のテーブル
+     */
+    private final List<String> sharedStrings = new ArrayList<>();
+    
+    private final StylesTable stylesTable;
+    
+    /**
+     * シート名の一覧。順番はブック上の並び順。
+     */
+    private final List<String> sheetNames = new ArrayList<>();
+    
+    /**
+     * シートのリレーションIDの一覧。順番は{@link #sheetNames}と対応する。
+     */
+    private final List<String> sheetRelIds = new ArrayList<>();
+    
+    /**
+     * 日付の基準が1904年かどうか。
+     */
+    private boolean date1904;
+    
+    private StreamingWorkbook(final OPCPackage pkg) throws XlsMapperException, IOException {
+        this.pkg = pkg;
+        
+        try {
+            this.reader = new XSSFReader(pkg);
+            this.stylesTable = reader.getStylesTable();
+            
+            try(InputStream in = reader.getWorkbookData()) {
+                readWorkbookData(in);
+            }
+            
+            try(InputStream in = reader.getSharedStringsData()) {
+                if(in != null) {
+                    readSharedStrings(in);
+                }
+            }
+            
+        } catch(OpenXML4JException | XMLStreamException e) {
+            throw new XlsMapperException("fail load Excel File", e);
+        }
+        
+    }
+    
+    /**
+     * xlsx形式のファイルを開く。
+     * <p>ストリームの内容は一時ファイルに書き出してから開く。
+     *    一時ファイルは、{@link #close()}で削除する。
+     * </p>
+     * @param xlsIn 読み込み元のExcelファイルのストリーム。
+     * @return ワークブックのインスタンス。
+     * @throws XlsMapperException xlsx形式のファイルとして読み込めない場合。
+     * @throws IOException ファイルの読み込みに失敗した場合。
+     * @throws IllegalArgumentException xlsIn == null.
+     */
+    public static StreamingWorkbook open(final InputStream xlsIn) throws XlsMapperException, IOException {
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        
+        final File tempFile = File.createTempFile("xlsmapper", ".xlsx");
+        try {
+            Files.copy(xlsIn, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            
+            final StreamingWorkbook book = open(tempFile);
+            book.tempFile = tempFile;
+            return book;
+            
+        } catch(XlsMapperException | IOException | RuntimeException e) {
+            tempFile.delete();
+            throw e;
+        }
+    }
+    
+    /**
+     * xlsx形式のファイルを、読み込み専用で開く。
+     * @param xlsFile 読み込み元のExcelファイル。
+     * @return ワークブックのインスタンス。
+     * @throws XlsMapperException xlsx形式のファイルとして読み込めない場合。
+     * @throws IOException ファイルの読み込みに失敗した場合。
+     * @throws IllegalArgumentException xlsFile == null.
+     */
+    public static StreamingWorkbook open(final File xlsFile) throws XlsMapperException, IOException {
+        ArgUtils.notNull(xlsFile, "xlsFile");
+        
+        final OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(xlsFile, PackageAccess.READ);
+        } catch(OpenXML4JException | RuntimeException e) {
+            throw new XlsMapperException("fail load Excel File", e);
+        }
+        
+        try {
+            return new StreamingWorkbook(pkg);
+        } catch(XlsMapperException | IOException | RuntimeException e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+    
+    /**
+     * workbook.xmlから、シートの一覧と日付の基準を読み込む。
+     */
+    private void readWorkbookData(final InputStream in) throws XMLStreamException {
+        
+        final XMLStreamReader xmlReader = createXMLInputFactory().createXMLStreamReader(in);
+        try {
+            while(xmlReader.hasNext()) {
+                if(xmlReader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                
+                final String name = xmlReader.getLocalName();
+                if(name.equals("workbookPr")) {
+                    final String value = xmlReader.getAttributeValue(null, "date1904");
+                    this.date1904 = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    
+                } else if(name.equals("sheet")) {
+                    sheetNames.add(xmlReader.getAttributeValue(null, "name"));
+                    sheetRelIds.add(xmlReader.getAttributeValue(NS_RELATIONSHIPS, "id"));
+                }
+            }
+        } finally {
+            xmlReader.close();
+        }
+    }
+    
+    /**
+     * sharedStrings.xmlから、共有文字列を読み込む。
+     * <p>リッチテキストの場合は、各書式の文字列を連結する。ふりがな(要素'rPh')は含めない。
+     */
+    private void readSharedStrings(final InputStream in) throws XMLStreamException {
+        
+        final XMLStreamReader xmlReader = createXMLInputFactory().createXMLStreamReader(in);
+        try {
+            StringBuilder value = null;
+            boolean inPhonetic = false;
+            while(xmlReader.hasNext()) {
+                final int event = xmlReader.next();
+                if(event == XMLStreamConstants.START_ELEMENT) {
+                    final String name = xmlReader.getLocalName();
+                    if(name.equals("si")) {
+                        value = new StringBuilder();
+                        
+                    } else if(name.equals("rPh")) {
+                        inPhonetic = true;
+                        
+                    } else if(name.equals("t") && value != null && !inPhonetic) {
+                        value.append(xmlReader.getElementText());
+                    }
+                    
+                } else if(event == XMLStreamConstants.END_ELEMENT) {
+                    final String name = xmlReader.getLocalName();
+                    if(name.equals("si") && value != null) {
+                        sharedStrings.add(value.toString());
+                        value = null;
+                        
+                    } else if(name.equals("rPh")) {
+                        inPhonetic = false;
+                    }
+                }
+            }
+        } finally {
+            xmlReader.close();
+        }
+    }
+    
+    /**
+     * シートのXMLを読み込むための{@link XMLInputFactory}を作成する。
+     * @return
+     */
+    static XMLInputFactory createXMLInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+    
+    /**
+     * シート数を取得する。
+     * @return
+     */
+    public int getNumberOfSheets() {
+        return sheetNames.size();
+    }
+    
+    /**
+     * シート名の一覧を取得する。
+     * @return ブック上の並び順のシート名。
+     */
+    public List<String> getSheetNames() {
+        return Collections.unmodifiableList(sheetNames);
+    }
+    
+    /**
+     * 日付の基準が1904年かどうか。
+     * @return
+     */
+    public boolean isDate1904() {
+        return date1904;
+    }
+    
+    /**
+     * アノテーション{@link XlsSheet}の設定値に従い、読み込み対象のシートのインデックスを取得する。
+     * <p>{@link com.gh.mygreen.xlsmapper.SheetFinder#findForLoading}と同じ規則で探す。
+     * 
+     * @param sheetAnno JavaBeanのクラスに付与されているアノテーション{@link XlsSheet}。
+     * @param beanClass JavaBeanのクラス。
+     * @return シートのインデックス。複数ヒットする場合は、該当するものを全て返す。
+     * @throws SheetNotFoundException 該当のシートが見つからない場合にスローする。
+     * @throws AnnotationInvalidException アノテーションの使用方法が不正な場合
+     */
+    public int[] findSheetIndexes(final XlsSheet sheetAnno, final Class<?> beanClass)
+            throws SheetNotFoundException, AnnotationInvalidException {
+            
+        ArgUtils.notNull(sheetAnno, "sheetAnno");
+        ArgUtils.notNull(beanClass, "beanClass");
+        
+        if(sheetAnno.name().length() > 0) {
+            final int index = sheetNames.indexOf(sheetAnno.name());
+            if(index < 0) {
+                throw new SheetNotFoundException(sheetAnno.name());
+            }
+            return new int[]{index};
+            
+        } else if(sheetAnno.number() >= 0) {
+            if(sheetAnno.number() >= sheetNames.size()) {
+                throw new SheetNotFoundException(sheetAnno.number(), sheetNames.size());
+            }
+            return new int[]{sheetAnno.number()};
+            
+        } else if(sheetAnno.regex().length() > 0) {
+            final Pattern pattern = Pattern.compile(sheetAnno.regex());
+            final List<Integer> matches = new ArrayList<>();
+            for(int i=0; i < sheetNames.size(); i++) {
+                if(pattern.matcher(sheetNames.get(i)).matches()) {
+                    matches.add(i);
+                }
+            }
+            
+            if(matches.isEmpty()) {
+                throw new SheetNotFoundException(sheetAnno.regex());
+            }
+            
+            final int[] indexes = new int[matches.size()];
+            for(int i=0; i < indexes.length; i++) {
+                indexes[i] = matches.get(i);
+            }
+            return indexes;
+        }
+        
+        throw new AnnotationInvalidException(String.format("With '%s', @XlsSheet requires name or number or regex parameter.",
+                beanClass.getName()), sheetAnno);
+    }
+    
+    /**
+     * シートを1行ずつ読み込むためのリーダーを開く。
+     * @param index シートのインデックス(0から始まる)。
+     * @return シートのリーダー。使用後は{@link StreamingSheetReader#close()}で閉じる必要がある。
+     * @throws XlsMapperException シートの読み込みに失敗した場合。
+     * @throws IOException シートの読み込みに失敗した場合。
+     * @throws IndexOutOfBoundsException 存在しないシートのインデックスを指定した場合。
+     */
+    public StreamingSheetReader openSheet(final int index) throws XlsMapperException, IOException {
+        return new StreamingSheetReader(this, sheetNames.get(index), sheetRelIds.get(index));
+    }
+    
+    /**
+     * リレーションIDを指定して、シートのXMLのストリームを取得する。
+     * @param relId
+     * @return
+     * @throws IOException
+     * @throws XlsMapperException
+     */
+    InputStream getSheetData(final String relId) throws IOException, XlsMapperException {
+        try {
+            return reader.getSheet(relId);
+        } catch(OpenXML4JException e) {
+            throw new XlsMapperException(String.format("fail load sheet data '%s'.", relId), e);
+        }
+    }
+    
+    /**
+     * 共有文字列を取得する。
+     * @param index 共有文字列のインデックス
+     * @return
+     */
+    String getSharedString(final int index) {
+        return sharedStrings.get(index);
+    }
+    
+    StylesTable getStylesTable() {
+        return stylesTable;
+    }
+    
+    /**
+     * ワークブックを閉じる。
+     * <p>読み込み専用として開いているため、元のファイルへの書き込みは行わない。
+     *    <br>ストリームから開いた場合は、一時ファイルを削除する。
+     * </p>
+     */
+    @Override
+    public void close() throws IOException {
+        pkg.revert();
+        
+        if(tempFile != null) {
+            tempFile.delete();
+            tempFile = null;
+        }
+    }
+    
+}
@@ -0,0 +1,483 @@
+package com.gh.mygreen.xlsmapper.streaming;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.ArgUtils;
+import com.gh.mygreen.xlsmapper.BeanMapping;
+import com.gh.mygreen.xlsmapper.FieldAdaptorProxy;
+import com.gh.mygreen.xlsmapper.LoadingWorkObject;
+import com.gh.mygreen.xlsmapper.NeedProcess;
+import com.gh.mygreen.xlsmapper.SheetNotFoundException;
+import com.gh.mygreen.xlsmapper.Utils;
+import com.gh.mygreen.xlsmapper.XlsMapperConfig;
+import com.gh.mygreen.xlsmapper.XlsMapperException;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.annotation.XlsVerticalRecords;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+import com.gh.mygreen.xlsmapper.xml.XmlIO;
+import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
+
+
+/**
+ * xlsx形式のExcelシートを、ストリーミングによりJavaBeanにマッピングするクラス。
+ * <p>{@link com.gh.mygreen.xlsmapper.XlsLoader}と異なり、ワークブック全体をメモリ上に展開せず、
+ *    シートを上から1行ずつ読み込みながら、アノテーション{@link XlsHorizontalRecords}の表のレコードにマッピングする。
+ *    <br>そのため、使用するメモリは共有文字列のテーブルと1行分のデータ程度に抑えられ、大量のレコードを持つシートの読み込みに向いている。
+ * </p>
+ * <p>ただし、次の制約がある。
+ * <ul>
+ *   <li>対象は、xlsx形式のファイルのみ。</li>
+ *   <li>マッピング対象は、アノテーション{@link XlsHorizontalRecords}を付与したフィールドのみ。それ以外のアノテーションは無視する。</li>
+ *   <li>{@link HorizontalRecordsReader}がサポートしない機能は利用できない。</li>
+ *   <li>数式のセルは、ファイルに保存されている計算結果の値を読み込む。</li>
+ *   <li>{@link XlsPreLoad}などのメソッドの引数に渡されるシートは、読み込み中の行のみを保持する作業用のシートとなる。</li>
+ * </ul>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class XlsStreamingLoader {
+    
+    private static final Logger logger = LoggerFactory.getLogger(XlsStreamingLoader.class);
+    
+    private XlsMapperConfig config;
+    
+    public XlsStreamingLoader(final XlsMapperConfig config) {
+        this.config = config;
+    }
+    
+    public XlsStreamingLoader() {
+        this(new XlsMapperConfig());
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz マッピング先のクラスタイプ。
+     * @return
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final InputStream xlsIn, final Class<P> clazz) throws XlsMapperException, IOException {
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        
+        return load(xlsIn, clazz, null, null);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final InputStream xlsIn, final Class<P> clazz, final SheetBindingErrors errors)
+            throws XlsMapperException, IOException {
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        
+        return load(xlsIn, clazz, null, errors);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return シートが見つからず、読み飛ばす設定の場合は、nullを返す。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final InputStream xlsIn, final Class<P> clazz, final InputStream xmlIn,
+            final SheetBindingErrors errors) throws XlsMapperException, IOException {
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        
+        final LoadingWorkObject work = createWorkObject(clazz, xmlIn, errors);
+        final XlsSheet sheetAnno = getSheetAnnotation(clazz, work);
+        
+        try(StreamingWorkbook book = StreamingWorkbook.open(xlsIn)) {
+            
+            final int[] sheetIndexes;
+            try {
+                sheetIndexes = book.findSheetIndexes(sheetAnno, clazz);
+            } catch(SheetNotFoundException e) {
+                if(config.isIgnoreSheetNotFound()){
+                    logger.warn("skip loading by not-found sheet.", e);
+                    return null;
+                } else {
+                    throw e;
+                }
+            }
+            
+            try(StreamingSheetReader sheetReader = book.openSheet(sheetIndexes[0])) {
+                return loadSheet(sheetReader, clazz, work);
+            }
+        }
+        
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、指定したフィールドの表のレコードを1件ずつ取得する。
+     * <p>全てのレコードをリストとして保持せずに、シートを読み込みながらレコードを返す。
+     *    <br>そのため、読み込みながらデータベースに登録するなど、大量のレコードを扱う場合に、使用するメモリを抑えることができる。
+     * </p>
+     * <p>シートのJavaBeanのインスタンスは作成しないため、シートのクラスに定義された{@link XlsPreLoad}などのメソッドは実行しない。
+     * 
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz シートのマッピング先のクラスタイプ。
+     * @param fieldName アノテーション{@link XlsHorizontalRecords}を付与したフィールド名。
+     * @return レコードのイテレータ。使用後は{@link RecordIterator#close()}で閉じる必要がある。
+     *         シートが見つからず、読み飛ばす設定の場合は、レコードを持たないイテレータを返す。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     * @throws IllegalArgumentException fieldName is empty.
+     * @throws IllegalArgumentException fieldNameに該当するフィールドに、アノテーション{@link XlsHorizontalRecords}が付与されていない場合。
+     */
+    public <T> RecordIterator<T> streamRecords(final InputStream xlsIn, final Class<?> clazz, final String fieldName)
+            throws XlsMapperException, IOException {
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        ArgUtils.notEmpty(fieldName, "fieldName");
+        
+        return streamRecords(xlsIn, clazz, fieldName, null, null);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、指定したフィールドの表のレコードを1件ずつ取得する。
+     * 
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz シートのマッピング先のクラスタイプ。
+     * @param fieldName アノテーション{@link XlsHorizontalRecords}を付与したフィールド名。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return レコードのイテレータ。使用後は{@link RecordIterator#close()}で閉じる必要がある。
+     *         シートが見つからず、読み飛ばす設定の場合は、レコードを持たないイテレータを返す。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     * @throws IllegalArgumentException fieldName is empty.
+     * @throws IllegalArgumentException fieldNameに該当するフィールドに、アノテーション{@link XlsHorizontalRecords}が付与されていない場合。
+     */
+    public <T> RecordIterator<T> streamRecords(final InputStream xlsIn, final Class<?> clazz, final String fieldName,
+            final InputStream xmlIn, final SheetBindingErrors errors) throws XlsMapperException, IOException {
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        ArgUtils.notEmpty(fieldName, "fieldName");
+        
+        final LoadingWorkObject work = createWorkObject(clazz, xmlIn, errors);
+        final XlsSheet sheetAnno = getSheetAnnotation(clazz, work);
+        
+        final FieldAdaptor adaptor = findRecordsAdaptor(clazz, fieldName, work.getAnnoReader());
+        if(adaptor == null) {
+            throw new IllegalArgumentException(String.format("With '%s', not found field '%s' with '@XlsHorizontalRecords'.",
+                    clazz.getName(), fieldName));
+        }
+        
+        final StreamingWorkbook book = StreamingWorkbook.open(xlsIn);
+        StreamingSheetReader sheetReader = null;
+        try {
+            final int[] sheetIndexes;
+            try {
+                sheetIndexes = book.findSheetIndexes(sheetAnno, clazz);
+            } catch(SheetNotFoundException e) {
+                if(config.isIgnoreSheetNotFound()){
+                    logger.warn("skip loading by not-found sheet.", e);
+                    book.close();
+                    return RecordIterator.empty(work);
+                } else {
+                    throw e;
+                }
+            }
+            
+            sheetReader = book.openSheet(sheetIndexes[0]);
+            work.getErrors().setSheetName(sheetReader.getSheetName());
+            
+            final HorizontalRecordsReader table = createRecordsReader(sheetReader, adaptor,
+                    adaptor.getLoadingAnnotation(XlsHorizontalRecords.class), work);
+            return new RecordIterator<T>(book, sheetReader, table, config, work);
+            
+        } catch(XlsMapperException | IOException | RuntimeException e) {
+            if(sheetReader != null) {
+                sheetReader.close();
+            }
+            book.close();
+            throw e;
+        }
+        
+    }
+    
+    /**
+     * 読み込み時の作業情報を作成する。
+     */
+    private LoadingWorkObject createWorkObject(final Class<?> clazz, final InputStream xmlIn,
+            final SheetBindingErrors errors) throws XlsMapperException {
+            
+        XmlInfo xmlInfo = null;
+        if(xmlIn != null) {
+            xmlInfo = XmlIO.load(xmlIn);
+        }
+        
+        final LoadingWorkObject work = new LoadingWorkObject();
+        
+        final AnnotationReader annoReader = new AnnotationReader(xmlInfo);
+        work.setAnnoReader(annoReader);
+        
+        if(errors != null) {
+            work.setErrors(errors);
+        } else {
+            work.setErrors(new SheetBindingErrors(clazz));
+        }
+        
+        return work;
+    }
+    
+    /**
+     * シートのクラスに付与されているアノテーション{@link XlsSheet}を取得する。
+     * @throws AnnotationInvalidException アノテーションが付与されていない場合。
+     */
+    private XlsSheet getSheetAnnotation(final Class<?> clazz, final LoadingWorkObject work) throws XlsMapperException {
+        
+        final XlsSheet sheetAnno = work.getAnnoReader().getAnnotation(clazz, XlsSheet.class);
+        if(sheetAnno == null) {
+            throw new AnnotationInvalidException(String.format("With '%s', cannot find annoation '@XlsSheet'",
+                    clazz.getName()), sheetAnno);
+        }
+        
+        return sheetAnno;
+    }
+    
+    /**
+     * シートを読み込み、任意のクラスにマッピングする。
+     * @param sheetReader シートのリーダー
+     * @param clazz マッピング先のクラスタイプ。
+     * @param work
+     * @return
+     * @throws XlsMapperException
+     */
+    private <P> P loadSheet(final StreamingSheetReader sheetReader, final Class<P> clazz, final LoadingWorkObject work)
+            throws XlsMapperException {
+            
+        // 値の読み込み対象のJavaBeanオブジェクトの作成
+        final P beanObj = config.createBean(clazz);
+        
+        work.getErrors().setSheetName(sheetReader.getSheetName());
+        
+        // クラスのマッピング情報の取得
+        final BeanMapping beanMapping = config.getBeanMapping(clazz, work.getAnnoReader());
+        
+        // リスナークラスの@PreLoadd用メソッドの実行
+        if(beanMapping.hasListener()) {
+            Object listenerObj = config.createBean(beanMapping.getListenerClass());
+            for(Method method : beanMapping.getListenerPreLoadMethods()) {
+                Utils.invokeNeedProcessMethod(listenerObj, method, beanObj, sheetReader.getSheet(), config, work.getErrors());
+            }
+        }
+        
+        // @PreLoad用のメソッドの実行
+        for(Method method : beanMapping.getPreLoadMethods()) {
+            Utils.invokeNeedProcessMethod(beanObj, method, beanObj, sheetReader.getSheet(), config, work.getErrors());
+        }
+        
+        // @PostLoadのメソッドの取得
+        for(Method method : beanMapping.getPostLoadMethods()) {
+            work.addNeedPostProcess(new NeedProcess(beanObj, beanObj, method));
+        }
+        
+        final List<HorizontalRecordsReader> tables = createRecordsReaders(sheetReader, beanMapping, work);
+        final List<List<Object>> results = new ArrayList<>();
+        for(int i=0; i < tables.size(); i++) {
+            results.add(new ArrayList<>());
+        }
+        
+        // シートを上から1行ずつ読み込み、各表に振り分ける。
+        Row row;
+        while(!isFinishedAll(tables) && (row = sheetReader.nextRow()) != null) {
+            for(int i=0; i < tables.size(); i++) {
+                final HorizontalRecordsReader table = tables.get(i);
+                if(table.isFinished()) {
+                    continue;
+                }
+                
+                final Object record = table.readRecord(row);
+                if(record != null) {
+                    results.get(i).add(record);
+                }
+            }
+        }
+        
+        for(int i=0; i < tables.size(); i++) {
+            final HorizontalRecordsReader table = tables.get(i);
+            table.finish();
+            if(!table.isFoundTable()) {
+                continue;
+            }
+            
+            if(table.getTableLabel() != null) {
+                Utils.setLabel(table.getTableLabel(), beanObj, table.getAdaptor().getName());
+            }
+            
+            setRecords(beanObj, table, results.get(i));
+        }
+        
+        // リスナークラスの@PostLoadの取得
+        if(beanMapping.hasListener()) {
+            Object listenerObj = config.createBean(beanMapping.getListenerClass());
+            for(Method method : beanMapping.getListenerPostLoadMethods()) {
+                work.addNeedPostProcess(new NeedProcess(beanObj, listenerObj, method));
+            }
+        }
+        
+        //@PostLoadが付与されているメソッドの実行
+        for(NeedProcess need : work.getNeedPostProcesses()) {
+            Utils.invokeNeedProcessMethod(need.getProcess(), need.getMethod(), need.getTarget(), sheetReader.getSheet(), config, work.getErrors());
+        }
+        
+        return beanObj;
+    }
+    
+    /**
+     * アノテーション{@link XlsHorizontalRecords}が付与されたフィールドに対する、表のリーダーを作成する。
+     * <p>それ以外のアノテーションが付与されたフィールドは読み飛ばす。
+     */
+    private List<HorizontalRecordsReader> createRecordsReaders(final StreamingSheetReader sheetReader,
+            final BeanMapping beanMapping, final LoadingWorkObject work) throws XlsMapperException {
+            
+        final List<HorizontalRecordsReader> tables = new ArrayList<>();
+        for(FieldAdaptorProxy adaptorProxy : beanMapping.getLoadingProxies()) {
+            final Annotation anno = adaptorProxy.getAnnotation();
+            if(anno instanceof XlsHorizontalRecords) {
+                tables.add(createRecordsReader(sheetReader, adaptorProxy.getAdaptor(), (XlsHorizontalRecords) anno, work));
+                
+            } else {
+                logger.warn("skip streaming loading '@{}' with '{}'.",
+                        anno.annotationType().getSimpleName(), adaptorProxy.getAdaptor().getNameWithClass());
+            }
+        }
+        
+        return tables;
+    }
+    
+    /**
+     * 1つの表に対するリーダーを作成する。
+     */
+    private HorizontalRecordsReader createRecordsReader(final StreamingSheetReader sheetReader,
+            final FieldAdaptor adaptor, final XlsHorizontalRecords anno, final LoadingWorkObject work) throws XlsMapperException {
+            
+        final Class<?> fieldClass = adaptor.getTargetClass();
+        if(!Collection.class.isAssignableFrom(fieldClass) && !fieldClass.isArray()) {
+            throw new AnnotationInvalidException(
+                    String.format("With '%s', '@XlsHorizontalRecords' should only granted Collection(List/Set) or Array. : %s",
+                            adaptor.getNameWithClass(), fieldClass.getName()),
+                            anno);
+        }
+        
+        Class<?> recordClass = anno.recordClass();
+        if(recordClass == Object.class) {
+            recordClass = adaptor.getLoadingGenericClassType();
+        }
+        
+        return new HorizontalRecordsReader(sheetReader, anno, adaptor, recordClass, config, work);
+    }
+    
+    /**
+     * 指定したフィールドに付与されているアノテーション{@link XlsHorizontalRecords}を探す。
+     * <p>setterメソッド、フィールドの順に探す。
+     * @return 見つからない場合はnullを返す。
+     * @throws AnnotationInvalidException アノテーション{@link XlsVerticalRecords}が付与されている場合。
+     */
+    private FieldAdaptor findRecordsAdaptor(final Class<?> clazz, final String fieldName,
+            final AnnotationReader annoReader) throws XlsMapperException {
+            
+        final BeanMapping beanMapping = config.getBeanMapping(clazz, annoReader);
+        for(FieldAdaptorProxy adaptorProxy : beanMapping.getLoadingProxies()) {
+            final FieldAdaptor adaptor = adaptorProxy.getAdaptor();
+            if(!adaptor.getName().equals(fieldName)) {
+                continue;
+            }
+            
+            if(adaptorProxy.getAnnotation() instanceof XlsHorizontalRecords) {
+                return adaptor;
+                
+            } else if(adaptorProxy.getAnnotation() instanceof XlsVerticalRecords) {
+                // 垂直方向の表は、全ての行を読み込むまでレコードが確定しないため、ストリーミングで読み込めない。
+                throw new AnnotationInvalidException(
+                        String.format("With '%s', streaming load not support '@XlsVerticalRecords'.",
+                                adaptor.getNameWithClass()),
+                                adaptorProxy.getAnnotation());
+            }
+        }
+        
+        return null;
+    }
+    
+    private boolean isFinishedAll(final List<HorizontalRecordsReader> tables) {
+        for(HorizontalRecordsReader table : tables) {
+            if(!table.isFinished()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 読み込んだレコードを、フィールドのクラスタイプに合わせて設定する。
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void setRecords(final Object beanObj, final HorizontalRecordsReader table, final List<Object> records) {
+        
+        final FieldAdaptor adaptor = table.getAdaptor();
+        final Class<?> clazz = adaptor.getTargetClass();
+        if(clazz.isArray()) {
+            final Object array = Array.newInstance(table.getRecordClass(), records.size());
+            for(int i=0; i < records.size(); i++) {
+                Array.set(array, i, records.get(i));
+            }
+            
+            adaptor.setValue(beanObj, array);
+            
+        } else {
+            final Collection<?> collection = Utils.convertListToCollection(records, (Class<Collection>)clazz, config.getBeanFactory());
+            adaptor.setValue(beanObj, collection);
+        }
+    }
+    
+    public XlsMapperConfig getConfig() {
+        return config;
+    }
+    
+    public void setConfig(XlsMapperConfig config) {
+        this.config = config;
+    }
+    
+}
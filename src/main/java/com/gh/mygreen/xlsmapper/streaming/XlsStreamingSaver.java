@@ -0,0 +1,375 @@
+package com.gh.mygreen.xlsmapper.streaming;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.ArgUtils;
+import com.gh.mygreen.xlsmapper.BeanMapping;
+import com.gh.mygreen.xlsmapper.CellStyleCache;
+import com.gh.mygreen.xlsmapper.FieldAdaptorProxy;
+import com.gh.mygreen.xlsmapper.NeedProcess;
+import com.gh.mygreen.xlsmapper.POIUtils;
+import com.gh.mygreen.xlsmapper.SavingWorkObject;
+import com.gh.mygreen.xlsmapper.SheetNotFoundException;
+import com.gh.mygreen.xlsmapper.Utils;
+import com.gh.mygreen.xlsmapper.XlsMapperConfig;
+import com.gh.mygreen.xlsmapper.XlsMapperException;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellAddress;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+import com.gh.mygreen.xlsmapper.xml.XmlIO;
+import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
+
+
+/**
+ * JavaBeanを、ストリーミングによりxlsx形式のExcelシートに出力するクラス。
+ * <p>{@link com.gh.mygreen.xlsmapper.XlsSaver}と異なり、アノテーション{@link XlsHorizontalRecords}の表のレコードを、
+ *    POIの{@link SXSSFWorkbook}を利用して書き込む。
+ *    <br>書き込んだ行は、ウィンドウサイズ({@link #setRowAccessWindowSize(int)})を超えると一時ファイルに書き出されるため、
+ *    大量のレコードを出力する場合でも、使用するメモリを抑えることができる。
+ * </p>
+ * <p>ストリーミングで書き込む表は、シート上で一番下にある1つの表のみとなる。
+ *    それ以外のアノテーションが付与されたフィールドや表は、{@link com.gh.mygreen.xlsmapper.XlsSaver}と同様に書き込む。
+ * </p>
+ * <p>ただし、次の制約がある。
+ * <ul>
+ *   <li>テンプレートは、xlsx形式のファイルのみ。</li>
+ *   <li>ストリーミングで書き込む表の下には、値を持つセルを配置できない。</li>
+ *   <li>ストリーミングで書き込む表のレコードのクラスには、{@link com.gh.mygreen.xlsmapper.annotation.XlsNestedRecords}、
+ *       {@link com.gh.mygreen.xlsmapper.annotation.XlsMapColumns}は利用できない。</li>
+ *   <li>ストリーミングで書き込む表に対しては、入力規則、名前の範囲、コメントの位置の補正は行わない。</li>
+ *   <li>ストリーミングで書き込む表の属性{@link XlsHorizontalRecords#overRecord()}は、
+ *       {@link com.gh.mygreen.xlsmapper.annotation.OverRecordOperate#Copy}と
+ *       {@link com.gh.mygreen.xlsmapper.annotation.OverRecordOperate#Insert}のどちらも、
+ *       データ行の書式をコピーした行を表の下に追加する。</li>
+ *   <li>{@link XlsPostSave}などのメソッドの引数に渡されるシートは、テンプレートのシートとなり、
+ *       ストリーミングで書き込んだ行は参照できない。</li>
+ * </ul>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class XlsStreamingSaver {
+    
+    private static final Logger logger = LoggerFactory.getLogger(XlsStreamingSaver.class);
+    
+    private XlsMapperConfig config;
+    
+    /**
+     * メモリ上に保持する行数
+     */
+    private int rowAccessWindowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+    
+    public XlsStreamingSaver(final XlsMapperConfig config) {
+        this.config = config;
+    }
+    
+    public XlsStreamingSaver() {
+        this(new XlsMapperConfig());
+    }
+    
+    /**
+     * JavaのオブジェクトをExeclファイルに出力する。
+     * <p>出力するファイルは、引数で指定した雛形となるテンプレート用のExcelファイルをもとに出力する。
+     * @param templateXlsIn 雛形となるExcelファイルの入力
+     * @param xlsOut 出力
+     * @param beanObj 書き込むオブジェクト
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException templateXlsIn == null.
+     * @throws IllegalArgumentException xlsOut == null.
+     * @throws IllegalArgumentException beanObj == null.
+     */
+    public void save(final InputStream templateXlsIn, final OutputStream xlsOut, final Object beanObj)
+            throws XlsMapperException, IOException {
+        ArgUtils.notNull(templateXlsIn, "templateXlsIn");
+        ArgUtils.notNull(xlsOut, "xlsOut");
+        ArgUtils.notNull(beanObj, "beanObj");
+        
+        save(templateXlsIn, xlsOut, beanObj, null);
+    }
+    
+    /**
+     * XMLによるマッピングを指定して、JavaのオブジェクトをExcelファイルに出力する。
+     * @param templateXlsIn 雛形となるExcelファイルの入力
+     * @param xlsOut 出力
+     * @param beanObj 書き込むオブジェクト
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException templateXlsIn == null.
+     * @throws IllegalArgumentException xlsOut == null.
+     * @throws IllegalArgumentException beanObj == null.
+     */
+    public void save(final InputStream templateXlsIn, final OutputStream xlsOut, final Object beanObj,
+            final InputStream xmlIn) throws XlsMapperException, IOException {
+        ArgUtils.notNull(templateXlsIn, "templateXlsIn");
+        ArgUtils.notNull(xlsOut, "xlsOut");
+        ArgUtils.notNull(beanObj, "beanObj");
+        
+        XmlInfo xmlInfo = null;
+        if(xmlIn != null) {
+            xmlInfo = XmlIO.load(xmlIn);
+        }
+        
+        final AnnotationReader annoReader = new AnnotationReader(xmlInfo);
+        
+        final SavingWorkObject work = new SavingWorkObject();
+        work.setAnnoReader(annoReader);
+        work.setErrors(new SheetBindingErrors(beanObj.getClass()));
+        
+        final Workbook book;
+        try {
+            book = WorkbookFactory.create(templateXlsIn);
+            
+        } catch (InvalidFormatException | IOException e) {
+            throw new XlsMapperException("fail load template Excel File", e);
+        }
+        
+        if(!(book instanceof XSSFWorkbook)) {
+            throw new XlsMapperException("streaming save support only xlsx template Excel File.");
+        }
+        
+        final Class<?> clazz = beanObj.getClass();
+        final XlsSheet sheetAnno = annoReader.getAnnotation(clazz, XlsSheet.class);
+        if(sheetAnno == null) {
+            throw new AnnotationInvalidException(String.format("With '%s', cannot finld annoation '@XlsSheet'.",
+                    clazz.getName()), sheetAnno);
+        }
+        
+        final Sheet sheet;
+        try {
+            sheet = config.getSheetFinder().findForSaving(book, sheetAnno, annoReader, beanObj)[0];
+            
+        } catch(SheetNotFoundException e) {
+            if(config.isIgnoreSheetNotFound()){
+                logger.warn("skip saving by not-found sheet.", e);
+                return;
+            } else {
+                throw e;
+            }
+        }
+        
+        final SXSSFWorkbook streamingBook = saveSheet((XSSFWorkbook) book, (XSSFSheet) sheet, beanObj, work);
+        try {
+            if(config.isFormulaRecalcurationOnSave()) {
+                streamingBook.setForceFormulaRecalculation(true);
+            }
+            
+            streamingBook.write(xlsOut);
+            
+        } finally {
+            // 一時ファイルの削除
+            streamingBook.dispose();
+        }
+    }
+    
+    /**
+     * 任意のクラスのオブジェクトを、Excelシートにマッピングする。
+     * @return 書き込み後のワークブック。
+     */
+    private SXSSFWorkbook saveSheet(final XSSFWorkbook book, final XSSFSheet sheet, final Object beanObj,
+            final SavingWorkObject work) throws XlsMapperException {
+            
+        final Class<?> clazz = beanObj.getClass();
+        
+        work.getErrors().setSheetName(sheet.getSheetName());
+        
+        // クラスのマッピング情報の取得
+        final BeanMapping beanMapping = config.getBeanMapping(clazz, work.getAnnoReader());
+        
+        // リスナークラスの@PreSave用メソッドの実行
+        if(beanMapping.hasListener()) {
+            Object listenerObj = config.createBean(beanMapping.getListenerClass());
+            for(Method method : beanMapping.getListenerPreSaveMethods()) {
+                Utils.invokeNeedProcessMethod(listenerObj, method, beanObj, sheet, config, work.getErrors());
+            }
+        }
+        
+        // @PreSave用のメソッドの実行
+        for(Method method : beanMapping.getPreSaveMethods()) {
+            Utils.invokeNeedProcessMethod(beanObj, method, beanObj, sheet, config, work.getErrors());
+        }
+        
+        // @PostSaveのメソッドの取得
+        for(Method method : beanMapping.getPostSaveMethods()) {
+            work.addNeedPostProcess(new NeedProcess(beanObj, beanObj, method));
+        }
+        
+        // ストリーミングで書き込む表を決める
+        final List<FieldAdaptorProxy> adaptorProxies = new ArrayList<>(beanMapping.getSavingProxies());
+        final FieldAdaptorProxy streamingProxy = findStreamingRecords(sheet, adaptorProxies);
+        if(streamingProxy != null) {
+            adaptorProxies.remove(streamingProxy);
+        }
+        
+        // 並び替え済みの順番で保存処理を実行する
+        final CellStyleCache previousCellStyleCache = work.beginCellStyleCache(book);
+        try {
+            for(FieldAdaptorProxy adaptorProxy : adaptorProxies) {
+                adaptorProxy.saveProcess(sheet, beanObj, config, work);
+            }
+        } finally {
+            work.endCellStyleCache(previousCellStyleCache);
+        }
+        
+        HorizontalRecordsWriter writer = null;
+        List<Object> records = null;
+        if(streamingProxy != null) {
+            final XlsHorizontalRecords anno = (XlsHorizontalRecords) streamingProxy.getAnnotation();
+            final FieldAdaptor adaptor = streamingProxy.getAdaptor();
+            
+            // ラベルの設定
+            // 表の位置と同じく、行、列の順に探す。
+            if(Utils.isNotEmpty(anno.tableLabel())) {
+                final Cell tableLabelCell = Utils.getCell(sheet, anno.tableLabel(), 0, 0, !anno.optional(), config);
+                if(tableLabelCell != null) {
+                    Utils.setLabel(POIUtils.getCellContents(tableLabelCell, config.getCellFormatter()), beanObj, adaptor.getName());
+                }
+            }
+            
+            Class<?> recordClass = anno.recordClass();
+            if(recordClass == Object.class) {
+                recordClass = adaptor.getSavingGenericClassType();
+            }
+            
+            records = getRecords(beanObj, adaptor, anno);
+            writer = new HorizontalRecordsWriter(sheet, anno, adaptor, recordClass, config, work);
+        }
+        
+        // テンプレートのシートへの書き込みが全て終わってから、ストリーミング用のワークブックを作成する。
+        final SXSSFWorkbook streamingBook = new SXSSFWorkbook(book, rowAccessWindowSize);
+        boolean completed = false;
+        try {
+            if(writer != null) {
+                final SXSSFSheet streamingSheet = streamingBook.getSheetAt(book.getSheetIndex(sheet));
+                final CellStyleCache previousStreamingCellStyleCache = work.beginCellStyleCache(streamingBook);
+                try {
+                    writer.write(streamingSheet, records);
+                } finally {
+                    work.endCellStyleCache(previousStreamingCellStyleCache);
+                }
+            }
+            
+            // リスナークラスの@PostSaveの取得
+            if(beanMapping.hasListener()) {
+                Object listenerObj = config.createBean(beanMapping.getListenerClass());
+                for(Method method : beanMapping.getListenerPostSaveMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(beanObj, listenerObj, method));
+                }
+            }
+            
+            //@PostSaveが付与されているメソッドの実行
+            for(NeedProcess need : work.getNeedPostProcesses()) {
+                Utils.invokeNeedProcessMethod(need.getProcess(), need.getMethod(), need.getTarget(), sheet, config, work.getErrors());
+            }
+            
+            completed = true;
+            return streamingBook;
+            
+        } finally {
+            if(!completed) {
+                // 呼び出し元ではワークブックを受け取れないため、失敗した場合はここで一時ファイルを削除する。
+                streamingBook.dispose();
+            }
+        }
+    }
+    
+    /**
+     * ストリーミングで書き込む表として、テンプレート上で一番下にある{@link XlsHorizontalRecords}の表を探す。
+     * @return 該当する表がない場合は、nullを返す。
+     */
+    private FieldAdaptorProxy findStreamingRecords(final Sheet sheet, final List<FieldAdaptorProxy> adaptorProxies)
+            throws XlsMapperException {
+            
+        FieldAdaptorProxy found = null;
+        int foundRow = -1;
+        for(FieldAdaptorProxy adaptorProxy : adaptorProxies) {
+            if(!(adaptorProxy.getAnnotation() instanceof XlsHorizontalRecords)) {
+                continue;
+            }
+            
+            final CellAddress position = HorizontalRecordsWriter.getHeaderPosition(sheet,
+                    (XlsHorizontalRecords) adaptorProxy.getAnnotation(), adaptorProxy.getAdaptor(), config);
+            if(position != null && position.getRow() > foundRow) {
+                found = adaptorProxy;
+                foundRow = position.getRow();
+            }
+        }
+        
+        return found;
+    }
+    
+    /**
+     * 書き込むレコードを取得する。
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> getRecords(final Object beanObj, final FieldAdaptor adaptor, final XlsHorizontalRecords anno)
+            throws AnnotationInvalidException {
+            
+        final Class<?> clazz = adaptor.getTargetClass();
+        final Object result = adaptor.getValue(beanObj);
+        if(Collection.class.isAssignableFrom(clazz)) {
+            final Collection<Object> value = (result == null ? new ArrayList<Object>() : (Collection<Object>) result);
+            return Utils.convertCollectionToList(value);
+            
+        } else if(clazz.isArray()) {
+            return (result == null ? new ArrayList<Object>() : Arrays.asList((Object[]) result));
+            
+        } else {
+            throw new AnnotationInvalidException(
+                    String.format("With '%s', annotation '@XlsHorizontalRecords' should only granted Collection(List/Set) or array. : %s",
+                            adaptor.getNameWithClass(), clazz.getName()),
+                            anno);
+        }
+    }
+    
+    public XlsMapperConfig getConfig() {
+        return config;
+    }
+    
+    public void setConfig(XlsMapperConfig config) {
+        this.config = config;
+    }
+    
+    /**
+     * ストリーミングで書き込む際に、メモリ上に保持する行数を取得する。
+     * @return 初期値は、{@link SXSSFWorkbook#DEFAULT_WINDOW_SIZE}。
+     */
+    public int getRowAccessWindowSize() {
+        return rowAccessWindowSize;
+    }
+    
+    /**
+     * ストリーミングで書き込む際に、メモリ上に保持する行数を設定する。
+     * @param rowAccessWindowSize メモリ上に保持する行数。
+     */
+    public void setRowAccessWindowSize(int rowAccessWindowSize) {
+        this.rowAccessWindowSize = rowAccessWindowSize;
+    }
+    
+}
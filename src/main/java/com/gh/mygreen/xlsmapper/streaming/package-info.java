@@ -0,0 +1,7 @@
+/**
+ * xlsx形式のシートを、ワークブック全体をメモリ上に展開せずに行単位で読み込む機能を提供します。
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+package com.gh.mygreen.xlsmapper.streaming;
@@ -17,7 +17,7 @@ import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
  * フィールド、メソッドのアノテーションへアクセスするためのクラス。
  * <p>Javaソースに直接アノテーションを付与する場合と、XMLで定義する方法の両方をサポートする。
  * 
- * @version 1.0
+ * @version 1.6
  * @author Naoki Takezoe
  * @author T.TSUCHIE
  *
@@ -43,6 +43,15 @@ public class AnnotationReader {
         this.xmlInfo = xmlInfo;
     }
     
+    /**
+     * XMLで定義した情報を持つかどうか。
+     * @since 1.6
+     * @return true:XMLで定義した情報を持つ場合。
+     */
+    public boolean hasXmlInfo() {
+        return xmlInfo != null;
+    }
+    
     /**
      * Returns all class annotations.
      *
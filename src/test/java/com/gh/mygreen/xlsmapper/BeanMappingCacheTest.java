@@ -0,0 +1,149 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.annotation.XlsCell;
+import com.gh.mygreen.xlsmapper.annotation.XlsHint;
+import com.gh.mygreen.xlsmapper.annotation.XlsListener;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldProcessorRegstry;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
+
+/**
+ * {@link BeanMappingCache}のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class BeanMappingCacheTest {
+    
+    /**
+     * 同じクラスの場合は、キャッシュしたインスタンスを返す。
+     */
+    @Test
+    public void test_get_cached() throws Exception {
+        
+        final BeanMappingCache cache = new BeanMappingCache();
+        final FieldProcessorRegstry registry = new FieldProcessorRegstry();
+        
+        final BeanMapping mapping1 = cache.get(SampleSheet.class, new AnnotationReader(null), registry);
+        final BeanMapping mapping2 = cache.get(SampleSheet.class, new AnnotationReader(null), registry);
+        
+        assertThat(mapping2, is(sameInstance(mapping1)));
+        assertThat(mapping2.getLoadingProxies(), is(sameInstance(mapping1.getLoadingProxies())));
+        assertThat(cache.size(), is(1));
+        
+        cache.clear();
+        assertThat(cache.size(), is(0));
+        assertThat(cache.get(SampleSheet.class, new AnnotationReader(null), registry), is(not(sameInstance(mapping1))));
+    }
+    
+    /**
+     * XMLの定義を持つ場合と、プロセッサの管理クラスが異なる場合
+     */
+    @Test
+    public void test_get_notCached() throws Exception {
+        
+        final BeanMappingCache cache = new BeanMappingCache();
+        final FieldProcessorRegstry registry = new FieldProcessorRegstry();
+        
+        final BeanMapping mapping1 = cache.get(SampleSheet.class, new AnnotationReader(null), registry);
+        
+        // XMLの定義を持つ場合は、AnnotationReaderのインスタンス単位
+        final AnnotationReader xmlReader = new AnnotationReader(new XmlInfo());
+        final BeanMapping mapping2 = cache.get(SampleSheet.class, xmlReader, registry);
+        assertThat(mapping2, is(not(sameInstance(mapping1))));
+        assertThat(cache.get(SampleSheet.class, xmlReader, registry), is(sameInstance(mapping2)));
+        assertThat(cache.get(SampleSheet.class, new AnnotationReader(new XmlInfo()), registry), is(not(sameInstance(mapping2))));
+        
+        // 別のAnnotationReaderを参照した後も、キャッシュから取得する
+        assertThat(cache.get(SampleSheet.class, xmlReader, registry), is(sameInstance(mapping2)));
+        
+        assertThat(cache.get(SampleSheet.class, new AnnotationReader(null), registry), is(sameInstance(mapping1)));
+        
+        // プロセッサの管理クラスが異なる場合
+        final FieldProcessorRegstry registry2 = new FieldProcessorRegstry();
+        final BeanMapping mapping3 = cache.get(SampleSheet.class, new AnnotationReader(null), registry2);
+        assertThat(mapping3, is(not(sameInstance(mapping1))));
+        assertThat(mapping3.getProcessorRegistry(), is(sameInstance(registry2)));
+        assertThat(cache.get(SampleSheet.class, new AnnotationReader(null), registry2), is(sameInstance(mapping3)));
+    }
+    
+    /**
+     * プロセッサの並び順とライフサイクル用のメソッド
+     */
+    @Test
+    public void test_mapping() throws Exception {
+        
+        final BeanMapping mapping = new XlsMapperConfig().getBeanMapping(SampleSheet.class, new AnnotationReader(null));
+        
+        final List<FieldAdaptorProxy> loadingProxies = mapping.getLoadingProxies();
+        assertThat(loadingProxies, hasSize(3));
+        assertThat(loadingProxies.get(0).getAdaptor().getName(), is("noOrder"));
+        assertThat(loadingProxies.get(1).getAdaptor().getName(), is("second"));
+        assertThat(loadingProxies.get(2).getAdaptor().getName(), is("first"));
+        
+        assertThat(mapping.getSavingProxies(), hasSize(3));
+        
+        assertThat(mapping.getPreLoadMethods(), hasSize(1));
+        assertThat(mapping.getPreLoadMethods().get(0).getName(), is("onPreLoad"));
+        assertThat(mapping.getPostLoadMethods(), hasSize(1));
+        assertThat(mapping.getPostLoadMethods().get(0).getName(), is("onPostLoad"));
+        assertThat(mapping.getPreSaveMethods(), is(empty()));
+        assertThat(mapping.getPostSaveMethods(), is(empty()));
+        assertThat(mapping.getIsEmptyMethod(), is(nullValue()));
+        
+        assertThat(mapping.hasListener(), is(true));
+        assertThat(mapping.getListenerClass(), is((Object)SampleListener.class));
+        assertThat(mapping.getListenerPreLoadMethods(), is(empty()));
+        assertThat(mapping.getListenerPreSaveMethods(), hasSize(1));
+        assertThat(mapping.getListenerPreSaveMethods().get(0).getName(), is("onPreSave"));
+    }
+    
+    @XlsSheet(name="サンプル")
+    @XlsListener(listenerClass=SampleListener.class)
+    private static class SampleSheet {
+        
+        @XlsHint(order=2)
+        @XlsCell(address="A2")
+        private String first;
+        
+        @XlsHint(order=1)
+        @XlsCell(address="A1")
+        private String second;
+        
+        @XlsCell(address="A3")
+        private String noOrder;
+        
+        @XlsPreLoad
+        public void onPreLoad() {
+        
+        }
+        
+        @XlsPostLoad
+        public void onPostLoad() {
+        
+        }
+        
+    }
+    
+    public static class SampleListener {
+        
+        @XlsPreSave
+        public void onPreSave(final Object beanObj) {
+        
+        }
+        
+    }
+    
+}
@@ -0,0 +1,94 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Locale;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+/**
+ * {@link CachedCellFormatter}のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class CachedCellFormatterTest {
+    
+    /**
+     * 委譲先の呼び出し回数を数えるフォーマッター
+     */
+    private static class CountingCellFormatter extends DefaultCellFormatter {
+        
+        int count;
+        
+        @Override
+        public String format(final Cell cell, final Locale locale) {
+            count++;
+            return super.format(cell, locale);
+        }
+    }
+    
+    @Test
+    public void test_format() throws Exception {
+        
+        final Sheet sheet = new XSSFWorkbook().createSheet("テスト");
+        final Cell cell = sheet.createRow(0).createCell(0);
+        cell.setCellValue(12.5);
+        
+        final CountingCellFormatter counter = new CountingCellFormatter();
+        final CachedCellFormatter formatter = new CachedCellFormatter(counter);
+        
+        // 保持を開始していない場合
+        assertThat(formatter.format(cell), is("12.5"));
+        assertThat(formatter.format(cell), is("12.5"));
+        assertThat(counter.count, is(2));
+        
+        // 保持している間は1回だけフォーマットする
+        counter.count = 0;
+        formatter.beginCache(sheet);
+        assertThat(formatter.format(cell), is("12.5"));
+        assertThat(formatter.format(cell), is("12.5"));
+        assertThat(formatter.format(POIUtils.getReadOnlyCell(sheet, 0, 0)), is("12.5"));
+        assertThat(formatter.format(POIUtils.getReadOnlyCell(sheet, 3, 3)), is(""));
+        assertThat(formatter.format(POIUtils.getReadOnlyCell(sheet, 3, 3)), is(""));
+        assertThat(counter.count, is(2));
+        
+        // 別スレッドでは保持しない
+        final String[] other = new String[1];
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                other[0] = formatter.format(cell);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(other[0], is("12.5"));
+        assertThat(counter.count, is(3));
+        counter.count = 2;
+        
+        // 破棄
+        cell.setCellValue(20);
+        assertThat(formatter.format(cell), is("12.5"));
+        formatter.invalidate(cell);
+        assertThat(formatter.format(cell), is("20"));
+        assertThat(counter.count, is(3));
+        
+        cell.setCellValue(30);
+        formatter.invalidate(sheet);
+        assertThat(formatter.format(cell), is("30"));
+        assertThat(counter.count, is(4));
+        
+        // 保持の終了
+        formatter.endCache(sheet);
+        assertThat(formatter.format(cell), is("30"));
+        assertThat(counter.count, is(5));
+        
+    }
+    
+}
@@ -0,0 +1,170 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+/**
+ * {@link CellStyleCache}のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class CellStyleCacheTest {
+    
+    @Test
+    public void test_get() throws Exception {
+        
+        final Workbook workbook1 = new HSSFWorkbook();
+        final Workbook workbook2 = new HSSFWorkbook();
+        
+        // 書き込み中でない場合は、共有しない
+        assertThat(CellStyleCache.get(workbook1), is(not(sameInstance(CellStyleCache.get(workbook1)))));
+        
+        // 書き込み中は、同じワークブックに対してのみ共有する
+        final SavingWorkObject work = new SavingWorkObject();
+        final CellStyleCache previous = work.beginCellStyleCache(workbook1);
+        try {
+            assertThat(previous, is(nullValue()));
+            assertThat(CellStyleCache.get(workbook1), is(sameInstance(work.getCellStyleCache(workbook1))));
+            assertThat(CellStyleCache.get(workbook1), is(sameInstance(CellStyleCache.get(workbook1))));
+            assertThat(CellStyleCache.get(workbook1), is(not(sameInstance(CellStyleCache.get(workbook2)))));
+            
+            // 入れ子の場合は、終了時に元に戻す
+            final SavingWorkObject nestedWork = new SavingWorkObject();
+            final CellStyleCache nestedPrevious = nestedWork.beginCellStyleCache(workbook2);
+            try {
+                assertThat(CellStyleCache.get(workbook2), is(sameInstance(nestedWork.getCellStyleCache(workbook2))));
+            } finally {
+                nestedWork.endCellStyleCache(nestedPrevious);
+            }
+            assertThat(CellStyleCache.get(workbook1), is(sameInstance(work.getCellStyleCache(workbook1))));
+            
+        } finally {
+            work.endCellStyleCache(previous);
+        }
+        
+        // 別スレッドとは共有しない
+        final CellStyleCache[] other = new CellStyleCache[1];
+        final CellStyleCache previous2 = work.beginCellStyleCache(workbook1);
+        try {
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    other[0] = CellStyleCache.get(workbook1);
+                }
+            });
+            thread.start();
+            thread.join();
+            assertThat(other[0], is(not(sameInstance(work.getCellStyleCache(workbook1)))));
+        } finally {
+            work.endCellStyleCache(previous2);
+        }
+        
+        assertThat(CellStyleCache.get(workbook1), is(not(sameInstance(work.getCellStyleCache(workbook1)))));
+        
+    }
+    
+    /**
+     * 同じ書式のスタイルは、1つだけ作成する。
+     */
+    @Test
+    public void test_dataFormat() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet = workbook.createSheet("テスト");
+            final CellStyle template = workbook.createCellStyle();
+            template.setBorderLeft(CellStyle.BORDER_THIN);
+            
+            final short dataFormat = POIUtils.getDataFormatIndex(sheet, "yyyy/m/d");
+            final int numStyles = workbook.getNumCellStyles();
+            
+            // Excel2003形式のスタイルの上限を超える数のセル
+            final CellStyleCache cache = new CellStyleCache(workbook);
+            for(int i=0; i < 5000; i++) {
+                final Cell cell = sheet.createRow(i).createCell(0);
+                cell.setCellStyle(template);
+                
+                cell.setCellStyle(cache.getDataFormatStyle(cell.getCellStyle(), dataFormat));
+            }
+            
+            assertThat(workbook.getNumCellStyles(), is(numStyles + 1));
+            
+            final CellStyle style = sheet.getRow(4999).getCell(0).getCellStyle();
+            assertThat(style.getIndex(), is(not(template.getIndex())));
+            assertThat(style.getDataFormat(), is(dataFormat));
+            assertThat(style.getBorderLeft(), is(CellStyle.BORDER_THIN));
+            
+            // 元のスタイルは変更しない
+            assertThat(template.getDataFormat(), is(not(dataFormat)));
+            
+            // 既に同じ書式の場合
+            assertThat(cache.getDataFormatStyle(style, dataFormat), is(sameInstance(style)));
+        }
+        
+    }
+    
+    @Test
+    public void test_wrapText_shrinkToFit() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet = workbook.createSheet("テスト");
+            final Row row = sheet.createRow(0);
+            final int numStyles = workbook.getNumCellStyles();
+            final CellStyle defaultStyle = row.createCell(20).getCellStyle();
+            
+            // 書き込み処理と同じく、キャッシュを共有する
+            final SavingWorkObject work = new SavingWorkObject();
+            final CellStyleCache previous = work.beginCellStyleCache(workbook);
+            try {
+                for(int i=0; i < 10; i++) {
+                    POIUtils.wrapCellText(row.createCell(i), true);
+                }
+                
+                final CellStyle wrapStyle = row.getCell(0).getCellStyle();
+                assertThat(wrapStyle.getWrapText(), is(true));
+                assertThat(wrapStyle.getShrinkToFit(), is(false));
+                assertThat(row.getCell(9).getCellStyle().getIndex(), is(wrapStyle.getIndex()));
+                assertThat(workbook.getNumCellStyles(), is(numStyles + 1));
+                
+                // 既定のスタイルは変更しない
+                assertThat(defaultStyle.getWrapText(), is(false));
+                
+                // 同じ変更を繰り返しても作成しない
+                POIUtils.wrapCellText(row.getCell(0), true);
+                assertThat(row.getCell(0).getCellStyle().getIndex(), is(wrapStyle.getIndex()));
+                assertThat(workbook.getNumCellStyles(), is(numStyles + 1));
+                
+                // 縮小表示
+                for(int i=0; i < 10; i++) {
+                    POIUtils.shrinkToFit(row.getCell(i), true);
+                }
+                
+                final CellStyle shrinkStyle = row.getCell(0).getCellStyle();
+                assertThat(shrinkStyle.getWrapText(), is(false));
+                assertThat(shrinkStyle.getShrinkToFit(), is(true));
+                assertThat(row.getCell(9).getCellStyle().getIndex(), is(shrinkStyle.getIndex()));
+                assertThat(workbook.getNumCellStyles(), is(numStyles + 2));
+                
+                // 変更しない場合
+                final Cell cell = row.createCell(10);
+                POIUtils.wrapCellText(cell, false);
+                POIUtils.shrinkToFit(cell, false);
+                assertThat(cell.getCellStyle().getIndex(), is(defaultStyle.getIndex()));
+            } finally {
+                work.endCellStyleCache(previous);
+            }
+        }
+        
+    }
+    
+}
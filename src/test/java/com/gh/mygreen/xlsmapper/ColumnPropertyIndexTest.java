@@ -0,0 +1,139 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+
+/**
+ * {@link ColumnPropertyIndex}のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class ColumnPropertyIndexTest {
+    
+    /**
+     * 見出しの完全一致
+     */
+    @Test
+    public void test_find() throws Exception {
+        
+        final XlsMapperConfig config = new XlsMapperConfig();
+        final ColumnPropertyIndex index = getLoadingIndex(config);
+        
+        assertThat(names(index.find("名前", config)), contains("name"));
+        assertThat(names(index.find("住所", config)), contains("address"));
+        assertThat(names(index.find(" 名前 ", config)), is(empty()));
+        assertThat(names(index.find("電話番号", config)), is(empty()));
+        assertThat(names(index.find("/備考.*/", config)), contains("comment"));
+        
+        // 見出しを指定しない場合は全て
+        assertThat(names(index.find(null, config)), containsInAnyOrder("name", "address", "comment", "mail"));
+        assertThat(index.getAll(), hasSize(4));
+        
+    }
+    
+    /**
+     * 見出しの正規化
+     */
+    @Test
+    public void test_find_normalize() throws Exception {
+        
+        final XlsMapperConfig config = new XlsMapperConfig().setNormalizeLabelText(true);
+        final ColumnPropertyIndex index = getLoadingIndex(config);
+        
+        assertThat(names(index.find(" 名前 ", config)), contains("name"));
+        assertThat(names(index.find("メール\tアドレス", config)), contains("mail"));
+        assertThat(names(index.find("メール アドレス", config)), contains("mail"));
+        assertThat(names(index.find("メール　　アドレス", config)), contains("mail"));
+        
+    }
+    
+    /**
+     * 見出しの正規表現
+     */
+    @Test
+    public void test_find_regex() throws Exception {
+        
+        final XlsMapperConfig config = new XlsMapperConfig().setRegexLabelText(true);
+        final ColumnPropertyIndex index = getLoadingIndex(config);
+        
+        assertThat(names(index.find("備考", config)), contains("comment"));
+        assertThat(names(index.find("備考(1)", config)), contains("comment"));
+        assertThat(names(index.find("/備考.*/", config)), is(empty()));
+        assertThat(names(index.find("名前", config)), contains("name"));
+        
+    }
+    
+    /**
+     * {@link Utils#matches(String, String, XlsMapperConfig)}と結果が同じになること。
+     */
+    @Test
+    public void test_find_sameAsMatches() throws Exception {
+        
+        final String[] labels = {"名前", " 名前", "住所", "備考", "備考2", "/備考.*/", "メール アドレス", "メール\r\nアドレス", "その他"};
+        
+        for(boolean normalize : new boolean[]{false, true}) {
+            for(boolean regex : new boolean[]{false, true}) {
+                final XlsMapperConfig config = new XlsMapperConfig().setNormalizeLabelText(normalize).setRegexLabelText(regex);
+                final ColumnPropertyIndex index = getLoadingIndex(config);
+                
+                for(String label : labels) {
+                    final List<String> expected = new ArrayList<>();
+                    for(FieldAdaptor adaptor : index.getAll()) {
+                        final XlsColumn column = adaptor.getLoadingAnnotation(XlsColumn.class);
+                        if(Utils.matches(label, column.columnName(), config)) {
+                            expected.add(adaptor.getName());
+                        }
+                    }
+                    
+                    assertThat(String.format("label=%s, normalize=%s, regex=%s", label, normalize, regex),
+                            names(index.find(label, config)), is(expected));
+                }
+            }
+        }
+        
+    }
+    
+    private ColumnPropertyIndex getLoadingIndex(final XlsMapperConfig config) throws Exception {
+        return config.getBeanMapping(SampleRecord.class, new AnnotationReader(null)).getLoadingColumnIndex();
+    }
+    
+    private List<String> names(final List<FieldAdaptor> adaptors) {
+        final List<String> list = new ArrayList<>();
+        for(FieldAdaptor adaptor : adaptors) {
+            list.add(adaptor.getName());
+        }
+        return list;
+    }
+    
+    private static class SampleRecord {
+        
+        @XlsColumn(columnName="名前")
+        private String name;
+        
+        private String address;
+        
+        @XlsColumn(columnName="/備考.*/")
+        private String comment;
+        
+        @XlsColumn(columnName="メール アドレス")
+        private String mail;
+        
+        @XlsColumn(columnName="住所")
+        public void setAddress(String address) {
+            this.address = address;
+        }
+        
+    }
+    
+}
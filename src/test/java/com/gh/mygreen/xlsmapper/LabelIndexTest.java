@@ -0,0 +1,126 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+
+/**
+ * {@link LabelIndex}のテスタ。
+ * <p>シートを走査する{@link Utils#getCell(Sheet, String, int, XlsMapperConfig)}などと、同じセルを返すことを確認する。</p>
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class LabelIndexTest {
+    
+    private static final String[] LABELS = {"見出し", " 見出し ", "見出し\t1", "見出し1", "備考", "存在しない", "/見出し.*/"};
+    
+    private Sheet sheet;
+    
+    @Before
+    public void setUp() throws Exception {
+        
+        final Workbook workbook = new HSSFWorkbook();
+        this.sheet = workbook.createSheet("テスト");
+        
+        setValue(0, 3, "見出し");
+        setValue(1, 1, "備考");
+        setValue(2, 0, "見出し");
+        setValue(2, 5, " 見出し ");
+        setValue(4, 2, "見出し 1");
+        setValue(5, 2, "見出し1");
+        setValue(6, 0, "見出し");
+        setValue(6, 4, "");
+        
+    }
+    
+    private void setValue(final int row, final int column, final String value) {
+        Row r = sheet.getRow(row);
+        if(r == null) {
+            r = sheet.createRow(row);
+        }
+        r.createCell(column).setCellValue(value);
+    }
+    
+    @Test
+    public void test_getCell_from() throws Exception {
+        
+        for(XlsMapperConfig config : configs()) {
+            final LabelIndex index = new LabelIndex(sheet, config);
+            for(String label : LABELS) {
+                for(int from = 0; from < 8; from++) {
+                    assertThat(label, index.getCell(label, from, false), is(Utils.getCell(sheet, label, from, false, config)));
+                }
+            }
+        }
+        
+    }
+    
+    @Test
+    public void test_getCell_fromColRow() throws Exception {
+        
+        for(XlsMapperConfig config : configs()) {
+            final LabelIndex index = new LabelIndex(sheet, config);
+            for(String label : LABELS) {
+                for(int col = 0; col < 7; col++) {
+                    for(int row = 0; row < 8; row++) {
+                        assertThat(label, index.getCell(label, col, row, false),
+                                is(Utils.getCell(sheet, label, col, row, false, config)));
+                    }
+                }
+            }
+        }
+        
+    }
+    
+    @Test
+    public void test_getCell_after() throws Exception {
+        
+        for(XlsMapperConfig config : configs()) {
+            final LabelIndex index = new LabelIndex(sheet, config);
+            for(String label : LABELS) {
+                assertThat(label, index.getCell(label, null, false, false),
+                        is(Utils.getCell(sheet, label, null, false, false, config)));
+                        
+                for(Row row : sheet) {
+                    for(Cell after : row) {
+                        assertThat(label, index.getCell(label, after, false, false),
+                                is(Utils.getCell(sheet, label, after, false, false, config)));
+                        assertThat(label, index.getCell(label, after, true, false),
+                                is(Utils.getCell(sheet, label, after, true, false, config)));
+                    }
+                }
+            }
+        }
+        
+    }
+    
+    @Test(expected=CellNotFoundException.class)
+    public void test_getCell_notFound() throws Exception {
+        
+        final LabelIndex index = new LabelIndex(sheet, new XlsMapperConfig());
+        index.getCell("存在しない", 0);
+        
+        fail();
+    }
+    
+    private XlsMapperConfig[] configs() {
+        return new XlsMapperConfig[] {
+                new XlsMapperConfig(),
+                new XlsMapperConfig().setNormalizeLabelText(true),
+                new XlsMapperConfig().setRegexLabelText(true),
+                new XlsMapperConfig().setNormalizeLabelText(true).setRegexLabelText(true),
+        };
+    }
+    
+}
@@ -0,0 +1,83 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+/**
+ * {@link MergedRegionIndex}のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class MergedRegionIndexTest {
+    
+    @Test
+    public void test_getMergedRegion() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet = createSheet(workbook);
+            final MergedRegionIndex index = new MergedRegionIndex(sheet);
+            
+            assertThat(index.size(), is(sheet.getNumMergedRegions()));
+            assertSameRegions(index, sheet);
+            
+            assertThat(index.getMergedRegion(40, 2).formatAsString(), is("B31:C70"));
+            assertThat(index.getMergedRegion(0, 0), is(nullValue()));
+        }
+    }
+    
+    @Test
+    public void test_add_removeMergedRange() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet = createSheet(workbook);
+            final MergedRegionIndex index = new MergedRegionIndex(sheet);
+            
+            index.add(POIUtils.mergeCells(sheet, 5, 100, 6, 101));
+            assertThat(index.size(), is(sheet.getNumMergedRegions()));
+            assertSameRegions(index, sheet);
+            
+            // 別のインスタンスで同じ範囲を指定して解除する
+            assertThat(POIUtils.removeMergedRange(sheet, CellRangeAddress.valueOf("B31:C70"), index), is(true));
+            assertThat(index.size(), is(sheet.getNumMergedRegions()));
+            assertSameRegions(index, sheet);
+            
+            // 存在しない範囲
+            assertThat(POIUtils.removeMergedRange(sheet, CellRangeAddress.valueOf("B31:C71"), index), is(false));
+            assertThat(index.remove(CellRangeAddress.valueOf("B31:C71")), is(false));
+            assertThat(index.size(), is(sheet.getNumMergedRegions()));
+        }
+    }
+    
+    private Sheet createSheet(final Workbook workbook) {
+        final Sheet sheet = workbook.createSheet("テスト");
+        sheet.addMergedRegion(CellRangeAddress.valueOf("B2:D3"));
+        sheet.addMergedRegion(CellRangeAddress.valueOf("A5:A6"));
+        sheet.addMergedRegion(CellRangeAddress.valueOf("B31:C70"));
+        sheet.addMergedRegion(CellRangeAddress.valueOf("E64:F65"));
+        return sheet;
+    }
+    
+    private void assertSameRegions(final MergedRegionIndex index, final Sheet sheet) {
+        for(int r=0; r < 110; r++) {
+            for(int c=0; c < 8; c++) {
+                final CellRangeAddress expected = POIUtils.getMergedRegion(sheet, r, c);
+                final CellRangeAddress actual = index.getMergedRegion(r, c);
+                if(expected == null) {
+                    assertThat(actual, is(nullValue()));
+                } else {
+                    assertThat(actual.formatAsString(), is(expected.formatAsString()));
+                }
+            }
+        }
+    }
+    
+}
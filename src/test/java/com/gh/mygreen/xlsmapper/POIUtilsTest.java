@@ -8,13 +8,19 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.DataValidation;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellRangeAddressList;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -236,4 +242,229 @@ public class POIUtilsTest {
 //        
 //        
 //    }
+    
+    /**
+     * {@link POIUtils#getReadOnlyCell(Sheet, int, int)}
+     * ・存在しないセルを取得してもシートを変更しない。
+     * @since 1.6
+     */
+    @Test
+    public void testGetReadOnlyCell() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet = workbook.createSheet("テスト");
+            sheet.createRow(1).createCell(1).setCellValue("abc");
+            
+            // 存在するセル
+            final Cell existCell = POIUtils.getReadOnlyCell(sheet, 1, 1);
+            assertThat(existCell, is(sameInstance(sheet.getRow(1).getCell(1))));
+            
+            // 存在しない行、セル
+            for(Cell blankCell : new Cell[]{POIUtils.getReadOnlyCell(sheet, 3, 1), POIUtils.getReadOnlyCell(sheet, 2, 5)}) {
+                assertThat(blankCell.getCellType(), is(Cell.CELL_TYPE_BLANK));
+                assertThat(blankCell.getStringCellValue(), is(""));
+                assertThat(blankCell.getSheet(), is(sameInstance(sheet)));
+                assertThat(blankCell.getCellStyle(), is(notNullValue()));
+                assertThat(blankCell.getHyperlink(), is(nullValue()));
+                assertThat(POIUtils.getCellContents(blankCell, new DefaultCellFormatter()), is(""));
+                
+                try {
+                    blankCell.setCellValue("def");
+                    fail();
+                } catch(UnsupportedOperationException e) {
+                    // 読み取り専用
+                }
+            }
+            assertThat(POIUtils.getReadOnlyCell(sheet, 2, 5).getRowIndex(), is(5));
+            assertThat(POIUtils.getReadOnlyCell(sheet, 2, 5).getColumnIndex(), is(2));
+            
+            // シートは変更されていない
+            assertThat(sheet.getPhysicalNumberOfRows(), is(1));
+            assertThat(sheet.getRow(1).getPhysicalNumberOfCells(), is(1));
+            assertThat(sheet.getRow(5), is(nullValue()));
+        }
+    }
+    
+    /**
+     * {@link POIUtils#insertRows(Sheet, int, int)}
+     * ・1行ずつ追加した場合と同じ結果になる。
+     * @since 1.6
+     */
+    @Test
+    public void testInsertRows() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet1 = workbook.createSheet("まとめて追加");
+            final Sheet sheet2 = workbook.createSheet("1行ずつ追加");
+            
+            for(Sheet sheet : new Sheet[]{sheet1, sheet2}) {
+                for(int i=0; i < 5; i++) {
+                    sheet.createRow(i).createCell(0).setCellValue("row" + i);
+                }
+            }
+            
+            POIUtils.insertRows(sheet1, 2, 3);
+            for(int i=0; i < 3; i++) {
+                POIUtils.insertRow(sheet2, 2);
+            }
+            
+            assertThat(sheet1.getLastRowNum(), is(7));
+            for(Sheet sheet : new Sheet[]{sheet1, sheet2}) {
+                assertThat(sheet.getRow(1).getCell(0).getStringCellValue(), is("row1"));
+                for(int i=2; i < 5; i++) {
+                    assertThat(sheet.getRow(i), is(notNullValue()));
+                    assertThat(sheet.getRow(i).getCell(0), is(nullValue()));
+                }
+                assertThat(sheet.getRow(5).getCell(0).getStringCellValue(), is("row2"));
+                assertThat(sheet.getRow(7).getCell(0).getStringCellValue(), is("row4"));
+            }
+            
+            // 範囲外の追加
+            POIUtils.insertRows(sheet1, 10, 2);
+            assertThat(sheet1.getLastRowNum(), is(11));
+            assertThat(sheet1.getRow(7).getCell(0).getStringCellValue(), is("row4"));
+        }
+    }
+    
+    /**
+     * {@link POIUtils#removeRows(Sheet, int, int)}
+     * ・1行ずつ削除した場合と同じ結果になる。
+     * ・戻り値は、ずらした行数。
+     * @since 1.6
+     */
+    @Test
+    public void testRemoveRows() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet1 = workbook.createSheet("まとめて削除");
+            final Sheet sheet2 = workbook.createSheet("1行ずつ削除");
+            
+            for(Sheet sheet : new Sheet[]{sheet1, sheet2}) {
+                for(int i=0; i < 8; i++) {
+                    sheet.createRow(i).createCell(0).setCellValue("row" + i);
+                }
+            }
+            
+            assertThat(POIUtils.removeRows(sheet1, 2, 3), is(3));
+            for(int i=0; i < 3; i++) {
+                POIUtils.removeRow(sheet2, 2);
+            }
+            
+            for(Sheet sheet : new Sheet[]{sheet1, sheet2}) {
+                assertThat(sheet.getRow(1).getCell(0).getStringCellValue(), is("row1"));
+                assertThat(sheet.getRow(2).getCell(0).getStringCellValue(), is("row5"));
+                assertThat(sheet.getRow(4).getCell(0).getStringCellValue(), is("row7"));
+                assertThat(sheet.getRow(5) == null || sheet.getRow(5).getCell(0) == null, is(true));
+            }
+            
+            // 最後のデータ行を含む削除
+            assertThat(POIUtils.removeRows(sheet1, 3, 2), is(2));
+            assertThat(sheet1.getRow(3) == null || sheet1.getRow(3).getCell(0) == null, is(true));
+            assertThat(sheet1.getRow(2).getCell(0).getStringCellValue(), is("row5"));
+            
+            // 行が存在しない範囲を含む削除は、ずらした行数を返す
+            final Sheet sheet3 = workbook.createSheet("空行を含む削除");
+            sheet3.createRow(0).createCell(0).setCellValue("row0");
+            sheet3.createRow(3).createCell(0).setCellValue("row3");
+            assertThat(POIUtils.removeRows(sheet3, 1, 2), is(2));
+            assertThat(sheet3.getRow(1).getCell(0).getStringCellValue(), is("row3"));
+        }
+    }
+    
+    /**
+     * {@link POIUtils#getFormulaEvaluator(Workbook)}
+     * ・共有中は同じインスタンスを返す。
+     * ・共有はスレッドごとで、入れ子の場合は外側のインスタンスに戻す。
+     * @since 1.6
+     */
+    @Test
+    public void testGetFormulaEvaluator() throws Exception {
+        
+        for(final Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            
+            // 共有前は毎回作成する
+            assertThat(POIUtils.getFormulaEvaluator(workbook), is(not(sameInstance(POIUtils.getFormulaEvaluator(workbook)))));
+            
+            final FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+            final FormulaEvaluator previous = POIUtils.shareFormulaEvaluator(workbook, evaluator);
+            try {
+                assertThat(previous, is(nullValue()));
+                assertThat(POIUtils.getFormulaEvaluator(workbook), is(sameInstance(evaluator)));
+                
+                // 別のワークブックには影響しない
+                assertThat(POIUtils.getFormulaEvaluator(new HSSFWorkbook()), is(not(sameInstance(evaluator))));
+                
+                // 別のスレッドには影響しない
+                final AtomicReference<FormulaEvaluator> otherThread = new AtomicReference<>();
+                final Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        otherThread.set(POIUtils.getFormulaEvaluator(workbook));
+                    }
+                });
+                thread.start();
+                thread.join();
+                assertThat(otherThread.get(), is(not(sameInstance(evaluator))));
+                
+                // 入れ子で共有した場合
+                final FormulaEvaluator nested = workbook.getCreationHelper().createFormulaEvaluator();
+                final FormulaEvaluator nestedPrevious = POIUtils.shareFormulaEvaluator(workbook, nested);
+                try {
+                    assertThat(nestedPrevious, is(sameInstance(evaluator)));
+                    assertThat(POIUtils.getFormulaEvaluator(workbook), is(sameInstance(nested)));
+                } finally {
+                    POIUtils.unshareFormulaEvaluator(workbook, nestedPrevious);
+                }
+                assertThat(POIUtils.getFormulaEvaluator(workbook), is(sameInstance(evaluator)));
+                
+            } finally {
+                POIUtils.unshareFormulaEvaluator(workbook, previous);
+            }
+            
+            assertThat(POIUtils.getFormulaEvaluator(workbook), is(not(sameInstance(evaluator))));
+        }
+    }
+    
+    /**
+     * {@link POIUtils#isEmptyCellContents(Cell, CellFormatter)}
+     * ・セルのタイプから判定した場合も、フォーマットした結果と同じになる。
+     * @since 1.6
+     */
+    @Test
+    public void testIsEmptyCellContents() throws Exception {
+        
+        final String[] formats = {"General", "0.00", "#,##0", "#", "#,###", "@", "yyyy/m/d", "0;-0;", "[Red]", "\"\"", "[Red]\"\"", "[>1]0"};
+        final CellFormatter formatter = new DefaultCellFormatter();
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet = workbook.createSheet();
+            int rowIndex = 0;
+            for(String format : formats) {
+                final CellStyle style = workbook.createCellStyle();
+                style.setDataFormat(workbook.createDataFormat().getFormat(format));
+                
+                for(double value : new double[]{0.0, 1.5, 2.0}) {
+                    final Cell cell = sheet.createRow(rowIndex++).createCell(0);
+                    cell.setCellValue(value);
+                    cell.setCellStyle(style);
+                    
+                    assertThat(format + ":" + value, POIUtils.isEmptyCellContents(cell, formatter),
+                            is(POIUtils.getCellContents(cell, formatter).isEmpty()));
+                    assertThat(format + ":" + value, POIUtils.isEmptyCellContents(cell, new CachedCellFormatter(formatter)),
+                            is(POIUtils.getCellContents(cell, formatter).isEmpty()));
+                }
+            }
+            
+            assertThat(POIUtils.isEmptyCellContents(sheet.createRow(rowIndex).createCell(0), formatter), is(true));
+        }
+        
+        assertThat(POIUtils.isVisibleNumberFormat("#,##0"), is(true));
+        assertThat(POIUtils.isVisibleNumberFormat("[Red]0"), is(true));
+        assertThat(POIUtils.isVisibleNumberFormat("0;-0;"), is(false));
+        assertThat(POIUtils.isVisibleNumberFormat("[Red]"), is(false));
+        assertThat(POIUtils.isVisibleNumberFormat("#,###"), is(false));
+        assertThat(POIUtils.isVisibleNumberFormat("[<0]0"), is(false));
+        assertThat(POIUtils.isVisibleNumberFormat(""), is(false));
+    }
+    
 }
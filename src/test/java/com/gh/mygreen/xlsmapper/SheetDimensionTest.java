@@ -0,0 +1,128 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+/**
+ * {@link SheetDimension}のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class SheetDimensionTest {
+    
+    @Test
+    public void test_create() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet = createSheet(workbook);
+            final SheetDimension dimension = new SheetDimension(sheet);
+            
+            assertDimension(dimension, sheet);
+            assertThat(dimension.getRows(), is(5));
+            assertThat(dimension.getColumns(), is(6));
+            assertThat(dimension.getLastCellNum(1), is(3));
+            assertThat(dimension.getLastCellNum(2), is(0));
+            assertThat(dimension.getLastCellNum(100), is(0));
+        }
+        
+    }
+    
+    @Test
+    public void test_insertRows_removeRows() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet = createSheet(workbook);
+            final SheetDimension dimension = new SheetDimension(sheet);
+            
+            // 途中に挿入
+            POIUtils.insertRows(sheet, 1, 2, dimension);
+            assertDimension(dimension, sheet);
+            
+            // 範囲外に挿入
+            POIUtils.insertRows(sheet, 10, 1, dimension);
+            assertDimension(dimension, sheet);
+            
+            // 最大列数の行を削除
+            POIUtils.removeRows(sheet, 5, 1, dimension);
+            assertDimension(dimension, sheet);
+            assertThat(dimension.getColumns(), is(3));
+            
+            // 存在しない行を含めて削除
+            POIUtils.removeRows(sheet, 1, 3, dimension);
+            assertDimension(dimension, sheet);
+            
+            // 最終行を削除
+            POIUtils.removeRows(sheet, POIUtils.getRows(sheet) - 1, 1, dimension);
+            assertDimension(dimension, sheet);
+            
+            POIUtils.removeRows(sheet, 0, 1, dimension);
+            assertDimension(dimension, sheet);
+        }
+        
+    }
+    
+    @Test
+    public void test_updateRow() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet = createSheet(workbook);
+            final SheetDimension dimension = new SheetDimension(sheet);
+            
+            // 最大列数を超えるセルを追加
+            POIUtils.getCell(sheet, 10, 2);
+            dimension.updateRow(2);
+            assertDimension(dimension, sheet);
+            assertThat(dimension.getColumns(), is(11));
+            
+            // 最終行より後にセルを追加
+            POIUtils.getCell(sheet, 1, 20);
+            dimension.updateRow(20);
+            assertDimension(dimension, sheet);
+            
+            // 最大列数の行のセルを削除
+            final Row row = sheet.getRow(2);
+            row.removeCell(row.getCell(10));
+            dimension.updateRow(2);
+            assertDimension(dimension, sheet);
+            assertThat(dimension.getColumns(), is(6));
+            
+            // 行のセルを全て取得
+            final Cell[] cells = POIUtils.getRow(sheet, 30, dimension);
+            assertThat(cells.length, is(6));
+            assertDimension(dimension, sheet);
+        }
+        
+    }
+    
+    private Sheet createSheet(final Workbook workbook) {
+        final Sheet sheet = workbook.createSheet("テスト");
+        sheet.createRow(0).createCell(1);
+        sheet.createRow(1).createCell(2);
+        sheet.createRow(3).createCell(5);
+        sheet.createRow(4);
+        return sheet;
+    }
+    
+    private void assertDimension(final SheetDimension dimension, final Sheet sheet) {
+        
+        assertThat(dimension.getRows(), is(POIUtils.getRows(sheet)));
+        assertThat(dimension.getColumns(), is(POIUtils.getColumns(sheet)));
+        
+        for(int i=0; i < POIUtils.getRows(sheet) + 1; i++) {
+            final Row row = sheet.getRow(i);
+            final int expected = (row == null) ? 0 : Math.max(row.getLastCellNum(), 0);
+            assertThat(dimension.getLastCellNum(i), is(expected));
+        }
+    }
+    
+}
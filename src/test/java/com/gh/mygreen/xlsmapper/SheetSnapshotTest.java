@@ -0,0 +1,121 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+/**
+ * {@link SheetSnapshot}のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class SheetSnapshotTest {
+    
+    @Test
+    public void test_create() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet = workbook.createSheet("テスト");
+            
+            final CellStyle style = workbook.createCellStyle();
+            style.setBorderLeft(CellStyle.BORDER_THIN);
+            
+            final Row row0 = sheet.createRow(0);
+            row0.createCell(0).setCellValue("abc");
+            row0.createCell(1).setCellValue(12.5);
+            row0.createCell(2).setCellValue(true);
+            row0.createCell(3).setCellValue("abc");
+            row0.getCell(3).setCellStyle(style);
+            
+            final Row row2 = sheet.createRow(2);
+            row2.createCell(1).setCellFormula("B1*2");
+            row2.createCell(2, Cell.CELL_TYPE_BLANK);
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            
+            sheet.addMergedRegion(new CellRangeAddress(0, 1, 4, 5));
+            sheet.addMergedRegion(new CellRangeAddress(10, 11, 0, 1));
+            
+            final SheetSnapshot snapshot = new SheetSnapshot(sheet, new DefaultCellFormatter());
+            assertThat(snapshot.getSheet(), is(sameInstance(sheet)));
+            assertThat(snapshot.getRows(), is(POIUtils.getRows(sheet)));
+            assertThat(snapshot.getColumns(), is(POIUtils.getColumns(sheet)));
+            
+            // 同じ値は1つにまとめる
+            assertThat(snapshot.getContentsSize(), is(5));
+            
+            assertThat(snapshot.getCellContents(0, 0), is("abc"));
+            assertThat(snapshot.getCellContents(1, 0), is("12.5"));
+            assertThat(snapshot.getCellContents(1, 2), is("25"));
+            
+            // ブランクセル、存在しないセル
+            assertThat(snapshot.isEmptyCellContents(2, 2), is(true));
+            assertThat(snapshot.isEmptyCellContents(0, 1), is(true));
+            assertThat(snapshot.isEmptyCellContents(10, 0), is(true));
+            assertThat(snapshot.isEmptyCellContents(0, 100), is(true));
+            assertThat(snapshot.getCellContents(0, 100), is(""));
+            
+            // 書式
+            assertThat(snapshot.getCellStyle(3, 0).getIndex(), is(style.getIndex()));
+            assertThat(snapshot.getCellStyle(3, 0).getBorderLeft(), is(CellStyle.BORDER_THIN));
+            assertThat(snapshot.getCellStyle(0, 100), is(notNullValue()));
+            
+            // 結合セル
+            assertThat(snapshot.getMergedRegion(5, 1).formatAsString(), is("E1:F2"));
+            assertThat(snapshot.getMergedRegion(4, 0).formatAsString(), is("E1:F2"));
+            assertThat(snapshot.getMergedRegion(1, 11).formatAsString(), is("A11:B12"));
+            assertThat(snapshot.getMergedRegion(0, 0), is(nullValue()));
+            assertThat(snapshot.getMergedRegion(2, 11), is(nullValue()));
+        }
+        
+    }
+    
+    /**
+     * シートを直接参照した場合と同じ値になること。
+     */
+    @Test
+    public void test_compareWithSheet() throws Exception {
+        
+        final DefaultCellFormatter formatter = new DefaultCellFormatter();
+        
+        for(String file : new String[]{"src/test/data/anno_HorizonalRecords.xlsx", "src/test/data/anno_VerticalRecords.xlsx"}) {
+            try(InputStream in = new FileInputStream(file)) {
+                final Workbook workbook = WorkbookFactory.create(in);
+                
+                for(int i=0; i < workbook.getNumberOfSheets(); i++) {
+                    final Sheet sheet = workbook.getSheetAt(i);
+                    final SheetSnapshot snapshot = new SheetSnapshot(sheet, formatter);
+                    final MergedRegionIndex mergedRegionIndex = new MergedRegionIndex(sheet);
+                    
+                    for(int r=0; r <= snapshot.getRows(); r++) {
+                        for(int c=0; c <= snapshot.getColumns(); c++) {
+                            final Cell cell = POIUtils.getReadOnlyCell(sheet, c, r);
+                            final String address = sheet.getSheetName() + "!" + POIUtils.formatCellAddress(r, c);
+                            
+                            assertThat(address, snapshot.getCellContents(c, r), is(POIUtils.getCellContents(cell, formatter)));
+                            assertThat(address, snapshot.isEmptyCellContents(c, r), is(POIUtils.isEmptyCellContents(cell, formatter)));
+                            assertThat(address, snapshot.getCellStyle(c, r).getIndex(), is(cell.getCellStyle().getIndex()));
+                            assertThat(address, snapshot.getMergedRegion(c, r), is(mergedRegionIndex.getMergedRegion(r, c)));
+                        }
+                    }
+                }
+            }
+        }
+        
+    }
+    
+}
@@ -0,0 +1,130 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.annotation.XlsCell;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+
+/**
+ * {@link TemplateCache}のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class TemplateCacheTest {
+    
+    /**
+     * 作成したワークブックは、それぞれ独立していること。
+     */
+    @Test
+    public void test_createWorkbook() throws Exception {
+        
+        final TemplateCache cache = new TemplateCache();
+        try(InputStream in = new FileInputStream("src/test/data/anno_Sheet_template.xlsx")) {
+            cache.register("xlsx", in);
+        }
+        
+        try(InputStream in = new FileInputStream("src/test/data/utils.xls")) {
+            cache.register("xls", in);
+        }
+        
+        assertThat(cache.contains("xlsx"), is(true));
+        assertThat(cache.contains("xls"), is(true));
+        assertThat(cache.contains("none"), is(false));
+        assertThat(cache.getNames(), containsInAnyOrder("xlsx", "xls"));
+        
+        for(String name : new String[]{"xlsx", "xls"}) {
+            final Workbook workbook1 = cache.createWorkbook(name);
+            final Workbook workbook2 = cache.createWorkbook(name);
+            assertThat(workbook1, is(not(sameInstance(workbook2))));
+            assertThat(workbook1.getNumberOfSheets(), is(workbook2.getNumberOfSheets()));
+            
+            final int numSheets = workbook2.getNumberOfSheets();
+            workbook1.createSheet("追加");
+            assertThat(workbook1.getNumberOfSheets(), is(numSheets + 1));
+            assertThat(workbook2.getNumberOfSheets(), is(numSheets));
+            assertThat(cache.createWorkbook(name).getNumberOfSheets(), is(numSheets));
+        }
+        
+        assertThat(cache.createWorkbook("xlsx"), is(instanceOf(XSSFWorkbook.class)));
+        assertThat(cache.createWorkbook("xls"), is(instanceOf(HSSFWorkbook.class)));
+        
+        assertThat(cache.remove("xls"), is(true));
+        assertThat(cache.remove("xls"), is(false));
+        assertThat(cache.contains("xls"), is(false));
+        
+        cache.clear();
+        assertThat(cache.getNames(), is(empty()));
+        
+    }
+    
+    @Test(expected=IllegalStateException.class)
+    public void test_createWorkbook_notFound() throws Exception {
+        
+        new TemplateCache().createWorkbook("none");
+        
+    }
+    
+    @Test(expected=XlsMapperException.class)
+    public void test_register_invalid() throws Exception {
+        
+        new TemplateCache().register("invalid", new ByteArrayInputStream("abc".getBytes("UTF-8")));
+        
+    }
+    
+    /**
+     * 登録したテンプレートを使用した書き込み
+     */
+    @Test
+    public void test_saveByTemplate() throws Exception {
+        
+        final ByteArrayOutputStream template = new ByteArrayOutputStream();
+        try(Workbook workbook = new XSSFWorkbook()) {
+            workbook.createSheet("テスト").createRow(0).createCell(0).setCellValue("雛形");
+            workbook.write(template);
+        }
+        
+        final XlsSaver saver = new XlsSaver();
+        saver.getConfig().getTemplateCache().register("test", new ByteArrayInputStream(template.toByteArray()));
+        
+        for(String value : new String[]{"abc", "def"}) {
+            final SampleSheet bean = new SampleSheet();
+            bean.value = value;
+            
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            saver.saveByTemplate("test", out, bean);
+            
+            try(Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray()))) {
+                assertThat(workbook.getSheet("テスト").getRow(0).getCell(0).getStringCellValue(), is(value));
+            }
+        }
+        
+        // テンプレートは変更されていないこと
+        try(Workbook workbook = saver.getConfig().getTemplateCache().createWorkbook("test")) {
+            assertThat(workbook.getSheet("テスト").getRow(0).getCell(0).getStringCellValue(), is("雛形"));
+        }
+        
+    }
+    
+    @XlsSheet(name="テスト")
+    private static class SampleSheet {
+        
+        @XlsCell(column=0, row=0)
+        private String value;
+        
+    }
+    
+}
@@ -0,0 +1,198 @@
+package com.gh.mygreen.xlsmapper.cellconvert;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.POIUtils;
+import com.gh.mygreen.xlsmapper.XlsMapper;
+import com.gh.mygreen.xlsmapper.annotation.XlsCell;
+import com.gh.mygreen.xlsmapper.annotation.XlsConverter;
+import com.gh.mygreen.xlsmapper.annotation.XlsDateConverter;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.cellconvert.converter.AbstractTemporalCellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.converter.LocalDateCellConverter;
+
+/**
+ * <code>java.time</code>パッケージの日時型の変換のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class TemporalCellConverterTest {
+    
+    /**
+     * シリアル値の計算結果が、POIの{@link DateUtil}と同じになること。
+     */
+    @Test
+    public void test_serialNumber() throws Exception {
+        
+        final double[] serials = {0.0, 0.5, 1.0, 59.0, 59.999, 60.0, 61.0, 61.25, 366.0,
+                25569.0, 42736.123456789, 42736.99999999, 2958465.5};
+                
+        for(boolean date1904 : new boolean[]{false, true}) {
+            for(double serial : serials) {
+                final Date expected = DateUtil.getJavaDate(serial, date1904);
+                final LocalDateTime actual = AbstractTemporalCellConverter.toLocalDateTime(serial, date1904);
+                assertThat(serial + ":" + date1904, LocalDateTime.ofInstant(expected.toInstant(), ZoneId.systemDefault()), is(actual));
+                
+                if(serial >= 61.0 || date1904) {
+                    assertThat(serial + ":" + date1904, AbstractTemporalCellConverter.toSerialNumber(actual, date1904),
+                            is(closeTo(DateUtil.getExcelDate(expected, date1904), 1e-9)));
+                }
+            }
+        }
+        
+        assertThat(AbstractTemporalCellConverter.toLocalDateTime(-1.0, false), is(nullValue()));
+        assertThat(AbstractTemporalCellConverter.toSerialNumber(LocalDateTime.of(1899, 1, 1, 0, 0), false), is(-1.0));
+        assertThat(AbstractTemporalCellConverter.toSerialNumber(LocalDateTime.of(1900, 3, 1, 12, 0), false), is(61.5));
+        assertThat(AbstractTemporalCellConverter.toSerialNumber(LocalDateTime.of(1904, 1, 2, 0, 0), true), is(1.0));
+        
+    }
+    
+    @Test
+    public void test_registry() throws Exception {
+        
+        final CellConverterRegistry registry = new CellConverterRegistry();
+        assertThat(registry.getConverter(LocalDate.class), is(instanceOf(LocalDateCellConverter.class)));
+        assertThat(registry.getConverter(LocalDateTime.class), is(notNullValue()));
+        assertThat(registry.getConverter(LocalTime.class), is(notNullValue()));
+        assertThat(registry.getConverter(OffsetDateTime.class), is(notNullValue()));
+        assertThat(registry.getConverter(Instant.class), is(notNullValue()));
+        
+    }
+    
+    /**
+     * 読み込みのテスト
+     */
+    @Test
+    public void test_load() throws Exception {
+        
+        for(Workbook workbook : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            final Sheet sheet = workbook.createSheet("日時");
+            final Row row = sheet.createRow(0);
+            row.createCell(0).setCellValue(serial(LocalDateTime.of(2017, 1, 2, 3, 4, 5)));
+            row.createCell(1).setCellValue(serial(LocalDateTime.of(2017, 1, 2, 3, 4, 5)));
+            row.createCell(2).setCellValue(DateUtil.convertTime("12:34:56"));
+            row.createCell(3).setCellValue("2017/01/02");
+            row.createCell(4).setCellFormula("A1+1");
+            row.createCell(5).setCellValue(serial(LocalDateTime.of(2017, 1, 2, 3, 4, 5)));
+            
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            
+            final TemporalSheet bean = new XlsMapper().load(new ByteArrayInputStream(out.toByteArray()), TemporalSheet.class);
+            assertThat(bean.localDate, is(LocalDate.of(2017, 1, 2)));
+            assertThat(bean.localDateTime, is(LocalDateTime.of(2017, 1, 2, 3, 4, 5)));
+            assertThat(bean.localTime, is(LocalTime.of(12, 34, 56)));
+            assertThat(bean.patternDate, is(LocalDate.of(2017, 1, 2)));
+            assertThat(bean.formulaDateTime, is(LocalDateTime.of(2017, 1, 3, 3, 4, 5)));
+            assertThat(bean.instant, is(LocalDateTime.of(2017, 1, 2, 3, 4, 5).atZone(ZoneId.systemDefault()).toInstant()));
+            assertThat(bean.offsetDateTime, is(nullValue()));
+            assertThat(bean.defaultDate, is(LocalDate.of(2000, 1, 1)));
+        }
+        
+    }
+    
+    /**
+     * 書き込みのテスト
+     */
+    @Test
+    public void test_save() throws Exception {
+        
+        for(Workbook template : new Workbook[]{new HSSFWorkbook(), new XSSFWorkbook()}) {
+            template.createSheet("日時");
+            
+            final ByteArrayOutputStream templateOut = new ByteArrayOutputStream();
+            template.write(templateOut);
+            
+            final TemporalSheet bean = new TemporalSheet();
+            bean.localDate = LocalDate.of(2017, 1, 2);
+            bean.localDateTime = LocalDateTime.of(2017, 1, 2, 3, 4, 5);
+            bean.localTime = LocalTime.of(12, 34, 56);
+            bean.patternDate = LocalDate.of(2017, 1, 3);
+            bean.instant = LocalDateTime.of(2017, 1, 2, 3, 4, 5).atZone(ZoneId.systemDefault()).toInstant();
+            bean.offsetDateTime = OffsetDateTime.of(2017, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC);
+            
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new XlsMapper().save(new ByteArrayInputStream(templateOut.toByteArray()), out, bean);
+            
+            try(Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray()))) {
+                final Row row = workbook.getSheet("日時").getRow(0);
+                
+                assertThat(row.getCell(0).getNumericCellValue(), is(serial(LocalDateTime.of(2017, 1, 2, 0, 0))));
+                assertThat(POIUtils.getCellFormatPattern(row.getCell(0)), is("yyyy-mm-dd"));
+                assertThat(row.getCell(1).getNumericCellValue(), is(closeTo(serial(LocalDateTime.of(2017, 1, 2, 3, 4, 5)), 1e-9)));
+                assertThat(row.getCell(2).getNumericCellValue(), is(closeTo(DateUtil.convertTime("12:34:56"), 1e-9)));
+                assertThat(row.getCell(3).getNumericCellValue(), is(serial(LocalDateTime.of(2017, 1, 3, 0, 0))));
+                assertThat(POIUtils.getCellFormatPattern(row.getCell(3)), is("yyyy/m/d"));
+                assertThat(row.getCell(5).getNumericCellValue(), is(closeTo(serial(LocalDateTime.of(2017, 1, 2, 3, 4, 5)), 1e-9)));
+                assertThat(row.getCell(7).getNumericCellValue(), is(serial(LocalDateTime.of(2000, 1, 1, 0, 0))));
+                
+                final LocalDateTime offset = bean.offsetDateTime.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+                assertThat(row.getCell(6).getNumericCellValue(), is(closeTo(serial(offset), 1e-9)));
+                
+                assertThat(row.getCell(0).getCellType(), is(Cell.CELL_TYPE_NUMERIC));
+            }
+        }
+        
+    }
+    
+    private static double serial(final LocalDateTime dateTime) {
+        return DateUtil.getExcelDate(Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant()));
+    }
+    
+    @XlsSheet(name="日時")
+    private static class TemporalSheet {
+        
+        @XlsCell(address="A1")
+        private LocalDate localDate;
+        
+        @XlsCell(address="B1")
+        private LocalDateTime localDateTime;
+        
+        @XlsCell(address="C1")
+        private LocalTime localTime;
+        
+        @XlsCell(address="D1")
+        @XlsDateConverter(javaPattern="yyyy/MM/dd", excelPattern="yyyy/m/d")
+        private LocalDate patternDate;
+        
+        @XlsCell(address="E1")
+        private LocalDateTime formulaDateTime;
+        
+        @XlsCell(address="F1")
+        private Instant instant;
+        
+        @XlsCell(address="G1")
+        private OffsetDateTime offsetDateTime;
+        
+        @XlsCell(address="H1")
+        @XlsConverter(defaultValue="2000-01-01")
+        @XlsDateConverter(javaPattern="yyyy-MM-dd")
+        private LocalDate defaultDate;
+        
+    }
+    
+}
@@ -0,0 +1,73 @@
+package com.gh.mygreen.xlsmapper.cellconvert.converter;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import org.junit.Test;
+
+/**
+ * {@link AbstractNumberCellConverter}の数値セルの変換のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class AbstractNumberCellConverterTest {
+    
+    private static final MathContext DEFAULT_CONTEXT = new MathContext(15, RoundingMode.HALF_UP);
+    
+    @Test
+    public void test_isExactInteger() throws Exception {
+        
+        assertThat(AbstractNumberCellConverter.isExactInteger(123.0, DEFAULT_CONTEXT), is(true));
+        assertThat(AbstractNumberCellConverter.isExactInteger(-999999999999999.0, DEFAULT_CONTEXT), is(true));
+        assertThat(AbstractNumberCellConverter.isExactInteger(1000000000000000.0, DEFAULT_CONTEXT), is(false));
+        assertThat(AbstractNumberCellConverter.isExactInteger(1.5, DEFAULT_CONTEXT), is(false));
+        assertThat(AbstractNumberCellConverter.isExactInteger(Double.NaN, DEFAULT_CONTEXT), is(false));
+        assertThat(AbstractNumberCellConverter.isExactInteger(Double.POSITIVE_INFINITY, DEFAULT_CONTEXT), is(false));
+        
+        // 有効桁数を超える場合
+        assertThat(AbstractNumberCellConverter.isExactInteger(123.0, new MathContext(2, RoundingMode.HALF_UP)), is(false));
+        assertThat(AbstractNumberCellConverter.isExactInteger(99.0, new MathContext(2, RoundingMode.HALF_UP)), is(true));
+        
+    }
+    
+    /**
+     * 整数の場合も、{@link java.math.BigDecimal}を経由した場合と同じ結果になること。
+     */
+    @Test
+    public void test_convertNumber() throws Exception {
+        
+        final MathContext context2 = new MathContext(2, RoundingMode.HALF_UP);
+        
+        assertThat(new IntegerCellConverter().convertNumber(123.0, DEFAULT_CONTEXT), is(123));
+        assertThat(new IntegerCellConverter().convertNumber(123.0, context2), is(120));
+        assertThat(new IntegerCellConverter().convertNumber(2.5, DEFAULT_CONTEXT), is(3));
+        assertThat(new ShortCellConverter().convertNumber(-123.0, DEFAULT_CONTEXT), is((short)-123));
+        assertThat(new ByteCellConverter().convertNumber(127.0, DEFAULT_CONTEXT), is((byte)127));
+        assertThat(new LongCellConverter().convertNumber(9007199254740992.0, DEFAULT_CONTEXT), is(9007199254740992L));
+        assertThat(new DoubleCellConverter().convertNumber(-0.0, DEFAULT_CONTEXT), is(0.0));
+        assertThat(new DoubleCellConverter().convertNumber(123.0, context2), is(120.0));
+        assertThat(new FloatCellConverter().convertNumber(16777217.0, DEFAULT_CONTEXT), is(16777216.0f));
+        
+        // 範囲外の場合
+        try {
+            new ByteCellConverter().convertNumber(128.0, DEFAULT_CONTEXT);
+            fail();
+        } catch(ArithmeticException e) {
+        
+        }
+        
+        try {
+            new IntegerCellConverter().convertNumber(2147483648.0, DEFAULT_CONTEXT);
+            fail();
+        } catch(ArithmeticException e) {
+        
+        }
+        
+    }
+    
+}
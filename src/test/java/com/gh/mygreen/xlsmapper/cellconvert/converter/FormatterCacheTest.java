@@ -0,0 +1,80 @@
+package com.gh.mygreen.xlsmapper.cellconvert.converter;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.text.DateFormat;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * {@link FormatterCache}のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class FormatterCacheTest {
+    
+    @Test
+    public void test_getDateFormat() throws Exception {
+        
+        final DateFormat format = FormatterCache.getDateFormat("yyyy/MM/dd", Locale.JAPANESE, false);
+        assertThat(format, is(sameInstance(FormatterCache.getDateFormat("yyyy/MM/dd", Locale.JAPANESE, false))));
+        assertThat(format.isLenient(), is(false));
+        assertThat(((SimpleDateFormat)format).toPattern(), is("yyyy/MM/dd"));
+        
+        // 組み合わせが異なる場合
+        assertThat(format, is(not(sameInstance(FormatterCache.getDateFormat("yyyy/MM/dd", Locale.JAPANESE, true)))));
+        assertThat(format, is(not(sameInstance(FormatterCache.getDateFormat("yyyy/MM/dd", Locale.US, false)))));
+        assertThat(format, is(not(sameInstance(FormatterCache.getDateFormat("yyyy-MM-dd", Locale.JAPANESE, false)))));
+        
+    }
+    
+    @Test
+    public void test_getNumberFormat() throws Exception {
+        
+        final NumberFormat format = FormatterCache.getNumberFormat("#,##0.0", Locale.JAPANESE, "");
+        assertThat(format, is(sameInstance(FormatterCache.getNumberFormat("#,##0.0", Locale.JAPANESE, ""))));
+        assertThat(format.parse("1,234.5"), is((Number)new BigDecimal("1234.5")));
+        
+        assertThat(format, is(not(sameInstance(FormatterCache.getNumberFormat("#,##0.0", Locale.JAPANESE, "JPY")))));
+        assertThat(FormatterCache.getCurrencyFormat(Locale.JAPAN), is(sameInstance(FormatterCache.getCurrencyFormat(Locale.JAPAN))));
+        
+    }
+    
+    /**
+     * スレッドごとに異なるインスタンスを返すこと。
+     */
+    @Test
+    public void test_thread() throws Exception {
+        
+        final DateFormat format = FormatterCache.getDateFormat("yyyy/MM/dd", Locale.JAPANESE, false);
+        
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<DateFormat> future = executor.submit(new Callable<DateFormat>() {
+                
+                @Override
+                public DateFormat call() throws Exception {
+                    return FormatterCache.getDateFormat("yyyy/MM/dd", Locale.JAPANESE, false);
+                }
+            });
+            
+            assertThat(future.get(), is(not(sameInstance(format))));
+            
+        } finally {
+            executor.shutdown();
+        }
+        
+    }
+    
+}
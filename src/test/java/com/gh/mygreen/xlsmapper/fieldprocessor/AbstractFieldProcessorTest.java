@@ -0,0 +1,85 @@
+package com.gh.mygreen.xlsmapper.fieldprocessor;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.XlsMapperConfig;
+import com.gh.mygreen.xlsmapper.annotation.XlsConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.CellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.converter.StringCellConverter;
+import com.gh.mygreen.xlsmapper.fieldprocessor.processor.CellProcessor;
+
+/**
+ * {@link AbstractFieldProcessor}のConverterの取得のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class AbstractFieldProcessorTest {
+    
+    /**
+     * 決定したConverterを再利用すること。
+     */
+    @Test
+    public void test_getCellConverter() throws Exception {
+        
+        final XlsMapperConfig config = new XlsMapperConfig();
+        final CellProcessor processor = new CellProcessor();
+        final FieldAdaptor adaptor = new FieldAdaptor(SampleBean.class, SampleBean.class.getDeclaredField("value"));
+        
+        final CellConverter<?> loading = processor.getLoadingCellConverter(adaptor, config.getConverterRegistry(), config);
+        assertThat(loading, is(sameInstance((Object)config.getConverterRegistry().getConverter(String.class))));
+        assertThat(processor.getLoadingCellConverter(adaptor, config.getConverterRegistry(), config), is(sameInstance((Object)loading)));
+        
+        final CellConverter<?> saving = processor.getSavingCellConverter(adaptor, config.getConverterRegistry(), config);
+        assertThat(saving, is(sameInstance((Object)loading)));
+        
+        // 登録し直した場合
+        final StringCellConverter converter = new StringCellConverter();
+        config.getConverterRegistry().registerConverter(String.class, converter);
+        assertThat(processor.getLoadingCellConverter(adaptor, config.getConverterRegistry(), config), is(sameInstance((Object)converter)));
+        assertThat(processor.getSavingCellConverter(adaptor, config.getConverterRegistry(), config), is(sameInstance((Object)converter)));
+        
+        // 異なる設定の場合
+        final XlsMapperConfig config2 = new XlsMapperConfig();
+        assertThat(processor.getLoadingCellConverter(adaptor, config2.getConverterRegistry(), config2),
+                is(sameInstance((Object)config2.getConverterRegistry().getConverter(String.class))));
+                
+    }
+    
+    /**
+     * アノテーションで独自のConverterを指定した場合
+     */
+    @Test
+    public void test_getCellConverter_custom() throws Exception {
+        
+        final XlsMapperConfig config = new XlsMapperConfig();
+        final CellProcessor processor = new CellProcessor();
+        final FieldAdaptor adaptor = new FieldAdaptor(SampleBean.class, SampleBean.class.getDeclaredField("customValue"));
+        
+        final CellConverter<?> converter = processor.getLoadingCellConverter(adaptor, config.getConverterRegistry(), config);
+        assertThat(converter, is(instanceOf(CustomConverter.class)));
+        assertThat(converter, is(not(sameInstance((Object)config.getConverterRegistry().getConverter(String.class)))));
+        
+        // 独自のConverterは、スレッドセーフとは限らないため、呼び出しごとに作成する
+        assertThat(processor.getLoadingCellConverter(adaptor, config.getConverterRegistry(), config), is(not(sameInstance((Object)converter))));
+        
+    }
+    
+    private static class SampleBean {
+        
+        private String value;
+        
+        @XlsConverter(converterClass=CustomConverter.class)
+        private String customValue;
+        
+    }
+    
+    public static class CustomConverter extends StringCellConverter {
+    
+    }
+    
+}
@@ -0,0 +1,117 @@
+package com.gh.mygreen.xlsmapper.fieldprocessor;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * {@link PropertyAccessor}と{@link FieldAdaptor}の値の取得/設定のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class PropertyAccessorTest {
+    
+    /**
+     * フィールドの場合
+     */
+    @Test
+    public void test_field() throws Exception {
+        
+        final FieldAdaptor adaptor = new FieldAdaptor(SampleBean.class, SampleBean.class.getDeclaredField("longValue"));
+        final SampleBean bean = new SampleBean();
+        
+        adaptor.setValue(bean, 10L);
+        assertThat(bean.longValue, is(10L));
+        assertThat(adaptor.getValue(bean), is((Object)10L));
+        
+        // プリミティブ型の拡大変換
+        adaptor.setValue(bean, 20);
+        assertThat(bean.longValue, is(20L));
+        
+        // プリミティブ型にnullは設定できない
+        try {
+            adaptor.setValue(bean, null);
+            fail();
+        } catch(RuntimeException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+        }
+        
+        // 型が異なる
+        try {
+            adaptor.setValue(bean, "abc");
+            fail();
+        } catch(RuntimeException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+        }
+    }
+    
+    /**
+     * finalフィールドの場合は、リフレクションで設定する。
+     */
+    @Test
+    public void test_finalField() throws Exception {
+        
+        final FieldAdaptor adaptor = new FieldAdaptor(SampleBean.class, SampleBean.class.getDeclaredField("finalValue"));
+        final SampleBean bean = new SampleBean();
+        
+        assertThat(adaptor.getValue(bean), is((Object)"abc"));
+        
+        adaptor.setValue(bean, "def");
+        assertThat(adaptor.getValue(bean), is((Object)"def"));
+    }
+    
+    /**
+     * setter/getterメソッドの場合
+     */
+    @Test
+    public void test_method() throws Exception {
+        
+        final FieldAdaptor adaptor = new FieldAdaptor(SampleBean.class, SampleBean.class.getDeclaredMethod("setIntValue", int.class));
+        final SampleBean bean = new SampleBean();
+        
+        adaptor.setValue(bean, 10);
+        assertThat(bean.intValue, is(10));
+        
+        // プリミティブ型の拡大変換
+        adaptor.setValue(bean, (short)20);
+        assertThat(bean.intValue, is(20));
+        
+        // setterメソッド内の例外
+        try {
+            adaptor.setValue(bean, -1);
+            fail();
+        } catch(RuntimeException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+            assertThat(e.getCause().getMessage(), is("negative value"));
+        }
+        
+        try {
+            adaptor.setValue(bean, "abc");
+            fail();
+        } catch(RuntimeException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+        }
+    }
+    
+    private static class SampleBean {
+        
+        private long longValue;
+        
+        private final String finalValue = new String("abc");
+        
+        private int intValue;
+        
+        @SuppressWarnings("unused")
+        public void setIntValue(int intValue) {
+            if(intValue < 0) {
+                throw new IllegalArgumentException("negative value");
+            }
+            this.intValue = intValue;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,483 @@
+package com.gh.mygreen.xlsmapper.streaming;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.XlsLoader;
+import com.gh.mygreen.xlsmapper.XlsMapper;
+import com.gh.mygreen.xlsmapper.XlsMapperConfig;
+import com.gh.mygreen.xlsmapper.annotation.RecordTerminal;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.annotation.XlsConverter;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsNestedRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.cellconvert.converter.StringCellConverter;
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+
+/**
+ * {@link XlsStreamingLoader}のテスタ。
+ * <p>通常の{@link XlsMapper}で読み込んだ結果と一致するかを確認する。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class XlsStreamingLoaderTest {
+    
+    private static final String FILE_PATH = "src/test/data/anno_HorizonalRecords.xlsx";
+    
+    /**
+     * 開始位置の指定
+     */
+    @Test
+    public void test_load_startedPosition() throws Exception {
+        
+        final StartedPositionSheet expected = loadByMapper(StartedPositionSheet.class);
+        final StartedPositionSheet actual = loadByStreaming(StartedPositionSheet.class);
+        
+        assertNormalRecords(actual.normalRecords1, expected.normalRecords1);
+        assertNormalRecords(actual.normalRecords2, expected.normalRecords2);
+        assertNormalRecords(actual.normalRecords3, expected.normalRecords3);
+        assertNormalRecords(actual.normalRecords4, expected.normalRecords4);
+        assertThat(actual.normalRecords5, is(nullValue()));
+        
+        assertThat(actual.labels, is(expected.labels));
+    }
+    
+    /**
+     * 終了位置の指定
+     */
+    @Test
+    public void test_load_endPosition() throws Exception {
+        
+        final EndPositionSheet expected = loadByMapper(EndPositionSheet.class);
+        final EndPositionSheet actual = loadByStreaming(EndPositionSheet.class);
+        
+        assertNormalRecords(actual.normalRecords1, expected.normalRecords1);
+        assertNormalRecords(actual.normalRecords2, expected.normalRecords2);
+        assertNormalRecords(actual.normalRecords3, expected.normalRecords3);
+        assertNormalRecords(actual.normalRecords4, expected.normalRecords4);
+    }
+    
+    /**
+     * 結合セル、見出しの結合
+     */
+    @Test
+    public void test_load_columnSetting() throws Exception {
+        
+        final ColumnSettingSheet expected = loadByMapper(ColumnSettingSheet.class);
+        final ColumnSettingSheet actual = loadByStreaming(ColumnSettingSheet.class);
+        
+        assertThat(actual.mergedRecords, hasSize(expected.mergedRecords.size()));
+        for(int i=0; i < expected.mergedRecords.size(); i++) {
+            final MergedRecord e = expected.mergedRecords.get(i);
+            final MergedRecord a = actual.mergedRecords.get(i);
+            assertThat(a.no, is(e.no));
+            assertThat(a.category, is(e.category));
+            assertThat(a.description, is(e.description));
+            assertThat(a.positions, is(e.positions));
+        }
+        
+        assertThat(actual.headerMergedRecords, hasSize(expected.headerMergedRecords.size()));
+        for(int i=0; i < expected.headerMergedRecords.size(); i++) {
+            final HeaderMergedRecord e = expected.headerMergedRecords.get(i);
+            final HeaderMergedRecord a = actual.headerMergedRecords.get(i);
+            assertThat(a.no, is(e.no));
+            assertThat(a.name, is(e.name));
+            assertThat(a.mail, is(e.mail));
+            assertThat(a.tel, is(e.tel));
+            assertThat(a.comment, is(e.comment));
+            assertThat(a.positions, is(e.positions));
+        }
+    }
+    
+    /**
+     * ラベルが見つからない場合
+     */
+    @Test(expected=CellNotFoundException.class)
+    public void test_load_labelNotFound() throws Exception {
+        loadByStreaming(NotFoundLabelSheet.class);
+    }
+    
+    /**
+     * 同じラベルが複数ある場合、{@link XlsMapper}と同じく、行、列の順で最初に見つかる表を読み込む。
+     */
+    @Test
+    public void test_load_duplicatedLabel() throws Exception {
+        
+        final XSSFWorkbook workbook = new XSSFWorkbook();
+        final Sheet sheet = workbook.createSheet("開始位置の指定");
+        createTable(sheet, 0, 2, "上側");
+        createTable(sheet, 5, 0, "下側");
+        
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        
+        final XlsMapper mapper = new XlsMapper();
+        mapper.getConig().setRegexLabelText(true);
+        final DuplicatedLabelSheet expected = mapper.load(new ByteArrayInputStream(out.toByteArray()), DuplicatedLabelSheet.class);
+        
+        final XlsStreamingLoader loader = new XlsStreamingLoader(new XlsMapperConfig().setRegexLabelText(true));
+        final DuplicatedLabelSheet actual = loader.load(new ByteArrayInputStream(out.toByteArray()), DuplicatedLabelSheet.class);
+        
+        assertThat(expected.records.get(0).name, is("上側"));
+        assertNormalRecords(actual.records, expected.records);
+        assertThat(expected.labels, hasEntry("records", "○×一覧（上側）"));
+        assertThat(actual.labels, is(expected.labels));
+        
+        try(RecordIterator<NormalRecord> it = loader.streamRecords(
+                new ByteArrayInputStream(out.toByteArray()), DuplicatedLabelSheet.class, "records")) {
+            assertThat(it.next().name, is("上側"));
+        }
+    }
+    
+    private void createTable(final Sheet sheet, final int rowIndex, final int columnIndex, final String name) {
+        
+        sheet.createRow(rowIndex).createCell(columnIndex).setCellValue("○×一覧（" + name + "）");
+        
+        final Row header = sheet.createRow(rowIndex + 1);
+        header.createCell(columnIndex).setCellValue("No.");
+        header.createCell(columnIndex + 1).setCellValue("名称");
+        header.createCell(columnIndex + 2).setCellValue("値");
+        
+        final Row record = sheet.createRow(rowIndex + 2);
+        record.createCell(columnIndex).setCellValue(1);
+        record.createCell(columnIndex + 1).setCellValue(name);
+        record.createCell(columnIndex + 2).setCellValue(1.5);
+    }
+    
+    /**
+     * ネストしたレコードはサポートしない
+     */
+    @Test(expected=AnnotationInvalidException.class)
+    public void test_load_nestedNotSupported() throws Exception {
+        loadByStreaming(NestedSheet.class);
+    }
+    
+    /**
+     * シートが見つからない場合に読み飛ばす
+     */
+    @Test
+    public void test_load_ignoreSheetNotFound() throws Exception {
+        
+        final XlsStreamingLoader loader = new XlsStreamingLoader(new XlsMapperConfig().setIgnoreSheetNotFound(true));
+        try(InputStream in = new FileInputStream(FILE_PATH)) {
+            assertThat(loader.load(in, NotFoundSheet.class), is(nullValue()));
+        }
+    }
+    
+    /**
+     * レコードを1件ずつ取得する
+     */
+    @Test
+    public void test_streamRecords() throws Exception {
+        
+        final EndPositionSheet expected = loadByMapper(EndPositionSheet.class);
+        
+        final XlsLoader loader = new XlsLoader();
+        final List<NormalRecord> actual = new ArrayList<>();
+        try(InputStream in = new FileInputStream(FILE_PATH);
+                RecordIterator<NormalRecord> it = loader.streamRecords(in, EndPositionSheet.class, "normalRecords3")) {
+                
+            assertThat(it.getSheetName(), is("終了位置の指定"));
+            while(it.hasNext()) {
+                actual.add(it.next());
+            }
+            
+            assertThat(it.hasNext(), is(false));
+        }
+        
+        assertNormalRecords(actual, expected.normalRecords3);
+    }
+    
+    /**
+     * 途中で読み込みを止める
+     */
+    @Test
+    public void test_streamRecords_close() throws Exception {
+        
+        final XlsStreamingLoader loader = new XlsStreamingLoader();
+        try(InputStream in = new FileInputStream(FILE_PATH)) {
+            final RecordIterator<NormalRecord> it = loader.streamRecords(in, EndPositionSheet.class, "normalRecords1");
+            assertThat(it.hasNext(), is(true));
+            assertThat(it.next(), is(not(nullValue())));
+            
+            it.close();
+            assertThat(it.hasNext(), is(false));
+        }
+    }
+    
+    /**
+     * 読み込み中に実行時例外が発生した場合は、閉じてからスローする
+     */
+    @Test
+    public void test_streamRecords_runtimeException() throws Exception {
+        
+        final XlsStreamingLoader loader = new XlsStreamingLoader();
+        try(InputStream in = new FileInputStream(FILE_PATH)) {
+            final RecordIterator<FailedRecord> it = loader.streamRecords(in, FailedSheet.class, "records");
+            try {
+                it.hasNext();
+                fail();
+            } catch(IllegalStateException e) {
+                assertThat(e.getMessage(), is("fail convert."));
+            }
+            
+            assertThat(it.hasNext(), is(false));
+        }
+    }
+    
+    /**
+     * シートが見つからない場合に読み飛ばす
+     */
+    @Test
+    public void test_streamRecords_ignoreSheetNotFound() throws Exception {
+        
+        final XlsStreamingLoader loader = new XlsStreamingLoader(new XlsMapperConfig().setIgnoreSheetNotFound(true));
+        try(InputStream in = new FileInputStream(FILE_PATH);
+                RecordIterator<NormalRecord> it = loader.streamRecords(in, NotFoundSheet.class, "records")) {
+            assertThat(it.hasNext(), is(false));
+            assertThat(it.getSheetName(), is(nullValue()));
+        }
+    }
+    
+    /**
+     * 表のフィールドが存在しない場合
+     */
+    @Test(expected=IllegalArgumentException.class)
+    public void test_streamRecords_notFoundField() throws Exception {
+        
+        final XlsStreamingLoader loader = new XlsStreamingLoader();
+        try(InputStream in = new FileInputStream(FILE_PATH)) {
+            loader.streamRecords(in, EndPositionSheet.class, "notFound");
+        }
+    }
+    
+    private <P> P loadByMapper(final Class<P> clazz) throws Exception {
+        final XlsMapper mapper = new XlsMapper();
+        mapper.getConig().setContinueTypeBindFailure(true);
+        try(InputStream in = new FileInputStream(FILE_PATH)) {
+            return mapper.load(in, clazz, new SheetBindingErrors(clazz));
+        }
+    }
+    
+    private <P> P loadByStreaming(final Class<P> clazz) throws Exception {
+        final XlsStreamingLoader loader = new XlsStreamingLoader();
+        loader.getConfig().setContinueTypeBindFailure(true);
+        try(InputStream in = new FileInputStream(FILE_PATH)) {
+            return loader.load(in, clazz, new SheetBindingErrors(clazz));
+        }
+    }
+    
+    private void assertNormalRecords(final List<NormalRecord> actual, final List<NormalRecord> expected) {
+        
+        assertThat(expected, is(not(nullValue())));
+        assertThat(actual, hasSize(expected.size()));
+        for(int i=0; i < expected.size(); i++) {
+            final NormalRecord e = expected.get(i);
+            final NormalRecord a = actual.get(i);
+            assertThat(a.no, is(e.no));
+            assertThat(a.name, is(e.name));
+            assertThat(a.value, is(e.value));
+            assertThat(a.positions, is(e.positions));
+            assertThat(a.labels, is(e.labels));
+        }
+    }
+    
+    @XlsSheet(name="開始位置の指定")
+    private static class StartedPositionSheet {
+        
+        private Map<String, String> labels;
+        
+        @XlsHorizontalRecords(tableLabel="○×一覧", ignoreEmptyRecord=true)
+        private List<NormalRecord> normalRecords1;
+        
+        @XlsHorizontalRecords(headerAddress="B9", ignoreEmptyRecord=true)
+        private List<NormalRecord> normalRecords2;
+        
+        @XlsHorizontalRecords(headerColumn=2, headerRow=13, ignoreEmptyRecord=true)
+        private List<NormalRecord> normalRecords3;
+        
+        @XlsHorizontalRecords(tableLabel="◆△一覧", bottom=2, ignoreEmptyRecord=true)
+        private List<NormalRecord> normalRecords4;
+        
+        @XlsHorizontalRecords(tableLabel="存在しない", optional=true, ignoreEmptyRecord=true)
+        private List<NormalRecord> normalRecords5;
+        
+    }
+    
+    @XlsSheet(name="終了位置の指定")
+    private static class EndPositionSheet {
+        
+        @XlsHorizontalRecords(tableLabel="終端レコードの指定（Empty）", terminal=RecordTerminal.Empty)
+        private List<NormalRecord> normalRecords1;
+        
+        @XlsHorizontalRecords(tableLabel="終端レコードの指定（Border）", terminal=RecordTerminal.Border)
+        private List<NormalRecord> normalRecords2;
+        
+        @XlsHorizontalRecords(tableLabel="終端セルの指定", terminal=RecordTerminal.Border, terminateLabel="合計")
+        private List<NormalRecord> normalRecords3;
+        
+        @XlsHorizontalRecords(tableLabel="見出しセルの個数指定", terminal=RecordTerminal.Border, headerLimit=3)
+        private List<NormalRecord> normalRecords4;
+        
+    }
+    
+    @XlsSheet(name="カラムの設定")
+    private static class ColumnSettingSheet {
+        
+        @XlsHorizontalRecords(tableLabel="結合セル", terminal=RecordTerminal.Border)
+        private List<MergedRecord> mergedRecords;
+        
+        @XlsHorizontalRecords(tableLabel="見出しが結合", terminal=RecordTerminal.Border)
+        private List<HeaderMergedRecord> headerMergedRecords;
+        
+    }
+    
+    @XlsSheet(name="開始位置の指定")
+    private static class NotFoundLabelSheet {
+        
+        @XlsHorizontalRecords(tableLabel="存在しない", optional=false)
+        private List<NormalRecord> normalRecords;
+        
+    }
+    
+    @XlsSheet(name="開始位置の指定")
+    private static class DuplicatedLabelSheet {
+        
+        private Map<String, String> labels;
+        
+        @XlsHorizontalRecords(tableLabel="/○×一覧.*/")
+        private List<NormalRecord> records;
+        
+    }
+    
+    @XlsSheet(name="開始位置の指定")
+    private static class NestedSheet {
+        
+        @XlsHorizontalRecords(tableLabel="○×一覧")
+        private List<NestedRecord> records;
+        
+    }
+    
+    @XlsSheet(name="存在しないシート")
+    private static class NotFoundSheet {
+        
+        @XlsHorizontalRecords(tableLabel="○×一覧")
+        private List<NormalRecord> records;
+        
+    }
+    
+    @XlsSheet(name="終了位置の指定")
+    private static class FailedSheet {
+        
+        @XlsHorizontalRecords(tableLabel="終端レコードの指定（Empty）", terminal=RecordTerminal.Empty)
+        private List<FailedRecord> records;
+        
+    }
+    
+    private static class NormalRecord {
+        
+        private Map<String, Point> positions;
+        
+        private Map<String, String> labels;
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsColumn(columnName="名称")
+        private String name;
+        
+        @XlsColumn(columnName="値")
+        private Double value;
+        
+    }
+    
+    private static class NestedRecord {
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsNestedRecords
+        private List<NormalRecord> children;
+        
+    }
+    
+    private static class MergedRecord {
+        
+        private Map<String, Point> positions;
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsColumn(columnName="分類", merged=true)
+        private Category category;
+        
+        @XlsColumn(columnName="説明", merged=true)
+        private String description;
+        
+    }
+    
+    private enum Category {
+        Info, Warn, Error
+        ;
+    }
+    
+    private static class HeaderMergedRecord {
+        
+        private Map<String, Point> positions;
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsColumn(columnName="氏名")
+        private String name;
+        
+        @XlsColumn(columnName="連絡先")
+        private String mail;
+        
+        @XlsColumn(columnName="連絡先", headerMerged=1)
+        private String tel;
+        
+        @XlsColumn(columnName="備考")
+        private String comment;
+        
+    }
+    
+    private static class FailedRecord {
+        
+        @XlsColumn(columnName="名称")
+        @XlsConverter(converterClass=FailedConverter.class)
+        private String name;
+        
+    }
+    
+    public static class FailedConverter extends StringCellConverter {
+        
+        @Override
+        public String toObject(final Cell cell, final FieldAdaptor adaptor, final XlsMapperConfig config) {
+            throw new IllegalStateException("fail convert.");
+        }
+        
+    }
+    
+}
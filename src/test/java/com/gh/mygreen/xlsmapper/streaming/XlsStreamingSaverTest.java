@@ -0,0 +1,271 @@
+package com.gh.mygreen.xlsmapper.streaming;
+
+import static com.gh.mygreen.xlsmapper.TestUtils.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.POIUtils;
+import com.gh.mygreen.xlsmapper.XlsMapper;
+import com.gh.mygreen.xlsmapper.XlsMapperException;
+import com.gh.mygreen.xlsmapper.annotation.OverRecordOperate;
+import com.gh.mygreen.xlsmapper.annotation.RecordTerminal;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+
+/**
+ * {@link XlsStreamingSaver}のテスタ。
+ * 
+ * @since 1.6
+ * @author T.TSUCHIE
+ * 
+ */
+public class XlsStreamingSaverTest {
+    
+    /**
+     * 出力用のディレクトリ
+     */
+    private static File OUT_DIR;
+    
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        OUT_DIR = createOutDir();
+    }
+    
+    /**
+     * 一番下の表をストリーミングで書き込み、それ以外の表は通常通り書き込む。
+     */
+    @Test
+    public void test_save_startedPosition() throws Exception {
+        
+        final StartedPositionSheet outSheet = new StartedPositionSheet();
+        outSheet.normalRecords1 = createRecords(2);
+        outSheet.normalRecords2 = createRecords(2);
+        outSheet.normalRecords3 = createRecords(2);
+        outSheet.normalRecords4 = createRecords(500);
+        
+        final XlsStreamingSaver saver = new XlsStreamingSaver();
+        saver.setRowAccessWindowSize(50);
+        
+        final File outFile = new File(OUT_DIR, "streaming_HorizonalRecords_out.xlsx");
+        try(InputStream template = new FileInputStream("src/test/data/anno_HorizonalRecords_template.xlsx");
+                OutputStream out = new FileOutputStream(outFile)) {
+            saver.save(template, out, outSheet);
+        }
+        
+        // 書き込んだファイルを通常の方法で読み込み、比較する。
+        final XlsMapper mapper = new XlsMapper();
+        try(InputStream in = new FileInputStream(outFile)) {
+            final StartedPositionSheet sheet = mapper.load(in, StartedPositionSheet.class);
+            
+            assertRecords(sheet.normalRecords1, outSheet.normalRecords1);
+            assertRecords(sheet.normalRecords2, outSheet.normalRecords2);
+            assertRecords(sheet.normalRecords3, outSheet.normalRecords3);
+            assertRecords(sheet.normalRecords4, outSheet.normalRecords4);
+        }
+        
+        // ストリーミングで書き込んだレコードの位置
+        assertThat(outSheet.normalRecords4.get(0).positions.get("name"), is(new Point(1, 21)));
+        assertThat(outSheet.normalRecords4.get(499).positions.get("name"), is(new Point(1, 520)));
+        
+        // 書式のコピー
+        try(InputStream in = new FileInputStream(outFile)) {
+            final Workbook book = WorkbookFactory.create(in);
+            final Sheet sheet = book.getSheet("開始位置の指定");
+            final Cell cell = POIUtils.getCell(sheet, 0, 520);
+            assertThat(cell.getCellStyle().getBorderLeft(), is(not(CellStyle.BORDER_NONE)));
+        }
+    }
+    
+    /**
+     * テンプレートのデータ行の数式をコピーする
+     */
+    @Test
+    public void test_save_copyFormula() throws Exception {
+        
+        final FormulaSheet outSheet = new FormulaSheet();
+        outSheet.records = createRecords(10);
+        
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new XlsStreamingSaver().save(new ByteArrayInputStream(createFormulaTemplate(false)), out, outSheet);
+        
+        try(InputStream in = new ByteArrayInputStream(out.toByteArray())) {
+            final Workbook book = WorkbookFactory.create(in);
+            final Sheet sheet = book.getSheet("数式");
+            
+            for(int i=0; i < 10; i++) {
+                final Cell cell = POIUtils.getCell(sheet, 3, 2 + i);
+                assertThat(cell.getCellType(), is(Cell.CELL_TYPE_FORMULA));
+                assertThat(cell.getCellFormula(), is(String.format("C%d*2+$C$3", 3 + i)));
+                
+                assertThat(POIUtils.getCell(sheet, 1, 2 + i).getStringCellValue(), is("name" + (i+1)));
+            }
+        }
+    }
+    
+    /**
+     * 用意されているデータ行を超えるレコードは、書き込みを中断する。
+     */
+    @Test
+    public void test_save_overRecordBreak() throws Exception {
+        
+        final BreakSheet outSheet = new BreakSheet();
+        outSheet.records = createRecords(10);
+        
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new XlsStreamingSaver().save(new ByteArrayInputStream(createFormulaTemplate(false)), out, outSheet);
+        
+        try(InputStream in = new ByteArrayInputStream(out.toByteArray())) {
+            final Workbook book = WorkbookFactory.create(in);
+            final Sheet sheet = book.getSheet("数式");
+            
+            assertThat(POIUtils.getCell(sheet, 1, 2).getStringCellValue(), is("name1"));
+            assertThat(sheet.getLastRowNum(), is(2));
+        }
+        
+        assertThat(outSheet.records.get(0).positions.get("name"), is(new Point(1, 2)));
+        assertThat(outSheet.records.get(1).positions, is(nullValue()));
+    }
+    
+    /**
+     * 表の下に値があるとき
+     */
+    @Test(expected=XlsMapperException.class)
+    public void test_save_valueBelowTable() throws Exception {
+        
+        final FormulaSheet outSheet = new FormulaSheet();
+        outSheet.records = createRecords(10);
+        
+        new XlsStreamingSaver().save(new ByteArrayInputStream(createFormulaTemplate(true)), new ByteArrayOutputStream(), outSheet);
+    }
+    
+    private List<NormalRecord> createRecords(final int size) {
+        final List<NormalRecord> list = new ArrayList<>();
+        for(int i=1; i <= size; i++) {
+            final NormalRecord record = new NormalRecord();
+            record.no = i;
+            record.name = "name" + i;
+            record.value = i * 1.5;
+            list.add(record);
+        }
+        return list;
+    }
+    
+    private void assertRecords(final List<NormalRecord> actual, final List<NormalRecord> expected) {
+        assertThat(actual, hasSize(expected.size()));
+        for(int i=0; i < expected.size(); i++) {
+            assertThat(actual.get(i).no, is(expected.get(i).no));
+            assertThat(actual.get(i).name, is(expected.get(i).name));
+            assertThat(actual.get(i).value, is(expected.get(i).value));
+        }
+    }
+    
+    /**
+     * 数式を持つテンプレートを作成する。
+     * @param valueBelowTable 表の下に値を持つセルを作成するかどうか。
+     */
+    private byte[] createFormulaTemplate(final boolean valueBelowTable) throws Exception {
+        
+        try(XSSFWorkbook book = new XSSFWorkbook()) {
+            final Sheet sheet = book.createSheet("数式");
+            sheet.createRow(0).createCell(0).setCellValue("一覧");
+            
+            final CellStyle style = book.createCellStyle();
+            style.setBorderLeft(CellStyle.BORDER_THIN);
+            style.setBorderRight(CellStyle.BORDER_THIN);
+            
+            final Row header = sheet.createRow(1);
+            final String[] labels = {"No.", "名称", "値", "計算"};
+            for(int i=0; i < labels.length; i++) {
+                final Cell cell = header.createCell(i);
+                cell.setCellValue(labels[i]);
+                cell.setCellStyle(style);
+            }
+            
+            final Row data = sheet.createRow(2);
+            for(int i=0; i < labels.length; i++) {
+                data.createCell(i).setCellStyle(style);
+            }
+            data.getCell(3).setCellFormula("C3*2+$C$3");
+            
+            if(valueBelowTable) {
+                sheet.createRow(4).createCell(0).setCellValue("合計");
+            }
+            
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            book.write(out);
+            return out.toByteArray();
+        }
+    }
+    
+    @XlsSheet(name="開始位置の指定")
+    private static class StartedPositionSheet {
+        
+        @XlsHorizontalRecords(tableLabel="○×一覧", terminal=RecordTerminal.Border)
+        private List<NormalRecord> normalRecords1;
+        
+        @XlsHorizontalRecords(headerAddress="B9", terminal=RecordTerminal.Border)
+        private List<NormalRecord> normalRecords2;
+        
+        @XlsHorizontalRecords(headerColumn=2, headerRow=13, terminal=RecordTerminal.Border)
+        private List<NormalRecord> normalRecords3;
+        
+        @XlsHorizontalRecords(tableLabel="◆△一覧", bottom=2, terminal=RecordTerminal.Border, overRecord=OverRecordOperate.Insert)
+        private List<NormalRecord> normalRecords4;
+        
+    }
+    
+    @XlsSheet(name="数式")
+    private static class FormulaSheet {
+        
+        @XlsHorizontalRecords(tableLabel="一覧", terminal=RecordTerminal.Border, overRecord=OverRecordOperate.Copy)
+        private List<NormalRecord> records;
+        
+    }
+    
+    @XlsSheet(name="数式")
+    private static class BreakSheet {
+        
+        @XlsHorizontalRecords(tableLabel="一覧", terminal=RecordTerminal.Border, overRecord=OverRecordOperate.Break)
+        private List<NormalRecord> records;
+        
+    }
+    
+    private static class NormalRecord {
+        
+        private Map<String, Point> positions;
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsColumn(columnName="名称")
+        private String name;
+        
+        @XlsColumn(columnName="値")
+        private Double value;
+        
+    }
+    
+}